@@ -24,13 +24,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.commons.configuration2.convert.ConversionHandler;
@@ -48,8 +52,11 @@ import org.apache.commons.configuration2.interpol.Lookup;
 import org.apache.commons.configuration2.io.ConfigurationLogger;
 import org.apache.commons.configuration2.sync.LockMode;
 import org.apache.commons.configuration2.sync.NoOpSynchronizer;
+import org.apache.commons.configuration2.sync.SnapshotSynchronizer;
+import org.apache.commons.configuration2.sync.StampedLockSynchronizer;
 import org.apache.commons.configuration2.sync.Synchronizer;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -94,11 +101,62 @@ import org.apache.commons.lang3.function.FailableSupplier;
  */
 public abstract class AbstractConfiguration extends BaseEventSource implements Configuration {
 
+    /**
+     * A class storing converted property values. The values are stored per target class and key. The cache is cleared by
+     * replacing the instance; so a read operation running concurrently to the clear operation cannot put a stale value
+     * into the new cache.
+     */
+    private static final class TypedValueCache {
+
+        /** The map with the cached values. */
+        private final Map<Class<?>, Map<String, Object>> values = new ConcurrentHashMap<>();
+
+        /**
+         * Returns the cached value for the given target class and key.
+         *
+         * @param cls the target class
+         * @param key the key
+         * @return the cached value or <strong>null</strong> if there is none
+         */
+        Object get(final Class<?> cls, final String key) {
+            final Map<String, Object> classValues = values.get(cls);
+            return classValues != null ? classValues.get(key) : null;
+        }
+
+        /**
+         * Stores a converted value in this cache.
+         *
+         * @param cls the target class
+         * @param key the key
+         * @param value the converted value
+         */
+        void put(final Class<?> cls, final String key, final Object value) {
+            values.computeIfAbsent(cls, c -> new ConcurrentHashMap<>()).put(key, value);
+        }
+    }
+
     /**
      * Default configuration delimiter for properties and keys.
      */
     static final String DELIMITER = ".";
 
+    /** The prefix of hexadecimal number literals. */
+    private static final String HEX_PREFIX = "0x";
+
+    /** The prefix of binary number literals. */
+    private static final String BIN_PREFIX = "0b";
+
+    /** The prefix of variables to be interpolated. */
+    private static final String VAR_START = "${";
+
+    /**
+     * The target classes of conversions whose results can be stored in the typed value cache. These classes are immutable,
+     * so cached instances can be shared between callers.
+     */
+    private static final Set<Class<?>> CACHEABLE_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(String.class, Boolean.class,
+        Boolean.TYPE, Byte.class, Byte.TYPE, Short.class, Short.TYPE, Integer.class, Integer.TYPE, Long.class, Long.TYPE, Float.class, Float.TYPE,
+        Double.class, Double.TYPE, Character.class, Character.TYPE, BigDecimal.class, BigInteger.class, Duration.class)));
+
     /**
      * Checks an object provided as default value for the {@code getArray()} method. Throws an exception if this is not an
      * array with the correct component type.
@@ -131,6 +189,24 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         return value;
     }
 
+    /**
+     * Checks whether the given property value is a string which can be parsed directly into a number. This is the case if
+     * the value is neither a hexadecimal or binary literal (which are handled specially by the {@code PropertyConverter})
+     * nor contains variables to be interpolated.
+     *
+     * @param value The property value.
+     * @return The string to be parsed or <strong>null</strong> if the value cannot be parsed directly.
+     */
+    private static String directNumberString(final Object value) {
+        if (value instanceof String) {
+            final String str = (String) value;
+            if (!str.startsWith(HEX_PREFIX) && !str.startsWith(BIN_PREFIX) && !str.contains(VAR_START)) {
+                return str;
+            }
+        }
+        return null;
+    }
+
     /**
      * Finds a {@code ConfigurationLookup} pointing to the specified configuration in the default lookups for the specified
      * {@code ConfigurationInterpolator}.
@@ -204,10 +280,20 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
     /** Stores the logger. */
     private ConfigurationLogger log;
 
+    /** The listener which clears the interpolation cache on changes; <strong>null</strong> if the cache is disabled. */
+    private EventListener<ConfigurationEvent> interpolationCacheListener;
+
+    /** The cache for converted property values; contains <strong>null</strong> if the cache is disabled. */
+    private AtomicReference<TypedValueCache> typedValueCache;
+
+    /** The listener which clears the typed value cache on changes; <strong>null</strong> if the cache is disabled. */
+    private EventListener<ConfigurationEvent> typedValueCacheListener;
+
     /**
      * Creates a new instance of {@code AbstractConfiguration}.
      */
     public AbstractConfiguration() {
+        typedValueCache = new AtomicReference<>();
         interpolator = new AtomicReference<>();
         initLogger(null);
         installDefaultInterpolator();
@@ -379,6 +465,13 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      */
     protected abstract void clearPropertyDirect(String key);
 
+    /**
+     * Removes all values from the typed value cache if it is enabled.
+     */
+    private void clearTypedValueCache() {
+        typedValueCache.updateAndGet(cache -> cache != null ? new TypedValueCache() : null);
+    }
+
     /**
      * Creates a clone of the {@code ConfigurationInterpolator} used by this instance. This method can be called by
      * {@code clone()} implementations of derived classes. Normally, the {@code ConfigurationInterpolator} of a
@@ -387,12 +480,18 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      * creates a new {@code ConfigurationInterpolator} for this configuration instance which contains all lookup objects
      * from the original {@code ConfigurationInterpolator} except for the configuration specific lookup pointing to the
      * passed in original configuration. This one is replaced by a corresponding {@code Lookup} referring to this
-     * configuration.
+     * configuration. In addition, the caches for interpolated and converted values are reset; if they are enabled for the
+     * original configuration, they are enabled for this configuration, too.
      *
      * @param orgConfig The original configuration from which this one was cloned.
      * @since 2.0
      */
     protected void cloneInterpolator(final AbstractConfiguration orgConfig) {
+        typedValueCache = new AtomicReference<>();
+        typedValueCacheListener = null;
+        if (orgConfig.isTypedValueCacheEnabled()) {
+            setTypedValueCacheEnabled(true);
+        }
         interpolator = new AtomicReference<>();
         final ConfigurationInterpolator orgInterpolator = orgConfig.getInterpolator();
         final List<Lookup> defaultLookups = orgInterpolator.getDefaultLookups();
@@ -402,6 +501,10 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         }
 
         installInterpolator(orgInterpolator.getLookups(), defaultLookups);
+        interpolationCacheListener = null;
+        if (orgInterpolator.isInterpolationCacheEnabled()) {
+            setInterpolationCacheEnabled(true);
+        }
     }
 
     /**
@@ -426,7 +529,7 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      */
     @Override
     public final boolean containsKey(final String key) {
-        return syncRead(() -> containsKeyInternal(key), false);
+        return syncReadOptimistic(() -> containsKeyInternal(key));
     }
 
     /**
@@ -494,6 +597,26 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         return result;
     }
 
+    /**
+     * Converts the given value of a property to the specified target class using the {@code ConversionHandler}.
+     *
+     * @param <T> The target type of the conversion.
+     * @param cls The target class.
+     * @param key The key of the property.
+     * @param value The value of the property.
+     * @return The converted value (can be <strong>null</strong>).
+     * @throws ConversionException if the conversion cannot be performed.
+     */
+    private <T> T convertPropertyValue(final Class<T> cls, final String key, final Object value) {
+        try {
+            return getConversionHandler().to(value, cls, getInterpolator());
+        } catch (final ConversionException cex) {
+            // improve error message
+            throw new ConversionException(cex.getCause(), "Key '%s' cannot be converted to class %s. Value is: '%s'.", key, cls.getName(),
+                    String.valueOf(value));
+        }
+    }
+
     /**
      * Performs a conversion to an array result class. This implementation delegates to the {@link ConversionHandler} to
      * perform the actual type conversion. If this results in a <strong>null</strong> result (because the property is undefined), the
@@ -619,14 +742,21 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      * @throws ConversionException if the conversion cannot be performed.
      */
     private <T> T getAndConvertProperty(final Class<T> cls, final String key, final T defaultValue) {
+        final TypedValueCache cache = typedValueCache.get();
+        if (cache != null) {
+            @SuppressWarnings("unchecked")
+            final T cachedValue = (T) cache.get(cls, key);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+        }
+
         final Object value = getProperty(key);
-        try {
-            return ObjectUtils.getIfNull(getConversionHandler().to(value, cls, getInterpolator()), defaultValue);
-        } catch (final ConversionException cex) {
-            // improve error message
-            throw new ConversionException(cex.getCause(), "Key '%s' cannot be converted to class %s. Value is: '%s'.", key, cls.getName(),
-                    String.valueOf(value));
+        final T result = convertPropertyValue(cls, key, value);
+        if (cache != null && result != null && isTypedValueCacheable(cls, value)) {
+            cache.put(cls, key, result);
         }
+        return ObjectUtils.getIfNull(result, defaultValue);
     }
 
     @Override
@@ -678,12 +808,22 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
 
     @Override
     public boolean getBoolean(final String key) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            if (value != null) {
+                return toBoolean(key, value, false, true);
+            }
+        }
         final Boolean b = convert(Boolean.class, key, null, true);
         return checkNonNullValue(key, b).booleanValue();
     }
 
     @Override
     public boolean getBoolean(final String key, final boolean defaultValue) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            return value != null ? toBoolean(key, value, defaultValue, false) : defaultValue;
+        }
         return getBoolean(key, Boolean.valueOf(defaultValue)).booleanValue();
     }
 
@@ -760,12 +900,22 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
 
     @Override
     public double getDouble(final String key) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            if (value != null) {
+                return toDouble(key, value, 0, true);
+            }
+        }
         final Double d = convert(Double.class, key, null, true);
         return checkNonNullValue(key, d).doubleValue();
     }
 
     @Override
     public double getDouble(final String key, final double defaultValue) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            return value != null ? toDouble(key, value, defaultValue, false) : defaultValue;
+        }
         return getDouble(key, Double.valueOf(defaultValue)).doubleValue();
     }
 
@@ -833,12 +983,22 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
 
     @Override
     public int getInt(final String key) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            if (value != null) {
+                return toInt(key, value, 0, true);
+            }
+        }
         final Integer i = convert(Integer.class, key, null, true);
         return checkNonNullValue(key, i).intValue();
     }
 
     @Override
     public int getInt(final String key, final int defaultValue) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            return value != null ? toInt(key, value, defaultValue, false) : defaultValue;
+        }
         return getInteger(key, Integer.valueOf(defaultValue)).intValue();
     }
 
@@ -1009,12 +1169,22 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
 
     @Override
     public long getLong(final String key) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            if (value != null) {
+                return toLong(key, value, 0, true);
+            }
+        }
         final Long l = convert(Long.class, key, null, true);
         return checkNonNullValue(key, l).longValue();
     }
 
     @Override
     public long getLong(final String key, final long defaultValue) {
+        if (isDirectConversionEnabled()) {
+            final Object value = getProperty(key);
+            return value != null ? toLong(key, value, defaultValue, false) : defaultValue;
+        }
         return getLong(key, Long.valueOf(defaultValue)).longValue();
     }
 
@@ -1070,7 +1240,7 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      */
     @Override
     public final Object getProperty(final String key) {
-        return syncRead(() -> getPropertyInternal(key), false);
+        return syncReadOptimistic(() -> getPropertyInternal(key));
     }
 
     /**
@@ -1228,12 +1398,27 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         return config;
     }
 
+    /**
+     * Checks whether the primitive getter methods can convert property values directly without using the
+     * {@code ConversionHandler}. This is possible if the default {@code ConversionHandler} and a
+     * {@code ConfigurationInterpolator} of the standard class are used, and the typed value cache is disabled. Then
+     * the result of a direct conversion is the same as the result of the {@code ConversionHandler}, but no wrapper objects
+     * have to be created.
+     *
+     * @return A flag whether direct conversions can be performed.
+     */
+    private boolean isDirectConversionEnabled() {
+        final ConfigurationInterpolator ci = getInterpolator();
+        return getConversionHandler() == DefaultConversionHandler.INSTANCE && (ci == null || ci.getClass() == ConfigurationInterpolator.class)
+            && typedValueCache.get() == null;
+    }
+
     /**
      * {@inheritDoc} This implementation handles synchronization and delegates to {@code isEmptyInternal()}.
      */
     @Override
     public final boolean isEmpty() {
-        return syncRead(() -> isEmptyInternal(), false);
+        return syncReadOptimistic(this::isEmptyInternal);
     }
 
     /**
@@ -1245,6 +1430,35 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
      */
     protected abstract boolean isEmptyInternal();
 
+    /**
+     * Returns a flag whether the results of interpolation operations are cached.
+     *
+     * @return <strong>true</strong> if the interpolation cache is enabled, <strong>false</strong> otherwise
+     * @see #setInterpolationCacheEnabled(boolean)
+     * @since 2.16.0
+     */
+    public boolean isInterpolationCacheEnabled() {
+        final ConfigurationInterpolator ci = getInterpolator();
+        return ci != null && ci.isInterpolationCacheEnabled();
+    }
+
+    /**
+     * Tests whether cheap read operations of this configuration can be executed as optimistic reads. If this method
+     * returns <strong>true</strong> and a {@link StampedLockSynchronizer} is used, {@code getProperty()},
+     * {@code containsKey()}, and {@code isEmpty()} run without a lock first and are repeated under the read lock if a
+     * concurrent write operation interfered. This is only safe if these operations cannot be affected by concurrent
+     * modifications of non thread-safe data structures and have no side effects, because they may be executed twice.
+     * Optimistic reads also skip the {@code beginRead()} and {@code endRead()} methods; so derived classes overriding
+     * these methods to perform additional actions have to return <strong>false</strong>. This base implementation returns
+     * <strong>false</strong>; derived classes operating on immutable snapshots of their data can override it.
+     *
+     * @return <strong>true</strong> if optimistic reads are supported, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    protected boolean isOptimisticReadSupported() {
+        return false;
+    }
+
     /**
      * Checks whether the specified object is a scalar value. This method is called by {@code getList()} and
      * {@code getStringArray()} if the property requested is not a string, a list, or an array. If it returns <strong>true</strong>,
@@ -1268,6 +1482,36 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         return throwExceptionOnMissing;
     }
 
+    /**
+     * Returns a flag whether the results of type conversions are cached.
+     *
+     * @return <strong>true</strong> if the typed value cache is enabled, <strong>false</strong> otherwise
+     * @see #setTypedValueCacheEnabled(boolean)
+     * @since 2.16.0
+     */
+    public boolean isTypedValueCacheEnabled() {
+        return typedValueCache.get() != null;
+    }
+
+    /**
+     * Checks whether the result of converting the given property value to the given target class can be stored in the
+     * typed value cache. This is the case for immutable target classes if the value does not contain variables to be
+     * interpolated; the values of variables may change without this configuration being notified.
+     *
+     * @param cls The target class of the conversion.
+     * @param value The property value.
+     * @return A flag whether the converted value can be cached.
+     */
+    private static boolean isTypedValueCacheable(final Class<?> cls, final Object value) {
+        if (!CACHEABLE_TYPES.contains(cls) && !cls.isEnum()) {
+            return false;
+        }
+        if (value instanceof String) {
+            return !((String) value).contains("${");
+        }
+        return value instanceof Number || value instanceof Boolean || value instanceof Character;
+    }
+
     /**
      * {@inheritDoc} This implementation delegates to {@code beginRead()} or {@code beginWrite()}, depending on the
      * {@code LockMode} argument. Subclasses can override these protected methods to perform additional steps when a
@@ -1316,6 +1560,7 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
             throw new IllegalArgumentException("ConversionHandler must not be null.");
         }
         this.conversionHandler = conversionHandler;
+        clearTypedValueCache();
     }
 
     /**
@@ -1347,6 +1592,50 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         } while (!success);
     }
 
+    /**
+     * Enables or disables the cache for interpolated values. If enabled, the results of interpolation operations are
+     * cached by the {@code ConfigurationInterpolator} of this configuration, so that the values of properties referencing
+     * other properties do not have to be resolved again on each access. The cache is cleared whenever this configuration
+     * fires a {@link ConfigurationEvent} (after the change has been performed). Values containing variables which are not
+     * resolved by this configuration itself, for instance variables with a prefix like {@code sys:}, {@code env:}, or
+     * {@code date:}, variables resolved by additional default lookups, or by the parent interpolator, are never cached.
+     * <p>
+     * Note: Changes of the data of this configuration which do not cause events (for instance direct manipulations of the
+     * node model of a hierarchical configuration) are not detected; in this case, the cache has to be disabled and enabled
+     * again. The setting is bound to the current {@code ConfigurationInterpolator}; if it is replaced, the cache has to be
+     * enabled again.
+     * </p>
+     *
+     * @param enabled the flag whether interpolation results should be cached
+     * @since 2.16.0
+     */
+    public void setInterpolationCacheEnabled(final boolean enabled) {
+        if (interpolationCacheListener != null) {
+            removeEventListener(ConfigurationEvent.ANY, interpolationCacheListener);
+            interpolationCacheListener = null;
+        }
+        final ConfigurationInterpolator ci = getInterpolator();
+        if (ci == null) {
+            return;
+        }
+
+        if (enabled) {
+            final Lookup confLookup = findConfigurationLookup(ci);
+            ci.enableInterpolationCache(confLookup != null ? Collections.singleton(confLookup) : null);
+            interpolationCacheListener = event -> {
+                if (!event.isBeforeUpdate()) {
+                    final ConfigurationInterpolator currentInterpolator = getInterpolator();
+                    if (currentInterpolator != null) {
+                        currentInterpolator.clearInterpolationCache();
+                    }
+                }
+            };
+            addEventListener(ConfigurationEvent.ANY, interpolationCacheListener);
+        } else {
+            ci.disableInterpolationCache();
+        }
+    }
+
     /**
      * {@inheritDoc} This implementation sets the passed in object without further modifications. A <strong>null</strong> argument is
      * allowed; this disables interpolation.
@@ -1356,6 +1645,7 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
     @Override
     public final void setInterpolator(final ConfigurationInterpolator ci) {
         interpolator.set(ci);
+        clearTypedValueCache();
     }
 
     /**
@@ -1469,14 +1759,22 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
 
     /**
      * Sets the object responsible for synchronizing this configuration. This method has to be called with a suitable
-     * {@code Synchronizer} object when initializing this configuration instance in order to make it thread-safe.
+     * {@code Synchronizer} object when initializing this configuration instance in order to make it thread-safe. A
+     * {@link SnapshotSynchronizer} does not lock read operations; it is only accepted by configurations which read their
+     * data from immutable snapshots (see {@link #isOptimisticReadSupported()}).
      *
      * @param synchronizer The new {@code Synchronizer}; can be <strong>null</strong>, then this instance uses a
      *        {@link NoOpSynchronizer}
+     * @throws IllegalArgumentException if a {@code SnapshotSynchronizer} is passed, but this configuration is not based on
+     *         immutable snapshots
      * @since 2.0
      */
     @Override
     public final void setSynchronizer(final Synchronizer synchronizer) {
+        if (synchronizer instanceof SnapshotSynchronizer && !isOptimisticReadSupported()) {
+            throw new IllegalArgumentException("SnapshotSynchronizer is not supported by " + getClass().getName()
+                + "; it requires a configuration based on immutable snapshots.");
+        }
         this.synchronizer = synchronizer != null ? synchronizer : NoOpSynchronizer.INSTANCE;
     }
 
@@ -1493,6 +1791,43 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         this.throwExceptionOnMissing = throwExceptionOnMissing;
     }
 
+    /**
+     * Enables or disables the cache for converted property values. If enabled, the results of the getter methods returning
+     * specific data types (like {@code getInt()}, {@code getLong()}, or {@code getDuration()}) are cached per key and
+     * target class, so that the property value does not have to be fetched and converted again on each access. The cache is
+     * cleared whenever this configuration fires a {@link ConfigurationEvent} (after the change has been performed), and
+     * when the {@code ConversionHandler} or the {@code ConfigurationInterpolator} is replaced.
+     * <p>
+     * Only conversions to immutable types (strings, primitives and their wrappers, {@code BigDecimal},
+     * {@code BigInteger}, {@code Duration}, and enumerations) are cached, and only if the property value does not
+     * contain variables. Note: Changes of the data of this configuration which do not cause events (for instance direct
+     * manipulations of the node model of a hierarchical configuration, or changes of the child configurations of a
+     * {@code CompositeConfiguration}) are not detected; the cache should only be enabled for configurations whose data is
+     * changed via their own update methods.
+     * </p>
+     *
+     * @param enabled the flag whether converted values should be cached
+     * @since 2.16.0
+     */
+    public void setTypedValueCacheEnabled(final boolean enabled) {
+        if (typedValueCacheListener != null) {
+            removeEventListener(ConfigurationEvent.ANY, typedValueCacheListener);
+            typedValueCacheListener = null;
+        }
+
+        if (enabled) {
+            typedValueCache.set(new TypedValueCache());
+            typedValueCacheListener = event -> {
+                if (!event.isBeforeUpdate()) {
+                    clearTypedValueCache();
+                }
+            };
+            addEventListener(ConfigurationEvent.ANY, typedValueCacheListener);
+        } else {
+            typedValueCache.set(null);
+        }
+    }
+
     /**
      * {@inheritDoc} This implementation handles synchronization and delegates to {@code sizeInternal()}.
      */
@@ -1530,6 +1865,38 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         }
     }
 
+    /**
+     * Executes a cheap read operation. If this configuration uses a {@link StampedLockSynchronizer} and supports optimistic
+     * reads (see {@link #isOptimisticReadSupported()}), the operation is first executed as an optimistic read without
+     * obtaining a lock. If a concurrent write operation invalidates the
+     * result (or causes the operation to fail), it is repeated under the read lock. In all other cases, this method
+     * behaves like {@code syncRead()}.
+     *
+     * @param <T> the type of the result
+     * @param supplier the read operation
+     * @return the result of the operation
+     */
+    <T> T syncReadOptimistic(final Supplier<T> supplier) {
+        final Synchronizer sync = getSynchronizer();
+        if (sync instanceof StampedLockSynchronizer && isOptimisticReadSupported()) {
+            final StampedLockSynchronizer stampedSync = (StampedLockSynchronizer) sync;
+            final long stamp = stampedSync.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    final T result = supplier.get();
+                    if (stampedSync.validate(stamp)) {
+                        return result;
+                    }
+                } catch (final RuntimeException | Error e) {
+                    if (stampedSync.validate(stamp)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return syncRead(supplier::get, false);
+    }
+
     void syncRead(final Runnable runnable, final boolean optimize) {
         beginRead(optimize);
         try {
@@ -1557,6 +1924,120 @@ public abstract class AbstractConfiguration extends BaseEventSource implements C
         }
     }
 
+    /**
+     * Converts a property value to a {@code boolean}. Values of type {@code Boolean} and strings are converted directly;
+     * all other values are passed to the {@code ConversionHandler}.
+     *
+     * @param key The key of the property.
+     * @param value The value of the property (not <strong>null</strong>).
+     * @param defaultValue The value to return if the conversion yields no result.
+     * @param throwOnMissing A flag whether an exception is thrown if the conversion yields no result.
+     * @return The converted value.
+     */
+    private boolean toBoolean(final String key, final Object value, final boolean defaultValue, final boolean throwOnMissing) {
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
+        }
+        if (value instanceof String && !((String) value).contains(VAR_START)) {
+            final Boolean b = BooleanUtils.toBooleanObject((String) value);
+            if (b != null) {
+                return b.booleanValue();
+            }
+        }
+        final Boolean result = convertPropertyValue(Boolean.class, key, value);
+        if (result == null) {
+            return checkNonNullValue(key, throwOnMissing ? null : Boolean.valueOf(defaultValue)).booleanValue();
+        }
+        return result.booleanValue();
+    }
+
+    /**
+     * Converts a property value to a {@code double}. Numbers and strings containing decimal numbers are converted
+     * directly; all other values are passed to the {@code ConversionHandler}.
+     *
+     * @param key The key of the property.
+     * @param value The value of the property (not <strong>null</strong>).
+     * @param defaultValue The value to return if the conversion yields no result.
+     * @param throwOnMissing A flag whether an exception is thrown if the conversion yields no result.
+     * @return The converted value.
+     */
+    private double toDouble(final String key, final Object value, final double defaultValue, final boolean throwOnMissing) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        final String str = directNumberString(value);
+        if (str != null) {
+            try {
+                return Double.parseDouble(str);
+            } catch (final NumberFormatException e) {
+                // let the ConversionHandler produce the correct exception
+            }
+        }
+        final Double result = convertPropertyValue(Double.class, key, value);
+        if (result == null) {
+            return checkNonNullValue(key, throwOnMissing ? null : Double.valueOf(defaultValue)).doubleValue();
+        }
+        return result.doubleValue();
+    }
+
+    /**
+     * Converts a property value to an {@code int}. Numbers and strings containing decimal numbers are converted
+     * directly; all other values are passed to the {@code ConversionHandler}.
+     *
+     * @param key The key of the property.
+     * @param value The value of the property (not <strong>null</strong>).
+     * @param defaultValue The value to return if the conversion yields no result.
+     * @param throwOnMissing A flag whether an exception is thrown if the conversion yields no result.
+     * @return The converted value.
+     */
+    private int toInt(final String key, final Object value, final int defaultValue, final boolean throwOnMissing) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        final String str = directNumberString(value);
+        if (str != null) {
+            try {
+                return Integer.parseInt(str);
+            } catch (final NumberFormatException e) {
+                // let the ConversionHandler produce the correct exception
+            }
+        }
+        final Integer result = convertPropertyValue(Integer.class, key, value);
+        if (result == null) {
+            return checkNonNullValue(key, throwOnMissing ? null : Integer.valueOf(defaultValue)).intValue();
+        }
+        return result.intValue();
+    }
+
+    /**
+     * Converts a property value to a {@code long}. Numbers and strings containing decimal numbers are converted
+     * directly; all other values are passed to the {@code ConversionHandler}.
+     *
+     * @param key The key of the property.
+     * @param value The value of the property (not <strong>null</strong>).
+     * @param defaultValue The value to return if the conversion yields no result.
+     * @param throwOnMissing A flag whether an exception is thrown if the conversion yields no result.
+     * @return The converted value.
+     */
+    private long toLong(final String key, final Object value, final long defaultValue, final boolean throwOnMissing) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        final String str = directNumberString(value);
+        if (str != null) {
+            try {
+                return Long.parseLong(str);
+            } catch (final NumberFormatException e) {
+                // let the ConversionHandler produce the correct exception
+            }
+        }
+        final Long result = convertPropertyValue(Long.class, key, value);
+        if (result == null) {
+            return checkNonNullValue(key, throwOnMissing ? null : Long.valueOf(defaultValue)).longValue();
+        }
+        return result.longValue();
+    }
+
     /**
      * {@inheritDoc} This implementation delegates to {@code endRead()} or {@code endWrite()}, depending on the
      * {@code LockMode} argument. Subclasses can override these protected methods to perform additional steps when a
@@ -17,18 +17,24 @@
 
 package org.apache.commons.configuration2;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.Stack;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.configuration2.event.ConfigurationEvent;
 import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
@@ -155,74 +161,276 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
     implements Cloneable, NodeKeyResolver<T>, HierarchicalConfiguration<T> {
 
     /**
-     * A specialized visitor that fills a list with keys that are defined in a node hierarchy.
+     * <p>
+     * A specialized {@code Spliterator} that generates the keys defined in a node hierarchy.
+     * </p>
+     * <p>
+     * The keys are generated lazily by an incremental depth-first traversal of the node structure; only the path to the
+     * current node and the keys that have already been returned are stored. As keys are unique, duplicate keys (which
+     * occur for instance for the elements of a list) are returned only once, in the order they first occur. The node
+     * structure is accessed through the {@code NodeHandler} passed to the constructor; so the keys reflect the state of the
+     * configuration at the time the instance was created if this handler operates on an immutable snapshot of the node
+     * structure.
+     * </p>
+     * <p>
+     * The traversal can be split between sibling nodes whose names do not occur in the part assigned to the other
+     * spliterator. Keys generated for nodes with different names are different; so the parts can be processed
+     * independently without returning a key twice.
+     * </p>
+     *
+     * @param <T> The type of the nodes managed by this hierarchical configuration
      */
-    private final class DefinedKeysVisitor extends ConfigurationNodeVisitorAdapter<T> {
+    private static final class DefinedKeysSpliterator<T> implements Spliterator<String> {
+
+        /**
+         * Stores the state of the traversal of the children of a node.
+         */
+        private final class Frame {
+
+            /** The key of the parent node. */
+            private final String key;
+
+            /** The children of the parent node. */
+            private final List<T> children;
+
+            /** The index of the next child to be processed. */
+            private int index;
+
+            /** The index after the last child to be processed. */
+            private int end;
+
+            /** A node whose attribute keys are generated after the children. */
+            private T trailer;
+
+            /** A flag whether this frame was added explicitly rather than by the traversal. */
+            private final boolean root;
+
+            /**
+             * Creates a new instance of {@code Frame}.
+             *
+             * @param key The key of the parent node
+             * @param children The children to be processed
+             * @param trailer The node whose attribute keys are generated after the children (may be <strong>null</strong>)
+             * @param root A flag whether this frame was added explicitly
+             */
+            Frame(final String key, final List<T> children, final T trailer, final boolean root) {
+                this.key = key;
+                this.children = children;
+                this.trailer = trailer;
+                this.root = root;
+                end = children.size();
+            }
+
+            /**
+             * Tests whether there is still something to be processed in this frame.
+             *
+             * @return A flag whether this frame has remaining work
+             */
+            boolean hasRemaining() {
+                return index < end || trailer != null;
+            }
+        }
+
+        /** The handler for accessing the nodes. */
+        private final NodeHandler<T> handler;
+
+        /** The expression engine for generating keys. */
+        private final ExpressionEngine engine;
 
-        /** Stores the list to be filled. */
-        private final Set<String> keyList;
+        /** The stack with the nodes whose children are currently processed. */
+        private final Deque<Frame> frames;
 
-        /** A stack with the keys of the already processed nodes. */
-        private final Stack<String> parentKeys;
+        /** The keys generated for the current node which have not yet been returned. */
+        private final Deque<String> pendingKeys;
+
+        /** The keys returned so far. */
+        private final Set<String> keys;
 
         /**
-         * Default constructor.
+         * Creates a new instance of {@code DefinedKeysSpliterator}.
+         *
+         * @param handler The {@code NodeHandler}
+         * @param engine The {@code ExpressionEngine}
+         * @param keys The set with the keys that must not be returned
          */
-        public DefinedKeysVisitor() {
-            keyList = new LinkedHashSet<>();
-            parentKeys = new Stack<>();
+        DefinedKeysSpliterator(final NodeHandler<T> handler, final ExpressionEngine engine, final Set<String> keys) {
+            this.handler = handler;
+            this.engine = engine;
+            this.keys = keys;
+            frames = new ArrayDeque<>();
+            pendingKeys = new ArrayDeque<>();
         }
 
         /**
-         * Creates a new {@code DefinedKeysVisitor} instance and sets the prefix for the keys to fetch.
+         * Adds the keys of the attributes of the given node.
          *
-         * @param prefix The prefix
+         * @param key The key of the node
+         * @param node The node
          */
-        public DefinedKeysVisitor(final String prefix) {
-            this();
-            parentKeys.push(prefix);
+        private void addAttributeKeys(final String key, final T node) {
+            handler.getAttributes(node).forEach(attr -> pendingKeys.add(engine.attributeKey(key, attr)));
         }
 
         /**
-         * Gets the list with all defined keys.
+         * Adds a key to be returned before the keys of the nodes to be traversed.
          *
-         * @return The list with the defined keys
+         * @param key The key
          */
-        public Set<String> getKeyList() {
-            return keyList;
+        void addKey(final String key) {
+            pendingKeys.add(key);
         }
 
         /**
-         * Appends all attribute keys of the current node.
+         * Adds nodes to be traversed. The nodes are processed before the ones that have been added before.
          *
-         * @param parentKey The parent key
-         * @param node The current node
-         * @param handler The {@code NodeHandler}
+         * @param key The key of the parent of the nodes
+         * @param nodes The nodes to be traversed
+         * @param trailer A node whose attribute keys are generated after the nodes (may be <strong>null</strong>)
          */
-        public void handleAttributeKeys(final String parentKey, final T node, final NodeHandler<T> handler) {
-            handler.getAttributes(node).forEach(attr -> keyList.add(getExpressionEngine().attributeKey(parentKey, attr)));
+        void addNodes(final String key, final List<T> nodes, final T trailer) {
+            frames.push(new Frame(key, nodes, trailer, true));
         }
 
         /**
-         * {@inheritDoc} This implementation removes this node's key from the stack.
+         * Performs a single step of the traversal.
+         *
+         * @return A flag whether the traversal is not yet complete
          */
+        private boolean advance() {
+            final Frame frame = frames.peek();
+            if (frame == null) {
+                return false;
+            }
+            if (frame.index < frame.end) {
+                visit(frame.children.get(frame.index++), frame.key);
+            } else {
+                frames.pop();
+                if (frame.trailer != null) {
+                    addAttributeKeys(frame.key, frame.trailer);
+                }
+            }
+            return true;
+        }
+
         @Override
-        public void visitAfterChildren(final T node, final NodeHandler<T> handler) {
-            parentKeys.pop();
+        public int characteristics() {
+            return ORDERED | DISTINCT | NONNULL;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
         }
 
         /**
-         * {@inheritDoc} If this node has a value, its key is added to the internal list.
+         * Determines the position at which the children of the given frame can be split. The children after this position
+         * must not have a name occurring before it.
+         *
+         * @param frame The frame
+         * @param start The first possible split position
+         * @return The split position or -1 if the frame cannot be split
          */
+        private int splitIndex(final Frame frame, final int start) {
+            final Map<String, Integer> firstIndices = new HashMap<>();
+            for (int i = 0; i < frame.end; i++) {
+                final String name = handler.nodeName(frame.children.get(i));
+                if (name == null || name.isEmpty()) {
+                    return -1;
+                }
+                firstIndices.putIfAbsent(name, i);
+            }
+
+            final int middle = frame.index + (frame.end - frame.index) / 2;
+            int splitIndex = -1;
+            int minFirstIndex = frame.end;
+            for (int i = frame.end - 1; i >= start; i--) {
+                minFirstIndex = Math.min(minFirstIndex, firstIndices.get(handler.nodeName(frame.children.get(i))));
+                if (minFirstIndex >= i && (splitIndex < 0 || Math.abs(i - middle) < Math.abs(splitIndex - middle))) {
+                    splitIndex = i;
+                }
+            }
+            return splitIndex;
+        }
+
         @Override
-        public void visitBeforeChildren(final T node, final NodeHandler<T> handler) {
-            final String parentKey = parentKeys.isEmpty() ? null : parentKeys.peek();
-            final String key = getExpressionEngine().nodeKey(node, parentKey, handler);
-            parentKeys.push(key);
+        public boolean tryAdvance(final Consumer<? super String> action) {
+            while (true) {
+                final String key = pendingKeys.poll();
+                if (key != null) {
+                    if (keys.add(key)) {
+                        action.accept(key);
+                        return true;
+                    }
+                } else if (!advance()) {
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            while (true) {
+                // Only the bottom-most frame with remaining work can be split; keys of later frames could be
+                // generated by the current path as well. The frames above must belong to this path.
+                Frame splitFrame = null;
+                for (final Iterator<Frame> it = frames.descendingIterator(); it.hasNext();) {
+                    final Frame frame = it.next();
+                    if (splitFrame == null) {
+                        if (frame.hasRemaining()) {
+                            splitFrame = frame;
+                        }
+                    } else if (frame.root) {
+                        return null;
+                    }
+                }
+                if (splitFrame == null) {
+                    return null;
+                }
+
+                final boolean top = frames.peek() == splitFrame;
+                if (top && splitFrame.end - splitFrame.index == 1 && splitFrame.trailer == null) {
+                    // descend into the only remaining node
+                    advance();
+                    continue;
+                }
+
+                final int splitIndex = splitIndex(splitFrame, top ? splitFrame.index + 1 : splitFrame.index);
+                if (splitIndex < 0) {
+                    return null;
+                }
+
+                final DefinedKeysSpliterator<T> prefix = new DefinedKeysSpliterator<>(handler, engine, new HashSet<>(keys));
+                prefix.pendingKeys.addAll(pendingKeys);
+                keys.addAll(pendingKeys);
+                pendingKeys.clear();
+                while (frames.peek() != splitFrame) {
+                    prefix.frames.addLast(frames.pop());
+                }
+                final Frame prefixFrame = prefix.new Frame(splitFrame.key, splitFrame.children, null, splitFrame.root);
+                prefixFrame.index = splitFrame.index;
+                prefixFrame.end = splitIndex;
+                prefix.frames.addLast(prefixFrame);
+                splitFrame.index = splitIndex;
+                return prefix;
+            }
+        }
+
+        /**
+         * Generates the keys of a node and schedules its children for being traversed.
+         *
+         * @param node The node
+         * @param parentKey The key of the parent node
+         */
+        private void visit(final T node, final String parentKey) {
+            final String key = engine.nodeKey(node, parentKey, handler);
             if (handler.getValue(node) != null) {
-                keyList.add(key);
+                pendingKeys.add(key);
+            }
+            addAttributeKeys(key, node);
+            final List<T> children = handler.getChildren(node);
+            if (!children.isEmpty()) {
+                frames.push(new Frame(key, children, null, false));
             }
-            handleAttributeKeys(key, node, handler);
         }
     }
 
@@ -457,6 +665,43 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
         return contains(getKeys(), value);
     }
 
+    /**
+     * Creates a {@code Spliterator} for all keys defined in this configuration.
+     *
+     * @return The {@code Spliterator}
+     */
+    private Spliterator<String> createKeysSpliterator() {
+        final NodeHandler<T> handler = getModel().getNodeHandler();
+        final DefinedKeysSpliterator<T> spliterator = new DefinedKeysSpliterator<>(handler, getExpressionEngine(), new HashSet<>());
+        spliterator.addNodes(null, Collections.singletonList(handler.getRootNode()), null);
+        return spliterator;
+    }
+
+    /**
+     * Creates a {@code Spliterator} for the keys defined in this configuration that start with the given prefix. The node
+     * with the prefix key is resolved immediately; its subtree is traversed lazily.
+     *
+     * @param prefix The prefix of the keys to start with
+     * @return The {@code Spliterator}
+     */
+    private Spliterator<String> createKeysSpliterator(final String prefix) {
+        final NodeHandler<T> handler = getModel().getNodeHandler();
+        final DefinedKeysSpliterator<T> spliterator = new DefinedKeysSpliterator<>(handler, getExpressionEngine(), new HashSet<>());
+        if (containsKey(prefix)) {
+            // explicitly add the prefix
+            spliterator.addKey(prefix);
+        }
+
+        final List<QueryResult<T>> results = fetchNodeList(prefix);
+        for (final ListIterator<QueryResult<T>> it = results.listIterator(results.size()); it.hasPrevious();) {
+            final QueryResult<T> result = it.previous();
+            if (!result.isAttributeResult()) {
+                spliterator.addNodes(prefix, handler.getChildren(result.getNode()), result.getNode());
+            }
+        }
+        return spliterator;
+    }
+
     /**
      * Helper method for resolving the specified key.
      *
@@ -482,13 +727,14 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
 
     /**
      * Gets an iterator with all keys defined in this configuration. Note that the keys returned by this method will not
-     * contain any indices. This means that some structure will be lost.
+     * contain any indices. This means that some structure will be lost. The keys are generated lazily while iterating over
+     * the node structure as it was when this method was called.
      *
      * @return An iterator with the defined keys in this configuration
      */
     @Override
     protected Iterator<String> getKeysInternal() {
-        return visitDefinedKeys().getKeyList().iterator();
+        return Spliterators.iterator(createKeysSpliterator());
     }
 
     /**
@@ -518,23 +764,32 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
      */
     @Override
     protected Iterator<String> getKeysInternal(final String prefix, final String delimiter) {
-        final DefinedKeysVisitor visitor = new DefinedKeysVisitor(prefix);
-        if (containsKey(prefix)) {
-            // explicitly add the prefix
-            visitor.getKeyList().add(prefix);
-        }
-
-        final List<QueryResult<T>> results = fetchNodeList(prefix);
-        final NodeHandler<T> handler = getModel().getNodeHandler();
+        return Spliterators.iterator(createKeysSpliterator(prefix));
+    }
 
-        results.forEach(result -> {
-            if (!result.isAttributeResult()) {
-                handler.getChildren(result.getNode()).forEach(c -> NodeTreeWalker.INSTANCE.walkDFS(c, visitor, handler));
-                visitor.handleAttributeKeys(prefix, result.getNode(), handler);
-            }
-        });
+    /**
+     * Gets a {@code Spliterator} with all keys defined in this configuration. The keys are the same as returned by
+     * {@link #getKeys()}. They are generated lazily by traversing the node structure as it was when this method was
+     * called; so callers that process only some of the keys do not need to pay for the others. The {@code Spliterator}
+     * can be split, so that the keys of large configurations can be processed in parallel streams.
+     *
+     * @return A {@code Spliterator} with the defined keys in this configuration
+     * @since 2.16.0
+     */
+    public final Spliterator<String> getKeysSpliterator() {
+        return syncRead(() -> createKeysSpliterator(), false);
+    }
 
-        return visitor.getKeyList().iterator();
+    /**
+     * Gets a {@code Spliterator} with all keys defined in this configuration that start with the given prefix. The keys
+     * are the same as returned by {@link #getKeys(String)}. Like {@link #getKeysSpliterator()}, they are generated lazily.
+     *
+     * @param prefix The prefix of the keys to start with
+     * @return A {@code Spliterator} with the found keys
+     * @since 2.16.0
+     */
+    public final Spliterator<String> getKeysSpliterator(final String prefix) {
+        return syncRead(() -> createKeysSpliterator(prefix), false);
     }
 
     /**
@@ -699,11 +954,13 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
     /**
      * {@inheritDoc} This implementation executes a query for the given key and constructs a {@code NodeUpdateData} object
      * based on the results. It determines which nodes need to be changed and whether new ones need to be added or existing
-     * ones need to be removed.
+     * ones need to be removed. If the passed in root node is not the current root node of this configuration (which is
+     * the case for instance for the operations of a batch update), the query is executed on the passed in structure.
      */
     @Override
     public NodeUpdateData<T> resolveUpdateKey(final T root, final String key, final Object newValue, final NodeHandler<T> handler) {
-        final Iterator<QueryResult<T>> itNodes = fetchNodeList(key).iterator();
+        final List<QueryResult<T>> results = root == getModel().getNodeHandler().getRootNode() ? fetchNodeList(key) : resolveKey(root, key, handler);
+        final Iterator<QueryResult<T>> itNodes = results.iterator();
         final Iterator<?> itValues = getListDelimiterHandler().parse(newValue).iterator();
         final Map<QueryResult<T>, Object> changedValues = new HashMap<>();
         Collection<Object> additionalValues = null;
@@ -753,13 +1010,12 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
     }
 
     /**
-     * {@inheritDoc} This implementation is slightly more efficient than the default implementation. It does not iterate
-     * over the key set, but directly queries its size after it has been constructed. Note that constructing the key set is
-     * still an O(n) operation.
+     * {@inheritDoc} This implementation is slightly more efficient than the default implementation. It counts the keys
+     * directly while traversing the node structure. Note that this is still an O(n) operation.
      */
     @Override
     protected int sizeInternal() {
-        return visitDefinedKeys().getKeyList().size();
+        return (int) StreamSupport.stream(createKeysSpliterator(), false).count();
     }
 
     @Override
@@ -777,16 +1033,4 @@ public abstract class AbstractHierarchicalConfiguration<T> extends AbstractConfi
     private Object valueFromResult(final QueryResult<T> result, final NodeHandler<T> handler) {
         return result.isAttributeResult() ? result.getAttributeValue(handler) : handler.getValue(result.getNode());
     }
-
-    /**
-     * Creates a {@code DefinedKeysVisitor} and visits all defined keys with it.
-     *
-     * @return The visitor after all keys have been visited
-     */
-    private DefinedKeysVisitor visitDefinedKeys() {
-        final DefinedKeysVisitor visitor = new DefinedKeysVisitor();
-        final NodeHandler<T> nodeHandler = getModel().getNodeHandler();
-        NodeTreeWalker.INSTANCE.walkDFS(nodeHandler.getRootNode(), visitor, nodeHandler);
-        return visitor;
-    }
 }
@@ -30,6 +30,7 @@ import java.util.stream.Collectors;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.io.ConfigurationLogger;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.configuration2.tree.NodeNameTable;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -78,16 +79,17 @@ public class AbstractYAMLBasedConfiguration extends BaseHierarchicalConfiguratio
      * @param key     The key of the new node(s).
      * @param elem    The element to be processed.
      * @param visited The set of visited objects.
+     * @param names   The table for the names of nodes.
      * @return A list with configuration nodes representing the element
      */
-    private static List<ImmutableNode> constructHierarchy(final String key, final Object elem, final Set<Object> visited) {
+    private static List<ImmutableNode> constructHierarchy(final String key, final Object elem, final Set<Object> visited, final NodeNameTable names) {
         if (elem instanceof Map) {
-            return isVisisted(elem, visited) ? Collections.emptyList() : parseMap((Map<String, Object>) elem, key, visited);
+            return isVisisted(elem, visited) ? Collections.emptyList() : parseMap((Map<String, Object>) elem, key, visited, names);
         }
         if (elem instanceof Collection) {
-            return isVisisted(elem, visited) ? Collections.emptyList() : parseCollection((Collection<Object>) elem, key, visited);
+            return isVisisted(elem, visited) ? Collections.emptyList() : parseCollection((Collection<Object>) elem, key, visited, names);
         }
-        return Collections.singletonList(new ImmutableNode.Builder().name(key).value(elem).create());
+        return Collections.singletonList(new ImmutableNode.Builder().name(names.intern(key)).value(elem).create());
     }
 
     private static boolean isVisisted(final Object elem, final Set<Object> visited) {
@@ -100,10 +102,11 @@ public class AbstractYAMLBasedConfiguration extends BaseHierarchicalConfiguratio
      * @param col     The collection to be processed.
      * @param key     The key under which this collection is to be stored.
      * @param visited The set of visited objects.
+     * @param names   The table for the names of nodes.
      * @return A node representing this collection.
      */
-    private static List<ImmutableNode> parseCollection(final Collection<Object> col, final String key, final Set<Object> visited) {
-        return col.stream().flatMap(elem -> constructHierarchy(key, elem, visited).stream()).collect(Collectors.toList());
+    private static List<ImmutableNode> parseCollection(final Collection<Object> col, final String key, final Set<Object> visited, final NodeNameTable names) {
+        return col.stream().flatMap(elem -> constructHierarchy(key, elem, visited, names).stream()).collect(Collectors.toList());
     }
 
     /**
@@ -112,11 +115,12 @@ public class AbstractYAMLBasedConfiguration extends BaseHierarchicalConfiguratio
      * @param map     The map to be processed.
      * @param key     The key under which this map is to be stored.
      * @param visited The set of visited objects.
+     * @param names   The table for the names of nodes.
      * @return A node representing this map
      */
-    private static List<ImmutableNode> parseMap(final Map<String, Object> map, final String key, final Set<Object> visited) {
-        final ImmutableNode.Builder subtree = new ImmutableNode.Builder().name(key);
-        map.forEach((k, v) -> constructHierarchy(k, v, visited).forEach(subtree::addChild));
+    private static List<ImmutableNode> parseMap(final Map<String, Object> map, final String key, final Set<Object> visited, final NodeNameTable names) {
+        final ImmutableNode.Builder subtree = new ImmutableNode.Builder().name(names.intern(key));
+        map.forEach((k, v) -> constructHierarchy(k, v, visited, names).forEach(subtree::addChild));
         return Collections.singletonList(subtree.create());
     }
 
@@ -169,7 +173,7 @@ public class AbstractYAMLBasedConfiguration extends BaseHierarchicalConfiguratio
      * @param map The map to be processed
      */
     protected void load(final Map<String, Object> map) {
-        final List<ImmutableNode> roots = constructHierarchy(StringUtils.EMPTY, map, new HashSet<>());
+        final List<ImmutableNode> roots = constructHierarchy(StringUtils.EMPTY, map, new HashSet<>(), new NodeNameTable());
         if (!roots.isEmpty()) {
             getNodeModel().setRootNode(roots.get(0));
         }
@@ -17,20 +17,26 @@
 
 package org.apache.commons.configuration2;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.commons.configuration2.event.ConfigurationEvent;
 import org.apache.commons.configuration2.event.EventListener;
+import org.apache.commons.configuration2.event.EventType;
 import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
 import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
+import org.apache.commons.configuration2.sync.BoundedCache;
 import org.apache.commons.configuration2.tree.ConfigurationNodeVisitorAdapter;
+import org.apache.commons.configuration2.tree.ExpressionEngine;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.commons.configuration2.tree.InMemoryNodeModel;
 import org.apache.commons.configuration2.tree.InMemoryNodeModelSupport;
@@ -48,6 +54,16 @@ import org.apache.commons.lang3.ObjectUtils;
  * A specialized hierarchical configuration implementation that is based on a structure of {@link ImmutableNode}
  * objects.
  * </p>
+ * <p>
+ * Optionally, the results of key queries can be stored in an index (see {@link #setKeyIndexEnabled(boolean)}). As the
+ * nodes of the configuration are immutable, the results of a query depend only on the root node and the expression
+ * engine. The index is therefore associated with the current root node and replaced automatically when the root node
+ * changes because of an update; so repeated reads of the same key are answered by a single hash lookup.
+ * </p>
+ * <p>
+ * Multiple updates can be combined using the {@link #update(Consumer, boolean)} method. The operations are then applied
+ * to the node model in a single step, and the events for them can optionally be coalesced.
+ * </p>
  */
 public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfiguration<ImmutableNode> implements InMemoryNodeModelSupport {
 
@@ -357,9 +373,203 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
         return subs.stream().map(ConfigurationUtils::unmodifiableConfiguration).collect(Collectors.toList());
     }
 
+    /**
+     * A class for defining a number of update operations to be applied to a configuration in a single step. An instance is
+     * passed to the consumer provided to {@link BaseHierarchicalConfiguration#update(Consumer, boolean)}. The methods of
+     * this class correspond to the update methods of the configuration; they only record the operations, which are
+     * executed in the order they have been recorded after the consumer has returned.
+     *
+     * @since 2.16.0
+     */
+    public static final class Batch {
+
+        /** The list with the recorded operations. */
+        private final List<BatchOperation> operations = new ArrayList<>();
+
+        /**
+         * Creates a new instance of {@code Batch}.
+         */
+        private Batch() {
+        }
+
+        /**
+         * Records an operation.
+         *
+         * @param type The event type corresponding to the operation
+         * @param key The key
+         * @param value The value
+         * @return A reference to this object for method chaining
+         */
+        private Batch add(final EventType<ConfigurationEvent> type, final String key, final Object value) {
+            operations.add(new BatchOperation(type, key, value));
+            return this;
+        }
+
+        /**
+         * Records an operation which adds a collection of nodes. This corresponds to
+         * {@link BaseHierarchicalConfiguration#addNodes(String, Collection)}.
+         *
+         * @param key The key
+         * @param nodes The collection with the nodes to be added
+         * @return A reference to this object for method chaining
+         */
+        public Batch addNodes(final String key, final Collection<? extends ImmutableNode> nodes) {
+            return nodes == null || nodes.isEmpty() ? this : add(ConfigurationEvent.ADD_NODES, key, nodes);
+        }
+
+        /**
+         * Records an operation which adds a property value. This corresponds to
+         * {@link BaseHierarchicalConfiguration#addProperty(String, Object)}.
+         *
+         * @param key The key of the property
+         * @param value The value to be added
+         * @return A reference to this object for method chaining
+         */
+        public Batch addProperty(final String key, final Object value) {
+            return add(ConfigurationEvent.ADD_PROPERTY, key, value);
+        }
+
+        /**
+         * Records an operation which removes a property. This corresponds to
+         * {@link BaseHierarchicalConfiguration#clearProperty(String)}.
+         *
+         * @param key The key of the property
+         * @return A reference to this object for method chaining
+         */
+        public Batch clearProperty(final String key) {
+            return add(ConfigurationEvent.CLEAR_PROPERTY, key, null);
+        }
+
+        /**
+         * Records an operation which removes a whole sub tree. This corresponds to
+         * {@link BaseHierarchicalConfiguration#clearTree(String)}.
+         *
+         * @param key The key of the sub tree
+         * @return A reference to this object for method chaining
+         */
+        public Batch clearTree(final String key) {
+            return add(ConfigurationEvent.CLEAR_TREE, key, null);
+        }
+
+        /**
+         * Records an operation which sets the value of a property. This corresponds to
+         * {@link BaseHierarchicalConfiguration#setProperty(String, Object)}.
+         *
+         * @param key The key of the property
+         * @param value The new value
+         * @return A reference to this object for method chaining
+         */
+        public Batch setProperty(final String key, final Object value) {
+            return add(ConfigurationEvent.SET_PROPERTY, key, value);
+        }
+    }
+
+    /**
+     * A class representing an update operation recorded by a {@code Batch}. The operation is identified by the type of
+     * the event fired for it.
+     */
+    private static final class BatchOperation {
+
+        /** The event type corresponding to this operation. */
+        private final EventType<ConfigurationEvent> type;
+
+        /** The key. */
+        private final String key;
+
+        /** The value. */
+        private final Object value;
+
+        /** The result of a clear tree operation. */
+        private Object result;
+
+        /**
+         * Creates a new instance of {@code BatchOperation}.
+         *
+         * @param type The event type
+         * @param key The key
+         * @param value The value
+         */
+        BatchOperation(final EventType<ConfigurationEvent> type, final String key, final Object value) {
+            this.type = type;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * Gets the value to be passed to the event fired after this operation.
+         *
+         * @return The value for the after event
+         */
+        Object getEventValueAfter() {
+            return type == ConfigurationEvent.CLEAR_TREE ? result : value;
+        }
+    }
+
+    /**
+     * A class storing the results of key queries for a specific root node and expression engine.
+     */
+    private static final class KeyIndex {
+
+        /** The root node the results are based on. */
+        private final ImmutableNode root;
+
+        /** The expression engine used for the queries. */
+        private final ExpressionEngine engine;
+
+        /** The cache with the results of queries. */
+        private final BoundedCache<String, List<QueryResult<ImmutableNode>>> results = new BoundedCache<>(KEY_INDEX_SIZE);
+
+        /**
+         * Creates a new instance of {@code KeyIndex}.
+         *
+         * @param root The root node
+         * @param engine The expression engine
+         */
+        KeyIndex(final ImmutableNode root, final ExpressionEngine engine) {
+            this.root = root;
+            this.engine = engine;
+        }
+
+        /**
+         * Tests whether this index can be used for the given root node and expression engine.
+         *
+         * @param rootNode The current root node
+         * @param expressionEngine The current expression engine
+         * @return A flag whether this index is valid
+         */
+        boolean isValidFor(final ImmutableNode rootNode, final ExpressionEngine expressionEngine) {
+            return root == rootNode && engine == expressionEngine;
+        }
+    }
+
+    /** The maximum number of keys stored in the key index. */
+    private static final int KEY_INDEX_SIZE = 4096;
+
+    /**
+     * Returns a list with the operations of a batch for which events are to be fired if events are coalesced: For each
+     * key, only the last operation is reported.
+     *
+     * @param operations The operations of the batch
+     * @return The list with the operations to be reported
+     */
+    private static List<BatchOperation> coalesceOperations(final List<BatchOperation> operations) {
+        final Map<String, BatchOperation> lastOperations = new LinkedHashMap<>();
+        operations.forEach(op -> {
+            lastOperations.remove(op.key);
+            lastOperations.put(op.key, op);
+        });
+        return new ArrayList<>(lastOperations.values());
+    }
+
     /** A listener for reacting on changes caused by sub configurations. */
     private final EventListener<ConfigurationEvent> changeListener;
 
+    /** A flag whether the key index is enabled. */
+    private volatile boolean keyIndexEnabled;
+
+    /** The current key index; <strong>null</strong> if it has not yet been created. */
+    private volatile KeyIndex keyIndex;
+
     /**
      * Creates a new instance of {@code BaseHierarchicalConfiguration}.
      */
@@ -389,6 +599,67 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
         changeListener = createChangeListener();
     }
 
+    /**
+     * Applies the operations of a batch. If possible, they are executed on the node model in a single step. Otherwise,
+     * they are executed one after the other using the methods for the single update operations.
+     *
+     * @param operations The operations to be applied
+     */
+    private void applyBatch(final List<BatchOperation> operations) {
+        final NodeModel<ImmutableNode> model = getModel();
+        if (model instanceof InMemoryNodeModel && isDirectBatchUpdateSupported()) {
+            ((InMemoryNodeModel) model).updateBatch(batchModel -> operations.forEach(op -> op.result = applyOperation(batchModel, op)));
+        } else {
+            operations.forEach(op -> op.result = applyOperation(op));
+        }
+    }
+
+    /**
+     * Applies an operation of a batch using the methods for the single update operations.
+     *
+     * @param op The operation
+     * @return The result of the operation
+     */
+    @SuppressWarnings("unchecked")
+    private Object applyOperation(final BatchOperation op) {
+        if (op.type == ConfigurationEvent.ADD_NODES) {
+            addNodesInternal(op.key, (Collection<? extends ImmutableNode>) op.value);
+        } else if (op.type == ConfigurationEvent.ADD_PROPERTY) {
+            addPropertyInternal(op.key, op.value);
+        } else if (op.type == ConfigurationEvent.CLEAR_PROPERTY) {
+            clearPropertyDirect(op.key);
+        } else if (op.type == ConfigurationEvent.CLEAR_TREE) {
+            return clearTreeInternal(op.key);
+        } else {
+            setPropertyInternal(op.key, op.value);
+        }
+        return null;
+    }
+
+    /**
+     * Applies an operation of a batch directly to the given node model. This corresponds to the implementations of the
+     * methods for the single update operations.
+     *
+     * @param model The node model
+     * @param op The operation
+     * @return The result of the operation
+     */
+    @SuppressWarnings("unchecked")
+    private Object applyOperation(final NodeModel<ImmutableNode> model, final BatchOperation op) {
+        if (op.type == ConfigurationEvent.ADD_NODES) {
+            model.addNodes(op.key, (Collection<? extends ImmutableNode>) op.value, this);
+        } else if (op.type == ConfigurationEvent.ADD_PROPERTY) {
+            model.addProperty(op.key, getListDelimiterHandler().parse(op.value), this);
+        } else if (op.type == ConfigurationEvent.CLEAR_PROPERTY) {
+            model.clearProperty(op.key, this);
+        } else if (op.type == ConfigurationEvent.CLEAR_TREE) {
+            return model.clearTree(op.key, this);
+        } else {
+            model.setProperty(op.key, op.value, this);
+        }
+        return null;
+    }
+
     /**
      * {@inheritDoc} This implementation resolves the node(s) selected by the given key. If not a single node is selected,
      * an empty list is returned. Otherwise, sub configurations for each child of the node are created.
@@ -600,6 +871,28 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
         return resolveNodeKey(handler.getRootNode(), key, handler);
     }
 
+    /**
+     * {@inheritDoc} If the key index is enabled, this implementation obtains the results from the index if possible.
+     * Newly resolved keys are added to the index. The lists returned in this case are unmodifiable.
+     */
+    @Override
+    protected List<QueryResult<ImmutableNode>> fetchNodeList(final String key) {
+        if (!keyIndexEnabled) {
+            return super.fetchNodeList(key);
+        }
+
+        final NodeHandler<ImmutableNode> handler = getModel().getNodeHandler();
+        final ImmutableNode root = handler.getRootNode();
+        final ExpressionEngine engine = getExpressionEngine();
+        KeyIndex index = keyIndex;
+        if (index == null || !index.isValidFor(root, engine)) {
+            index = new KeyIndex(root, engine);
+            keyIndex = index;
+        }
+
+        return index.results.computeIfAbsent(key, k -> Collections.unmodifiableList(resolveKey(root, k, handler)));
+    }
+
     /**
      * {@inheritDoc} This implementation returns the {@code InMemoryNodeModel} used by this configuration.
      */
@@ -682,6 +975,7 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
         sub.setExpressionEngine(getExpressionEngine());
         sub.setListDelimiterHandler(getListDelimiterHandler());
         sub.setThrowExceptionOnMissing(isThrowExceptionOnMissing());
+        sub.setKeyIndexEnabled(isKeyIndexEnabled());
         sub.getInterpolator().setParentInterpolator(getInterpolator());
     }
 
@@ -717,6 +1011,63 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
         return c;
     }
 
+    /**
+     * Tests whether the operations of a {@link Batch} can be applied directly to the node model in a single step. If this
+     * method returns <strong>true</strong> and this configuration is backed by an {@link InMemoryNodeModel}, a batch is
+     * executed as a single update of the node model; the methods for single update operations (like
+     * {@code addPropertyInternal()} or {@code setPropertyInternal()}) are not called. Derived classes overriding these
+     * methods have to override this method to return <strong>false</strong>; then the operations of a batch are executed
+     * one after the other using these methods. This base implementation returns <strong>true</strong>.
+     *
+     * @return <strong>true</strong> if batches can be applied directly to the node model, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    protected boolean isDirectBatchUpdateSupported() {
+        return true;
+    }
+
+    /**
+     * Tests whether the key index is enabled.
+     *
+     * @return <strong>true</strong> if the results of key queries are stored in an index, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    public boolean isKeyIndexEnabled() {
+        return keyIndexEnabled;
+    }
+
+    /**
+     * {@inheritDoc} This implementation returns <strong>true</strong> if this configuration is backed by an
+     * {@link InMemoryNodeModel} or by a {@link TrackedNodeModel} (as used by sub configurations connected to their
+     * parent). Then cheap read operations work on an immutable snapshot of the node structure and can safely be repeated.
+     * Derived classes overriding methods involved in these operations (like {@code getPropertyInternal()} or
+     * {@code fetchNodeList()}) in a way that accesses other data have to override this method to return
+     * <strong>false</strong>.
+     *
+     * @since 2.16.0
+     */
+    @Override
+    protected boolean isOptimisticReadSupported() {
+        final NodeModel<ImmutableNode> model = getModel();
+        return model instanceof InMemoryNodeModel || model instanceof TrackedNodeModel;
+    }
+
+    /**
+     * Enables or disables the key index. If enabled, the results of key queries, for example for {@code getProperty()} or
+     * {@code containsKey()}, are stored in an index associated with the current root node of this configuration. Further
+     * queries for the same key are then answered from the index without parsing the key and walking the node tree. Every
+     * update of this configuration produces a new root node; then a new index is created, so no explicit invalidation is
+     * necessary. The size of the index is limited; keys which have not been queried for a long time are evicted. The
+     * index is disabled per default.
+     *
+     * @param enabled A flag whether the key index should be used
+     * @since 2.16.0
+     */
+    public void setKeyIndexEnabled(final boolean enabled) {
+        keyIndexEnabled = enabled;
+        keyIndex = null;
+    }
+
     /**
      * This method is always called when a subnode configuration created from this configuration has been modified. This
      * implementation transforms the received event into an event of type {@code SUBNODE_CHANGED} and notifies the
@@ -772,4 +1123,44 @@ public class BaseHierarchicalConfiguration extends AbstractHierarchicalConfigura
             return result;
         }, false);
     }
+
+    /**
+     * Executes a number of update operations as a single update. This is equivalent to {@code update(definition, false)}.
+     *
+     * @param definition The consumer defining the update operations
+     * @see #update(Consumer, boolean)
+     * @since 2.16.0
+     */
+    public void update(final Consumer<? super Batch> definition) {
+        update(definition, false);
+    }
+
+    /**
+     * Executes a number of update operations as a single update. The passed in consumer is invoked with a {@link Batch}
+     * object on which the operations are recorded. They are then executed in this order while holding the write lock only
+     * once. If this configuration uses an {@link InMemoryNodeModel} and its class does not override the methods
+     * implementing the single update operations, all operations are applied to the model in a single step; then the
+     * structures maintained by the model are updated only once, and the changes become visible at the same time. For each
+     * operation, the same events are fired as for the corresponding method of this configuration; all before events are
+     * fired before the first operation is executed, all after events after the last one. If the {@code coalesceEvents}
+     * flag is <strong>true</strong>, only the last operation for each key is reported.
+     *
+     * @param definition The consumer defining the update operations
+     * @param coalesceEvents a flag whether only a single event per key is fired
+     * @since 2.16.0
+     */
+    public void update(final Consumer<? super Batch> definition, final boolean coalesceEvents) {
+        final Batch batch = new Batch();
+        definition.accept(batch);
+        if (batch.operations.isEmpty()) {
+            return;
+        }
+
+        final List<BatchOperation> reported = coalesceEvents ? coalesceOperations(batch.operations) : batch.operations;
+        syncWrite(() -> {
+            reported.forEach(op -> fireEvent(op.type, op.key, op.value, true));
+            applyBatch(batch.operations);
+            reported.forEach(op -> fireEvent(op.type, op.key, op.getEventValueAfter(), false));
+        }, false);
+    }
 }
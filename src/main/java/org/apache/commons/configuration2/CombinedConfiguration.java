@@ -20,12 +20,15 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import org.apache.commons.configuration2.event.ConfigurationEvent;
@@ -38,8 +41,12 @@ import org.apache.commons.configuration2.tree.DefaultConfigurationKey;
 import org.apache.commons.configuration2.tree.DefaultExpressionEngine;
 import org.apache.commons.configuration2.tree.ExpressionEngine;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.configuration2.tree.InMemoryNodeModel;
 import org.apache.commons.configuration2.tree.NodeCombiner;
+import org.apache.commons.configuration2.tree.NodeModel;
 import org.apache.commons.configuration2.tree.NodeTreeWalker;
+import org.apache.commons.configuration2.tree.OverlayNodeHandler;
+import org.apache.commons.configuration2.tree.OverrideCombiner;
 import org.apache.commons.configuration2.tree.QueryResult;
 import org.apache.commons.configuration2.tree.TreeUtils;
 import org.apache.commons.configuration2.tree.UnionCombiner;
@@ -65,7 +72,26 @@ import org.apache.commons.lang3.StringUtils;
  * The class works by registering itself as an event listener at all added configurations. So it gets notified whenever
  * one of these configurations is changed and can invalidate its internal node structure. The next time a property is
  * accessed the node structure will be re-constructed using the current state of the managed configurations. Note that,
- * depending on the used {@code NodeCombiner}, this may be a complex operation.
+ * depending on the used {@code NodeCombiner}, this may be a complex operation. To reduce the effort, the intermediate
+ * results of combining the child configurations are kept. If a change event is received from a child configuration,
+ * only this configuration and the ones added after it are combined again, starting with the intermediate result of the
+ * configurations before it. Adding a configuration therefore only requires a single combine operation. A call of
+ * {@link #invalidate()} causes the whole node structure to be re-constructed; this can be used if child configurations
+ * are changed without sending events.
+ * </p>
+ * <p>
+ * Before the child configurations can be combined, their content has to be converted to hierarchical node structures.
+ * If a {@code ForkJoinPool} is set via {@link #setForkJoinPool(ForkJoinPool)}, these conversions are performed
+ * concurrently in this pool. The node structures are then combined in the order of the child configurations, so the
+ * result is the same as in sequential mode.
+ * </p>
+ * <p>
+ * If an {@link OverrideCombiner} is used, the overlay mode can be enabled via {@link #setOverlayEnabled(boolean)}.
+ * Then queries for properties are answered by an {@link OverlayNodeHandler}, which consults the node structures of the
+ * child configurations in the order of their priority and combines only the nodes actually visited. So the combined
+ * node structure does not have to be constructed and kept in memory just to read some properties. It is only
+ * constructed if an operation needs it, for instance {@code getKeys()} or {@code configurationAt()}. In overlay mode,
+ * the properties of this configuration cannot be updated; the child configurations have to be updated instead.
  * </p>
  * <p>
  * Because of the way a {@code CombinedConfiguration} is working it has more or less view character: it provides a logic
@@ -176,6 +202,9 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         /** Stores the root node for this child configuration. */
         private ImmutableNode rootNode;
 
+        /** Stores the result of combining all configurations up to and including this one. */
+        private ImmutableNode combinedRoot;
+
         /**
          * Creates a new instance of {@code ConfigData} and initializes it.
          *
@@ -199,6 +228,15 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
             return at;
         }
 
+        /**
+         * Gets the root node obtained by combining all configurations up to and including this one.
+         *
+         * @return The combined root node
+         */
+        public ImmutableNode getCombinedRoot() {
+            return combinedRoot;
+        }
+
         /**
          * Gets the stored configuration.
          *
@@ -256,6 +294,15 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
             return atPath == null ? configRoot : prependAtPath(configRoot);
         }
 
+        /**
+         * Sets the root node obtained by combining all configurations up to and including this one.
+         *
+         * @param combinedRoot The combined root node
+         */
+        public void setCombinedRoot(final ImmutableNode combinedRoot) {
+            this.combinedRoot = combinedRoot;
+        }
+
         /**
          * Splits the at path into its components.
          *
@@ -343,7 +390,28 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
     private ExpressionEngine conversionExpressionEngine;
 
     /** A flag whether this configuration is up-to-date. */
-    private boolean upToDate;
+    private volatile boolean upToDate;
+
+    /** The pool for converting child configurations concurrently; <strong>null</strong> for sequential processing. */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * The number of child configurations at the beginning of the list whose combined root nodes are still valid. When
+     * re-constructing the combined node structure, combining starts after these configurations.
+     */
+    private int validConfigurations;
+
+    /** A flag whether the overlay mode is enabled. */
+    private volatile boolean overlayEnabled;
+
+    /**
+     * The transformed root nodes of the child configurations at the beginning of the list which are still valid. They are
+     * used for the overlay.
+     */
+    private List<ImmutableNode> overlayRoots;
+
+    /** The node handler for the overlay of the child configurations; <strong>null</strong> if it has to be created. */
+    private volatile OverlayNodeHandler overlayHandler;
 
     /**
      * Creates a new instance of {@code CombinedConfiguration} that uses a union combiner.
@@ -417,20 +485,38 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
                 namedConfigurations.put(name, config);
             }
 
-            invalidateInternal();
+            invalidateInternal(configurations.size() - 1);
         } finally {
             endWrite();
         }
         registerListenerAt(config);
     }
 
+    /**
+     * {@inheritDoc} This implementation checks whether this configuration can be updated.
+     */
+    @Override
+    protected void addNodesInternal(final String key, final Collection<? extends ImmutableNode> nodes) {
+        checkWritable();
+        super.addNodesInternal(key, nodes);
+    }
+
+    /**
+     * {@inheritDoc} This implementation checks whether this configuration can be updated.
+     */
+    @Override
+    protected void addPropertyInternal(final String key, final Object obj) {
+        checkWritable();
+        super.addPropertyInternal(key, obj);
+    }
+
     /**
      * {@inheritDoc} This implementation checks whether a combined root node is available. If not, it is constructed by
-     * requesting a write lock.
+     * requesting a write lock. In overlay mode, the combined root node is constructed on demand.
      */
     @Override
     protected void beginRead(final boolean optimize) {
-        if (optimize) {
+        if (optimize || isOverlayActive()) {
             // just need a lock, don't construct configuration
             super.beginRead(true);
             return;
@@ -452,11 +538,12 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
 
     /**
      * {@inheritDoc} This implementation checks whether a combined root node is available. If not, it is constructed now.
+     * In overlay mode, the combined root node is constructed on demand.
      */
     @Override
     protected void beginWrite(final boolean optimize) {
         super.beginWrite(true);
-        if (optimize) {
+        if (optimize || isOverlayActive()) {
             // just need a lock, don't construct configuration
             return;
         }
@@ -475,6 +562,17 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         }
     }
 
+    /**
+     * Checks whether the properties of this configuration can be updated. This is not the case in overlay mode.
+     *
+     * @throws UnsupportedOperationException if the overlay mode is active
+     */
+    private void checkWritable() {
+        if (isOverlayActive()) {
+            throw new UnsupportedOperationException("CombinedConfiguration is read-only in overlay mode.");
+        }
+    }
+
     /**
      * Clears this configuration. All contained configurations will be removed.
      */
@@ -485,6 +583,24 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         invalidateInternal();
     }
 
+    /**
+     * {@inheritDoc} This implementation checks whether this configuration can be updated.
+     */
+    @Override
+    protected void clearPropertyDirect(final String key) {
+        checkWritable();
+        super.clearPropertyDirect(key);
+    }
+
+    /**
+     * {@inheritDoc} This implementation checks whether this configuration can be updated.
+     */
+    @Override
+    protected Object clearTreeInternal(final String key) {
+        checkWritable();
+        return super.clearTreeInternal(key);
+    }
+
     /**
      * Returns a copy of this object. This implementation performs a deep clone, i.e. all contained configurations will be
      * cloned, too. For this to work, all contained configurations must be cloneable. Registered event listeners won't be
@@ -507,7 +623,8 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
     }
 
     /**
-     * Creates the root node of this combined configuration.
+     * Creates the root node of this combined configuration. The configurations whose combined root nodes are still valid
+     * are skipped; combining starts with the combined root node of the last of them.
      *
      * @return The combined root node
      */
@@ -518,10 +635,14 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
             }
             return EMPTY_ROOT;
         }
-        final Iterator<ConfigData> it = configurations.iterator();
-        ImmutableNode node = it.next().getTransformedRoot();
-        while (it.hasNext()) {
-            node = nodeCombiner.combine(node, it.next().getTransformedRoot());
+        final int start = Math.min(validConfigurations, getNumberOfConfigurationsInternal());
+        final List<ImmutableNode> roots = fetchTransformedRoots(start);
+        ImmutableNode node = start > 0 ? configurations.get(start - 1).getCombinedRoot() : null;
+        for (int index = start; index < getNumberOfConfigurationsInternal(); index++) {
+            final ImmutableNode root = roots.get(index - start);
+            node = node == null ? root : nodeCombiner.combine(node, root);
+            configurations.get(index).setCombinedRoot(node);
+            validConfigurations = index + 1;
         }
         if (getLogger().isDebugEnabled()) {
             final ByteArrayOutputStream os = new ByteArrayOutputStream();
@@ -532,6 +653,58 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         return node;
     }
 
+    /**
+     * Creates the node handler for the overlay of the child configurations if it does not exist yet. The transformed root
+     * nodes of the child configurations which are still valid are reused. As this may happen while only a read lock is
+     * held, this method is synchronized.
+     *
+     * @return The node handler for the overlay
+     */
+    private synchronized OverlayNodeHandler createOverlayHandler() {
+        if (overlayHandler == null) {
+            overlayRoots.addAll(fetchTransformedRoots(overlayRoots.size()));
+            overlayHandler = new OverlayNodeHandler(overlayRoots.isEmpty() ? Collections.singletonList(EMPTY_ROOT) : overlayRoots,
+                nodeCombiner.getListNodes());
+        }
+        return overlayHandler;
+    }
+
+    /**
+     * Constructs the combined root node in overlay mode if it is not up-to-date. As this may happen while only a read lock
+     * is held, this method is synchronized.
+     */
+    private synchronized void ensureCombinedRoot() {
+        if (!isUpToDate()) {
+            ((InMemoryNodeModel) super.getModel()).replaceRoot(constructCombinedNode(), this);
+            upToDate = true;
+        }
+    }
+
+    /**
+     * Gets the node handler for the overlay of the child configurations. It is created if necessary.
+     *
+     * @return The node handler for the overlay
+     */
+    private OverlayNodeHandler fetchOverlayHandler() {
+        final OverlayNodeHandler handler = overlayHandler;
+        return handler != null ? handler : createOverlayHandler();
+    }
+
+    /**
+     * Obtains the transformed root nodes of the child configurations starting with the given index. If a
+     * {@code ForkJoinPool} is set, the root nodes are obtained concurrently.
+     *
+     * @param start The index of the first child configuration
+     * @return A list with the transformed root nodes of the child configurations
+     */
+    private List<ImmutableNode> fetchTransformedRoots(final int start) {
+        final List<ConfigData> pending = configurations.subList(start, configurations.size());
+        if (forkJoinPool == null || pending.size() < 2) {
+            return pending.stream().map(ConfigData::getTransformedRoot).collect(Collectors.toList());
+        }
+        return forkJoinPool.submit(() -> pending.parallelStream().map(ConfigData::getTransformedRoot).collect(Collectors.toList())).join();
+    }
+
     /**
      * Determines the configurations to which the specified node belongs. This is done by inspecting the nodes structures of
      * all child configurations.
@@ -647,6 +820,45 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         }
     }
 
+    /**
+     * Gets the {@code ForkJoinPool} used for converting child configurations concurrently.
+     *
+     * @return The {@code ForkJoinPool} (<strong>null</strong> if child configurations are converted sequentially)
+     * @since 2.16.0
+     */
+    public ForkJoinPool getForkJoinPool() {
+        beginRead(true);
+        try {
+            return forkJoinPool;
+        } finally {
+            endRead();
+        }
+    }
+
+    /**
+     * {@inheritDoc} In overlay mode, this implementation evaluates the key on the overlay of the child configurations.
+     */
+    @Override
+    protected int getMaxIndexInternal(final String key) {
+        if (!isOverlayActive()) {
+            return super.getMaxIndexInternal(key);
+        }
+        final OverlayNodeHandler handler = fetchOverlayHandler();
+        return getExpressionEngine().query(handler.getRootNode(), key, handler).size() - 1;
+    }
+
+    /**
+     * {@inheritDoc} In overlay mode, the combined root node is not constructed before an operation is executed. This
+     * implementation then constructs it when the model is accessed for the first time.
+     */
+    @Override
+    protected NodeModel<ImmutableNode> getModel() {
+        if (isOverlayActive() && !isUpToDate()) {
+            ensureCombinedRoot();
+        }
+        return super.getModel();
+    }
+
     /**
      * Gets the node combiner that is used for creating the combined node structure.
      *
@@ -685,6 +897,25 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         return configurations.size();
     }
 
+    /**
+     * {@inheritDoc} In overlay mode, this implementation evaluates the key on the overlay of the child configurations, so
+     * that the combined node structure does not have to be constructed.
+     */
+    @Override
+    protected Object getPropertyInternal(final String key) {
+        if (!isOverlayActive()) {
+            return super.getPropertyInternal(key);
+        }
+        final OverlayNodeHandler handler = fetchOverlayHandler();
+        final List<Object> values = getExpressionEngine().query(handler.getRootNode(), key, handler).stream()
+            .map(r -> r.isAttributeResult() ? r.getAttributeValue(handler) : handler.getValue(r.getNode())).filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (values.isEmpty()) {
+            return null;
+        }
+        return values.size() == 1 ? values.get(0) : values;
+    }
+
     /**
      * Gets the configuration source, in which the specified key is defined. This method will determine the configuration
      * node that is identified by the given key. The following constellations are possible:
@@ -757,12 +988,29 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         }
     }
 
+    /**
+     * Determines the index of the first child configuration that is the given object.
+     *
+     * @param source The object to search for
+     * @return The index of the corresponding child configuration or -1 if the object is not a child configuration
+     */
+    private int indexOfConfiguration(final Object source) {
+        for (int index = 0; index < configurations.size(); index++) {
+            if (configurations.get(index).getConfiguration() == source) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Initializes internal data structures for storing information about child configurations.
      */
     private void initChildCollections() {
         configurations = new ArrayList<>();
         namedConfigurations = new HashMap<>();
+        overlayRoots = new ArrayList<>();
+        overlayHandler = null;
     }
 
     /**
@@ -785,10 +1033,80 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
      * also fired. Note: This implementation expects that an exclusive (write) lock is held on this instance.
      */
     private void invalidateInternal() {
+        invalidateInternal(0);
+    }
+
+    /**
+     * Marks this configuration as invalid starting with the child configuration at the given index. The combined root
+     * nodes of the configurations before this index remain valid and are reused when the root node is re-created.
+     * Otherwise, this method works like {@link #invalidateInternal()}.
+     *
+     * @param index The index of the first child configuration that has to be combined again
+     */
+    private void invalidateInternal(final int index) {
+        validConfigurations = Math.min(validConfigurations, index);
         upToDate = false;
+        invalidateOverlay(index);
         fireEvent(COMBINED_INVALIDATE, null, null, false);
     }
 
+    /**
+     * Discards the overlay of the child configurations. The transformed root nodes of the configurations before the given
+     * index remain valid and are reused when the overlay is created again.
+     *
+     * @param index The index of the first child configuration whose root node has to be obtained again
+     */
+    private void invalidateOverlay(final int index) {
+        overlayRoots.subList(Math.min(index, overlayRoots.size()), overlayRoots.size()).clear();
+        overlayHandler = null;
+    }
+
+    /**
+     * {@inheritDoc} This implementation returns <strong>false</strong> in overlay mode, so that batch updates are rejected
+     * like other updates.
+     */
+    @Override
+    protected boolean isDirectBatchUpdateSupported() {
+        return !isOverlayActive();
+    }
+
+    /**
+     * {@inheritDoc} This implementation returns <strong>false</strong> because {@code beginRead()} has to check whether the
+     * combined node structure is up-to-date before each read operation.
+     *
+     * @since 2.16.0
+     */
+    @Override
+    protected boolean isOptimisticReadSupported() {
+        return false;
+    }
+
+    /**
+     * Tests whether the overlay mode is active. This is the case if it is enabled and an {@link OverrideCombiner} is
+     * used.
+     *
+     * @return <strong>true</strong> if the overlay mode is active, <strong>false</strong> otherwise
+     */
+    private boolean isOverlayActive() {
+        return overlayEnabled && nodeCombiner.getClass() == OverrideCombiner.class;
+    }
+
+    /**
+     * Tests whether the overlay mode is enabled.
+     *
+     * @return <strong>true</strong> if the overlay mode is enabled, <strong>false</strong> otherwise
+     * @see #setOverlayEnabled(boolean)
+     * @since 2.16.0
+     */
+    public boolean isOverlayEnabled() {
+        beginRead(true);
+        try {
+            return overlayEnabled;
+        } finally {
+            endRead();
+        }
+    }
+
     /**
      * Returns a flag whether this configuration has been invalidated. This means that the combined nodes structure has to
      * be rebuilt before the configuration can be accessed.
@@ -801,13 +1119,24 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
 
     /**
      * Event listener call back for configuration update events. This method is called whenever one of the contained
-     * configurations was modified. It invalidates this combined configuration.
+     * configurations was modified. It invalidates this combined configuration starting with the configuration that sent
+     * the event. If the source of the event is not a child configuration, the whole configuration is invalidated.
      *
      * @param event The update event
      */
     @Override
     public void onEvent(final ConfigurationEvent event) {
         if (event.isBeforeUpdate()) {
+            beginWrite(true);
+            try {
+                final int index = indexOfConfiguration(event.getSource());
+                if (index >= 0) {
+                    invalidateInternal(index);
+                    return;
+                }
+            } finally {
+                endWrite();
+            }
             invalidate();
         }
     }
@@ -866,7 +1195,7 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
             namedConfigurations.remove(cd.getName());
         }
         unregisterListenerAt(cd.getConfiguration());
-        invalidateInternal();
+        invalidateInternal(index);
         return cd.getConfiguration();
     }
 
@@ -886,6 +1215,30 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         beginWrite(true);
         try {
             this.conversionExpressionEngine = conversionExpressionEngine;
+            // the root nodes of all children have to be converted again on the next re-construction
+            validConfigurations = 0;
+            invalidateOverlay(0);
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * Sets the {@code ForkJoinPool} for converting child configurations concurrently. When the combined node structure
+     * is constructed, the content of the child configurations to be combined is converted to hierarchical node
+     * structures in this pool. This can reduce the time needed for the construction if there are many child
+     * configurations or child configurations which are expensive to convert, for example large flat configurations. The
+     * conversion of a child configuration is performed while holding its read lock in a thread of the pool. Therefore,
+     * the combined node structure must not be constructed by a thread holding the write lock of a child configuration.
+     * Passing <strong>null</strong> switches back to sequential processing, which is the default.
+     *
+     * @param forkJoinPool The {@code ForkJoinPool} (can be <strong>null</strong>)
+     * @since 2.16.0
+     */
+    public void setForkJoinPool(final ForkJoinPool forkJoinPool) {
+        beginWrite(true);
+        try {
+            this.forkJoinPool = forkJoinPool;
         } finally {
             endWrite();
         }
@@ -912,6 +1265,34 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
         }
     }
 
+    /**
+     * Enables or disables the overlay mode. This mode only takes effect if an {@link OverrideCombiner} is used as node
+     * combiner. Then properties are queried on an overlay of the node structures of the child configurations, which
+     * combines only the nodes actually visited, instead of on the combined node structure. The combined node structure is
+     * only constructed if it is needed by an operation. In overlay mode, this configuration is read-only: Methods updating
+     * its properties throw an {@code UnsupportedOperationException}. The overlay mode is disabled per default.
+     *
+     * @param enabled A flag whether the overlay mode should be used
+     * @since 2.16.0
+     */
+    public void setOverlayEnabled(final boolean enabled) {
+        beginWrite(true);
+        try {
+            overlayEnabled = enabled;
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * {@inheritDoc} This implementation checks whether this configuration can be updated.
+     */
+    @Override
+    protected void setPropertyInternal(final String key, final Object value) {
+        checkWritable();
+        super.setPropertyInternal(key, value);
+    }
+
     /**
      * Removes this combined configuration as listener from the given child configuration.
      *
@@ -925,9 +1306,9 @@ public class CombinedConfiguration extends BaseHierarchicalConfiguration impleme
 
     /**
      * Removes this combined configuration as listener from all child configurations. This method is called on a clear()
-     * operation.
+     * operation and when a {@code DynamicCombinedConfiguration} discards one of its child configurations.
      */
-    private void unregisterListenerAtChildren() {
+    void unregisterListenerAtChildren() {
         if (configurations != null) {
             configurations.forEach(child -> unregisterListenerAt(child.getConfiguration()));
         }
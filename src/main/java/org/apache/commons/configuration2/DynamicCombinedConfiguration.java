@@ -18,17 +18,22 @@ package org.apache.commons.configuration2;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.apache.commons.configuration2.event.BaseEventSource;
 import org.apache.commons.configuration2.event.Event;
@@ -54,11 +59,328 @@ import org.apache.commons.configuration2.tree.NodeCombiner;
  * implementation (for example {@code ReadWriteSynchronizer}) has to be used to ensure consistency and to avoid exceptions. The
  * {@code Synchronizer} assigned to an instance is also passed to child configuration objects when they are created.
  * </p>
+ * <p>
+ * The child configurations are cached by their keys. Per default, this cache is unbounded, so there is one child
+ * configuration for each distinct key ever produced by the key pattern. If the key pattern evaluates to many different
+ * keys, for instance one per tenant or request host, the cache can be limited by a maximum size and an idle timeout
+ * ({@link #setMaxCacheSize(int)}, {@link #setCacheIdleTimeout(Duration)}). Then the least recently used child
+ * configurations are evicted; evicted configurations no longer receive events from the configurations they are composed
+ * of, and the event listeners of this configuration are removed from them. If a key is used again later, a new child
+ * configuration is created. Statistics about the cache can be queried via the {@code getCacheXXX()} methods.
+ * </p>
+ * <p>
+ * Per default, the key pattern is evaluated at the beginning of each operation. Key patterns that do not contain any
+ * variables are detected when they are set and are not evaluated at all. If a number of operations is to be executed
+ * for the same key, for instance while a request is processed, they can be passed to
+ * {@link #callWithCurrentKey(Supplier)} or {@link #callWithKey(String, Supplier)}. The key is then pinned for the current
+ * thread until the operations are complete, and the key pattern is not evaluated again.
+ * </p>
  *
  * @since 1.6
  */
 public class DynamicCombinedConfiguration extends CombinedConfiguration {
 
+    /**
+     * A class representing an entry of the cache for child configurations. If the size of the cache is limited, an entry
+     * keeps track of the threads using its configuration. An entry removed from the cache is retired; its configuration
+     * is detached when it is no longer used.
+     */
+    private static final class CacheEntry {
+
+        /** The value of the use count if the configuration has been detached. */
+        private static final int DETACHED = -1;
+
+        /** The child configuration. */
+        private final CombinedConfiguration configuration;
+
+        /** The number of users of the configuration; {@link #DETACHED} if the configuration has been detached. */
+        private final AtomicInteger useCount = new AtomicInteger();
+
+        /** The time of the last access in nanoseconds. */
+        private volatile long lastAccess;
+
+        /** A flag whether this entry has been removed from the cache. */
+        private volatile boolean retired;
+
+        /**
+         * Creates a new instance of {@code CacheEntry}.
+         *
+         * @param configuration the child configuration
+         * @param lastAccess the time of the last access
+         */
+        CacheEntry(final CombinedConfiguration configuration, final long lastAccess) {
+            this.configuration = configuration;
+            this.lastAccess = lastAccess;
+        }
+
+        /**
+         * Marks the configuration of this entry as used. This fails if the configuration has already been detached.
+         *
+         * @return a flag whether the configuration can be used
+         */
+        boolean acquire() {
+            int count;
+            do {
+                count = useCount.get();
+                if (count == DETACHED) {
+                    return false;
+                }
+            } while (!useCount.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * Detaches the configuration of this entry if it is not in use.
+         */
+        private void detachIfUnused() {
+            if (useCount.compareAndSet(0, DETACHED)) {
+                detach(configuration);
+            }
+        }
+
+        /**
+         * Notifies this entry that a user of its configuration is done with it. If this entry has been retired and there
+         * are no other users, the configuration is now detached.
+         */
+        void release() {
+            if (useCount.decrementAndGet() == 0 && retired) {
+                detachIfUnused();
+            }
+        }
+
+        /**
+         * Notifies this entry that it has been removed from the cache. The configuration is detached if it is not in use;
+         * otherwise, this is done when the last user releases it.
+         */
+        void retire() {
+            retired = true;
+            detachIfUnused();
+        }
+    }
+
+    /**
+     * A cache for the child configurations. Lookups do not require a lock. If the cache is limited by a maximum size or an
+     * idle timeout, lookups record the time of the access and mark the configuration found as used, so that the least
+     * recently used configurations can be evicted and a configuration still in use is not detached. If the cache is not
+     * limited, this bookkeeping is skipped. Adding and evicting entries is synchronized.
+     */
+    private static final class ConfigCache {
+
+        /** The entries of this cache. */
+        private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+        /** The maximum number of entries; a value less than or equal to 0 means that there is no limit. */
+        private volatile int maxSize;
+
+        /** The idle timeout of an entry in nanoseconds; a value less than or equal to 0 means that there is no timeout. */
+        private volatile long idleTimeoutNanos;
+
+        /** The number of successful lookups. */
+        private final LongAdder hitCount = new LongAdder();
+
+        /** The number of failed lookups. */
+        private final LongAdder missCount = new LongAdder();
+
+        /** The number of evicted entries. */
+        private final LongAdder evictionCount = new LongAdder();
+
+        /**
+         * Removes all entries from this cache.
+         */
+        synchronized void clear() {
+            entries.values().forEach(CacheEntry::retire);
+            entries.clear();
+        }
+
+        /**
+         * Evicts the entry with the given key from this cache.
+         *
+         * @param key the key
+         * @param entry the entry to evict
+         */
+        private void evict(final String key, final CacheEntry entry) {
+            entries.remove(key);
+            evictionCount.increment();
+            entry.retire();
+        }
+
+        /**
+         * Evicts all entries exceeding the idle timeout and the least recently used entries exceeding the maximum size.
+         *
+         * @param now the current time in nanoseconds
+         */
+        private void evictEntries(final long now) {
+            entries.forEach((key, entry) -> {
+                if (isExpired(entry, now)) {
+                    evict(key, entry);
+                }
+            });
+            while (maxSize > 0 && entries.size() > maxSize) {
+                final Map.Entry<String, CacheEntry> eldest = Collections.min(entries.entrySet(),
+                    Comparator.comparingLong(e -> e.getValue().lastAccess));
+                evict(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        /**
+         * Looks up the child configuration for the key of the given holder and stores it in the holder. The holder is not
+         * changed if there is no such configuration or it has expired. If the cache is limited, a configuration found is
+         * marked as used; the holder has to be released when the caller is done with it.
+         *
+         * @param cch the holder for the current configuration
+         */
+        void get(final CurrentConfigHolder cch) {
+            final CacheEntry entry = entries.get(cch.getKey());
+            if (entry != null) {
+                if (!isLimited()) {
+                    hitCount.increment();
+                    cch.setCurrentConfiguration(entry.configuration);
+                    return;
+                }
+                final long now = System.nanoTime();
+                if (!isExpired(entry, now) && entry.acquire()) {
+                    entry.lastAccess = now;
+                    hitCount.increment();
+                    cch.setCurrentConfiguration(entry.configuration);
+                    cch.setCacheEntry(entry);
+                    return;
+                }
+            }
+            missCount.increment();
+        }
+
+        /**
+         * Gets the number of evicted entries.
+         *
+         * @return the number of evictions
+         */
+        long getEvictionCount() {
+            return evictionCount.sum();
+        }
+
+        /**
+         * Gets the number of successful lookups.
+         *
+         * @return the number of cache hits
+         */
+        long getHitCount() {
+            return hitCount.sum();
+        }
+
+        /**
+         * Gets the number of failed lookups.
+         *
+         * @return the number of cache misses
+         */
+        long getMissCount() {
+            return missCount.sum();
+        }
+
+        /**
+         * Checks whether the given entry has not been accessed within the idle timeout.
+         *
+         * @param entry the entry
+         * @param now the current time in nanoseconds
+         * @return a flag whether this entry has expired
+         */
+        private boolean isExpired(final CacheEntry entry, final long now) {
+            final long timeout = idleTimeoutNanos;
+            return timeout > 0 && now - entry.lastAccess > timeout;
+        }
+
+        /**
+         * Checks whether this cache is limited by a maximum size or an idle timeout.
+         *
+         * @return a flag whether entries may be evicted
+         */
+        private boolean isLimited() {
+            return maxSize > 0 || idleTimeoutNanos > 0;
+        }
+
+        /**
+         * Adds a child configuration to this cache if there is no valid entry for the key of the given holder yet. This
+         * may cause other entries to be evicted. The configuration stored in the cache for this key, either the one passed
+         * in or one added concurrently by another thread, is stored in the holder. If the cache is limited, it is marked
+         * as used; the holder has to be released when the caller is done with it.
+         *
+         * @param cch the holder for the current configuration
+         * @param configuration the child configuration
+         */
+        synchronized void putIfAbsent(final CurrentConfigHolder cch, final CombinedConfiguration configuration) {
+            final long now = System.nanoTime();
+            final boolean limited = isLimited();
+            CacheEntry entry = entries.get(cch.getKey());
+            if (entry != null && isExpired(entry, now)) {
+                evict(cch.getKey(), entry);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new CacheEntry(configuration, now);
+                entries.put(cch.getKey(), entry);
+            }
+            cch.setCurrentConfiguration(entry.configuration);
+            if (limited) {
+                entry.lastAccess = now;
+                entry.acquire();
+                cch.setCacheEntry(entry);
+                evictEntries(now);
+            }
+        }
+
+        /**
+         * Sets the idle timeout and evicts the entries which have expired.
+         *
+         * @param timeout the idle timeout in nanoseconds
+         */
+        synchronized void setIdleTimeoutNanos(final long timeout) {
+            touchIfUnlimited();
+            idleTimeoutNanos = timeout;
+            evictEntries(System.nanoTime());
+        }
+
+        /**
+         * Sets the maximum size and evicts entries if this size is exceeded.
+         *
+         * @param size the maximum size
+         */
+        synchronized void setMaxSize(final int size) {
+            touchIfUnlimited();
+            maxSize = size;
+            evictEntries(System.nanoTime());
+        }
+
+        /**
+         * Gets the number of entries in this cache.
+         *
+         * @return the size of this cache
+         */
+        int size() {
+            return entries.size();
+        }
+
+        /**
+         * Sets the access time of all entries to the current time if this cache is not limited. Then access times are not
+         * recorded, so they have to be initialized before a limit is set.
+         */
+        private void touchIfUnlimited() {
+            if (!isLimited()) {
+                final long now = System.nanoTime();
+                entries.values().forEach(entry -> entry.lastAccess = now);
+            }
+        }
+
+        /**
+         * Returns a list with the child configurations currently contained in this cache.
+         *
+         * @return a list with the cached child configurations
+         */
+        List<CombinedConfiguration> values() {
+            final List<CombinedConfiguration> result = new ArrayList<>(entries.size());
+            entries.values().forEach(entry -> result.add(entry.configuration));
+            return result;
+        }
+    }
+
     /**
      * Internal class that identifies each Configuration.
      */
@@ -123,6 +445,9 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         /** Stores the current configuration of the current thread. */
         private CombinedConfiguration currentConfiguration;
 
+        /** The cache entry marked as used by this holder; <strong>null</strong> if there is none. */
+        private CacheEntry cacheEntry;
+
         /**
          * Stores the key of the configuration evaluated for the current thread at the beginning of an operation.
          */
@@ -150,6 +475,15 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
             return --lockCount == 0;
         }
 
+        /**
+         * Gets the cache entry marked as used by this holder.
+         *
+         * @return The cache entry (can be <strong>null</strong>)
+         */
+        public CacheEntry getCacheEntry() {
+            return cacheEntry;
+        }
+
         /**
          * Gets the current configuration.
          *
@@ -175,6 +509,15 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
             lockCount++;
         }
 
+        /**
+         * Sets the cache entry marked as used by this holder.
+         *
+         * @param cacheEntry The cache entry
+         */
+        public void setCacheEntry(final CacheEntry cacheEntry) {
+            this.cacheEntry = cacheEntry;
+        }
+
         /**
          * Sets the current configuration.
          *
@@ -185,14 +528,11 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         }
     }
 
-    /**
-     * Stores the current configuration for each involved thread. This value is set at the beginning of an operation and
-     * removed at the end.
-     */
-    private static final ThreadLocal<CurrentConfigHolder> CURRENT_CONFIG = new ThreadLocal<>();
+    /** The character sequence that starts a variable in the key pattern. */
+    private static final String VARIABLE_START = "${";
 
     /** The CombinedConfigurations */
-    private final ConcurrentMap<String, CombinedConfiguration> configs = new ConcurrentHashMap<>();
+    private final ConfigCache configs = new ConfigCache();
 
     /** Stores a list with the contained configurations. */
     private final List<ConfigData> configurations = new ArrayList<>();
@@ -200,9 +540,18 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
     /** Stores a map with the named configurations. */
     private final Map<String, Configuration> namedConfigurations = new HashMap<>();
 
+    /**
+     * Stores the current configuration for each involved thread. This value is set at the beginning of an operation and
+     * removed at the end.
+     */
+    private final ThreadLocal<CurrentConfigHolder> currentConfig = new ThreadLocal<>();
+
     /** The key pattern for the CombinedConfiguration map. */
     private String keyPattern;
 
+    /** The key if the key pattern does not contain any variables; <strong>null</strong> otherwise. */
+    private volatile String constantKey = String.valueOf((Object) null);
+
     /** Stores the combiner. */
     private NodeCombiner nodeCombiner;
 
@@ -212,6 +561,25 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
     /** The object for handling variable substitution in key patterns. */
     private final ConfigurationInterpolator localSubst;
 
+    /** The maximum number of cached child configurations. */
+    private volatile int maxCacheSize;
+
+    /** The idle timeout for cached child configurations. */
+    private volatile Duration cacheIdleTimeout;
+
+    /**
+     * Detaches a child configuration which is no longer used: It is removed as event listener from the configurations it
+     * is composed of, and all event listeners registered at it are removed. Threads still accessing this configuration can
+     * complete their operations.
+     *
+     * @param config the child configuration
+     */
+    private static void detach(final CombinedConfiguration config) {
+        config.unregisterListenerAtChildren();
+        config.clearEventListeners();
+        config.clearErrorListeners();
+    }
+
     /**
      * Creates a new instance of {@code DynamicCombinedConfiguration} that uses a union combiner.
      *
@@ -307,9 +675,78 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
 
         super.beginWrite(optimize);
         if (!optimize && cch.getCurrentConfiguration() == null) {
-            cch.setCurrentConfiguration(createChildConfiguration());
-            configs.put(cch.getKey(), cch.getCurrentConfiguration());
-            initChildConfiguration(cch.getCurrentConfiguration());
+            // If another thread has created a configuration for this key in the meantime, it is used
+            final CombinedConfiguration newConfig = createChildConfiguration();
+            configs.putIfAbsent(cch, newConfig);
+            if (cch.getCurrentConfiguration() == newConfig) {
+                initChildConfiguration(newConfig);
+            }
+        }
+    }
+
+    /**
+     * Executes the given action with the key of the current child configuration pinned for the current thread. The key
+     * pattern is evaluated once; all operations on this configuration invoked by the action in the current thread use the
+     * child configuration selected by this key, and the key pattern is not evaluated again. If this method is called
+     * while an operation or another pinned action is already in progress in the current thread, the key selected there
+     * is used.
+     *
+     * @param <T> the type of the result of the action
+     * @param action the action to be executed
+     * @return The result of the action
+     * @throws NullPointerException if the action is <strong>null</strong>
+     * @since 2.16.0
+     */
+    public <T> T callWithCurrentKey(final Supplier<? extends T> action) {
+        Objects.requireNonNull(action, "action");
+        if (currentConfig.get() != null) {
+            return action.get();
+        }
+        return callWithHolder(createConfigHolder(evaluateKeyPattern()), action);
+    }
+
+    /**
+     * Executes the given action with the given key pinned for the current thread. All operations on this configuration
+     * invoked by the action in the current thread use the child configuration selected by this key; the key pattern is
+     * not evaluated. This can be used for instance if the key has already been determined by other means when a request
+     * is processed.
+     *
+     * @param <T> the type of the result of the action
+     * @param key the key of the child configuration to be used
+     * @param action the action to be executed
+     * @return The result of the action
+     * @throws NullPointerException if the key or the action is <strong>null</strong>
+     * @since 2.16.0
+     */
+    public <T> T callWithKey(final String key, final Supplier<? extends T> action) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(action, "action");
+        return callWithHolder(createConfigHolder(key), action);
+    }
+
+    /**
+     * Executes an action with the given {@code CurrentConfigHolder} associated with the current thread. The holder is
+     * locked during the action, so that it is not removed when the operations invoked by the action are complete. Then
+     * the previous state is restored, and the child configuration of the holder is released.
+     *
+     * @param <T> the type of the result of the action
+     * @param cch the holder for the current configuration
+     * @param action the action to be executed
+     * @return The result of the action
+     */
+    private <T> T callWithHolder(final CurrentConfigHolder cch, final Supplier<? extends T> action) {
+        final CurrentConfigHolder previous = currentConfig.get();
+        cch.incrementLockCount();
+        currentConfig.set(cch);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                currentConfig.set(previous);
+            } else {
+                currentConfig.remove();
+            }
+            releaseConfiguration(cch);
         }
     }
 
@@ -386,7 +823,7 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
      */
     @Override
     protected void endRead() {
-        CURRENT_CONFIG.get().getCurrentConfiguration().endRead();
+        currentConfig.get().getCurrentConfiguration().endRead();
         releaseLock();
     }
 
@@ -399,6 +836,19 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         releaseLock();
     }
 
+    /**
+     * Creates a {@code CurrentConfigHolder} for the given key and initializes it with the cached child configuration for
+     * this key if available. This configuration is marked as used until the holder is released.
+     *
+     * @param key the key
+     * @return The new {@code CurrentConfigHolder}
+     */
+    private CurrentConfigHolder createConfigHolder(final String key) {
+        final CurrentConfigHolder cch = new CurrentConfigHolder(key);
+        configs.get(cch);
+        return cch;
+    }
+
     /**
      * Checks whether the current configuration is set. If not, a {@code CurrentConfigHolder} is now created and
      * initialized, and associated with the current thread. The member for the current configuration is undefined if for the
@@ -407,16 +857,25 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
      * @return The {@code CurrentConfigHolder} instance for the current thread
      */
     private CurrentConfigHolder ensureCurrentConfiguration() {
-        CurrentConfigHolder cch = CURRENT_CONFIG.get();
+        CurrentConfigHolder cch = currentConfig.get();
         if (cch == null) {
-            final String key = String.valueOf(localSubst.interpolate(keyPattern));
-            cch = new CurrentConfigHolder(key);
-            cch.setCurrentConfiguration(configs.get(key));
-            CURRENT_CONFIG.set(cch);
+            cch = createConfigHolder(evaluateKeyPattern());
+            currentConfig.set(cch);
         }
         return cch;
     }
 
+    /**
+     * Evaluates the key pattern to obtain the key of the current child configuration. If the key pattern does not contain
+     * any variables, no interpolation is performed.
+     *
+     * @return The current key
+     */
+    private String evaluateKeyPattern() {
+        final String key = constantKey;
+        return key != null ? key : String.valueOf(localSubst.interpolate(keyPattern));
+    }
+
     @Override
     public BigDecimal getBigDecimal(final String key) {
         return getCurrentConfig().getBigDecimal(key);
@@ -467,6 +926,57 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         return getCurrentConfig().getByte(key, defaultValue);
     }
 
+    /**
+     * Gets the number of child configurations which have been evicted from the cache, either because the maximum cache
+     * size was exceeded or because they have not been used within the idle timeout.
+     *
+     * @return The number of evicted child configurations
+     * @since 2.16.0
+     */
+    public long getCacheEvictionCount() {
+        return configs.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of times a child configuration for the current key was found in the cache.
+     *
+     * @return The number of cache hits
+     * @since 2.16.0
+     */
+    public long getCacheHitCount() {
+        return configs.getHitCount();
+    }
+
+    /**
+     * Gets the idle timeout for cached child configurations. Result is <strong>null</strong> if no timeout is set.
+     *
+     * @return The idle timeout (can be <strong>null</strong>)
+     * @since 2.16.0
+     */
+    public Duration getCacheIdleTimeout() {
+        return cacheIdleTimeout;
+    }
+
+    /**
+     * Gets the number of times no child configuration for the current key was found in the cache.
+     *
+     * @return The number of cache misses
+     * @since 2.16.0
+     */
+    public long getCacheMissCount() {
+        return configs.getMissCount();
+    }
+
+    /**
+     * Gets the number of child configurations which are currently cached.
+     *
+     * @return The number of cached child configurations
+     * @since 2.16.0
+     */
+    public int getCacheSize() {
+        return configs.size();
+    }
+
     /**
      * Gets the configuration at the specified index. The contained configurations are numbered in the order they were
      * added to this combined configuration. The index of the first configuration is 0.
@@ -529,8 +1039,8 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         String key;
         beginRead(false);
         try {
-            config = CURRENT_CONFIG.get().getCurrentConfiguration();
-            key = CURRENT_CONFIG.get().getKey();
+            config = currentConfig.get().getCurrentConfiguration();
+            key = currentConfig.get().getKey();
         } finally {
             endRead();
         }
@@ -630,6 +1140,17 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         return getCurrentConfig().getLong(key, defaultValue);
     }
 
+    /**
+     * Gets the maximum number of cached child configurations. A value less than or equal to 0 means that the cache is
+     * not limited.
+     *
+     * @return The maximum cache size
+     * @since 2.16.0
+     */
+    public int getMaxCacheSize() {
+        return maxCacheSize;
+    }
+
     @Override
     protected int getMaxIndexInternal(final String key) {
         return getCurrentConfig().getMaxIndex(key);
@@ -783,20 +1304,37 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         configs.values().forEach(CombinedConfiguration::invalidate);
     }
 
+    @Override
+    protected boolean isDirectBatchUpdateSupported() {
+        return false;
+    }
+
     @Override
     protected boolean isEmptyInternal() {
         return getCurrentConfig().isEmpty();
     }
 
+    /**
+     * Notifies the cache that the child configuration of the given holder is no longer used by it.
+     *
+     * @param cch the holder for the current configuration
+     */
+    private void releaseConfiguration(final CurrentConfigHolder cch) {
+        if (cch.getCacheEntry() != null) {
+            cch.getCacheEntry().release();
+        }
+    }
+
     /**
      * Decrements the lock count of the current configuration holder. If it reaches 0, the current configuration is removed.
      * (It is then reevaluated when the next operation starts.)
      */
     private void releaseLock() {
-        final CurrentConfigHolder cch = CURRENT_CONFIG.get();
+        final CurrentConfigHolder cch = currentConfig.get();
         assert cch != null : "No current configuration!";
         if (cch.decrementLockCountAndCheckRelease()) {
-            CURRENT_CONFIG.remove();
+            currentConfig.remove();
+            releaseConfiguration(cch);
         }
     }
 
@@ -865,12 +1403,27 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
     }
 
     /**
-     * Sets the key pattern for the CombinedConfiguration map.
+     * Sets the idle timeout for cached child configurations. A child configuration which has not been used for longer than
+     * this timeout is evicted from the cache. A value of <strong>null</strong> or a duration which is not positive disables
+     * the timeout; this is the default.
+     *
+     * @param timeout The idle timeout (can be <strong>null</strong>)
+     * @since 2.16.0
+     */
+    public void setCacheIdleTimeout(final Duration timeout) {
+        cacheIdleTimeout = timeout;
+        configs.setIdleTimeoutNanos(timeout != null ? timeout.toNanos() : 0);
+    }
+
+    /**
+     * Sets the key pattern for the CombinedConfiguration map. If the pattern does not contain any variables, it is used
+     * directly as key without being interpolated.
      *
      * @param pattern The key pattern for the CombinedConfiguration map.
      */
     public void setKeyPattern(final String pattern) {
         this.keyPattern = pattern;
+        constantKey = pattern == null || !pattern.contains(VARIABLE_START) ? String.valueOf(pattern) : null;
     }
 
     /**
@@ -882,6 +1435,19 @@ public class DynamicCombinedConfiguration extends CombinedConfiguration {
         this.loggerName = name;
     }
 
+    /**
+     * Sets the maximum number of cached child configurations. If more child configurations are created, the least
+     * recently used ones are evicted from the cache. A value less than or equal to 0 means that the cache is not limited;
+     * this is the default.
+     *
+     * @param size The maximum cache size
+     * @since 2.16.0
+     */
+    public void setMaxCacheSize(final int size) {
+        maxCacheSize = size;
+        configs.setMaxSize(size);
+    }
+
     /**
      * Sets the node combiner. This object will be used when the combined node structure is to be constructed. It must not
      * be <strong>null</strong>, otherwise an {@code IllegalArgumentException} exception is thrown. Changing the node combiner causes
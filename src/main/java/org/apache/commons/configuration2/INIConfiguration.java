@@ -36,6 +36,7 @@ import org.apache.commons.configuration2.tree.InMemoryNodeModel;
 import org.apache.commons.configuration2.tree.InMemoryNodeModelSupport;
 import org.apache.commons.configuration2.tree.NodeHandler;
 import org.apache.commons.configuration2.tree.NodeHandlerDecorator;
+import org.apache.commons.configuration2.tree.NodeNameTable;
 import org.apache.commons.configuration2.tree.NodeSelector;
 import org.apache.commons.configuration2.tree.TrackedNodeModel;
 
@@ -512,10 +513,11 @@ public class INIConfiguration extends BaseHierarchicalConfiguration implements F
      * @param in The reader
      * @param rootBuilder The builder for the top-level section
      * @param sectionBuilders A map storing the section builders
+     * @param names The table for the names of sections and keys
      * @throws IOException Thrown if an I/O error occurs.
      */
-    private void createNodeBuilders(final BufferedReader in, final ImmutableNode.Builder rootBuilder, final Map<String, ImmutableNode.Builder> sectionBuilders)
-        throws IOException {
+    private void createNodeBuilders(final BufferedReader in, final ImmutableNode.Builder rootBuilder, final Map<String, ImmutableNode.Builder> sectionBuilders,
+        final NodeNameTable names) throws IOException {
         ImmutableNode.Builder sectionBuilder = rootBuilder;
         String line = in.readLine();
         while (line != null) {
@@ -528,7 +530,7 @@ public class INIConfiguration extends BaseHierarchicalConfiguration implements F
                         // use space for sections with no key
                         section = EMPTY_KEY;
                     }
-                    sectionBuilder = sectionBuilders.computeIfAbsent(section, k -> new ImmutableNode.Builder());
+                    sectionBuilder = sectionBuilders.computeIfAbsent(names.intern(section), k -> new ImmutableNode.Builder());
                 } else {
                     String key;
                     String value = "";
@@ -544,7 +546,7 @@ public class INIConfiguration extends BaseHierarchicalConfiguration implements F
                         // use space for properties with no key
                         key = EMPTY_KEY;
                     }
-                    createValueNodes(sectionBuilder, key, value);
+                    createValueNodes(sectionBuilder, names.intern(key), value);
                 }
             }
 
@@ -881,7 +883,7 @@ public class INIConfiguration extends BaseHierarchicalConfiguration implements F
         final Map<String, ImmutableNode.Builder> sectionBuilders = new LinkedHashMap<>();
         final ImmutableNode.Builder rootBuilder = new ImmutableNode.Builder();
 
-        createNodeBuilders(bufferedReader, rootBuilder, sectionBuilders);
+        createNodeBuilders(bufferedReader, rootBuilder, sectionBuilders, new NodeNameTable());
         final ImmutableNode rootNode = createNewRootNode(rootBuilder, sectionBuilders);
         addNodes(null, rootNode.getChildren());
     }
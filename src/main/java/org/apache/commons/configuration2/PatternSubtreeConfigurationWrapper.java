@@ -350,11 +350,21 @@ public class PatternSubtreeConfigurationWrapper extends BaseHierarchicalConfigur
         return getConfig().interpolatedConfiguration();
     }
 
+    @Override
+    protected boolean isDirectBatchUpdateSupported() {
+        return false;
+    }
+
     @Override
     protected boolean isEmptyInternal() {
         return getConfig().isEmpty();
     }
 
+    @Override
+    protected boolean isOptimisticReadSupported() {
+        return false;
+    }
+
     private String makePath() {
         final String pathPattern = trailing ? path.substring(0, path.length() - 1) : path;
         return substitute(pathPattern);
@@ -49,6 +49,7 @@ import org.apache.commons.configuration2.io.FileLocatorAware;
 import org.apache.commons.configuration2.io.InputStreamSupport;
 import org.apache.commons.configuration2.resolver.DefaultEntityResolver;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.configuration2.tree.NodeNameTable;
 import org.apache.commons.configuration2.tree.NodeTreeWalker;
 import org.apache.commons.configuration2.tree.ReferenceNodeHandler;
 import org.apache.commons.lang3.StringUtils;
@@ -474,16 +475,17 @@ public class XMLConfiguration extends BaseHierarchicalConfiguration implements F
      * Helper method for initializing the attributes of a configuration node from the given XML element.
      *
      * @param element The current XML element
+     * @param names The table for the names of attributes
      * @return A map with all attribute values extracted for the current node
      */
-    private static Map<String, String> processAttributes(final Node element) {
+    private static Map<String, String> processAttributes(final Node element, final NodeNameTable names) {
         final NamedNodeMap attributes = element.getAttributes();
         final Map<String, String> attrmap = new HashMap<>();
         for (int i = 0; i < attributes.getLength(); ++i) {
             final Node w3cNode = attributes.item(i);
             if (w3cNode instanceof Attr) {
                 final Attr attr = (Attr) w3cNode;
-                attrmap.put(attr.getName(), attr.getValue());
+                attrmap.put(names.intern(attr.getName()), attr.getValue());
             }
         }
         return attrmap;
@@ -561,13 +563,14 @@ public class XMLConfiguration extends BaseHierarchicalConfiguration implements F
      * @param elemRefs A map for assigning references objects to nodes; can be <strong>null</strong>, then reference objects are irrelevant.
      * @param trim     A flag whether the text content of elements should be trimmed; this controls the whitespace handling.
      * @param level    The current level in the hierarchy.
+     * @param names    The table for the names of nodes and attributes.
      * @return A map with all attribute values extracted for the current node; this map also contains the value of the trim flag for this node under the key
      *         {@value #ATTR_SPACE}.
      */
     private Map<String, String> constructHierarchy(final ImmutableNode.Builder node, final MutableObject<String> refValue, final Element element,
-        final Map<ImmutableNode, Object> elemRefs, final boolean trim, final int level) {
+        final Map<ImmutableNode, Object> elemRefs, final boolean trim, final int level, final NodeNameTable names) {
         final boolean trimFlag = shouldTrim(element, trim);
-        final Map<String, String> attributes = processAttributes(element);
+        final Map<String, String> attributes = processAttributes(element, names);
         attributes.put(ATTR_SPACE_INTERNAL, String.valueOf(trimFlag));
         final StringBuilder buffer = new StringBuilder();
         final NodeList list = element.getChildNodes();
@@ -578,9 +581,9 @@ public class XMLConfiguration extends BaseHierarchicalConfiguration implements F
             if (w3cNode instanceof Element) {
                 final Element child = (Element) w3cNode;
                 final ImmutableNode.Builder childNode = new ImmutableNode.Builder();
-                childNode.name(child.getTagName());
+                childNode.name(names.intern(child.getTagName()));
                 final MutableObject<String> refChildValue = new MutableObject<>();
-                final Map<String, String> attrmap = constructHierarchy(childNode, refChildValue, child, elemRefs, trimFlag, level + 1);
+                final Map<String, String> attrmap = constructHierarchy(childNode, refChildValue, child, elemRefs, trimFlag, level + 1, names);
                 final boolean childTrim = Boolean.parseBoolean(attrmap.remove(ATTR_SPACE_INTERNAL));
                 childNode.addAttributes(attrmap);
                 final ImmutableNode newChild = createChildNodeWithValue(node, childNode, child, refChildValue.get(), childTrim, attrmap, elemRefs);
@@ -857,10 +860,11 @@ public class XMLConfiguration extends BaseHierarchicalConfiguration implements F
         final ImmutableNode.Builder rootBuilder = new ImmutableNode.Builder();
         final MutableObject<String> rootValue = new MutableObject<>();
         final Map<ImmutableNode, Object> elemRefMap = elemRefs ? new HashMap<>() : null;
-        final Map<String, String> attributes = constructHierarchy(rootBuilder, rootValue, element, elemRefMap, true, 0);
+        final NodeNameTable names = new NodeNameTable();
+        final Map<String, String> attributes = constructHierarchy(rootBuilder, rootValue, element, elemRefMap, true, 0, names);
         attributes.remove(ATTR_SPACE_INTERNAL);
         final ImmutableNode top = rootBuilder.value(rootValue.get()).addAttributes(attributes).create();
-        getSubConfigurationParentModel().mergeRoot(top, element.getTagName(), elemRefMap, elemRefs ? docHelper : null, this);
+        getSubConfigurationParentModel().mergeRoot(top, names.intern(element.getTagName()), elemRefMap, elemRefs ? docHelper : null, this);
     }
 
     /**
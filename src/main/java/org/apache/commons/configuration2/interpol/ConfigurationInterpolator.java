@@ -21,7 +21,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -29,8 +31,11 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
+import org.apache.commons.configuration2.sync.BoundedCache;
 import org.apache.commons.text.StringSubstitutor;
 
 /**
@@ -44,6 +49,8 @@ import org.apache.commons.text.StringSubstitutor;
  * <p>
  * {@code ConfigurationInterpolator} internally uses the {@code StringSubstitutor} class from
  * <a href="https://commons.apache.org/text">Commons Text</a>. Thus it supports the same syntax of variable expressions.
+ * Strings with a simple structure (variables without nested variables or default values) are parsed only once into a
+ * template of literal text and variable names, which is then reused whenever the same string is interpolated again.
  * </p>
  * <p>
  * The basic idea of this class is that it can maintain a set of primitive {@link Lookup} objects, each of which is
@@ -81,15 +88,319 @@ import org.apache.commons.text.StringSubstitutor;
  * {@code [1, 2, 3]}, then the string {@code "my value = ${x}"} will by default be interpolated to
  * {@code "my value = 1"}.
  * </p>
+ * <p><strong>Caching</strong></p>
+ * <p>
+ * Optionally, the results of interpolation operations on strings can be cached. This is useful if the same values are
+ * interpolated again and again, which is typically the case for the values stored in a configuration. The cache has to
+ * be enabled explicitly using the {@link #enableInterpolationCache(Collection)} method, which is passed the
+ * {@code Lookup} objects whose results can be cached. The owner of these {@code Lookup} objects is responsible for
+ * calling {@link #clearInterpolationCache()} whenever the data they provide changes. A result is only cached if all
+ * variables it contains could be handled by these {@code Lookup} objects alone. If a variable was passed to another
+ * lookup object, for instance one registered for a prefix like {@code env} or {@code date}, or to the parent
+ * interpolator, the result is not cached, because this data can change at any time. {@code AbstractConfiguration}
+ * makes use of this feature for its {@code interpolationCacheEnabled} property.
+ * </p>
  * <p>
  * <strong>Implementation note:</strong> This class is thread-safe. Lookup objects can be added or removed at any time
- * concurrent to interpolation operations.
+ * concurrent to interpolation operations. To resolve variables efficiently, an instance combines its lookup objects and
+ * the ones of its parent interpolators into an immutable plan, which is recreated when one of these objects changes.
  * </p>
  *
  * @since 1.4
  */
 public class ConfigurationInterpolator {
 
+    /**
+     * A class representing the content of the interpolation cache. An instance stores the cached results and the
+     * {@code Lookup} objects whose results can be cached. The cache is cleared by replacing the instance; so an
+     * interpolation operation running concurrently to the clear operation cannot put a stale result into the new cache.
+     */
+    private static final class InterpolationCache {
+
+        /** The lookup objects whose results can be cached. */
+        private final Set<Lookup> cacheableLookups;
+
+        /** The map with the cached results. */
+        private final Map<String, Object> results;
+
+        /**
+         * Creates a new instance of {@code InterpolationCache}.
+         *
+         * @param lookups the lookup objects whose results can be cached
+         */
+        InterpolationCache(final Set<Lookup> lookups) {
+            cacheableLookups = lookups;
+            results = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Returns a new, empty instance with the same settings.
+         *
+         * @return the cleared cache
+         */
+        InterpolationCache clear() {
+            return new InterpolationCache(cacheableLookups);
+        }
+    }
+
+    /**
+     * A class representing a string value which has been parsed into literal text and variables. Templates are created
+     * once for each string to be interpolated; so the string does not have to be scanned for variables again on each
+     * interpolation operation. Only strings with a simple structure are supported: variable names must not contain
+     * nested variables or default values, and escaped variables are not allowed. For other strings, interpolation is
+     * delegated to the {@code StringSubstitutor}.
+     */
+    private static final class InterpolationTemplate {
+
+        /** A template representing a string whose structure is not supported. */
+        static final InterpolationTemplate UNSUPPORTED = new InterpolationTemplate(new String[0], new String[0]);
+
+        /**
+         * Parses the given string and creates a template for it. If the string cannot be represented by a template, result
+         * is {@link #UNSUPPORTED}.
+         *
+         * @param value the string to be parsed
+         * @return the template for this string
+         */
+        static InterpolationTemplate compile(final String value) {
+            final List<String> literals = new ArrayList<>();
+            final List<String> variables = new ArrayList<>();
+            int pos = 0;
+            int start;
+            while ((start = value.indexOf(VAR_START, pos)) >= 0) {
+                final int end = value.indexOf(VAR_END, start + VAR_START_LENGTH);
+                if (end < 0 || start > 0 && value.charAt(start - 1) == ESCAPE) {
+                    return UNSUPPORTED;
+                }
+                final String name = value.substring(start + VAR_START_LENGTH, end);
+                if (name.isEmpty() || name.contains(VAR_START) || name.contains(DEFAULT_VALUE_SEPARATOR)) {
+                    return UNSUPPORTED;
+                }
+                literals.add(value.substring(pos, start));
+                variables.add(name);
+                pos = end + VAR_END_LENGTH;
+            }
+            literals.add(value.substring(pos));
+            return new InterpolationTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]));
+        }
+
+        /** The literal text before, between, and after the variables. */
+        private final String[] literals;
+
+        /** The names of the variables. */
+        private final String[] variables;
+
+        /** The total length of the literal text. */
+        private final int literalLength;
+
+        /**
+         * Creates a new instance of {@code InterpolationTemplate}.
+         *
+         * @param literals the literal segments (one more than variables)
+         * @param variables the names of the variables
+         */
+        private InterpolationTemplate(final String[] literals, final String[] variables) {
+            this.literals = literals;
+            this.variables = variables;
+            int length = 0;
+            for (final String literal : literals) {
+                length += literal.length();
+            }
+            literalLength = length;
+        }
+
+        /**
+         * Returns a flag whether this template consists of a single variable without any literal text.
+         *
+         * @return a flag whether this is a single variable
+         */
+        boolean isSingleVariable() {
+            return variables.length == 1 && literals[0].isEmpty() && literals[1].isEmpty();
+        }
+    }
+
+    /**
+     * A class representing the sequence of {@code Lookup} objects to be queried for a variable. The sequence contains the
+     * lookups of an interpolator and all its parents in the order they are queried by {@link #resolve(String)}.
+     */
+    private static final class LookupSequence {
+
+        /** The lookup objects to be queried. */
+        private final Lookup[] lookups;
+
+        /** Flags whether the lookup objects are passed the variable name with the prefix stripped. */
+        private final boolean[] prefixed;
+
+        /** The number of lookup objects at the beginning of the sequence belonging to the owning interpolator. */
+        private final int localCount;
+
+        /**
+         * Creates a new instance of {@code LookupSequence}.
+         *
+         * @param lookups the list with lookup objects
+         * @param prefixed the list with the flags for prefix lookups
+         * @param localCount the number of local lookup objects
+         */
+        LookupSequence(final List<Lookup> lookups, final List<Boolean> prefixed, final int localCount) {
+            this.lookups = lookups.toArray(new Lookup[0]);
+            this.prefixed = new boolean[lookups.size()];
+            for (int i = 0; i < this.prefixed.length; i++) {
+                this.prefixed[i] = prefixed.get(i);
+            }
+            this.localCount = localCount;
+        }
+    }
+
+    /**
+     * A class representing an immutable plan for resolving variables. The plan flattens the lookup objects of an
+     * interpolator and the chain of its parent interpolators: for each known prefix and for variables without a known
+     * prefix, it stores the sequence of lookup objects to be queried. So variables can be resolved without walking the
+     * parent chain. A plan is valid as long as the lookup objects and the parents of the interpolators it was created from
+     * are not changed; this is checked via version counters. A parent interpolator which does not support resolution plans
+     * (see {@link ConfigurationInterpolator#isResolutionPlanSupported()}) is not flattened; it is invoked as a delegate
+     * instead.
+     */
+    private static final class ResolutionPlan {
+
+        /** The interpolators whose lookup objects are contained in this plan. */
+        private final ConfigurationInterpolator[] chain;
+
+        /** The versions of the interpolators at the time this plan was created. */
+        private final int[] versions;
+
+        /** The known prefixes grouped by their length. */
+        private final String[][] prefixesByLength;
+
+        /** The lookup sequences for the prefixes grouped by the length of the prefix. */
+        private final LookupSequence[][] sequencesByLength;
+
+        /** The lookup sequence for variables without a known prefix. */
+        private final LookupSequence defaultSequence;
+
+        /** A parent interpolator which could not be flattened; <strong>null</strong> if there is none. */
+        private final ConfigurationInterpolator delegate;
+
+        /**
+         * Creates a new instance of {@code ResolutionPlan} for the given interpolator.
+         *
+         * @param owner the interpolator
+         */
+        ResolutionPlan(final ConfigurationInterpolator owner) {
+            final Set<ConfigurationInterpolator> chainSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            final List<ConfigurationInterpolator> chainList = new ArrayList<>();
+            final List<Integer> versionList = new ArrayList<>();
+            final List<Map<String, Lookup>> prefixLookupsList = new ArrayList<>();
+            final List<List<Lookup>> defaultLookupsList = new ArrayList<>();
+            final Set<String> prefixes = new LinkedHashSet<>();
+            ConfigurationInterpolator current = owner;
+            ConfigurationInterpolator parent;
+            do {
+                // The version has to be obtained before the data it protects.
+                versionList.add(current.lookupsVersion.get());
+                chainSet.add(current);
+                chainList.add(current);
+                final Map<String, Lookup> prefixLookups = new HashMap<>(current.prefixLookups);
+                prefixLookupsList.add(prefixLookups);
+                defaultLookupsList.add(new ArrayList<>(current.defaultLookups));
+                prefixes.addAll(prefixLookups.keySet());
+                parent = current.getParentInterpolator();
+                current = parent;
+            } while (parent != null && parent.isResolutionPlanSupported() && !chainSet.contains(parent));
+            chain = chainList.toArray(new ConfigurationInterpolator[0]);
+            versions = versionList.stream().mapToInt(Integer::intValue).toArray();
+            delegate = parent;
+
+            defaultSequence = createSequence(null, prefixLookupsList, defaultLookupsList);
+            final int maxLength = prefixes.stream().mapToInt(String::length).max().orElse(-1);
+            final int[] counts = new int[maxLength + 1];
+            prefixes.forEach(prefix -> counts[prefix.length()]++);
+            prefixesByLength = new String[maxLength + 1][];
+            sequencesByLength = new LookupSequence[maxLength + 1][];
+            for (int length = 0; length <= maxLength; length++) {
+                if (counts[length] > 0) {
+                    prefixesByLength[length] = new String[counts[length]];
+                    sequencesByLength[length] = new LookupSequence[counts[length]];
+                    counts[length] = 0;
+                }
+            }
+            for (final String prefix : prefixes) {
+                final int length = prefix.length();
+                final int index = counts[length]++;
+                prefixesByLength[length][index] = prefix;
+                sequencesByLength[length][index] = createSequence(prefix, prefixLookupsList, defaultLookupsList);
+            }
+        }
+
+        /**
+         * Creates the lookup sequence for the given prefix. For each interpolator in the chain, the sequence contains the
+         * lookup object registered for this prefix (if any) followed by the default lookups.
+         *
+         * @param prefix the prefix (<strong>null</strong> for variables without a known prefix)
+         * @param prefixLookups the prefix lookups of the interpolators in the chain
+         * @param defaultLookups the default lookups of the interpolators in the chain
+         * @return the lookup sequence for this prefix
+         */
+        private static LookupSequence createSequence(final String prefix, final List<Map<String, Lookup>> prefixLookups,
+            final List<List<Lookup>> defaultLookups) {
+            final List<Lookup> lookups = new ArrayList<>();
+            final List<Boolean> prefixed = new ArrayList<>();
+            int localCount = 0;
+            for (int i = 0; i < defaultLookups.size(); i++) {
+                if (prefix != null) {
+                    final Lookup lookup = prefixLookups.get(i).get(prefix);
+                    if (lookup != null && lookup != DummyLookup.INSTANCE) {
+                        lookups.add(lookup);
+                        prefixed.add(Boolean.TRUE);
+                    }
+                }
+                for (final Lookup lookup : defaultLookups.get(i)) {
+                    lookups.add(lookup);
+                    prefixed.add(Boolean.FALSE);
+                }
+                if (i == 0) {
+                    localCount = lookups.size();
+                }
+            }
+            return new LookupSequence(lookups, prefixed, localCount);
+        }
+
+        /**
+         * Returns a flag whether this plan is still valid. This is the case if none of the interpolators it was created
+         * from has been changed.
+         *
+         * @return <strong>true</strong> if this plan can be used, <strong>false</strong> otherwise
+         */
+        boolean isValid() {
+            for (int i = 0; i < chain.length; i++) {
+                if (chain[i].lookupsVersion.get() != versions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the lookup sequence to be used for the given variable.
+         *
+         * @param var the variable
+         * @param prefixPos the position of the prefix separator or -1 if there is none
+         * @return the lookup sequence for this variable
+         */
+        LookupSequence sequenceFor(final String var, final int prefixPos) {
+            if (prefixPos >= 0 && prefixPos < prefixesByLength.length) {
+                final String[] prefixes = prefixesByLength[prefixPos];
+                if (prefixes != null) {
+                    for (int i = 0; i < prefixes.length; i++) {
+                        if (var.regionMatches(0, prefixes[i], 0, prefixPos)) {
+                            return sequencesByLength[prefixPos][i];
+                        }
+                    }
+                }
+            }
+            return defaultSequence;
+        }
+    }
+
     /**
      * Internal class used to construct the default {@link Lookup} map used by
      * {@link ConfigurationInterpolator#getDefaultPrefixLookups()}.
@@ -261,6 +572,18 @@ public class ConfigurationInterpolator {
     /** The length of {@link #VAR_END}. */
     private static final int VAR_END_LENGTH = VAR_END.length();
 
+    /** The escape character for variables. */
+    private static final char ESCAPE = '$';
+
+    /** The separator between a variable name and its default value. */
+    private static final String DEFAULT_VALUE_SEPARATOR = ":-";
+
+    /** The maximum number of results stored in the interpolation cache. */
+    private static final int INTERPOLATION_CACHE_SIZE = 4096;
+
+    /** The maximum number of parsed templates stored by an instance. */
+    private static final int TEMPLATE_CACHE_SIZE = 4096;
+
     /**
      * Creates a new instance based on the properties in the given specification object.
      *
@@ -443,6 +766,18 @@ public class ConfigurationInterpolator {
     /** Function used to convert interpolated values to strings. */
     private volatile Function<Object, String> stringConverter = DefaultStringConverter.INSTANCE;
 
+    /** The cache for interpolation results; contains <strong>null</strong> if caching is disabled. */
+    private final AtomicReference<InterpolationCache> interpolationCache;
+
+    /** The cache with the templates of the strings interpolated by this instance. */
+    private final BoundedCache<String, InterpolationTemplate> templates;
+
+    /** A counter which is incremented whenever the lookup objects or the parent of this instance are changed. */
+    private final AtomicInteger lookupsVersion;
+
+    /** The current plan for resolving variables; can be <strong>null</strong> or outdated. */
+    private volatile ResolutionPlan resolutionPlan;
+
     /**
      * Creates a new instance of {@code ConfigurationInterpolator}.
      */
@@ -450,6 +785,9 @@ public class ConfigurationInterpolator {
         prefixLookups = new ConcurrentHashMap<>();
         defaultLookups = new CopyOnWriteArrayList<>();
         substitutor = initSubstitutor();
+        interpolationCache = new AtomicReference<>();
+        templates = new BoundedCache<>(TEMPLATE_CACHE_SIZE);
+        lookupsVersion = new AtomicInteger();
     }
 
     /**
@@ -462,6 +800,7 @@ public class ConfigurationInterpolator {
      */
     public void addDefaultLookup(final Lookup defaultLookup) {
         defaultLookups.add(defaultLookup);
+        lookupsChanged();
     }
 
     /**
@@ -474,9 +813,21 @@ public class ConfigurationInterpolator {
     public void addDefaultLookups(final Collection<? extends Lookup> lookups) {
         if (lookups != null) {
             defaultLookups.addAll(lookups);
+            lookupsChanged();
         }
     }
 
+    /**
+     * Removes all results from the interpolation cache. This method has to be called whenever the data provided by one of
+     * the {@code Lookup} objects passed to {@link #enableInterpolationCache(Collection)} changes. If the cache is not
+     * enabled, this method has no effect.
+     *
+     * @since 2.16.0
+     */
+    public void clearInterpolationCache() {
+        interpolationCache.updateAndGet(cache -> cache != null ? cache.clear() : null);
+    }
+
     /**
      * Deregisters the {@code Lookup} object for the specified prefix at this instance. It will be removed from this
      * instance.
@@ -485,7 +836,42 @@ public class ConfigurationInterpolator {
      * @return A flag whether for this prefix a lookup object had been registered
      */
     public boolean deregisterLookup(final String prefix) {
-        return prefixLookups.remove(prefix) != null;
+        final boolean removed = prefixLookups.remove(prefix) != null;
+        lookupsChanged();
+        return removed;
+    }
+
+    /**
+     * Disables the interpolation cache. All cached results are discarded.
+     *
+     * @since 2.16.0
+     */
+    public void disableInterpolationCache() {
+        interpolationCache.set(null);
+    }
+
+    /**
+     * Enables the cache for the results of interpolation operations on strings. The passed in {@code Lookup} objects are
+     * the ones whose results can be cached; typically these are default lookups of this instance. A result is only cached
+     * if all variables it contains were resolved using these {@code Lookup} objects alone; this also means that no other
+     * {@code Lookup} objects were queried before. The caller is responsible for invoking {@link #clearInterpolationCache()}
+     * when the data provided by these lookups changes. If the cache is already enabled, it is reset with the new
+     * {@code Lookup} objects.
+     * <p>
+     * Note: The cache is based on the resolution algorithm implemented by this class. It should not be enabled for derived
+     * classes that override {@link #resolve(String)} or {@link #interpolate(Object)}.
+     * </p>
+     *
+     * @param cacheableLookups the {@code Lookup} objects whose results can be cached (may be <strong>null</strong>; then
+     *        only values without variables or with variables that cannot be resolved are cached)
+     * @since 2.16.0
+     */
+    public void enableInterpolationCache(final Collection<? extends Lookup> cacheableLookups) {
+        final Set<Lookup> lookups = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (cacheableLookups != null) {
+            lookups.addAll(cacheableLookups);
+        }
+        interpolationCache.set(new InterpolationCache(Collections.unmodifiableSet(lookups)));
     }
 
     /**
@@ -500,6 +886,33 @@ public class ConfigurationInterpolator {
         return nullSafeLookup(prefixLookups.get(prefix));
     }
 
+    /**
+     * Obtains the current plan for resolving variables. If there is no valid plan, a new one is created.
+     *
+     * @return The {@code ResolutionPlan}
+     */
+    private ResolutionPlan fetchResolutionPlan() {
+        final ResolutionPlan plan = resolutionPlan;
+        if (plan != null && plan.isValid()) {
+            return plan;
+        }
+        final ResolutionPlan newPlan = new ResolutionPlan(this);
+        resolutionPlan = newPlan;
+        return newPlan;
+    }
+
+    /**
+     * Obtains the template for the given string. The template is created on first access and stored, so that it can be
+     * reused when the same string is interpolated again. The number of stored templates is limited; the templates of
+     * strings which have not been interpolated for the longest time are evicted.
+     *
+     * @param strValue The string to be interpolated
+     * @return The template for this string
+     */
+    private InterpolationTemplate fetchTemplate(final String strValue) {
+        return templates.computeIfAbsent(strValue, InterpolationTemplate::compile);
+    }
+
     /**
      * Gets a collection with the default {@code Lookup} objects added to this {@code ConfigurationInterpolator}. These
      * objects are not associated with a variable prefix. The returned list is a snapshot copy of the internal collection of
@@ -580,21 +993,130 @@ public class ConfigurationInterpolator {
     public Object interpolate(final Object value) {
         if (value instanceof String) {
             final String strValue = (String) value;
-            if (isSingleVariable(strValue)) {
-                final Object resolvedValue = resolveSingleVariable(strValue);
-                if (resolvedValue != null && !(resolvedValue instanceof String)) {
-                    // If the value is again a string, it needs no special
-                    // treatment; it may also contain further variables which
-                    // must be resolved; therefore, the default mechanism is
-                    // applied.
-                    return resolvedValue;
-                }
+            final InterpolationCache cache = interpolationCache.get();
+            if (cache != null) {
+                return interpolateCached(strValue, cache);
             }
-            return substitutor.replace(strValue);
+            return interpolateString(strValue, null, null);
         }
         return value;
     }
 
+    /**
+     * Performs interpolation of a string using the interpolation cache. If the cache contains a result for this string,
+     * it is returned directly. Otherwise, interpolation is done in the same way as by {@link #interpolate(Object)}, but
+     * the resolved variables are tracked to find out whether the result can be cached.
+     *
+     * @param strValue The string to be interpolated
+     * @param cache The interpolation cache
+     * @return The interpolated value
+     */
+    private Object interpolateCached(final String strValue, final InterpolationCache cache) {
+        final Object cachedResult = cache.results.get(strValue);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        final boolean[] cacheable = {true};
+        final Object result = interpolateString(strValue, cache.cacheableLookups, cacheable);
+        if (cacheable[0] && cache.results.size() < INTERPOLATION_CACHE_SIZE) {
+            cache.results.put(strValue, result);
+        }
+        return result;
+    }
+
+    /**
+     * Performs interpolation of a string. If possible, the template for this string is evaluated. Otherwise, the string
+     * is passed to the {@code StringSubstitutor}. If a set of cacheable lookups is provided, the resolved variables are
+     * tracked as described for {@link #resolve(String, Set, boolean[])}.
+     *
+     * @param strValue The string to be interpolated
+     * @param cacheableLookups The lookup objects whose results can be cached (<strong>null</strong> if nothing is tracked)
+     * @param cacheable An array with the flag whether the result can be cached
+     * @return The interpolated value
+     */
+    private Object interpolateString(final String strValue, final Set<Lookup> cacheableLookups, final boolean[] cacheable) {
+        final Object templateResult = interpolateTemplate(strValue, fetchTemplate(strValue), cacheableLookups, cacheable);
+        if (templateResult != null) {
+            return templateResult;
+        }
+
+        if (isSingleVariable(strValue)) {
+            final Object resolvedValue = resolveTracked(extractVariableName(strValue), cacheableLookups, cacheable);
+            if (resolvedValue != null && !(resolvedValue instanceof String)) {
+                // If the value is again a string, it needs no special
+                // treatment; it may also contain further variables which
+                // must be resolved; therefore, the default mechanism is
+                // applied.
+                return resolvedValue;
+            }
+        }
+        if (cacheableLookups == null) {
+            return substitutor.replace(strValue);
+        }
+        final StringSubstitutor trackingSubstitutor = new StringSubstitutor(key -> {
+            final Object value = resolve(key, cacheableLookups, cacheable);
+            return value != null ? stringConverter.apply(value) : null;
+        });
+        trackingSubstitutor.setEnableSubstitutionInVariables(substitutor.isEnableSubstitutionInVariables());
+        return trackingSubstitutor.replace(strValue);
+    }
+
+    /**
+     * Evaluates the template for a string. The variables of the template are resolved, converted to strings, and
+     * concatenated with the literal text. This produces the same result as the {@code StringSubstitutor}. If the template
+     * is not supported or a variable value contains itself variables which need to be resolved recursively, result is
+     * <strong>null</strong>; then the caller has to fall back to the {@code StringSubstitutor}.
+     *
+     * @param strValue The string to be interpolated
+     * @param template The template for this string
+     * @param cacheableLookups The lookup objects whose results can be cached (<strong>null</strong> if nothing is tracked)
+     * @param cacheable An array with the flag whether the result can be cached
+     * @return The interpolated value or <strong>null</strong> if the template cannot be evaluated
+     */
+    private Object interpolateTemplate(final String strValue, final InterpolationTemplate template, final Set<Lookup> cacheableLookups,
+        final boolean[] cacheable) {
+        if (template == InterpolationTemplate.UNSUPPORTED) {
+            return null;
+        }
+        final String[] variables = template.variables;
+        if (variables.length == 0) {
+            return strValue;
+        }
+
+        final String[] values = new String[variables.length];
+        int length = template.literalLength;
+        for (int i = 0; i < variables.length; i++) {
+            final Object value = resolveTracked(variables[i], cacheableLookups, cacheable);
+            if (value == null) {
+                if (template.isSingleVariable()) {
+                    return strValue;
+                }
+                values[i] = VAR_START + variables[i] + VAR_END;
+            } else {
+                if (!(value instanceof String) && template.isSingleVariable()) {
+                    return value;
+                }
+                final String strVarValue = stringConverter.apply(value);
+                if (strVarValue == null) {
+                    values[i] = VAR_START + variables[i] + VAR_END;
+                } else if (strVarValue.contains(VAR_START)) {
+                    // The value has to be interpolated recursively.
+                    return null;
+                } else {
+                    values[i] = strVarValue;
+                }
+            }
+            length += values[i].length();
+        }
+
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < variables.length; i++) {
+            buf.append(template.literals[i]).append(values[i]);
+        }
+        return buf.append(template.literals[variables.length]).toString();
+    }
+
     /**
      * Sets a flag that variable names can contain other variables. If enabled, variable substitution is also done in
      * variable names.
@@ -605,6 +1127,33 @@ public class ConfigurationInterpolator {
         return substitutor.isEnableSubstitutionInVariables();
     }
 
+    /**
+     * Returns a flag whether the interpolation cache is enabled.
+     *
+     * @return <strong>true</strong> if interpolation results are cached, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    public boolean isInterpolationCacheEnabled() {
+        return interpolationCache.get() != null;
+    }
+
+    /**
+     * Tests whether variables can be resolved using a flattened resolution plan. If this method returns
+     * <strong>true</strong>, the lookup objects of this instance and of its parent interpolators (as far as they support
+     * resolution plans as well) are combined into an immutable plan which is rebuilt only if lookup objects are registered
+     * or removed, or if a parent is changed. Variables are then resolved without calling
+     * {@link #fetchLookupForPrefix(String)} or {@link #getParentInterpolator()}, and without calling
+     * {@link #resolve(String)} on parent interpolators. This base implementation returns <strong>true</strong> for
+     * instances of this class only, so that derived classes overriding these methods keep working. Derived classes which
+     * do not change the way variables are resolved can override this method to return <strong>true</strong> as well.
+     *
+     * @return <strong>true</strong> if a resolution plan can be used, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    protected boolean isResolutionPlanSupported() {
+        return getClass() == ConfigurationInterpolator.class;
+    }
+
     /**
      * Checks whether a value to be interpolated consists of single, simple variable reference, for example,
      * {@code ${myvar}}. In this case, the variable is resolved directly without using the
@@ -618,6 +1167,15 @@ public class ConfigurationInterpolator {
                 && strValue.indexOf(VAR_END, VAR_START_LENGTH) == strValue.length() - VAR_END_LENGTH;
     }
 
+    /**
+     * Notifies this object about a change of its lookup objects or its parent interpolator. This invalidates the current
+     * {@code ResolutionPlan} of this instance and of all instances using it as parent, and the interpolation cache.
+     */
+    private void lookupsChanged() {
+        lookupsVersion.incrementAndGet();
+        clearInterpolationCache();
+    }
+
     /**
      * Returns an unmodifiable set with the prefixes, for which {@code Lookup} objects are registered at this instance. This
      * means that variables with these prefixes can be processed.
@@ -644,6 +1202,7 @@ public class ConfigurationInterpolator {
             throw new IllegalArgumentException("Lookup object must not be null.");
         }
         prefixLookups.put(prefix, lookup);
+        lookupsChanged();
     }
 
     /**
@@ -657,6 +1216,7 @@ public class ConfigurationInterpolator {
     public void registerLookups(final Map<String, ? extends Lookup> lookups) {
         if (lookups != null) {
             prefixLookups.putAll(lookups);
+            lookupsChanged();
         }
     }
 
@@ -667,7 +1227,9 @@ public class ConfigurationInterpolator {
      * @return A flag whether this {@code Lookup} object actually existed and was removed
      */
     public boolean removeDefaultLookup(final Lookup lookup) {
-        return defaultLookups.remove(lookup);
+        final boolean removed = defaultLookups.remove(lookup);
+        lookupsChanged();
+        return removed;
     }
 
     /**
@@ -681,21 +1243,88 @@ public class ConfigurationInterpolator {
      * @return The value of this variable or <strong>null</strong> if it cannot be resolved
      */
     public Object resolve(final String var) {
+        return resolve(var, null, null);
+    }
+
+    /**
+     * Resolves the specified variable and optionally tracks whether the result can be cached. This method implements the
+     * algorithm described for {@link #resolve(String)}. If a set of cacheable lookups is provided, the flag in the passed
+     * in array is reset as soon as another source of data is queried.
+     *
+     * @param var The name of the variable whose value is to be looked up which may contain a prefix.
+     * @param cacheableLookups The lookup objects whose results can be cached (<strong>null</strong> if nothing is tracked)
+     * @param cacheable An array with the flag whether the result can be cached
+     * @return The value of this variable or <strong>null</strong> if it cannot be resolved
+     */
+    private Object resolve(final String var, final Set<Lookup> cacheableLookups, final boolean[] cacheable) {
         if (var == null) {
             return null;
         }
+        if (!isResolutionPlanSupported()) {
+            return resolveWithoutPlan(var, cacheableLookups, cacheable);
+        }
+
+        final ResolutionPlan plan = fetchResolutionPlan();
+        final int prefixPos = var.indexOf(PREFIX_SEPARATOR);
+        final LookupSequence sequence = plan.sequenceFor(var, prefixPos);
+        String name = null;
+        for (int i = 0; i < sequence.lookups.length; i++) {
+            final Lookup lookup = sequence.lookups[i];
+            if (cacheableLookups != null && (i >= sequence.localCount || !cacheableLookups.contains(lookup))) {
+                cacheable[0] = false;
+            }
+            final Object value;
+            if (sequence.prefixed[i]) {
+                if (name == null) {
+                    name = var.substring(prefixPos + 1);
+                }
+                value = lookup.lookup(name);
+            } else {
+                value = lookup.lookup(var);
+            }
+            if (value != null) {
+                return value;
+            }
+        }
+
+        if (plan.delegate != null) {
+            if (cacheableLookups != null) {
+                cacheable[0] = false;
+            }
+            return plan.delegate.resolve(var);
+        }
+        return null;
+    }
 
+    /**
+     * Resolves the specified variable by querying the lookup objects of this instance and then delegating to the parent
+     * interpolator. This method is used if this instance does not support a {@code ResolutionPlan} (see
+     * {@link #isResolutionPlanSupported()}).
+     *
+     * @param var The name of the variable whose value is to be looked up which may contain a prefix.
+     * @param cacheableLookups The lookup objects whose results can be cached (<strong>null</strong> if nothing is tracked)
+     * @param cacheable An array with the flag whether the result can be cached
+     * @return The value of this variable or <strong>null</strong> if it cannot be resolved
+     */
+    private Object resolveWithoutPlan(final String var, final Set<Lookup> cacheableLookups, final boolean[] cacheable) {
         final int prefixPos = var.indexOf(PREFIX_SEPARATOR);
         if (prefixPos >= 0) {
             final String prefix = var.substring(0, prefixPos);
             final String name = var.substring(prefixPos + 1);
-            final Object value = fetchLookupForPrefix(prefix).lookup(name);
+            final Lookup prefixLookup = fetchLookupForPrefix(prefix);
+            if (cacheableLookups != null && prefixLookup != DummyLookup.INSTANCE && !cacheableLookups.contains(prefixLookup)) {
+                cacheable[0] = false;
+            }
+            final Object value = prefixLookup.lookup(name);
             if (value != null) {
                 return value;
             }
         }
 
         for (final Lookup lookup : defaultLookups) {
+            if (cacheableLookups != null && !cacheableLookups.contains(lookup)) {
+                cacheable[0] = false;
+            }
             final Object value = lookup.lookup(var);
             if (value != null) {
                 return value;
@@ -704,19 +1333,26 @@ public class ConfigurationInterpolator {
 
         final ConfigurationInterpolator parent = getParentInterpolator();
         if (parent != null) {
+            if (cacheableLookups != null) {
+                cacheable[0] = false;
+            }
             return getParentInterpolator().resolve(var);
         }
         return null;
     }
 
     /**
-     * Interpolates a string value that consists of a single variable.
+     * Resolves the specified variable, tracking whether the result can be cached if a set of cacheable lookups is
+     * provided. If nothing is tracked, the variable is resolved by the (possibly overridden) {@link #resolve(String)}
+     * method.
      *
-     * @param strValue The string to be interpolated
-     * @return The resolved value or <strong>null</strong> if resolving failed
+     * @param var The name of the variable whose value is to be looked up which may contain a prefix.
+     * @param cacheableLookups The lookup objects whose results can be cached (<strong>null</strong> if nothing is tracked)
+     * @param cacheable An array with the flag whether the result can be cached
+     * @return The value of this variable or <strong>null</strong> if it cannot be resolved
      */
-    private Object resolveSingleVariable(final String strValue) {
-        return resolve(extractVariableName(strValue));
+    private Object resolveTracked(final String var, final Set<Lookup> cacheableLookups, final boolean[] cacheable) {
+        return cacheableLookups != null ? resolve(var, cacheableLookups, cacheable) : resolve(var);
     }
 
     /**
@@ -727,6 +1363,7 @@ public class ConfigurationInterpolator {
      */
     public void setEnableSubstitutionInVariables(final boolean f) {
         substitutor.setEnableSubstitutionInVariables(f);
+        clearInterpolationCache();
     }
 
     /**
@@ -737,6 +1374,7 @@ public class ConfigurationInterpolator {
      */
     public void setParentInterpolator(final ConfigurationInterpolator parentInterpolator) {
         this.parentInterpolator = parentInterpolator;
+        lookupsChanged();
     }
 
     /** Sets the function used to convert interpolated values to strings. Pass
@@ -749,5 +1387,6 @@ public class ConfigurationInterpolator {
         this.stringConverter = stringConverter != null
                 ? stringConverter
                 : DefaultStringConverter.INSTANCE;
+        clearInterpolationCache();
     }
 }
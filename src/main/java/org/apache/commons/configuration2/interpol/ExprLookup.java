@@ -17,14 +17,15 @@
 package org.apache.commons.configuration2.interpol;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
 import org.apache.commons.configuration2.io.ConfigurationLogger;
-import org.apache.commons.jexl2.Expression;
 import org.apache.commons.jexl2.JexlContext;
 import org.apache.commons.jexl2.JexlEngine;
-import org.apache.commons.jexl2.MapContext;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.commons.text.StringSubstitutor;
@@ -60,6 +61,13 @@ import org.apache.commons.text.lookup.StringLookup;
  *
  * This lookup uses Apache Commons Jexl and requires that the dependency be added to any projects which use this.
  *
+ * <p>
+ * The JEXL engine used by this lookup caches parsed expressions, so an expression which is evaluated multiple times is
+ * parsed only once. The variables are stored in an immutable map which is shared by all evaluations and created anew
+ * when {@link #setVariables(Variables)} is called. Variables assigned by an expression are stored in a context local to
+ * the current evaluation.
+ * </p>
+ *
  * @since 1.7
  */
 public class ExprLookup implements Lookup {
@@ -182,6 +190,50 @@ public class ExprLookup implements Lookup {
 
     }
 
+    /**
+     * A {@code JexlContext} implementation used for a single evaluation of an expression. It reads the variables of this
+     * lookup from a shared immutable map. Variables assigned by the expression are stored in a local map, which is only
+     * created when it is needed.
+     */
+    private static final class EvaluationContext implements JexlContext {
+
+        /** The shared map with the variables of the lookup. */
+        private final Map<String, Object> variables;
+
+        /** The map with the variables assigned during this evaluation; created on demand. */
+        private Map<String, Object> localVariables;
+
+        /**
+         * Creates a new instance of {@code EvaluationContext} which reads the given variables.
+         *
+         * @param variables The map with the variables of the lookup
+         */
+        EvaluationContext(final Map<String, Object> variables) {
+            this.variables = variables;
+        }
+
+        @Override
+        public Object get(final String name) {
+            if (localVariables != null && localVariables.containsKey(name)) {
+                return localVariables.get(name);
+            }
+            return variables.get(name);
+        }
+
+        @Override
+        public boolean has(final String name) {
+            return localVariables != null && localVariables.containsKey(name) || variables.containsKey(name);
+        }
+
+        @Override
+        public void set(final String name, final Object value) {
+            if (localVariables == null) {
+                localVariables = new HashMap<>();
+            }
+            localVariables.put(name, value);
+        }
+    }
+
     /** Prefix to identify a Java Class object */
     private static final String CLASS = "Class:";
 
@@ -191,6 +243,20 @@ public class ExprLookup implements Lookup {
     /** The default suffix for subordinate lookup expressions */
     private static final String DEFAULT_SUFFIX = "]";
 
+    /** The maximum number of parsed expressions stored in the cache of the JEXL engine. */
+    private static final int EXPRESSION_CACHE_SIZE = 256;
+
+    /**
+     * Creates the JEXL engine used by instances of this class. The engine caches parsed expressions.
+     *
+     * @return The JEXL engine
+     */
+    private static JexlEngine createEngine() {
+        final JexlEngine jexlEngine = new JexlEngine();
+        jexlEngine.setCache(EXPRESSION_CACHE_SIZE);
+        return jexlEngine;
+    }
+
     /** The ConfigurationInterpolator used by this object. */
     private ConfigurationInterpolator interpolator;
 
@@ -201,11 +267,14 @@ public class ExprLookup implements Lookup {
     private ConfigurationLogger logger;
 
     /** The engine. */
-    private final JexlEngine engine = new JexlEngine();
+    private final JexlEngine engine = createEngine();
 
     /** The variables maintained by this object. */
     private Variables variables;
 
+    /** An immutable map with the current variables used for the evaluation of expressions. */
+    private volatile Map<String, Object> variableValues = Collections.emptyMap();
+
     /** The String to use to start subordinate lookup expressions */
     private String prefixMatcher = DEFAULT_PREFIX;
 
@@ -240,17 +309,6 @@ public class ExprLookup implements Lookup {
         setVariableSuffixMatcher(suffix);
     }
 
-    /**
-     * Creates a new {@code JexlContext} and initializes it with the variables managed by this Lookup object.
-     *
-     * @return The newly created context
-     */
-    private JexlContext createContext() {
-        final JexlContext ctx = new MapContext();
-        initializeContext(ctx);
-        return ctx;
-    }
-
     /**
      * Gets the {@code ConfigurationInterpolator} used by this object.
      *
@@ -281,15 +339,6 @@ public class ExprLookup implements Lookup {
         return new Variables(variables);
     }
 
-    /**
-     * Initializes the specified context with the variables managed by this Lookup object.
-     *
-     * @param ctx The context to be initialized
-     */
-    private void initializeContext(final JexlContext ctx) {
-        variables.forEach(var -> ctx.set(var.getName(), var.getValue()));
-    }
-
     /**
      * Creates a {@code StringSubstitutor} object which uses the passed in {@code ConfigurationInterpolator} as lookup
      * object.
@@ -319,8 +368,7 @@ public class ExprLookup implements Lookup {
 
         String result = substitutor.replace(var);
         try {
-            final Expression exp = engine.createExpression(result);
-            final Object exprResult = exp.evaluate(createContext());
+            final Object exprResult = engine.createExpression(result).evaluate(new EvaluationContext(variableValues));
             result = exprResult != null ? String.valueOf(exprResult) : null;
         } catch (final Exception e) {
             final ConfigurationLogger l = getLogger();
@@ -370,6 +418,9 @@ public class ExprLookup implements Lookup {
      */
     public void setVariables(final Variables list) {
         variables = new Variables(list);
+        final Map<String, Object> values = new HashMap<>();
+        variables.forEach(var -> values.put(var.getName(), var.getValue()));
+        variableValues = Collections.unmodifiableMap(values);
     }
 
     /**
@@ -389,6 +389,15 @@ public class PropertyListConfiguration extends BaseHierarchicalConfiguration imp
         }
     }
 
+    /**
+     * {@inheritDoc} This implementation returns <strong>false</strong> because byte arrays are handled specially when
+     * properties are added or set.
+     */
+    @Override
+    protected boolean isDirectBatchUpdateSupported() {
+        return false;
+    }
+
     /**
      * Append a node to the writer, indented according to a specific level.
      */
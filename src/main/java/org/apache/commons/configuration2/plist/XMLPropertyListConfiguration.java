@@ -564,6 +564,15 @@ public class XMLPropertyListConfiguration extends BaseHierarchicalConfiguration
         this.locator = locator;
     }
 
+    /**
+     * {@inheritDoc} This implementation returns <strong>false</strong> because byte arrays are handled specially when
+     * properties are added or set.
+     */
+    @Override
+    protected boolean isDirectBatchUpdateSupported() {
+        return false;
+    }
+
     /**
      * Append a node to the writer, indented according to a specific level.
      */
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * A thread-safe cache with a maximum number of entries which can be read without locking.
+ * </p>
+ * <p>
+ * Entries are stored in two generations: New entries are added to the current generation. If it is full, it becomes the
+ * previous generation, which replaces the old previous generation and thus evicts all of its entries at once; entries
+ * found in the previous generation are moved to the current one. So entries which are accessed frequently stay in the
+ * cache, while entries which have not been accessed for the longest time are evicted. Only the switch to a new
+ * generation requires a lock.
+ * </p>
+ * <p>
+ * This class is used internally by this library to cache the results of expensive operations, for instance parsed keys
+ * or templates of interpolated strings. Keys and values must not be <strong>null</strong>.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 2.16.0
+ */
+public final class BoundedCache<K, V> {
+
+    /** The maximum number of entries in a generation. */
+    private final int generationSize;
+
+    /** The current generation of entries. */
+    private volatile Map<K, V> current;
+
+    /** The previous generation of entries. */
+    private volatile Map<K, V> previous;
+
+    /**
+     * Creates a new instance of {@code BoundedCache} with the given maximum size.
+     *
+     * @param maxSize the maximum number of entries
+     * @throws IllegalArgumentException if the maximum size is less than 1
+     */
+    public BoundedCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maxSize);
+        }
+        generationSize = Math.max(1, maxSize / 2);
+        current = new ConcurrentHashMap<>();
+        previous = Collections.emptyMap();
+    }
+
+    /**
+     * Returns the value for the given key. If the key is not contained in this cache, the value is computed by the given
+     * function and added to the cache. The function may be invoked concurrently for the same key by multiple threads.
+     *
+     * @param key the key
+     * @param mappingFunction the function to compute the value for the key
+     * @return the value for this key
+     */
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value for the given key from this cache or <strong>null</strong> if the key is not cached.
+     *
+     * @param key the key
+     * @return the value for this key or <strong>null</strong>
+     */
+    public V get(final K key) {
+        V value = current.get(key);
+        if (value == null) {
+            value = previous.get(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds an entry to this cache. If the current generation is full, a new generation is started.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(final K key, final V value) {
+        Map<K, V> generation = current;
+        if (generation.size() >= generationSize) {
+            synchronized (this) {
+                if (current == generation) {
+                    previous = generation;
+                    current = new ConcurrentHashMap<>();
+                }
+                generation = current;
+            }
+        }
+        generation.put(key, value);
+    }
+}
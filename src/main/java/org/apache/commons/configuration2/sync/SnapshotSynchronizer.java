@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A special implementation of {@code Synchronizer} which does not lock read operations at all and serializes write
+ * operations only.
+ * </p>
+ * <p>
+ * This implementation is intended for configurations which store their data in immutable snapshots, in particular
+ * hierarchical configurations based on an {@code InMemoryNodeModel} like {@code BaseHierarchicalConfiguration} or
+ * {@code XMLConfiguration}. The node model of such a configuration keeps its whole state in a single immutable
+ * {@code TreeData} object which is replaced atomically on each update. A read operation obtains the current object once
+ * and works on it; so it sees a consistent state of the configuration without having to acquire a lock, and it is not
+ * affected by concurrent updates. As read operations do not touch any shared lock state, read throughput scales with the
+ * number of available cores.
+ * </p>
+ * <p>
+ * Write operations are executed under an exclusive, reentrant lock. Note that a read operation running in parallel to a
+ * write operation may see the state after any of the individual node model updates performed by the write operation.
+ * For the basic operations of a configuration, like {@code setProperty()} or {@code clearProperty()}, this makes no
+ * difference because they are executed as a single update. Complex operations which update the configuration in
+ * multiple steps (for instance loading a file into a configuration which is already in use) may expose intermediate
+ * states to readers.
+ * </p>
+ * <p>
+ * This {@code Synchronizer} must not be used for configurations whose data is stored in mutable structures, for example
+ * {@code BaseConfiguration} or {@code PropertiesConfiguration}. Such configurations have to use a
+ * {@link ReadWriteSynchronizer} to be thread-safe. Therefore, {@code AbstractConfiguration.setSynchronizer()} rejects
+ * an instance of this class with an {@code IllegalArgumentException} if the configuration is not based on immutable
+ * snapshots.
+ * </p>
+ *
+ * @since 2.16.0
+ */
+public class SnapshotSynchronizer implements Synchronizer {
+
+    /** The lock for serializing write operations. */
+    private final Lock writeLock;
+
+    /**
+     * Creates a new instance of {@code SnapshotSynchronizer}.
+     */
+    public SnapshotSynchronizer() {
+        writeLock = new ReentrantLock();
+    }
+
+    /**
+     * {@inheritDoc} This implementation does nothing; read operations are not synchronized.
+     */
+    @Override
+    public void beginRead() {
+        // empty
+    }
+
+    /**
+     * {@inheritDoc} This implementation obtains an exclusive lock.
+     */
+    @Override
+    public void beginWrite() {
+        writeLock.lock();
+    }
+
+    /**
+     * {@inheritDoc} This implementation does nothing; read operations are not synchronized.
+     */
+    @Override
+    public void endRead() {
+        // empty
+    }
+
+    /**
+     * {@inheritDoc} This implementation releases the exclusive lock obtained by {@link #beginWrite()}.
+     */
+    @Override
+    public void endWrite() {
+        writeLock.unlock();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>
+ * A special implementation of {@code Synchronizer} based on the JDK's {@code StampedLock} class.
+ * </p>
+ * <p>
+ * The methods of the {@code Synchronizer} interface are mapped to the pessimistic read and write locks of a
+ * {@code StampedLock}. In contrast to the locks of {@code StampedLock}, they are reentrant: a thread which already holds
+ * the read or the write lock can call {@code beginRead()} again, and a thread holding the write lock can call
+ * {@code beginWrite()} again. A thread holding the write lock can also start read operations; if it ends its write
+ * operation before the nested read operations, the write lock is downgraded to a read lock. As with
+ * {@link ReadWriteSynchronizer}, a read lock cannot be upgraded to a write lock.
+ * </p>
+ * <p>
+ * In addition, this class supports optimistic reads. For configurations which declare support for them (for instance
+ * hierarchical configurations based on an {@code InMemoryNodeModel}), cheap read operations like
+ * {@code getProperty()} or {@code containsKey()} are executed without acquiring a lock at all: the configuration
+ * obtains a stamp via {@link #tryOptimisticRead()}, performs the operation, and checks with {@link #validate(long)}
+ * whether a write operation happened in the meantime. Only in this case the operation is repeated under the
+ * pessimistic read lock. As optimistic reads do not write to shared state, they scale much better than the read lock of
+ * a {@code ReentrantReadWriteLock} if many threads read a configuration which is only rarely updated. Operations which
+ * iterate over the whole content of a configuration, like {@code getKeys()}, as well as explicit locks obtained via the
+ * {@link SynchronizerSupport#lock(LockMode)} method, always use the pessimistic read lock.
+ * </p>
+ *
+ * @since 2.16.0
+ */
+public class StampedLockSynchronizer implements Synchronizer {
+
+    /**
+     * A class storing the locks held by a thread.
+     */
+    private static final class HoldCounts {
+
+        /** The number of read operations started by the thread. */
+        private int reads;
+
+        /** The number of write operations started by the thread. */
+        private int writes;
+
+        /** The stamp of the lock currently held by the thread. */
+        private long stamp;
+    }
+
+    /** The lock object used by this Synchronizer. */
+    private final StampedLock lock;
+
+    /** Stores the locks held by the current thread. */
+    private final ThreadLocal<HoldCounts> holdCounts = ThreadLocal.withInitial(HoldCounts::new);
+
+    /**
+     * Creates a new instance of {@code StampedLockSynchronizer} and initializes it with a new {@code StampedLock}.
+     */
+    public StampedLockSynchronizer() {
+        this(null);
+    }
+
+    /**
+     * Creates a new instance of {@code StampedLockSynchronizer} and initializes it with the given lock object. If the
+     * lock object is <strong>null</strong>, a new lock is created.
+     *
+     * @param l The lock object to be used (can be <strong>null</strong>)
+     */
+    public StampedLockSynchronizer(final StampedLock l) {
+        lock = l != null ? l : new StampedLock();
+    }
+
+    @Override
+    public void beginRead() {
+        final HoldCounts counts = holdCounts.get();
+        if (counts.reads == 0 && counts.writes == 0) {
+            counts.stamp = lock.readLock();
+        }
+        counts.reads++;
+    }
+
+    @Override
+    public void beginWrite() {
+        final HoldCounts counts = holdCounts.get();
+        if (counts.writes == 0) {
+            counts.stamp = lock.writeLock();
+        }
+        counts.writes++;
+    }
+
+    @Override
+    public void endRead() {
+        final HoldCounts counts = holdCounts.get();
+        if (counts.reads == 0) {
+            throw new IllegalMonitorStateException("No read operation in progress.");
+        }
+        if (--counts.reads == 0 && counts.writes == 0) {
+            lock.unlockRead(counts.stamp);
+        }
+    }
+
+    @Override
+    public void endWrite() {
+        final HoldCounts counts = holdCounts.get();
+        if (counts.writes == 0) {
+            throw new IllegalMonitorStateException("No write operation in progress.");
+        }
+        if (--counts.writes == 0) {
+            if (counts.reads > 0) {
+                counts.stamp = lock.tryConvertToReadLock(counts.stamp);
+            } else {
+                lock.unlockWrite(counts.stamp);
+            }
+        }
+    }
+
+    /**
+     * Returns a stamp for an optimistic read operation. The result is 0 if the write lock is currently held; then an
+     * optimistic read is not possible.
+     *
+     * @return The stamp for the optimistic read operation
+     * @see StampedLock#tryOptimisticRead()
+     */
+    public long tryOptimisticRead() {
+        return lock.tryOptimisticRead();
+    }
+
+    /**
+     * Checks whether no write operation has been started since the given stamp was issued. In this case, the results of
+     * an optimistic read operation are valid.
+     *
+     * @param stamp The stamp obtained from {@link #tryOptimisticRead()}
+     * @return <strong>true</strong> if the optimistic read operation was not affected by a write operation,
+     *         <strong>false</strong> otherwise
+     * @see StampedLock#validate(long)
+     */
+    public boolean validate(final long stamp) {
+        return lock.validate(stamp);
+    }
+}
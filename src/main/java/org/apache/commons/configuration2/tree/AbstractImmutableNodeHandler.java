@@ -83,9 +83,14 @@ abstract class AbstractImmutableNodeHandler implements NodeHandler<ImmutableNode
 
     /**
      * {@inheritDoc} This implementation returns an immutable list with all child nodes accepted by the specified matcher.
+     * Queries for the children with a specific name (using the {@link NodeNameMatchers#EQUALS} matcher) are delegated to
+     * the node, which can answer them from its index of child names.
      */
     @Override
     public <C> List<ImmutableNode> getMatchingChildren(final ImmutableNode node, final NodeMatcher<C> matcher, final C criterion) {
+        if (matcher == NodeNameMatchers.EQUALS && criterion instanceof String) {
+            return node.getChildren((String) criterion);
+        }
         return Collections.unmodifiableList(node.stream().filter(c -> matcher.matches(c, this, criterion)).collect(Collectors.toList()));
     }
 
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * A list with the child nodes of a node which have not yet been processed by a {@link NodeCombiner}.
+ * </p>
+ * <p>
+ * Combiners iterate over the children of the first source node and remove the matching children of the second source
+ * node from a list; the children remaining in this list are finally added to the result. With a linked list each
+ * removal has to search the list, so combining nodes with many children becomes quadratic. This list knows the positions
+ * of its elements and therefore removes an element in constant time. As {@link ImmutableNode} does not override
+ * {@code equals()}, elements are compared by identity; if a node is contained multiple times, its first remaining
+ * occurrence is removed, just as with other lists.
+ * </p>
+ * <p>
+ * Only the operations needed by combiners are optimized: {@code contains()}, {@code remove(Object)}, {@code size()},
+ * and {@code forEach()}. Index-based access is supported, but requires copying the remaining elements after a removal.
+ * Other modifications are not supported.
+ * </p>
+ */
+class ChildNodeList extends AbstractList<ImmutableNode> {
+
+    /** An array with all child nodes. */
+    private final ImmutableNode[] children;
+
+    /** Stores the index of the first remaining occurrence of each node. */
+    private final Map<ImmutableNode, Integer> positions;
+
+    /** Stores for each index the index of the next occurrence of the same node or -1. */
+    private final int[] nextOccurrence;
+
+    /** Flags for the child nodes which have been removed. */
+    private final boolean[] removed;
+
+    /** The number of removed child nodes. */
+    private int removedCount;
+
+    /** A list with the remaining child nodes for index-based access. */
+    private List<ImmutableNode> remaining;
+
+    /**
+     * Creates a new instance of {@code ChildNodeList} with the given child nodes.
+     *
+     * @param children the list with child nodes
+     */
+    ChildNodeList(final List<ImmutableNode> children) {
+        this.children = children.toArray(new ImmutableNode[0]);
+        final int size = this.children.length;
+        positions = new IdentityHashMap<>(size);
+        nextOccurrence = new int[size];
+        removed = new boolean[size];
+        Arrays.fill(nextOccurrence, -1);
+        final Map<ImmutableNode, Integer> lastPositions = new IdentityHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final ImmutableNode child = this.children[i];
+            final Integer last = lastPositions.put(child, i);
+            if (last == null) {
+                positions.put(child, i);
+            } else {
+                nextOccurrence[last] = i;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc} This implementation checks in constant time whether the node has not yet been removed.
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public void forEach(final Consumer<? super ImmutableNode> action) {
+        Objects.requireNonNull(action, "action");
+        for (int i = 0; i < removed.length; i++) {
+            if (!removed[i]) {
+                action.accept(children[i]);
+            }
+        }
+    }
+
+    @Override
+    public ImmutableNode get(final int index) {
+        if (remaining == null) {
+            final List<ImmutableNode> list = new ArrayList<>(size());
+            forEach(list::add);
+            remaining = list;
+        }
+        return remaining.get(index);
+    }
+
+    /**
+     * {@inheritDoc} This implementation removes the node in constant time.
+     */
+    @Override
+    public boolean remove(final Object o) {
+        final Integer index = positions.get(o);
+        if (index == null) {
+            return false;
+        }
+        final int next = nextOccurrence[index];
+        if (next < 0) {
+            positions.remove(o);
+        } else {
+            positions.put(children[next], next);
+        }
+        removed[index] = true;
+        removedCount++;
+        remaining = null;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return removed.length - removedCount;
+    }
+}
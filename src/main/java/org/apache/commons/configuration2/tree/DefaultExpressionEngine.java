@@ -16,10 +16,12 @@
  */
 package org.apache.commons.configuration2.tree;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.apache.commons.configuration2.sync.BoundedCache;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -94,6 +96,12 @@ import org.apache.commons.lang3.StringUtils;
  * configuration can be altered.
  * </p>
  * <p>
+ * Keys passed to the {@code query()} method are parsed only once: the parts of a key (node names, indices, and
+ * attribute flags) are stored in a bounded cache, so that frequently queried keys can be evaluated without tokenizing
+ * them again. Because the symbols of an instance cannot be changed, the cache is valid for the whole life time of the
+ * instance. The size of the cache can be set when creating an instance; a size of 0 disables caching.
+ * </p>
+ * <p>
  * Instances of this class are thread-safe and can be shared between multiple hierarchical configuration objects.
  * </p>
  *
@@ -101,17 +109,65 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class DefaultExpressionEngine implements ExpressionEngine {
 
+    /**
+     * An internal class representing a single part of a parsed configuration key. The properties stored here correspond
+     * to the information provided by a {@link DefaultConfigurationKey.KeyIterator} for the current key part.
+     */
+    private static final class KeyPart {
+
+        /** The name of the node or attribute. */
+        private final String name;
+
+        /** The index of this part; -1 if undefined. */
+        private final int index;
+
+        /** A flag whether an index has been provided. */
+        private final boolean hasIndex;
+
+        /** A flag whether this part refers to child nodes. */
+        private final boolean propertyKey;
+
+        /** A flag whether this part refers to an attribute. */
+        private final boolean attribute;
+
+        /**
+         * Creates a new instance of {@code KeyPart} from the current position of the given iterator.
+         *
+         * @param it The key iterator
+         */
+        KeyPart(final DefaultConfigurationKey.KeyIterator it) {
+            name = it.currentKey();
+            index = it.getIndex();
+            hasIndex = it.hasIndex();
+            propertyKey = it.isPropertyKey();
+            attribute = it.isAttribute();
+        }
+    }
+
+    /**
+     * The default size of the cache for parsed keys.
+     *
+     * @since 2.16.0
+     */
+    public static final int DEFAULT_KEY_CACHE_SIZE = 1024;
+
     /**
      * A default instance of this class that is used as expression engine for hierarchical configurations per default.
      */
     public static final DefaultExpressionEngine INSTANCE = new DefaultExpressionEngine(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS);
 
+    /** An empty array with key parts used for undefined keys. */
+    private static final KeyPart[] EMPTY_KEY = {};
+
     /** The symbols used by this instance. */
     private final DefaultExpressionEngineSymbols symbols;
 
     /** The matcher for node names. */
     private final NodeMatcher<String> nameMatcher;
 
+    /** The cache for parsed keys; <strong>null</strong> if caching is disabled. */
+    private final BoundedCache<String, KeyPart[]> keyCache;
+
     /**
      * Creates a new instance of {@code DefaultExpressionEngine} and initializes its symbols.
      *
@@ -132,12 +188,32 @@ public class DefaultExpressionEngine implements ExpressionEngine {
      * @throws IllegalArgumentException if the symbols are <strong>null</strong>
      */
     public DefaultExpressionEngine(final DefaultExpressionEngineSymbols syms, final NodeMatcher<String> nodeNameMatcher) {
+        this(syms, nodeNameMatcher, DEFAULT_KEY_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new instance of {@code DefaultExpressionEngine} and initializes its symbols, the matcher for comparing node
+     * names, and the size of the cache for parsed keys. If the cache is full, the keys which have not been queried for
+     * the longest time are removed in bulk to make room for new keys. A size of 0 disables the cache; then keys are parsed
+     * on each query.
+     *
+     * @param syms The object with the symbols (must not be <strong>null</strong>)
+     * @param nodeNameMatcher The matcher for node names; can be <strong>null</strong>, then a default matcher is used
+     * @param keyCacheSize The maximum number of parsed keys to be cached
+     * @throws IllegalArgumentException if the symbols are <strong>null</strong> or the cache size is negative
+     * @since 2.16.0
+     */
+    public DefaultExpressionEngine(final DefaultExpressionEngineSymbols syms, final NodeMatcher<String> nodeNameMatcher, final int keyCacheSize) {
         if (syms == null) {
             throw new IllegalArgumentException("Symbols must not be null.");
         }
+        if (keyCacheSize < 0) {
+            throw new IllegalArgumentException("Key cache size must not be negative: " + keyCacheSize);
+        }
 
         symbols = syms;
         nameMatcher = nodeNameMatcher != null ? nodeNameMatcher : NodeNameMatchers.EQUALS;
+        keyCache = keyCacheSize > 0 ? new BoundedCache<>(keyCacheSize) : null;
     }
 
     @Override
@@ -221,6 +297,40 @@ public class DefaultExpressionEngine implements ExpressionEngine {
         return node;
     }
 
+    /**
+     * Recursive helper method for evaluating a parsed key. This method works like
+     * {@link #findNodesForKey(DefaultConfigurationKey.KeyIterator, Object, Collection, NodeHandler)}, but it operates on
+     * the cached parts of a key.
+     *
+     * @param <T> The type of nodes to be dealt with
+     * @param parts The parts of the key
+     * @param pos The position of the current key part
+     * @param node The current node
+     * @param results here the found results are stored
+     * @param handler The node handler
+     */
+    private <T> void findNodesForKey(final KeyPart[] parts, final int pos, final T node, final Collection<QueryResult<T>> results,
+        final NodeHandler<T> handler) {
+        if (pos >= parts.length) {
+            results.add(QueryResult.createNodeResult(node));
+        } else {
+            final KeyPart part = parts[pos];
+            if (part.propertyKey) {
+                final List<T> subNodes = findChildNodesByName(handler, node, part.name);
+                if (part.hasIndex) {
+                    if (part.index >= 0 && part.index < subNodes.size()) {
+                        findNodesForKey(parts, pos + 1, subNodes.get(part.index), results, handler);
+                    }
+                } else {
+                    subNodes.forEach(child -> findNodesForKey(parts, pos + 1, child, results, handler));
+                }
+            }
+            if (part.attribute && pos == parts.length - 1 && handler.getAttributeValue(node, part.name) != null) {
+                results.add(QueryResult.createAttributeResult(node, part.name));
+            }
+        }
+    }
+
     /**
      * Recursive helper method for evaluating a key. This method processes all facets of a configuration key, traverses the
      * tree of properties and fetches the results of all matching properties.
@@ -246,6 +356,20 @@ public class DefaultExpressionEngine implements ExpressionEngine {
         }
     }
 
+    /**
+     * Gets the parts of the given key. The key is looked up in the cache first; if it is not found, it is parsed and
+     * added to the cache.
+     *
+     * @param key The key
+     * @return An array with the parts of this key
+     */
+    private KeyPart[] getKeyParts(final String key) {
+        if (key == null) {
+            return EMPTY_KEY;
+        }
+        return keyCache != null ? keyCache.computeIfAbsent(key, this::parseKey) : parseKey(key);
+    }
+
     /**
      * Gets the {@code DefaultExpressionEngineSymbols} object associated with this instance.
      *
@@ -256,6 +380,21 @@ public class DefaultExpressionEngine implements ExpressionEngine {
         return symbols;
     }
 
+    /**
+     * Tests whether queries can be evaluated on the cached parts of keys. If this method returns <strong>true</strong>,
+     * {@code query()} does not call
+     * {@link #findNodesForKey(DefaultConfigurationKey.KeyIterator, Object, Collection, NodeHandler)}. This base
+     * implementation returns <strong>true</strong> for instances of this class only, so that derived classes overriding
+     * {@code findNodesForKey()} keep working. Derived classes which do not change the evaluation of keys can override
+     * this method to return <strong>true</strong> as well.
+     *
+     * @return <strong>true</strong> if the cache for parsed keys is used by queries, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    protected boolean isKeyCacheSupported() {
+        return getClass() == DefaultExpressionEngine.class;
+    }
+
     /**
      * {@inheritDoc} This implementation takes the given parent key, adds a property delimiter, and then adds the node's
      * name. The name of the root node is a blank string. Note that no indices are returned.
@@ -364,6 +503,22 @@ public class DefaultExpressionEngine implements ExpressionEngine {
         return new NodeAddData<>(parent, it.currentKey(), !it.isPropertyKey(), pathNodes);
     }
 
+    /**
+     * Parses the given key into its single parts.
+     *
+     * @param key The key
+     * @return An array with the parts of this key
+     */
+    private KeyPart[] parseKey(final String key) {
+        final List<KeyPart> parts = new ArrayList<>();
+        final DefaultConfigurationKey.KeyIterator it = new DefaultConfigurationKey(this, key).iterator();
+        while (it.hasNext()) {
+            it.nextKey(false);
+            parts.add(new KeyPart(it));
+        }
+        return parts.toArray(EMPTY_KEY);
+    }
+
     /**
      * Called by {@code findNodesForKey()} to process the sub nodes of the current node depending on the type of the current
      * key part (children, attributes, or both).
@@ -386,12 +541,18 @@ public class DefaultExpressionEngine implements ExpressionEngine {
     }
 
     /**
-     * {@inheritDoc} This method supports the syntax as described in the class comment.
+     * {@inheritDoc} This method supports the syntax as described in the class comment. The parts of the key are obtained
+     * from the cache for parsed keys if {@link #isKeyCacheSupported()} returns <strong>true</strong>; otherwise, the key is
+     * evaluated by {@link #findNodesForKey(DefaultConfigurationKey.KeyIterator, Object, Collection, NodeHandler)}.
      */
     @Override
     public <T> List<QueryResult<T>> query(final T root, final String key, final NodeHandler<T> handler) {
         final List<QueryResult<T>> results = new LinkedList<>();
-        findNodesForKey(new DefaultConfigurationKey(this, key).iterator(), root, results, handler);
+        if (isKeyCacheSupported()) {
+            findNodesForKey(getKeyParts(key), 0, root, results, handler);
+        } else {
+            findNodesForKey(new DefaultConfigurationKey(this, key).iterator(), root, results, handler);
+        }
         return results;
     }
 }
@@ -21,7 +21,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -40,6 +39,23 @@ import java.util.stream.StreamSupport;
  * After their creation, instances cannot be manipulated. There are methods for updating properties, but these methods
  * return new {@code ImmutableNode} instances. Instances are created using the nested {@code Builder} class.
  * </p>
+ * <p>
+ * Nodes with a larger number of children build an index of their children by name when they are queried for the
+ * children with a specific name for the first time. Nodes derived from such a node via the update methods take over
+ * the index (or the unaffected parts of it) if possible, so that a name lookup does not have to iterate over all child
+ * nodes.
+ * </p>
+ * <p>
+ * The children of a node are stored in a persistent list, and larger maps of attributes in a persistent map. So the
+ * update methods do not have to copy all children or attributes; the new node shares most of this data with the original
+ * one, and adding, replacing, or removing a child requires only logarithmic time and memory.
+ * </p>
+ * <p>
+ * As configurations can consist of a large number of nodes, the representation of a node is kept compact: Nodes without
+ * children or attributes share the same empty structures, and a small number of attributes is stored in a single
+ * array. Configuration implementations can use a {@link NodeNameTable} when loading data so that nodes with the same
+ * name share a single string instance.
+ * </p>
  *
  * @since 2.0
  */
@@ -77,7 +93,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
         }
 
         /** The direct list of children of the new node. */
-        private final List<ImmutableNode> directChildren;
+        private final PersistentList<ImmutableNode> directChildren;
 
         /** The direct map of attributes of the new node. */
         private final Map<String, Object> directAttributes;
@@ -98,6 +114,9 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
         /** The value of the node. */
         private Object value;
 
+        /** An index of the children by name derived from another node; can be <strong>null</strong>. */
+        private PersistentMap<String, PersistentList<ImmutableNode>> childIndex;
+
         /**
          * Creates a new instance of {@code Builder} which does not contain any property definitions yet.
          */
@@ -116,20 +135,6 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
             initChildrenCollection(childCount);
         }
 
-        /**
-         * Creates a new instance of {@code Builder} and initializes the attributes of the new node and prepares the collection
-         * for the children. This constructor is used internally by methods of {@code ImmutableNode} which update the node and
-         * change the children. The new number of child nodes can be passed so that the collection for the new children can be
-         * created with an appropriate size.
-         *
-         * @param childCount The expected number of new children
-         * @param dirAttrs The attributes of the new node
-         */
-        private Builder(final int childCount, final Map<String, Object> dirAttrs) {
-            this(null, dirAttrs);
-            initChildrenCollection(childCount);
-        }
-
         /**
          * Creates a new instance of {@code Builder} and initializes the children and attributes of the new node. This
          * constructor is used internally by the {@code ImmutableNode} class for creating instances derived from another node.
@@ -139,7 +144,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
          * @param dirChildren The children of the new node
          * @param dirAttrs The attributes of the new node
          */
-        private Builder(final List<ImmutableNode> dirChildren, final Map<String, Object> dirAttrs) {
+        private Builder(final PersistentList<ImmutableNode> dirChildren, final Map<String, Object> dirAttrs) {
             directChildren = dirChildren;
             directAttributes = dirAttrs;
         }
@@ -213,12 +218,26 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
             final ImmutableNode newNode = new ImmutableNode(this);
             children = null;
             attributes = null;
+            childIndex = null;
             return newNode;
         }
 
+        /**
+         * Sets an index of the children by name for the new node. This method is used internally when a node is derived
+         * from another one whose index could be updated. The caller is responsible for passing an index that is consistent
+         * with the children of the new node.
+         *
+         * @param index The index of the children (may be <strong>null</strong>)
+         * @return A reference to this object for method chaining
+         */
+        private Builder childIndex(final PersistentMap<String, PersistentList<ImmutableNode>> index) {
+            childIndex = index;
+            return this;
+        }
+
         /**
          * Creates a map with the attributes of the newly created node. This is an immutable map. If direct attributes were set,
-         * they are returned. Otherwise an unmodifiable map from the attributes passed to this builder is constructed.
+         * they are returned. Otherwise an immutable map from the attributes passed to this builder is constructed.
          *
          * @return A map with the attributes for the new node
          */
@@ -227,7 +246,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
                 return directAttributes;
             }
             if (attributes != null) {
-                return Collections.unmodifiableMap(attributes);
+                return immutableAttributes(attributes);
             }
             return Collections.emptyMap();
         }
@@ -238,14 +257,14 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
          *
          * @return The list with the children of the new node
          */
-        List<ImmutableNode> createChildren() {
+        PersistentList<ImmutableNode> createChildren() {
             if (directChildren != null) {
                 return directChildren;
             }
             if (children != null) {
-                return Collections.unmodifiableList(children);
+                return PersistentList.copyOf(children);
             }
-            return Collections.emptyList();
+            return PersistentList.empty();
         }
 
         /**
@@ -262,7 +281,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
          */
         private void ensureChildrenExist() {
             if (children == null) {
-                children = new LinkedList<>();
+                children = new ArrayList<>();
             }
         }
 
@@ -300,6 +319,21 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
         }
     }
 
+    /**
+     * The minimum number of children for which a node creates an index of its children by name. For nodes with fewer
+     * children, a linear search is cheaper.
+     */
+    private static final int CHILD_INDEX_THRESHOLD = 8;
+
+    /**
+     * The number of attributes above which a node stores its attributes in a persistent map. Smaller maps are simply
+     * copied when they are updated.
+     */
+    private static final int PERSISTENT_ATTRIBUTES_THRESHOLD = 16;
+
+    /** The maximum number of attributes stored in a compact, array-based map. */
+    private static final int SMALL_ATTRIBUTES_THRESHOLD = 4;
+
     /**
      * Checks whether the given child node is not null. This check is done at multiple places to ensure that newly added
      * child nodes are always defined.
@@ -313,6 +347,62 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
         }
     }
 
+    /**
+     * Creates an index for the given list of child nodes. The resulting map assigns each node name to an immutable list
+     * with the children of this name in their original order. Children without a name are not indexed.
+     *
+     * @param children The list of child nodes
+     * @return The index for these nodes
+     */
+    private static PersistentMap<String, PersistentList<ImmutableNode>> createChildIndex(final List<ImmutableNode> children) {
+        final Map<String, List<ImmutableNode>> namedChildren = new HashMap<>();
+        children.forEach(c -> {
+            if (c.getNodeName() != null) {
+                namedChildren.computeIfAbsent(c.getNodeName(), k -> new ArrayList<>(1)).add(c);
+            }
+        });
+        PersistentMap<String, PersistentList<ImmutableNode>> index = PersistentMap.empty();
+        for (final Map.Entry<String, List<ImmutableNode>> e : namedChildren.entrySet()) {
+            index = index.plus(e.getKey(), PersistentList.copyOf(e.getValue()));
+        }
+        return index;
+    }
+
+    /**
+     * Returns an immutable map with the given attributes. Depending on the number of attributes, the map is the shared
+     * empty map, a compact array-based map, an unmodifiable view of the passed in map, or a persistent map. In the case
+     * of a view, the passed in map must not be changed afterwards.
+     *
+     * @param attributes The map with attributes
+     * @return The immutable map with these attributes
+     */
+    private static Map<String, Object> immutableAttributes(final Map<String, Object> attributes) {
+        if (attributes instanceof PersistentMap) {
+            return attributes;
+        }
+        if (attributes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (attributes.size() <= SMALL_ATTRIBUTES_THRESHOLD) {
+            return new SmallMap<>(attributes);
+        }
+        return attributes.size() > PERSISTENT_ATTRIBUTES_THRESHOLD ? PersistentMap.copyOf(attributes) : Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * Returns a copy of the given index in which the list of children with the given name is replaced. If the new list is
+     * empty, the name is removed from the index.
+     *
+     * @param index The original index
+     * @param name The name of the affected children
+     * @param newChildren The new list of children with this name
+     * @return The updated index
+     */
+    private static PersistentMap<String, PersistentList<ImmutableNode>> updateChildIndex(final PersistentMap<String, PersistentList<ImmutableNode>> index,
+        final String name, final PersistentList<ImmutableNode> newChildren) {
+        return newChildren.isEmpty() ? index.minus(name) : index.plus(name, newChildren);
+    }
+
     /** The name of this node. */
     private final String nodeName;
 
@@ -320,11 +410,17 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
     private final Object value;
 
     /** A collection with the child nodes of this node. */
-    private final List<ImmutableNode> children;
+    private final PersistentList<ImmutableNode> children;
 
     /** A map with the attributes of this node. */
     private final Map<String, Object> attributes;
 
+    /**
+     * An index of the children by name. It is created on demand or taken over from the node this node was derived from.
+     * Once created, it is never changed.
+     */
+    private volatile PersistentMap<String, PersistentList<ImmutableNode>> childIndex;
+
     /**
      * Creates a new instance of {@code ImmutableNode} from the given {@code Builder} object.
      *
@@ -335,6 +431,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
         attributes = b.createAttributes();
         nodeName = b.name;
         value = b.value;
+        childIndex = b.childIndex;
     }
 
     /**
@@ -346,8 +443,15 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      */
     public ImmutableNode addChild(final ImmutableNode child) {
         checkChildNode(child);
-        final Builder builder = new Builder(children.size() + 1, attributes);
-        builder.addChildren(children).addChild(child);
+        final Builder builder = new Builder(children.plus(child), attributes);
+        final PersistentMap<String, PersistentList<ImmutableNode>> index = childIndex;
+        if (index != null && child.getNodeName() != null) {
+            final PersistentList<ImmutableNode> namedChildren = index.get(child.getNodeName());
+            builder.childIndex(updateChildIndex(index, child.getNodeName(),
+                (namedChildren != null ? namedChildren : PersistentList.<ImmutableNode>empty()).plus(child)));
+        } else {
+            builder.childIndex(index);
+        }
         return createWithBasicProperties(builder);
     }
 
@@ -366,11 +470,11 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * Creates a new {@code ImmutableNode} instance with the same properties as this object, but with the given new
      * attributes.
      *
-     * @param newAttrs The new attributes
+     * @param newAttrs The new attributes; a map which is not persistent must not be changed afterwards
      * @return The new node instance
      */
     private ImmutableNode createWithNewAttributes(final Map<String, Object> newAttrs) {
-        return createWithBasicProperties(new Builder(children, null).addAttributes(newAttrs));
+        return createWithBasicProperties(new Builder(children, immutableAttributes(newAttrs)).childIndex(childIndex));
     }
 
     /**
@@ -392,16 +496,36 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
     }
 
     /**
-     * Returns a list with the children of this node.
+     * Returns a list with the children of this node with the given name. This list cannot be modified. For nodes with a
+     * larger number of children, the result is obtained from an index which is created on first access.
      *
      * @param name The node name to find
      * @return A list with the child nodes
      */
     public List<ImmutableNode> getChildren(final String name) {
-        if (name == null) {
-            return new ArrayList<>();
+        if (name == null || children.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (childIndex == null && children.size() < CHILD_INDEX_THRESHOLD) {
+            return Collections.unmodifiableList(children.stream().filter(in -> name.equals(in.getNodeName())).collect(Collectors.toList()));
+        }
+        final List<ImmutableNode> namedChildren = getChildIndex().get(name);
+        return namedChildren != null ? namedChildren : Collections.emptyList();
+    }
+
+    /**
+     * Gets the index of the children of this node by name. It is created on first access. As the index is derived from
+     * immutable data, concurrent initialization does no harm.
+     *
+     * @return The index of the child nodes
+     */
+    private PersistentMap<String, PersistentList<ImmutableNode>> getChildIndex() {
+        PersistentMap<String, PersistentList<ImmutableNode>> index = childIndex;
+        if (index == null) {
+            index = createChildIndex(children);
+            childIndex = index;
         }
-        return children.stream().filter(in -> name.equals(in.getNodeName())).collect(Collectors.toList());
+        return index;
     }
 
     /**
@@ -439,11 +563,15 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * @return The new node without this attribute
      */
     public ImmutableNode removeAttribute(final String name) {
-        final Map<String, Object> newAttrs = new HashMap<>(attributes);
-        if (newAttrs.remove(name) != null) {
-            return createWithNewAttributes(newAttrs);
+        if (attributes.get(name) == null) {
+            return this;
         }
-        return this;
+        if (attributes instanceof PersistentMap) {
+            return createWithNewAttributes(((PersistentMap<String, Object>) attributes).minus(name));
+        }
+        final Map<String, Object> newAttrs = new HashMap<>(attributes);
+        newAttrs.remove(name);
+        return createWithNewAttributes(newAttrs);
     }
 
     /**
@@ -454,18 +582,18 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * @return The new node with the child node removed
      */
     public ImmutableNode removeChild(final ImmutableNode child) {
-        // use same size of children in case the child does not exist
-        final Builder builder = new Builder(children.size(), attributes);
-        boolean foundChild = false;
-        for (final ImmutableNode c : children) {
-            if (c == child) {
-                foundChild = true;
-            } else {
-                builder.addChild(c);
-            }
+        final PersistentList<ImmutableNode> newChildren = children.minusIdentical(child);
+        if (newChildren == children) {
+            return this;
         }
-
-        return foundChild ? createWithBasicProperties(builder) : this;
+        final Builder builder = new Builder(newChildren, attributes);
+        final PersistentMap<String, PersistentList<ImmutableNode>> index = childIndex;
+        if (index != null && child.getNodeName() != null) {
+            builder.childIndex(updateChildIndex(index, child.getNodeName(), index.get(child.getNodeName()).minusIdentical(child)));
+        } else {
+            builder.childIndex(index);
+        }
+        return createWithBasicProperties(builder);
     }
 
     /**
@@ -479,18 +607,18 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      */
     public ImmutableNode replaceChild(final ImmutableNode oldChild, final ImmutableNode newChild) {
         checkChildNode(newChild);
-        final Builder builder = new Builder(children.size(), attributes);
-        boolean foundChild = false;
-        for (final ImmutableNode c : children) {
-            if (c == oldChild) {
-                builder.addChild(newChild);
-                foundChild = true;
-            } else {
-                builder.addChild(c);
-            }
+        final PersistentList<ImmutableNode> newChildren = children.replaceIdentical(oldChild, newChild);
+        if (newChildren == children) {
+            return this;
         }
-
-        return foundChild ? createWithBasicProperties(builder) : this;
+        final Builder builder = new Builder(newChildren, attributes);
+        final PersistentMap<String, PersistentList<ImmutableNode>> index = childIndex;
+        if (index != null && oldChild.getNodeName() != null && oldChild.getNodeName().equals(newChild.getNodeName())) {
+            builder.childIndex(updateChildIndex(index, oldChild.getNodeName(), index.get(oldChild.getNodeName()).replaceIdentical(oldChild, newChild)));
+        } else if (index != null && oldChild.getNodeName() == null && newChild.getNodeName() == null) {
+            builder.childIndex(index);
+        }
+        return createWithBasicProperties(builder);
     }
 
     /**
@@ -517,6 +645,9 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * @return The new node with this attribute
      */
     public ImmutableNode setAttribute(final String name, final Object value) {
+        if (attributes instanceof PersistentMap) {
+            return createWithNewAttributes(((PersistentMap<String, Object>) attributes).plus(name, value));
+        }
         final Map<String, Object> newAttrs = new HashMap<>(attributes);
         newAttrs.put(name, value);
         return createWithNewAttributes(newAttrs);
@@ -535,6 +666,9 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
             return this;
         }
 
+        if (attributes instanceof PersistentMap) {
+            return createWithNewAttributes(((PersistentMap<String, Object>) attributes).plusAll(newAttributes));
+        }
         final Map<String, Object> newAttrs = new HashMap<>(attributes);
         newAttrs.putAll(newAttributes);
         return createWithNewAttributes(newAttrs);
@@ -548,7 +682,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * @return The new node with the changed name
      */
     public ImmutableNode setName(final String name) {
-        return new Builder(children, attributes).name(name).value(value).create();
+        return new Builder(children, attributes).name(name).value(value).childIndex(childIndex).create();
     }
 
     /**
@@ -559,7 +693,7 @@ public final class ImmutableNode implements Iterable<ImmutableNode> {
      * @return The new node with the changed value
      */
     public ImmutableNode setValue(final Object newValue) {
-        return new Builder(children, attributes).name(nodeName).value(newValue).create();
+        return new Builder(children, attributes).name(nodeName).value(newValue).childIndex(childIndex).create();
     }
 
     /**
@@ -24,7 +24,12 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
 import org.apache.commons.lang3.mutable.Mutable;
@@ -42,6 +47,13 @@ import org.apache.commons.lang3.mutable.MutableObject;
  * new one using an atomic compare-and-set operation. If this fails, the manipulation has to be done anew on the updated
  * structure.
  * </p>
+ * <p>
+ * If many threads update the model at the same time, a lot of work is wasted by operations which have to be repeated
+ * after a failed compare-and-set. For such scenarios, write combining can be enabled via
+ * {@link #setWriteCombining(boolean)}: Then update operations are put into a queue. The first thread that obtains the
+ * combiner lock executes all queued operations in a single step and updates the model's structure once; the other
+ * threads just wait until their operations have been executed.
+ * </p>
  *
  * @since 2.0
  */
@@ -65,6 +77,163 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         boolean initTransaction(ModelTransaction tx);
     }
 
+    /**
+     * A {@code NodeModel} implementation used by batch updates. It operates on a private copy of the model's data: Update
+     * operations are executed on this copy one after the other, so that each operation sees the results of its
+     * predecessors. Only the first operation has to copy the parent mapping; later operations update it in place.
+     */
+    private final class BatchNodeModel implements NodeModel<ImmutableNode> {
+
+        /** The data of the model when the batch was started. */
+        private final TreeData initialData;
+
+        /** The current data of this batch. */
+        private TreeData currentData;
+
+        /**
+         * Creates a new instance of {@code BatchNodeModel} operating on the given data.
+         *
+         * @param data The current data of the model
+         */
+        BatchNodeModel(final TreeData data) {
+            initialData = data;
+            currentData = data;
+        }
+
+        @Override
+        public void addNodes(final String key, final Collection<? extends ImmutableNode> nodes, final NodeKeyResolver<ImmutableNode> resolver) {
+            if (nodes != null && !nodes.isEmpty()) {
+                execute(addNodesInitializer(key, nodes, resolver), resolver);
+            }
+        }
+
+        @Override
+        public void addProperty(final String key, final Iterable<?> values, final NodeKeyResolver<ImmutableNode> resolver) {
+            if (valuesNotEmpty(values)) {
+                execute(addPropertyInitializer(key, values, resolver), resolver);
+            }
+        }
+
+        @Override
+        public void clear(final NodeKeyResolver<ImmutableNode> resolver) {
+            setRootNode(new ImmutableNode.Builder().name(currentData.getRootNode().getNodeName()).create());
+        }
+
+        @Override
+        public void clearProperty(final String key, final NodeKeyResolver<ImmutableNode> resolver) {
+            execute(clearPropertyInitializer(key, resolver), resolver);
+        }
+
+        @Override
+        public List<QueryResult<ImmutableNode>> clearTree(final String key, final NodeKeyResolver<ImmutableNode> resolver) {
+            final List<QueryResult<ImmutableNode>> removedElements = new LinkedList<>();
+            execute(clearTreeInitializer(key, resolver, removedElements, this), resolver);
+            return removedElements;
+        }
+
+        /**
+         * Executes a transaction on the current data of this batch.
+         *
+         * @param txInit The {@code TransactionInitializer}
+         * @param resolver The {@code NodeKeyResolver}
+         */
+        private void execute(final TransactionInitializer txInit, final NodeKeyResolver<ImmutableNode> resolver) {
+            final boolean inPlace = currentData != initialData && currentData.getNodeTracker().isEmpty();
+            final ModelTransaction tx = new ModelTransaction(currentData, null, resolver, inPlace);
+            if (txInit.initTransaction(tx)) {
+                currentData = tx.execute();
+            }
+        }
+
+        @Override
+        public ImmutableNode getInMemoryRepresentation() {
+            return currentData.getRootNode();
+        }
+
+        @Override
+        public NodeHandler<ImmutableNode> getNodeHandler() {
+            return currentData;
+        }
+
+        @Override
+        public void setProperty(final String key, final Object value, final NodeKeyResolver<ImmutableNode> resolver) {
+            execute(setPropertyInitializer(key, value, resolver), resolver);
+        }
+
+        @Override
+        public void setRootNode(final ImmutableNode newRoot) {
+            currentData = createTreeData(initialRootNode(newRoot), currentData);
+        }
+    }
+
+    /**
+     * A class representing an update operation if write combining is enabled. Instances are added to a queue; they are
+     * then executed together by the thread which currently acts as combiner.
+     */
+    private static final class CombinedUpdate {
+
+        /** The operation to be executed. */
+        private final Consumer<? super BatchNodeModel> operation;
+
+        /** Stores an exception or error thrown by the operation. */
+        private Throwable failure;
+
+        /** A flag whether this update has been executed. */
+        private boolean done;
+
+        /**
+         * Creates a new instance of {@code CombinedUpdate} for the given operation.
+         *
+         * @param operation The operation to be executed
+         */
+        CombinedUpdate(final Consumer<? super BatchNodeModel> operation) {
+            this.operation = operation;
+        }
+
+        /**
+         * Marks this update as completed. If a failure is passed in, it replaces the outcome of the operation; this is the
+         * case if the whole round of updates could not be applied.
+         *
+         * @param roundFailure An optional failure of the whole round (may be <strong>null</strong>)
+         */
+        void complete(final Throwable roundFailure) {
+            if (roundFailure != null) {
+                failure = roundFailure;
+            }
+            done = true;
+        }
+
+        /**
+         * Executes the operation of this update on the given model. Everything thrown by the operation is recorded, so that
+         * it can be rethrown in the thread which issued this update; the remaining updates of the round are executed anyway.
+         *
+         * @param model The model
+         */
+        void execute(final BatchNodeModel model) {
+            failure = null;
+            try {
+                operation.accept(model);
+            } catch (final Throwable t) {
+                failure = t;
+            }
+        }
+
+        /**
+         * Rethrows the failure recorded for this update if there is any.
+         */
+        void rethrowFailure() {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new ConfigurationRuntimeException(failure);
+            }
+        }
+    }
+
     /**
      * A dummy node handler instance used in operations which require only a limited functionality.
      */
@@ -142,6 +311,41 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         return node.getValue() != null || !node.getChildren().isEmpty() || !node.getAttributes().isEmpty();
     }
 
+    /**
+     * Creates a {@code TransactionInitializer} for a clear tree operation. If the key selects the root node, the whole
+     * model passed in is cleared instead.
+     *
+     * @param key The key
+     * @param resolver The {@code NodeKeyResolver}
+     * @param removedElements The list to be populated with the results to be removed
+     * @param model The model to be cleared if the key selects the root node
+     * @return The {@code TransactionInitializer}
+     */
+    private static TransactionInitializer clearTreeInitializer(final String key, final NodeKeyResolver<ImmutableNode> resolver,
+        final List<QueryResult<ImmutableNode>> removedElements, final NodeModel<ImmutableNode> model) {
+        return tx -> {
+            boolean changes = false;
+            final TreeData currentStructure = tx.getCurrentData();
+            final List<QueryResult<ImmutableNode>> results = resolver.resolveKey(tx.getQueryRoot(), key, currentStructure);
+            removedElements.clear();
+            removedElements.addAll(results);
+            for (final QueryResult<ImmutableNode> result : results) {
+                if (result.isAttributeResult()) {
+                    tx.addRemoveAttributeOperation(result.getNode(), result.getAttributeName());
+                } else {
+                    if (result.getNode() == currentStructure.getRootNode()) {
+                        // the whole model is to be cleared
+                        model.clear(resolver);
+                        return false;
+                    }
+                    tx.addRemoveNodeOperation(currentStructure.getParent(result.getNode()), result.getNode());
+                }
+                changes = true;
+            }
+            return changes;
+        };
+    }
+
     /**
      * Creates a new data object with a tracked child node of the given parent node. If such a child node already exists, it
      * is used. Otherwise, a new one is created.
@@ -350,6 +554,15 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
     /** Stores information about the current nodes structure. */
     private final AtomicReference<TreeData> structure;
 
+    /** The queue with the updates to be executed if write combining is enabled. */
+    private final Queue<CombinedUpdate> pendingUpdates = new ConcurrentLinkedQueue<>();
+
+    /** The lock held by the thread executing the pending updates. */
+    private final Lock combinerLock = new ReentrantLock();
+
+    /** A flag whether write combining is enabled. */
+    private volatile boolean writeCombining;
+
     /**
      * Creates a new instance of {@code InMemoryNodeModel} which is initialized with an empty root node.
      */
@@ -386,26 +599,39 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
     public void addNodes(final String key, final NodeSelector selector, final Collection<? extends ImmutableNode> nodes,
         final NodeKeyResolver<ImmutableNode> resolver) {
         if (nodes != null && !nodes.isEmpty()) {
-            updateModel(tx -> {
-                final List<QueryResult<ImmutableNode>> results = resolver.resolveKey(tx.getQueryRoot(), key, tx.getCurrentData());
-                if (results.size() == 1) {
-                    if (results.get(0).isAttributeResult()) {
-                        throw attributeKeyException(key);
-                    }
-                    tx.addAddNodesOperation(results.get(0).getNode(), nodes);
-                } else {
-                    final NodeAddData<ImmutableNode> addData = resolver.resolveAddKey(tx.getQueryRoot(), key, tx.getCurrentData());
-                    if (addData.isAttribute()) {
-                        throw attributeKeyException(key);
-                    }
-                    final ImmutableNode newNode = new ImmutableNode.Builder(nodes.size()).name(addData.getNewNodeName()).addChildren(nodes).create();
-                    addNodesByAddData(tx, addData, Collections.singleton(newNode));
-                }
-                return true;
-            }, selector, resolver);
+            updateModel(addNodesInitializer(key, nodes, resolver), selector, resolver);
         }
     }
 
+    /**
+     * Creates a {@code TransactionInitializer} for an add nodes operation.
+     *
+     * @param key The key
+     * @param nodes The collection of new nodes to be added
+     * @param resolver The {@code NodeKeyResolver}
+     * @return The {@code TransactionInitializer}
+     */
+    private TransactionInitializer addNodesInitializer(final String key, final Collection<? extends ImmutableNode> nodes,
+        final NodeKeyResolver<ImmutableNode> resolver) {
+        return tx -> {
+            final List<QueryResult<ImmutableNode>> results = resolver.resolveKey(tx.getQueryRoot(), key, tx.getCurrentData());
+            if (results.size() == 1) {
+                if (results.get(0).isAttributeResult()) {
+                    throw attributeKeyException(key);
+                }
+                tx.addAddNodesOperation(results.get(0).getNode(), nodes);
+            } else {
+                final NodeAddData<ImmutableNode> addData = resolver.resolveAddKey(tx.getQueryRoot(), key, tx.getCurrentData());
+                if (addData.isAttribute()) {
+                    throw attributeKeyException(key);
+                }
+                final ImmutableNode newNode = new ImmutableNode.Builder(nodes.size()).name(addData.getNewNodeName()).addChildren(nodes).create();
+                addNodesByAddData(tx, addData, Collections.singleton(newNode));
+            }
+            return true;
+        };
+    }
+
     @Override
     public void addProperty(final String key, final Iterable<?> values, final NodeKeyResolver<ImmutableNode> resolver) {
         addProperty(key, null, values, resolver);
@@ -424,13 +650,25 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
      */
     public void addProperty(final String key, final NodeSelector selector, final Iterable<?> values, final NodeKeyResolver<ImmutableNode> resolver) {
         if (valuesNotEmpty(values)) {
-            updateModel(tx -> {
-                initializeAddTransaction(tx, key, values, resolver);
-                return true;
-            }, selector, resolver);
+            updateModel(addPropertyInitializer(key, values, resolver), selector, resolver);
         }
     }
 
+    /**
+     * Creates a {@code TransactionInitializer} for an add property operation.
+     *
+     * @param key The key
+     * @param values The values to be added
+     * @param resolver The {@code NodeKeyResolver}
+     * @return The {@code TransactionInitializer}
+     */
+    private TransactionInitializer addPropertyInitializer(final String key, final Iterable<?> values, final NodeKeyResolver<ImmutableNode> resolver) {
+        return tx -> {
+            initializeAddTransaction(tx, key, values, resolver);
+            return true;
+        };
+    }
+
     /**
      * {@inheritDoc} A new empty root node is created with the same name as the current root node. Implementation note:
      * Because this is a hard reset the usual dance for dealing with concurrent updates is not required here.
@@ -462,10 +700,21 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
      * @throws ConfigurationRuntimeException if the selector cannot be resolved
      */
     public void clearProperty(final String key, final NodeSelector selector, final NodeKeyResolver<ImmutableNode> resolver) {
-        updateModel(tx -> {
+        updateModel(clearPropertyInitializer(key, resolver), selector, resolver);
+    }
+
+    /**
+     * Creates a {@code TransactionInitializer} for a clear property operation.
+     *
+     * @param key The key
+     * @param resolver The {@code NodeKeyResolver}
+     * @return The {@code TransactionInitializer}
+     */
+    private TransactionInitializer clearPropertyInitializer(final String key, final NodeKeyResolver<ImmutableNode> resolver) {
+        return tx -> {
             final List<QueryResult<ImmutableNode>> results = resolver.resolveKey(tx.getQueryRoot(), key, tx.getCurrentData());
             return initializeClearTransaction(tx, results);
-        }, selector, resolver);
+        };
     }
 
     /**
@@ -491,43 +740,33 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
      */
     public List<QueryResult<ImmutableNode>> clearTree(final String key, final NodeSelector selector, final NodeKeyResolver<ImmutableNode> resolver) {
         final List<QueryResult<ImmutableNode>> removedElements = new LinkedList<>();
-        updateModel(tx -> {
-            boolean changes = false;
-            final TreeData currentStructure = tx.getCurrentData();
-            final List<QueryResult<ImmutableNode>> results = resolver.resolveKey(tx.getQueryRoot(), key, currentStructure);
-            removedElements.clear();
-            removedElements.addAll(results);
-            for (final QueryResult<ImmutableNode> result : results) {
-                if (result.isAttributeResult()) {
-                    tx.addRemoveAttributeOperation(result.getNode(), result.getAttributeName());
-                } else {
-                    if (result.getNode() == currentStructure.getRootNode()) {
-                        // the whole model is to be cleared
-                        clear(resolver);
-                        return false;
-                    }
-                    tx.addRemoveNodeOperation(currentStructure.getParent(result.getNode()), result.getNode());
-                }
-                changes = true;
-            }
-            return changes;
-        }, selector, resolver);
-
+        if (selector == null && isWriteCombining()) {
+            combineUpdate(batch -> batch.execute(clearTreeInitializer(key, resolver, removedElements, batch), resolver));
+        } else {
+            updateModel(clearTreeInitializer(key, resolver, removedElements, this), selector, resolver);
+        }
         return removedElements;
     }
 
     /**
-     * Creates the mapping to parent nodes for the nodes structured represented by the passed in root node. Each node is
-     * assigned its parent node. Here an iterative algorithm is used rather than a recursive one to avoid stack overflow for
-     * huge structures.
+     * Executes an update operation if write combining is enabled. The operation is added to the queue of pending updates.
+     * Then this method waits for the combiner lock. If the operation has not yet been executed by another thread in the
+     * meantime, this thread executes all pending updates.
      *
-     * @param root The root node of the structure
-     * @return The parent node mapping
+     * @param operation The operation to be executed
      */
-    private Map<ImmutableNode, ImmutableNode> createParentMapping(final ImmutableNode root) {
-        final Map<ImmutableNode, ImmutableNode> parents = new HashMap<>();
-        updateParentMapping(parents, root);
-        return parents;
+    private void combineUpdate(final Consumer<? super BatchNodeModel> operation) {
+        final CombinedUpdate update = new CombinedUpdate(operation);
+        pendingUpdates.add(update);
+        combinerLock.lock();
+        try {
+            if (!update.done) {
+                executePendingUpdates();
+            }
+        } finally {
+            combinerLock.unlock();
+        }
+        update.rethrowFailure();
     }
 
     /**
@@ -544,14 +783,15 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
 
     /**
      * Creates a {@code TreeData} object for the specified root node and {@code NodeTracker}. Other parameters are set to
-     * default values.
+     * default values. The mapping to parent nodes is created lazily, so that installing a new root node does not require
+     * traversing the whole structure.
      *
      * @param root The new root node for this model
      * @param newTracker The new {@code NodeTracker}
      * @return The new {@code TreeData} object
      */
     private TreeData createTreeDataForRootAndTracker(final ImmutableNode root, final NodeTracker newTracker) {
-        return new TreeData(root, createParentMapping(root), Collections.<ImmutableNode, ImmutableNode>emptyMap(), newTracker, new ReferenceTracker());
+        return new TreeData(root, newTracker, new ReferenceTracker());
     }
 
     /**
@@ -577,6 +817,40 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         return done;
     }
 
+    /**
+     * Executes all updates in the queue of pending updates. The updates are applied one after the other on a private copy
+     * of this model's data; then the structure is updated in a single step. Only updates not using the combiner can cause
+     * this step to fail; in this case, the updates are applied anew on the updated data. All updates taken from the queue
+     * are marked as completed in any case; if the round fails as a whole, they are all marked as failed, so that the
+     * waiting threads do not assume that their changes were applied. This method must only be called while holding the
+     * combiner lock.
+     */
+    private void executePendingUpdates() {
+        final List<CombinedUpdate> updates = new ArrayList<>();
+        CombinedUpdate update;
+        while ((update = pendingUpdates.poll()) != null) {
+            updates.add(update);
+        }
+
+        Throwable roundFailure = null;
+        try {
+            boolean done;
+            do {
+                final TreeData currentData = getTreeData();
+                final BatchNodeModel batch = new BatchNodeModel(currentData);
+                updates.forEach(u -> u.execute(batch));
+                done = batch.currentData == currentData || structure.compareAndSet(currentData, batch.currentData);
+            } while (!done);
+        } catch (final Throwable t) {
+            roundFailure = t;
+            throw t;
+        } finally {
+            for (final CombinedUpdate u : updates) {
+                u.complete(roundFailure);
+            }
+        }
+    }
+
     /**
      * Tries to execute a transaction on the model of a detached tracked node. This method checks whether the target node of
      * the transaction is a tracked node and if this node is already detached. If this is the case, the update operation is
@@ -714,6 +988,16 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         return structure.get().getNodeTracker().isTrackedNodeDetached(selector);
     }
 
+    /**
+     * Returns a flag whether write combining is enabled for this model.
+     *
+     * @return <strong>true</strong> if update operations are combined, <strong>false</strong> otherwise
+     * @since 2.16.0
+     */
+    public boolean isWriteCombining() {
+        return writeCombining;
+    }
+
     /**
      * Merges the root node of this model with the specified node. This method is typically caused by configuration
      * implementations when a configuration source is loaded, and its data has to be added to the model. It is possible to
@@ -860,7 +1144,23 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
      * @throws ConfigurationRuntimeException if the selector cannot be resolved
      */
     public void setProperty(final String key, final NodeSelector selector, final Object value, final NodeKeyResolver<ImmutableNode> resolver) {
-        updateModel(tx -> {
+        updateModel(setPropertyInitializer(key, value, resolver), selector, resolver);
+    }
+
+    @Override
+    public void setProperty(final String key, final Object value, final NodeKeyResolver<ImmutableNode> resolver) {
+        setProperty(key, null, value, resolver);
+    }
+    /**
+     * Creates a {@code TransactionInitializer} for a set property operation.
+     *
+     * @param key The key
+     * @param value The new value for this property
+     * @param resolver The {@code NodeKeyResolver}
+     * @return The {@code TransactionInitializer}
+     */
+    private TransactionInitializer setPropertyInitializer(final String key, final Object value, final NodeKeyResolver<ImmutableNode> resolver) {
+        return tx -> {
             boolean added = false;
             final NodeUpdateData<ImmutableNode> updateData = resolver.resolveUpdateKey(tx.getQueryRoot(), key, value, tx.getCurrentData());
             if (!updateData.getNewValues().isEmpty()) {
@@ -870,13 +1170,9 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
             final boolean cleared = initializeClearTransaction(tx, updateData.getRemovedNodes());
             final boolean updated = initializeUpdateTransaction(tx, updateData.getChangedValues());
             return added || cleared || updated;
-        }, selector, resolver);
+        };
     }
 
-    @Override
-    public void setProperty(final String key, final Object value, final NodeKeyResolver<ImmutableNode> resolver) {
-        setProperty(key, null, value, resolver);
-    }
 
     /**
      * {@inheritDoc} All tracked nodes and reference objects managed by this model are cleared.Care has to be taken when
@@ -890,6 +1186,20 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         structure.set(createTreeData(initialRootNode(newRoot), structure.get()));
     }
 
+    /**
+     * Sets a flag whether write combining is enabled for this model. If set to <strong>true</strong>, update operations which do
+     * not refer to a tracked node are not executed directly by the calling thread. Rather, they are queued and executed
+     * together by a single thread as one update of the model's structure. This reduces the work that has to be repeated
+     * because of concurrent modifications if many threads update the model at the same time. The calling threads block
+     * until their operations have been executed.
+     *
+     * @param writeCombining the write combining flag
+     * @since 2.16.0
+     */
+    public void setWriteCombining(final boolean writeCombining) {
+        this.writeCombining = writeCombining;
+    }
+
     /**
      * Tracks all nodes which are children of the node selected by the passed in key. If the key selects exactly one node,
      * for all children of this node {@code NodeSelector} objects are created, and they become tracked nodes. The returned
@@ -985,16 +1295,43 @@ public class InMemoryNodeModel implements NodeModel<ImmutableNode> {
         } while (!done);
     }
 
+    /**
+     * Executes a number of update operations on this model as a single update. The passed in consumer is invoked with a
+     * {@code NodeModel} on which the operations can be called. They are executed one after the other on a private copy of
+     * this model's data, so each operation sees the effects of the previous ones, but the changes become visible at once
+     * when all operations are complete. This is more efficient than calling the update methods of this model directly
+     * because the structures maintained by this model are updated only once. If the model is changed concurrently, the
+     * consumer is invoked again on the updated data; so it should not have any side effects.
+     *
+     * @param operations The consumer executing the update operations on the model passed to it
+     * @since 2.16.0
+     */
+    public void updateBatch(final Consumer<? super NodeModel<ImmutableNode>> operations) {
+        boolean done;
+        do {
+            final TreeData currentData = getTreeData();
+            final BatchNodeModel batch = new BatchNodeModel(currentData);
+            operations.accept(batch);
+            done = batch.currentData == currentData || structure.compareAndSet(currentData, batch.currentData);
+        } while (!done);
+    }
+
     /**
      * Performs a non-blocking, thread-safe update of this model based on a transaction initialized by the passed in
      * initializer. This method uses the atomic reference for the model's current data to ensure that an update was
-     * successful even if the model is concurrently accessed.
+     * successful even if the model is concurrently accessed. If write combining is enabled and no selector is provided, the
+     * update is handed over to the combiner.
      *
      * @param txInit The {@code TransactionInitializer}
      * @param selector An optional {@code NodeSelector} defining the target node of the transaction
      * @param resolver The {@code NodeKeyResolver}
      */
     private void updateModel(final TransactionInitializer txInit, final NodeSelector selector, final NodeKeyResolver<ImmutableNode> resolver) {
+        if (selector == null && isWriteCombining()) {
+            combineUpdate(batch -> batch.execute(txInit, resolver));
+            return;
+        }
+
         boolean done;
 
         do {
@@ -17,11 +17,13 @@
 package org.apache.commons.configuration2.tree;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * <p>
@@ -38,10 +40,168 @@ import java.util.Objects;
  * <li>Nodes in both files that do not match are added to the result.</li>
  * </ol>
  *
+ * <p>
+ * To find the matching children efficiently, the children of the second node are indexed by their names and the values
+ * of their attributes; so combining nodes with many children is close to linear in the number of children.
+ * </p>
+ *
  * @since 1.7
  */
 public class MergeCombiner extends NodeCombiner {
 
+    /**
+     * The list with the remaining children of the second node used by {@code combine()}. In addition, it indexes these
+     * children to find the candidates for a combination without comparing the attributes of all children.
+     */
+    private static final class CandidateList extends ChildNodeList {
+
+        /** The node whose children are indexed. */
+        private final ImmutableNode node;
+
+        /** The index of the children by their names. */
+        private final Map<String, NameGroup> groups = new HashMap<>();
+
+        /** Stores the groups of nodes which have already been removed. */
+        private final Set<List<ImmutableNode>> removedGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        /**
+         * Creates a new instance of {@code CandidateList} for the children of the given node.
+         *
+         * @param node the node
+         */
+        CandidateList(final ImmutableNode node) {
+            super(node.getChildren());
+            this.node = node;
+        }
+
+        /**
+         * Returns all children of the node with attributes compatible to the given child node. Only children with the
+         * same name and with the same value for the first attribute of the child node (or without this attribute) are
+         * checked.
+         *
+         * @param child the child node of the first node
+         * @return a list with the matching children
+         */
+        List<ImmutableNode> findMatches(final ImmutableNode child) {
+            final NameGroup group = groups.computeIfAbsent(child.getNodeName(), name -> new NameGroup(HANDLER.getChildren(node, name)));
+            final Map<String, Object> attrs1 = child.getAttributes();
+            if (attrs1.isEmpty()) {
+                return group.nodes;
+            }
+            if (group.nodes.size() < INDEX_THRESHOLD) {
+                return filterMatches(attrs1, group.nodes);
+            }
+            final Map.Entry<String, Object> attr = attrs1.entrySet().iterator().next();
+            final List<ImmutableNode> matches = filterMatches(attrs1, group.withoutAttribute(attr.getKey()));
+            matches.addAll(filterMatches(attrs1, group.withAttribute(attr.getKey(), attr.getValue())));
+            return matches;
+        }
+
+        /**
+         * Removes all of the given nodes from this list. If the same list of matches is passed again, the call has no
+         * effect.
+         *
+         * @param nodes the nodes to remove
+         */
+        void removeMatches(final List<ImmutableNode> nodes) {
+            if (removedGroups.add(nodes)) {
+                nodes.forEach(this::remove);
+            }
+        }
+    }
+
+    /**
+     * A class storing the children of a node with a specific name. The children are indexed lazily by the values of their
+     * attributes.
+     */
+    private static final class NameGroup {
+
+        /** The children with this name. */
+        private final List<ImmutableNode> nodes;
+
+        /** Maps attribute names to the children having this attribute, grouped by the attribute value. */
+        private final Map<String, Map<Object, List<ImmutableNode>>> valueIndex = new HashMap<>();
+
+        /** Maps attribute names to the children not having this attribute. */
+        private final Map<String, List<ImmutableNode>> missingIndex = new HashMap<>();
+
+        /**
+         * Creates a new instance of {@code NameGroup}.
+         *
+         * @param nodes the children with the name of this group
+         */
+        NameGroup(final List<ImmutableNode> nodes) {
+            this.nodes = nodes;
+        }
+
+        /**
+         * Returns the children of this group which have the given attribute with the given value.
+         *
+         * @param attr the attribute name
+         * @param value the attribute value
+         * @return the children with this attribute value
+         */
+        List<ImmutableNode> withAttribute(final String attr, final Object value) {
+            final Map<Object, List<ImmutableNode>> index = valueIndex.computeIfAbsent(attr, this::createValueIndex);
+            return index.getOrDefault(value, Collections.emptyList());
+        }
+
+        /**
+         * Returns the children of this group which do not have the given attribute.
+         *
+         * @param attr the attribute name
+         * @return the children without this attribute
+         */
+        List<ImmutableNode> withoutAttribute(final String attr) {
+            return missingIndex.computeIfAbsent(attr, key -> {
+                final List<ImmutableNode> result = new ArrayList<>();
+                nodes.forEach(node -> {
+                    if (!node.getAttributes().containsKey(key)) {
+                        result.add(node);
+                    }
+                });
+                return result;
+            });
+        }
+
+        /**
+         * Groups the children of this group having the given attribute by the attribute value.
+         *
+         * @param attr the attribute name
+         * @return the map with the children grouped by the attribute value
+         */
+        private Map<Object, List<ImmutableNode>> createValueIndex(final String attr) {
+            final Map<Object, List<ImmutableNode>> index = new HashMap<>();
+            nodes.forEach(node -> {
+                final Map<String, Object> attributes = node.getAttributes();
+                if (attributes.containsKey(attr)) {
+                    index.computeIfAbsent(attributes.get(attr), k -> new ArrayList<>()).add(node);
+                }
+            });
+            return index;
+        }
+    }
+
+    /** The minimum number of children with the same name for which an index on attribute values is created. */
+    private static final int INDEX_THRESHOLD = 8;
+
+    /**
+     * Returns the nodes from the given list whose attributes are compatible with the given attributes.
+     *
+     * @param attrs1 the attributes of the first node
+     * @param nodes the candidate nodes
+     * @return a list with the matching nodes
+     */
+    private static List<ImmutableNode> filterMatches(final Map<String, Object> attrs1, final List<ImmutableNode> nodes) {
+        final List<ImmutableNode> matches = new ArrayList<>();
+        nodes.forEach(node -> {
+            if (matchAttributes(attrs1, node)) {
+                matches.add(node);
+            }
+        });
+        return matches;
+    }
+
     /**
      * Checks whether the attributes of the passed in node are compatible.
      *
@@ -90,21 +250,19 @@ public class MergeCombiner extends NodeCombiner {
      * @return A child of the second node, with which a combination is possible
      */
     protected ImmutableNode canCombine(final ImmutableNode node2, final ImmutableNode child, final List<ImmutableNode> children2) {
-        final Map<String, Object> attrs1 = child.getAttributes();
-        final List<ImmutableNode> nodes = new ArrayList<>();
-
-        final List<ImmutableNode> children = HANDLER.getChildren(node2, child.getNodeName());
-        children.forEach(node -> {
-            if (matchAttributes(attrs1, node)) {
-                nodes.add(node);
-            }
-        });
+        final CandidateList candidates = children2 instanceof CandidateList ? (CandidateList) children2 : null;
+        final List<ImmutableNode> nodes = candidates != null ? candidates.findMatches(child)
+            : filterMatches(child.getAttributes(), HANDLER.getChildren(node2, child.getNodeName()));
 
         if (nodes.size() == 1) {
             return nodes.get(0);
         }
         if (nodes.size() > 1 && !isListNode(child)) {
-            nodes.forEach(children2::remove);
+            if (candidates != null) {
+                candidates.removeMatches(nodes);
+            } else {
+                nodes.forEach(children2::remove);
+            }
         }
 
         return null;
@@ -120,13 +278,13 @@ public class MergeCombiner extends NodeCombiner {
 
     @Override
     public ImmutableNode combine(final ImmutableNode node1, final ImmutableNode node2) {
-        final ImmutableNode.Builder result = new ImmutableNode.Builder();
+        final ImmutableNode.Builder result = new ImmutableNode.Builder(node1.getChildren().size() + node2.getChildren().size());
         result.name(node1.getNodeName());
         result.value(node1.getValue());
         addAttributes(result, node1, node2);
 
         // Check if nodes can be combined
-        final List<ImmutableNode> children2 = new LinkedList<>(node2.getChildren());
+        final List<ImmutableNode> children2 = new CandidateList(node2);
         node1.forEach(child1 -> {
             final ImmutableNode child2 = canCombine(node2, child1, children2);
             if (child2 != null) {
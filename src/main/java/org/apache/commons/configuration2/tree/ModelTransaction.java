@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -358,10 +359,7 @@ final class ModelTransaction {
          */
         private void handleAddedNodes(final ImmutableNode node) {
             if (addedNodesInOperation != null) {
-                addedNodesInOperation.forEach(child -> {
-                    parentMapping.put(child, node);
-                    addedNodes.add(child);
-                });
+                addedNodesInOperation.forEach(child -> addedNodes.put(child, node));
             }
         }
 
@@ -546,11 +544,14 @@ final class ModelTransaction {
     /** The nodes replaced in this transaction. */
     private final Map<ImmutableNode, ImmutableNode> replacedNodes;
 
-    /** A new parent mapping. */
-    private final Map<ImmutableNode, ImmutableNode> parentMapping;
+    /**
+     * A new parent mapping. It is created when the transaction is executed; if it has to be rebuilt from scratch, it
+     * remains <strong>null</strong>, and the resulting {@code TreeData} constructs it lazily.
+     */
+    private Map<ImmutableNode, ImmutableNode> parentMapping;
 
-    /** A collection with nodes which have been added. */
-    private final Collection<ImmutableNode> addedNodes;
+    /** A map with nodes which have been added and their new parent nodes. */
+    private final Map<ImmutableNode, ImmutableNode> addedNodes;
 
     /** A collection with nodes which have been removed. */
     private final Collection<ImmutableNode> removedNodes;
@@ -573,6 +574,9 @@ final class ModelTransaction {
     /** The new root node. */
     private ImmutableNode newRoot;
 
+    /** A flag whether the parent mapping of the current data can be updated directly. */
+    private final boolean updateParentMappingInPlace;
+
     /**
      * Creates a new instance of {@code ModelTransaction} for the current tree data.
      *
@@ -582,13 +586,27 @@ final class ModelTransaction {
      * @param resolver The {@code NodeKeyResolver}
      */
     public ModelTransaction(final TreeData treeData, final NodeSelector selector, final NodeKeyResolver<ImmutableNode> resolver) {
+        this(treeData, selector, resolver, false);
+    }
+
+    /**
+     * Creates a new instance of {@code ModelTransaction} for the current tree data and allows updating the parent mapping
+     * of this data directly. This is possible if the passed in {@code TreeData} is an intermediate result of a batch update
+     * which is not visible to other parties and without tracked nodes; then the parent mapping does not have to be copied.
+     *
+     * @param treeData The current {@code TreeData} structure to operate on
+     * @param selector An optional {@code NodeSelector} defining the target root node for this transaction
+     * @param resolver The {@code NodeKeyResolver}
+     * @param updateInPlace a flag whether the parent mapping of the current data can be updated directly
+     */
+    ModelTransaction(final TreeData treeData, final NodeSelector selector, final NodeKeyResolver<ImmutableNode> resolver, final boolean updateInPlace) {
         currentData = treeData;
+        updateParentMappingInPlace = updateInPlace;
         this.resolver = resolver;
         replacementMapping = getCurrentData().copyReplacementMapping();
         replacedNodes = new HashMap<>();
-        parentMapping = getCurrentData().copyParentMapping();
         operations = new TreeMap<>();
-        addedNodes = new LinkedList<>();
+        addedNodes = new LinkedHashMap<>();
         removedNodes = new LinkedList<>();
         allRemovedNodes = new LinkedList<>();
         queryRoot = initQueryRoot(treeData, selector);
@@ -720,8 +738,11 @@ final class ModelTransaction {
     public TreeData execute() {
         executeOperations();
         updateParentMapping();
-        return new TreeData(newRoot, parentMapping, replacementMapping,
-            currentData.getNodeTracker().update(newRoot, rootNodeSelector, getResolver(), getCurrentData()), updateReferenceTracker());
+        final NodeTracker newTracker = currentData.getNodeTracker().update(newRoot, rootNodeSelector, getResolver(), getCurrentData());
+        if (parentMapping == null) {
+            return new TreeData(newRoot, newTracker, updateReferenceTracker());
+        }
+        return new TreeData(newRoot, parentMapping, replacementMapping, newTracker, updateReferenceTracker());
     }
 
     /**
@@ -827,16 +848,6 @@ final class ModelTransaction {
         return level;
     }
 
-    /**
-     * Rebuilds the parent mapping from scratch. This method is called if the replacement mapping exceeds its maximum size.
-     * In this case, it is cleared, and a new parent mapping is constructed for the new root node.
-     */
-    private void rebuildParentMapping() {
-        replacementMapping.clear();
-        parentMapping.clear();
-        InMemoryNodeModel.updateParentMapping(parentMapping, newRoot);
-    }
-
     /**
      * Removes the specified node completely from the replacement mapping. This also includes the nodes that replace the
      * given one.
@@ -860,7 +871,9 @@ final class ModelTransaction {
             @Override
             public void visitBeforeChildren(final ImmutableNode node, final NodeHandler<ImmutableNode> handler) {
                 allRemovedNodes.add(node);
-                parentMapping.remove(node);
+                if (parentMapping != null) {
+                    parentMapping.remove(node);
+                }
                 removeNodeFromReplacementMapping(node);
             }
         }, getCurrentData());
@@ -869,12 +882,19 @@ final class ModelTransaction {
     /**
      * Updates the parent mapping for the resulting {@code TreeData} instance. This method is called after all update
      * operations have been executed. It ensures that the parent mapping is updated for the changes on the nodes structure.
+     * If the replacement mapping exceeds its maximum size, the parent mapping has to be rebuilt from scratch for the new
+     * root node. This is left to the resulting {@code TreeData}, which does this on demand. The same is true if the
+     * parent mapping of the current data has never been constructed, so that copying it would be pointless.
      */
     private void updateParentMapping() {
         replacementMapping.putAll(replacedNodes);
         if (replacementMapping.size() > MAX_REPLACEMENTS) {
-            rebuildParentMapping();
+            replacementMapping.clear();
+        } else if (!getCurrentData().isParentMappingInitialized()) {
+            replacementMapping.clear();
+            updateParentMappingForRemovedNodes();
         } else {
+            parentMapping = updateParentMappingInPlace ? getCurrentData().getParentMapping() : getCurrentData().copyParentMapping();
             updateParentMappingForAddedNodes();
             updateParentMappingForRemovedNodes();
         }
@@ -884,7 +904,10 @@ final class ModelTransaction {
      * Adds newly added nodes and their children to the parent mapping.
      */
     private void updateParentMappingForAddedNodes() {
-        addedNodes.forEach(node -> InMemoryNodeModel.updateParentMapping(parentMapping, node));
+        addedNodes.forEach((node, parent) -> {
+            parentMapping.put(node, parent);
+            InMemoryNodeModel.updateParentMapping(parentMapping, node);
+        });
     }
 
     /**
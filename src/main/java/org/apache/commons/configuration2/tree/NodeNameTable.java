@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * A symbol table for the names of nodes and attributes.
+ * </p>
+ * <p>
+ * When a configuration source is loaded, the same node names occur again and again, for instance for the elements of a
+ * list. Each name read from the source is a separate string object, though. Configuration implementations can pass the
+ * names through an instance of this class before they create nodes; then all nodes with the same name share a single
+ * string instance, which is the first instance of this name passed to the table.
+ * </p>
+ * <p>
+ * Names are not added to the JVM-wide pool of interned strings, so they can be garbage collected together with the
+ * configuration. Instances are intended to be used for a single load operation and are not thread-safe.
+ * </p>
+ *
+ * @since 2.16.0
+ */
+public final class NodeNameTable {
+
+    /** A map with the names processed so far. */
+    private final Map<String, String> names = new HashMap<>();
+
+    /**
+     * Returns the canonical instance for the given name. All names equal to the given one are mapped to the same string
+     * instance. If the name has not been seen before, the passed in instance becomes the canonical one.
+     *
+     * @param name The name (may be <strong>null</strong>)
+     * @return The canonical instance of this name
+     */
+    public String intern(final String name) {
+        if (name == null) {
+            return null;
+        }
+        final String known = names.putIfAbsent(name, name);
+        return known != null ? known : name;
+    }
+}
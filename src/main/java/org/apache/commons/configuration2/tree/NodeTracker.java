@@ -265,6 +265,15 @@ final class NodeTracker {
         trackedNodes = map;
     }
 
+    /**
+     * Returns a flag whether this tracker does not manage any tracked nodes.
+     *
+     * @return <strong>true</strong> if there are no tracked nodes, <strong>false</strong> otherwise
+     */
+    public boolean isEmpty() {
+        return trackedNodes.isEmpty();
+    }
+
     /**
      * Marks all tracked nodes as detached. This method is called if there are some drastic changes on the underlying node
      * structure, for example if the root node was replaced.
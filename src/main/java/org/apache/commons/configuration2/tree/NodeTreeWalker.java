@@ -16,8 +16,15 @@
  */
 package org.apache.commons.configuration2.tree;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -27,7 +34,12 @@ import java.util.List;
  * The methods provided by this class accept a {@link ConfigurationNodeVisitor} and visit all nodes in a hierarchy
  * starting from a given root node. Because a {@link NodeHandler} has to be passed in, too, arbitrary types of nodes can
  * be processed. The {@code walk()} methods differ in the order in which nodes are visited. Details can be found in the
- * method documentation.
+ * method documentation. The traversals do not use recursion, so even very deep hierarchies can be processed.
+ * </p>
+ * <p>
+ * Large hierarchies can also be traversed in parallel using the fork/join framework. This is possible for visitors which
+ * are thread-safe, and for visitors which can collect partial results that are combined afterwards. Refer to the
+ * {@code walkParallel()} methods for details.
  * </p>
  * <p>
  * An instance of this class does not define any state; therefore, it can be shared and used concurrently. The
@@ -39,9 +51,202 @@ import java.util.List;
  */
 public class NodeTreeWalker {
 
+    /**
+     * A frame for the DFS traversal. It stores a node and the iterator over its children which still have to be
+     * processed.
+     *
+     * @param <T> The type of the nodes involved
+     */
+    private static final class DfsFrame<T> {
+
+        /** The node. */
+        private final T node;
+
+        /** The iterator over the children of the node. */
+        private final Iterator<T> children;
+
+        /**
+         * Creates a new instance of {@code DfsFrame}.
+         *
+         * @param node The node
+         * @param children The iterator over the children of the node
+         */
+        DfsFrame(final T node, final Iterator<T> children) {
+            this.node = node;
+            this.children = children;
+        }
+    }
+
+    /**
+     * A task for visiting a range of sibling nodes and their subtrees in parallel. If there are not yet enough tasks
+     * waiting to be executed, the range is split, and the parts are processed by different tasks. Otherwise, the task
+     * processes the nodes itself. The visitors used by the tasks are combined in the order of a DFS traversal.
+     *
+     * @param <T> The type of the nodes involved
+     * @param <V> The type of the visitor
+     */
+    private static final class ParallelWalkTask<T, V extends ConfigurationNodeVisitor<T>> extends RecursiveTask<V> {
+
+        /** The serial version UID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The list with the nodes to be processed. */
+        private final List<T> nodes;
+
+        /** The index of the first node to be processed. */
+        private final int from;
+
+        /** The index after the last node to be processed. */
+        private final int to;
+
+        /** The number of splits which led to this task. */
+        private final int depth;
+
+        /** The factory for the visitors. */
+        private final Supplier<? extends V> visitorFactory;
+
+        /** The function for combining visitors. */
+        private final BinaryOperator<V> combiner;
+
+        /** The handler. */
+        private final NodeHandler<T> handler;
+
+        /** A flag whether the walk has been terminated by a visitor. */
+        private final AtomicBoolean terminated;
+
+        /**
+         * Creates a new instance of {@code ParallelWalkTask} for processing the given root node.
+         *
+         * @param root The root node
+         * @param visitorFactory The factory for the visitors
+         * @param combiner The function for combining visitors
+         * @param handler The handler
+         */
+        ParallelWalkTask(final T root, final Supplier<? extends V> visitorFactory, final BinaryOperator<V> combiner, final NodeHandler<T> handler) {
+            this.nodes = Collections.singletonList(root);
+            this.from = 0;
+            this.to = 1;
+            this.depth = 0;
+            this.visitorFactory = visitorFactory;
+            this.combiner = combiner;
+            this.handler = handler;
+            this.terminated = new AtomicBoolean();
+        }
+
+        /**
+         * Creates a new instance of {@code ParallelWalkTask} for processing a part of the nodes of another task.
+         *
+         * @param nodes The list with the nodes
+         * @param from The index of the first node to be processed
+         * @param to The index after the last node to be processed
+         * @param parent The task which has been split
+         */
+        private ParallelWalkTask(final List<T> nodes, final int from, final int to, final ParallelWalkTask<T, V> parent) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.depth = parent.depth + 1;
+            this.visitorFactory = parent.visitorFactory;
+            this.combiner = parent.combiner;
+            this.handler = parent.handler;
+            this.terminated = parent.terminated;
+        }
+
+        @Override
+        protected V compute() {
+            V visitor = null;
+            List<T> current = nodes;
+            int start = from;
+            int end = to;
+
+            // follow chains of single nodes without creating new tasks
+            while (end - start == 1) {
+                if (visitor == null) {
+                    visitor = visitorFactory.get();
+                }
+                final T node = current.get(start);
+                if (!visit(node, visitor)) {
+                    return visitor;
+                }
+                current = handler.getChildren(node);
+                start = 0;
+                end = current.size();
+            }
+
+            if (end > start && depth < MAX_SPLIT_DEPTH && getSurplusQueuedTaskCount() <= MAX_SURPLUS_TASKS) {
+                final int middle = (start + end) >>> 1;
+                final ParallelWalkTask<T, V> left = new ParallelWalkTask<>(current, start, middle, this);
+                final ParallelWalkTask<T, V> right = new ParallelWalkTask<>(current, middle, end, this);
+                right.fork();
+                final V result = combiner.apply(left.compute(), right.join());
+                return visitor != null ? combiner.apply(visitor, result) : result;
+            }
+
+            if (visitor == null) {
+                visitor = visitorFactory.get();
+            }
+            walkSequentially(current.subList(start, end), visitor);
+            return visitor;
+        }
+
+        /**
+         * Visits a single node. Checks whether the walk has been terminated.
+         *
+         * @param node The node
+         * @param visitor The visitor
+         * @return <strong>true</strong> if the walk can continue, <strong>false</strong> if it has been terminated
+         */
+        private boolean visit(final T node, final V visitor) {
+            if (terminated.get()) {
+                return false;
+            }
+            if (visitor.terminate()) {
+                terminated.set(true);
+                return false;
+            }
+            visitor.visitBeforeChildren(node, handler);
+            return true;
+        }
+
+        /**
+         * Visits the given nodes and their subtrees in the order of a DFS traversal in the current thread.
+         *
+         * @param rangeNodes The nodes to be processed
+         * @param visitor The visitor
+         */
+        private void walkSequentially(final List<T> rangeNodes, final V visitor) {
+            final Deque<Iterator<T>> pendingNodes = new ArrayDeque<>();
+            pendingNodes.push(rangeNodes.iterator());
+            while (!pendingNodes.isEmpty()) {
+                final Iterator<T> it = pendingNodes.peek();
+                if (it.hasNext()) {
+                    final T node = it.next();
+                    if (!visit(node, visitor)) {
+                        return;
+                    }
+                    pendingNodes.push(handler.getChildren(node).iterator());
+                } else {
+                    pendingNodes.pop();
+                }
+            }
+        }
+    }
+
     /** The default instance of this class. */
     public static final NodeTreeWalker INSTANCE = new NodeTreeWalker();
 
+    /**
+     * The maximum number of tasks waiting to be executed in the queue of the current thread for which a parallel walk
+     * still creates new tasks.
+     */
+    private static final int MAX_SURPLUS_TASKS = 3;
+
+    /**
+     * The maximum number of splits in a parallel walk. Tasks are computed on the stack of the task which created them, so
+     * this limits the stack depth for hierarchies with many levels.
+     */
+    private static final int MAX_SPLIT_DEPTH = 64;
+
     /**
      * Helper method for performing a BFS traversal. Implementation node: This method organizes the nodes to be visited in
      * structures on the heap. Therefore, it can deal with larger structures than would be the case in a recursive approach
@@ -53,12 +258,12 @@ public class NodeTreeWalker {
      * @param <T> The type of the nodes involved
      */
     private static <T> void bfs(final T root, final ConfigurationNodeVisitor<T> visitor, final NodeHandler<T> handler) {
-        final List<T> pendingNodes = new LinkedList<>();
+        final Deque<T> pendingNodes = new ArrayDeque<>();
         pendingNodes.add(root);
         boolean cancel = false;
 
         while (!pendingNodes.isEmpty() && !cancel) {
-            final T node = pendingNodes.remove(0);
+            final T node = pendingNodes.poll();
             visitor.visitBeforeChildren(node, handler);
             cancel = visitor.terminate();
             pendingNodes.addAll(handler.getChildren(node));
@@ -87,20 +292,72 @@ public class NodeTreeWalker {
     }
 
     /**
-     * Recursive helper method for performing a DFS traversal.
+     * Helper method for checking the parameters for a parallel walk with partial visitors. This works like
+     * {@link #checkParameters(Object, ConfigurationNodeVisitor, NodeHandler)}.
+     *
+     * @param root The root node
+     * @param visitorFactory The factory for visitors
+     * @param combiner The function for combining visitors
+     * @param handler The handler
+     * @param <T> The type of the nodes involved
+     * @return <strong>true</strong> if a walk operation can be performed, <strong>false</strong> otherwise
+     * @throws IllegalArgumentException if a required parameter is missing
+     */
+    private static <T> boolean checkParallelParameters(final T root, final Supplier<?> visitorFactory, final BinaryOperator<?> combiner,
+        final NodeHandler<T> handler) {
+        if (visitorFactory == null) {
+            throw new IllegalArgumentException("Visitor factory must not be null.");
+        }
+        if (combiner == null) {
+            throw new IllegalArgumentException("Combiner must not be null.");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("NodeHandler must not be null.");
+        }
+        return root != null;
+    }
+
+    /**
+     * Helper method for performing a DFS traversal. Like the BFS traversal, this method organizes the nodes to be visited
+     * in structures on the heap; the stack holds the path to the current node together with the children of the nodes on
+     * this path which still have to be processed. The visitor is called in the same way as by a recursive implementation.
      *
-     * @param node The current node
+     * @param root The root node to be navigated
      * @param visitor The visitor
      * @param handler The handler
      * @param <T> The type of the nodes involved
      */
-    private static <T> void dfs(final T node, final ConfigurationNodeVisitor<T> visitor, final NodeHandler<T> handler) {
+    private static <T> void dfs(final T root, final ConfigurationNodeVisitor<T> visitor, final NodeHandler<T> handler) {
+        final Deque<DfsFrame<T>> path = new ArrayDeque<>();
+        enterNode(root, path, visitor, handler);
+
+        while (!path.isEmpty()) {
+            final DfsFrame<T> frame = path.peek();
+            if (frame.children.hasNext()) {
+                enterNode(frame.children.next(), path, visitor, handler);
+            } else {
+                path.pop();
+                if (!visitor.terminate()) {
+                    visitor.visitAfterChildren(frame.node, handler);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method for a DFS traversal which visits a node before its children. If the traversal has not been
+     * terminated, the node is passed to the visitor and pushed onto the stack, so that its children are processed next.
+     *
+     * @param node The node
+     * @param path The stack with the current path
+     * @param visitor The visitor
+     * @param handler The handler
+     * @param <T> The type of the nodes involved
+     */
+    private static <T> void enterNode(final T node, final Deque<DfsFrame<T>> path, final ConfigurationNodeVisitor<T> visitor, final NodeHandler<T> handler) {
         if (!visitor.terminate()) {
             visitor.visitBeforeChildren(node, handler);
-            handler.getChildren(node).forEach(c -> dfs(c, visitor, handler));
-            if (!visitor.terminate()) {
-                visitor.visitAfterChildren(node, handler);
-            }
+            path.push(new DfsFrame<>(node, handler.getChildren(node).iterator()));
         }
     }
 
@@ -147,4 +404,56 @@ public class NodeTreeWalker {
             dfs(root, visitor, handler);
         }
     }
+
+    /**
+     * Visits all nodes in the hierarchy represented by the given root node in parallel. The nodes are processed by
+     * multiple threads of the common fork/join pool; therefore, the visitor has to be thread-safe. There is no defined
+     * order in which the nodes are visited. As is the case for {@link #walkBFS(Object, ConfigurationNodeVisitor, NodeHandler)},
+     * <strong>only the {@code visitBeforeChildren()} method gets called on the visitor!</strong> If the visitor's
+     * {@code terminate()} method returns <strong>true</strong>, no further nodes are visited; however, nodes can be
+     * visited by other threads concurrently.
+     *
+     * @param root The root node of the hierarchy to be processed (may be <strong>null</strong>, then this call has no effect)
+     * @param visitor The thread-safe {@code ConfigurationNodeVisitor} (must not be <strong>null</strong>)
+     * @param handler The {@code NodeHandler} (must not be <strong>null</strong>)
+     * @param <T> The type of the nodes involved
+     * @throws IllegalArgumentException if a required parameter is <strong>null</strong>
+     * @since 2.16.0
+     */
+    public <T> void walkParallel(final T root, final ConfigurationNodeVisitor<T> visitor, final NodeHandler<T> handler) {
+        if (checkParameters(root, visitor, handler)) {
+            new ParallelWalkTask<>(root, () -> visitor, (v1, v2) -> v1, handler).invoke();
+        }
+    }
+
+    /**
+     * Visits all nodes in the hierarchy represented by the given root node in parallel using visitors that collect partial
+     * results. The hierarchy is split into subtrees which are processed by multiple threads of the common fork/join pool.
+     * For each subtree a new visitor is obtained from the given factory; so the visitors need not be thread-safe. The
+     * visitors are then combined using the given combiner function; the visitor passed as first argument to this function
+     * has visited the nodes preceding the ones visited by the second visitor in the order of a DFS traversal. Similar to
+     * the combiner of a {@link java.util.stream.Collector}, this function has to be associative. The result of this method
+     * is the visitor obtained by combining all partial visitors. As is the case for
+     * {@link #walkBFS(Object, ConfigurationNodeVisitor, NodeHandler)}, <strong>only the {@code visitBeforeChildren()}
+     * method gets called on the visitors!</strong> If the {@code terminate()} method of a visitor returns
+     * <strong>true</strong>, the whole walk is terminated; however, nodes can be visited by other threads concurrently.
+     *
+     * @param root The root node of the hierarchy to be processed (may be <strong>null</strong>, then this call has no effect)
+     * @param visitorFactory The factory for the visitors (must not be <strong>null</strong>)
+     * @param combiner The function for combining two visitors (must not be <strong>null</strong>)
+     * @param handler The {@code NodeHandler} (must not be <strong>null</strong>)
+     * @param <T> The type of the nodes involved
+     * @param <V> The type of the visitor
+     * @return The visitor combining the results of all partial visitors; if no root node was passed, a new visitor obtained
+     *         from the factory
+     * @throws IllegalArgumentException if a required parameter is <strong>null</strong>
+     * @since 2.16.0
+     */
+    public <T, V extends ConfigurationNodeVisitor<T>> V walkParallel(final T root, final Supplier<? extends V> visitorFactory, final BinaryOperator<V> combiner,
+        final NodeHandler<T> handler) {
+        if (checkParallelParameters(root, visitorFactory, combiner, handler)) {
+            return new ParallelWalkTask<>(root, visitorFactory, combiner, handler).invoke();
+        }
+        return visitorFactory.get();
+    }
 }
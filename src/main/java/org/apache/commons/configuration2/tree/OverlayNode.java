@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * A node of the virtual node structure managed by an {@link OverlayNodeHandler}.
+ * </p>
+ * <p>
+ * An {@code OverlayNode} represents the combination of one or multiple {@link ImmutableNode} objects, the
+ * <em>layers</em>, which stem from different node structures. The layers are ordered by priority; the first layer has
+ * the highest priority. The properties of the node are derived from its layers following the rules of an
+ * {@link OverrideCombiner}: the name is the one of the first layer, the value is the first value defined by a layer,
+ * and an attribute is taken from the first layer defining it. The child nodes are determined on first access and then
+ * stored; so only the parts of the node structure which are actually visited are created.
+ * </p>
+ * <p>
+ * Instances are created by {@code OverlayNodeHandler}; they are thread-safe.
+ * </p>
+ *
+ * @since 2.16.0
+ */
+public final class OverlayNode {
+
+    /**
+     * Creates a list for the layers of a child node containing the given initial layer.
+     *
+     * @param child The first layer of the child node
+     * @return The list for the layers of the child node
+     */
+    private static List<ImmutableNode> newLayerList(final ImmutableNode child) {
+        final List<ImmutableNode> list = new ArrayList<>();
+        list.add(child);
+        return list;
+    }
+
+    /** The layers of this node in the order of their priority. */
+    private final List<ImmutableNode> layers;
+
+    /** The parent node. */
+    private final OverlayNode parent;
+
+    /** The names of the child nodes that are never combined. */
+    private final Set<String> listNodes;
+
+    /** The child nodes of this node; created on first access. */
+    private volatile List<OverlayNode> children;
+
+    /** A map with the child nodes per name; created together with the children. */
+    private Map<String, List<OverlayNode>> childrenByName;
+
+    /** The attributes of this node; created on first access. */
+    private volatile Map<String, Object> attributes;
+
+    /**
+     * Creates a new instance of {@code OverlayNode}.
+     *
+     * @param layers The layers of this node
+     * @param parent The parent node (<strong>null</strong> for the root node)
+     * @param listNodes The names of list nodes
+     */
+    OverlayNode(final List<ImmutableNode> layers, final OverlayNode parent, final Set<String> listNodes) {
+        this.layers = layers;
+        this.parent = parent;
+        this.listNodes = listNodes;
+    }
+
+    /**
+     * Creates the child nodes of this node by combining the children of all layers.
+     */
+    private void createChildren() {
+        final List<List<ImmutableNode>> childLayers = new ArrayList<>();
+        final Map<String, Integer> nameCounts = new HashMap<>();
+        layers.get(0).forEach(child -> {
+            childLayers.add(newLayerList(child));
+            nameCounts.merge(child.getNodeName(), 1, Integer::sum);
+        });
+
+        for (int i = 1; i < layers.size(); i++) {
+            final ImmutableNode layer = layers.get(i);
+            childLayers.forEach(childLayer -> {
+                final String name = childLayer.get(0).getNodeName();
+                if (nameCounts.get(name) == 1 && !listNodes.contains(name)) {
+                    final List<ImmutableNode> matching = layer.getChildren(name);
+                    if (matching.size() == 1) {
+                        childLayer.add(matching.get(0));
+                    }
+                }
+            });
+            final Map<String, Integer> newCounts = new HashMap<>();
+            layer.forEach(child -> {
+                if (!nameCounts.containsKey(child.getNodeName())) {
+                    childLayers.add(newLayerList(child));
+                    newCounts.merge(child.getNodeName(), 1, Integer::sum);
+                }
+            });
+            nameCounts.putAll(newCounts);
+        }
+
+        final List<OverlayNode> nodes = new ArrayList<>(childLayers.size());
+        final Map<String, List<OverlayNode>> nodesByName = new LinkedHashMap<>();
+        childLayers.forEach(childLayer -> {
+            final OverlayNode node = new OverlayNode(childLayer, this, listNodes);
+            nodes.add(node);
+            nodesByName.computeIfAbsent(node.getNodeName(), k -> new ArrayList<>()).add(node);
+        });
+        nodesByName.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        childrenByName = nodesByName;
+        children = Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Gets a map with the attributes of this node. An attribute is taken from the first layer which defines it.
+     *
+     * @return A map with the attributes of this node
+     */
+    public Map<String, Object> getAttributes() {
+        Map<String, Object> result = attributes;
+        if (result == null) {
+            final Map<String, Object> map = new LinkedHashMap<>();
+            layers.forEach(layer -> layer.getAttributes().forEach(map::putIfAbsent));
+            result = Collections.unmodifiableMap(map);
+            attributes = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets a list with the child nodes of this node. The children are created on first access.
+     *
+     * @return An unmodifiable list with the child nodes
+     */
+    public List<OverlayNode> getChildren() {
+        List<OverlayNode> result = children;
+        if (result == null) {
+            synchronized (this) {
+                result = children;
+                if (result == null) {
+                    createChildren();
+                    result = children;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a list with the child nodes of this node with the given name.
+     *
+     * @param name The name of the child nodes
+     * @return An unmodifiable list with the child nodes with this name
+     */
+    public List<OverlayNode> getChildren(final String name) {
+        getChildren();
+        return childrenByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * Gets the layers of this node, that is the nodes of the original node structures combined by this node. The first
+     * layer has the highest priority.
+     *
+     * @return An unmodifiable list with the layers of this node
+     */
+    public List<ImmutableNode> getLayers() {
+        return Collections.unmodifiableList(layers);
+    }
+
+    /**
+     * Gets the name of this node. This is the name of the first layer.
+     *
+     * @return The name of this node
+     */
+    public String getNodeName() {
+        return layers.get(0).getNodeName();
+    }
+
+    /**
+     * Gets the parent of this node.
+     *
+     * @return The parent node or <strong>null</strong> for the root node
+     */
+    public OverlayNode getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the value of this node. This is the first value defined by one of the layers.
+     *
+     * @return The value of this node (can be <strong>null</strong>)
+     */
+    public Object getValue() {
+        for (final ImmutableNode layer : layers) {
+            if (layer.getValue() != null) {
+                return layer.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tests whether this node has attributes without creating the map with the combined attributes.
+     *
+     * @return <strong>true</strong> if one of the layers has attributes, <strong>false</strong> otherwise
+     */
+    boolean hasAttributes() {
+        return layers.stream().anyMatch(layer -> !layer.getAttributes().isEmpty());
+    }
+
+    /**
+     * Tests whether this node has children without creating them.
+     *
+     * @return <strong>true</strong> if one of the layers has children, <strong>false</strong> otherwise
+     */
+    boolean hasChildren() {
+        return layers.stream().anyMatch(layer -> !layer.getChildren().isEmpty());
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "(" + getNodeName() + ")";
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * A {@link NodeHandler} implementation providing a virtual, lazily evaluated combination of multiple node structures.
+ * </p>
+ * <p>
+ * An {@link OverrideCombiner} creates a new node structure containing the combination of all passed in structures.
+ * This class produces the same logic structure, but without materializing it: its nodes are {@link OverlayNode}
+ * objects referencing the corresponding nodes of the original structures, which are consulted in the order of their
+ * priority when a property of a node is queried. The child nodes of a node are determined when they are accessed for
+ * the first time. Thus, the effort for the combination depends on the parts of the structure which are actually
+ * accessed rather than the size of the whole structure. This is especially useful if large node structures are
+ * combined, but only a few keys are queried. {@code CombinedConfiguration} uses this class in its overlay mode.
+ * </p>
+ * <p>
+ * An instance can be passed to an {@link ExpressionEngine} to query the combined structure, for example:
+ * </p>
+ *
+ * <pre>
+ * OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(root1, root2));
+ * List&lt;QueryResult&lt;OverlayNode&gt;&gt; results = DefaultExpressionEngine.INSTANCE.query(handler.getRootNode(), key, handler);
+ * </pre>
+ *
+ * <p>
+ * As the original node structures are immutable, an instance of this class represents a snapshot which cannot be
+ * changed. Instances are thread-safe.
+ * </p>
+ *
+ * @since 2.16.0
+ */
+public class OverlayNodeHandler implements NodeHandler<OverlayNode> {
+
+    /** The root node of the combined structure. */
+    private final OverlayNode rootNode;
+
+    /**
+     * Creates a new instance of {@code OverlayNodeHandler} for the given root nodes. The first root node has the highest
+     * priority.
+     *
+     * @param roots The root nodes of the structures to be combined
+     * @throws IllegalArgumentException if the collection of root nodes is <strong>null</strong>, empty, or contains
+     *         <strong>null</strong> elements
+     */
+    public OverlayNodeHandler(final Collection<ImmutableNode> roots) {
+        this(roots, null);
+    }
+
+    /**
+     * Creates a new instance of {@code OverlayNodeHandler} for the given root nodes and list nodes. The first root node
+     * has the highest priority. List nodes are never combined; this corresponds to the list nodes of a
+     * {@link NodeCombiner}.
+     *
+     * @param roots The root nodes of the structures to be combined
+     * @param listNodes The names of list nodes (can be <strong>null</strong>)
+     * @throws IllegalArgumentException if the collection of root nodes is <strong>null</strong>, empty, or contains
+     *         <strong>null</strong> elements
+     */
+    public OverlayNodeHandler(final Collection<ImmutableNode> roots, final Set<String> listNodes) {
+        if (roots == null || roots.isEmpty()) {
+            throw new IllegalArgumentException("Root nodes must not be empty!");
+        }
+        if (roots.contains(null)) {
+            throw new IllegalArgumentException("Root nodes must not contain null!");
+        }
+        final Set<String> lists = listNodes != null ? Collections.unmodifiableSet(new HashSet<>(listNodes)) : Collections.emptySet();
+        rootNode = new OverlayNode(new ArrayList<>(roots), null, lists);
+    }
+
+    @Override
+    public Set<String> getAttributes(final OverlayNode node) {
+        return node.getAttributes().keySet();
+    }
+
+    @Override
+    public Object getAttributeValue(final OverlayNode node, final String name) {
+        return node.getAttributes().get(name);
+    }
+
+    @Override
+    public OverlayNode getChild(final OverlayNode node, final int index) {
+        return node.getChildren().get(index);
+    }
+
+    @Override
+    public List<OverlayNode> getChildren(final OverlayNode node) {
+        return node.getChildren();
+    }
+
+    @Override
+    public List<OverlayNode> getChildren(final OverlayNode node, final String name) {
+        return node.getChildren(name);
+    }
+
+    @Override
+    public int getChildrenCount(final OverlayNode node, final String name) {
+        return name == null ? node.getChildren().size() : node.getChildren(name).size();
+    }
+
+    /**
+     * {@inheritDoc} Queries for the children with a specific name (using the {@link NodeNameMatchers#EQUALS} matcher)
+     * are answered from the index of child names of the node.
+     */
+    @Override
+    public <C> List<OverlayNode> getMatchingChildren(final OverlayNode node, final NodeMatcher<C> matcher, final C criterion) {
+        if (matcher == NodeNameMatchers.EQUALS && criterion instanceof String) {
+            return node.getChildren((String) criterion);
+        }
+        return Collections.unmodifiableList(node.getChildren().stream().filter(c -> matcher.matches(c, this, criterion)).collect(Collectors.toList()));
+    }
+
+    @Override
+    public <C> int getMatchingChildrenCount(final OverlayNode node, final NodeMatcher<C> matcher, final C criterion) {
+        return getMatchingChildren(node, matcher, criterion).size();
+    }
+
+    @Override
+    public OverlayNode getParent(final OverlayNode node) {
+        return node.getParent();
+    }
+
+    @Override
+    public OverlayNode getRootNode() {
+        return rootNode;
+    }
+
+    @Override
+    public Object getValue(final OverlayNode node) {
+        return node.getValue();
+    }
+
+    @Override
+    public boolean hasAttributes(final OverlayNode node) {
+        return node.hasAttributes();
+    }
+
+    @Override
+    public int indexOfChild(final OverlayNode parent, final OverlayNode child) {
+        return parent.getChildren().indexOf(child);
+    }
+
+    /**
+     * {@inheritDoc} This implementation assumes that a node is defined if it has a value or has children or has
+     * attributes. The child nodes are not created for this purpose.
+     */
+    @Override
+    public boolean isDefined(final OverlayNode node) {
+        return node.getValue() != null || node.hasChildren() || node.hasAttributes();
+    }
+
+    @Override
+    public String nodeName(final OverlayNode node) {
+        return node.getNodeName();
+    }
+}
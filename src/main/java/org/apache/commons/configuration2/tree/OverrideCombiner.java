@@ -91,7 +91,7 @@ public class OverrideCombiner extends NodeCombiner {
      */
     @Override
     public ImmutableNode combine(final ImmutableNode node1, final ImmutableNode node2) {
-        final ImmutableNode.Builder result = new ImmutableNode.Builder();
+        final ImmutableNode.Builder result = new ImmutableNode.Builder(node1.getChildren().size() + node2.getChildren().size());
         result.name(node1.getNodeName());
 
         // Process nodes from the first structure, which override the second
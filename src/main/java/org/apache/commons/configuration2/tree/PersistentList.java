@@ -0,0 +1,619 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * An immutable list which can be updated efficiently by creating modified copies.
+ * </p>
+ * <p>
+ * {@link ImmutableNode} uses this class to store its children. Each update of a node creates a new node with a modified
+ * list of children. With a plain array-based list, the whole list has to be copied, so a single change of a node with
+ * many children is expensive. This class stores its elements in a balanced tree whose nodes have up to 32 entries and
+ * know the number of elements they contain (a relaxed radix balanced tree). Updates only copy the path from the root to
+ * the affected leaf; all other parts of the tree are shared with the original list. So accessing, replacing, inserting,
+ * or removing an element requires logarithmic time.
+ * </p>
+ * <p>
+ * The methods of the {@code List} interface which modify the list are not supported. Instead, there are methods like
+ * {@link #plus(Object)} or {@link #minus(int)} which return a new list with the modification applied.
+ * </p>
+ *
+ * @param <E> the type of the elements
+ */
+final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * The base class for the nodes of the tree.
+     */
+    private abstract static class Node {
+
+        /**
+         * Gets the number of entries of this node. These are either elements or child nodes.
+         *
+         * @return The number of entries
+         */
+        abstract int count();
+
+        /**
+         * Gets the number of elements stored in the sub tree starting at this node.
+         *
+         * @return The number of elements
+         */
+        abstract int size();
+    }
+
+    /**
+     * A leaf node of the tree storing elements.
+     */
+    private static final class Leaf extends Node {
+
+        /** An empty leaf. */
+        static final Leaf EMPTY = new Leaf(new Object[0]);
+
+        /** The elements of this leaf. */
+        final Object[] elements;
+
+        /**
+         * Creates a new instance of {@code Leaf}.
+         *
+         * @param elements The elements
+         */
+        Leaf(final Object[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        int count() {
+            return elements.length;
+        }
+
+        @Override
+        int size() {
+            return elements.length;
+        }
+    }
+
+    /**
+     * An inner node of the tree. It stores the accumulated sizes of its children to find the child containing an element
+     * with a given index.
+     */
+    private static final class Branch extends Node {
+
+        /** The child nodes. */
+        final Node[] children;
+
+        /** The accumulated sizes of the child nodes; the last entry is the size of this branch. */
+        final int[] sizes;
+
+        /**
+         * Creates a new instance of {@code Branch} with the given child nodes.
+         *
+         * @param children The child nodes
+         */
+        Branch(final Node[] children) {
+            this.children = children;
+            sizes = new int[children.length];
+            int size = 0;
+            for (int i = 0; i < children.length; i++) {
+                size += children[i].size();
+                sizes[i] = size;
+            }
+        }
+
+        /**
+         * Returns the index of the child node which contains the element with the given index.
+         *
+         * @param index The index of the element
+         * @return The index of the child containing this element
+         */
+        int childIndex(final int index) {
+            int i = 0;
+            while (sizes[i] <= index) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        int count() {
+            return children.length;
+        }
+
+        /**
+         * Returns the index of the first element of the given child node.
+         *
+         * @param childIndex The index of the child node
+         * @return The offset of this child
+         */
+        int offset(final int childIndex) {
+            return childIndex > 0 ? sizes[childIndex - 1] : 0;
+        }
+
+        @Override
+        int size() {
+            return sizes[sizes.length - 1];
+        }
+    }
+
+    /** The maximum number of entries in a node. */
+    private static final int MAX_NODE_SIZE = 32;
+
+    /** The number of entries below which a node is merged with a neighbor if possible. */
+    private static final int MIN_NODE_SIZE = MAX_NODE_SIZE / 4;
+
+    /** The empty list. */
+    private static final PersistentList<?> EMPTY = new PersistentList<>(Leaf.EMPTY);
+
+    /**
+     * Returns a list containing the elements of the given collection.
+     *
+     * @param <E> the type of the elements
+     * @param elements The collection with the elements
+     * @return The list with these elements
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> copyOf(final Collection<? extends E> elements) {
+        if (elements instanceof PersistentList) {
+            return (PersistentList<E>) elements;
+        }
+        if (elements.isEmpty()) {
+            return empty();
+        }
+
+        final Object[] array = elements.toArray();
+        Node[] level = new Node[(array.length + MAX_NODE_SIZE - 1) / MAX_NODE_SIZE];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = new Leaf(Arrays.copyOfRange(array, i * MAX_NODE_SIZE, Math.min(array.length, (i + 1) * MAX_NODE_SIZE)));
+        }
+        while (level.length > 1) {
+            final Node[] parents = new Node[(level.length + MAX_NODE_SIZE - 1) / MAX_NODE_SIZE];
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = new Branch(Arrays.copyOfRange(level, i * MAX_NODE_SIZE, Math.min(level.length, (i + 1) * MAX_NODE_SIZE)));
+            }
+            level = parents;
+        }
+        return new PersistentList<>(level[0]);
+    }
+
+    /**
+     * Returns an empty list.
+     *
+     * @param <E> the type of the elements
+     * @return The empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    /**
+     * Inserts an element into the sub tree starting at the given node. The resulting node may have to be split; therefore,
+     * an array with one or two nodes is returned.
+     *
+     * @param node The node
+     * @param index The index of the new element relative to this node
+     * @param element The element to be inserted
+     * @return An array with the resulting nodes
+     */
+    private static Node[] insert(final Node node, final int index, final Object element) {
+        if (node instanceof Leaf) {
+            final Object[] elements = ((Leaf) node).elements;
+            if (elements.length == MAX_NODE_SIZE && index == MAX_NODE_SIZE) {
+                // appending: keep the full leaf and start a new one
+                return new Node[] {node, new Leaf(new Object[] {element})};
+            }
+            return split(insertEntry(elements, index, element), Leaf::new);
+        }
+
+        final Branch branch = (Branch) node;
+        final int childIndex = index == branch.size() ? branch.count() - 1 : branch.childIndex(index);
+        final Node[] newChildren = insert(branch.children[childIndex], index - branch.offset(childIndex), element);
+        if (newChildren.length == 1) {
+            return new Node[] {new Branch(replaceEntry(branch.children, childIndex, newChildren[0]))};
+        }
+        if (branch.count() == MAX_NODE_SIZE && childIndex == MAX_NODE_SIZE - 1 && newChildren[0] == branch.children[childIndex]) {
+            // appending: keep the full branch and start a new one
+            return new Node[] {node, new Branch(new Node[] {newChildren[1]})};
+        }
+        final Node[] children = replaceEntry(branch.children, childIndex, newChildren[0]);
+        return split(insertEntry(children, childIndex + 1, newChildren[1]), Branch::new);
+    }
+
+    /**
+     * Creates a copy of the given array with an entry inserted.
+     *
+     * @param <T> the type of the array
+     * @param array The array
+     * @param index The index of the new entry
+     * @param entry The entry to be inserted
+     * @return The new array
+     */
+    private static <T> T[] insertEntry(final T[] array, final int index, final T entry) {
+        final T[] result = Arrays.copyOf(array, array.length + 1);
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = entry;
+        return result;
+    }
+
+    /**
+     * Merges two neighboring nodes of the same type.
+     *
+     * @param left The left node
+     * @param right The right node
+     * @return The merged node
+     */
+    private static Node merge(final Node left, final Node right) {
+        if (left instanceof Leaf) {
+            return new Leaf(mergeEntries(((Leaf) left).elements, ((Leaf) right).elements));
+        }
+        return new Branch(mergeEntries(((Branch) left).children, ((Branch) right).children));
+    }
+
+    /**
+     * Concatenates two arrays.
+     *
+     * @param <T> the type of the arrays
+     * @param left The first array
+     * @param right The second array
+     * @return The concatenated array
+     */
+    private static <T> T[] mergeEntries(final T[] left, final T[] right) {
+        final T[] result = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, result, left.length, right.length);
+        return result;
+    }
+
+    /**
+     * Removes an element from the sub tree starting at the given node. If the node becomes empty, result is
+     * <strong>null</strong>. Child nodes becoming too small are merged with a neighbor if possible.
+     *
+     * @param node The node
+     * @param index The index of the element relative to this node
+     * @return The resulting node or <strong>null</strong>
+     */
+    private static Node remove(final Node node, final int index) {
+        if (node instanceof Leaf) {
+            final Object[] elements = ((Leaf) node).elements;
+            return elements.length == 1 ? null : new Leaf(removeEntry(elements, index));
+        }
+
+        final Branch branch = (Branch) node;
+        final int childIndex = branch.childIndex(index);
+        final Node newChild = remove(branch.children[childIndex], index - branch.offset(childIndex));
+        if (newChild == null) {
+            return branch.count() == 1 ? null : new Branch(removeEntry(branch.children, childIndex));
+        }
+
+        final Node[] children = replaceEntry(branch.children, childIndex, newChild);
+        if (newChild.count() < MIN_NODE_SIZE && children.length > 1) {
+            final int left = childIndex > 0 ? childIndex - 1 : childIndex;
+            if (children[left].count() + children[left + 1].count() <= MAX_NODE_SIZE) {
+                return new Branch(replaceEntry(removeEntry(children, left + 1), left, merge(children[left], children[left + 1])));
+            }
+        }
+        return new Branch(children);
+    }
+
+    /**
+     * Creates a copy of the given array with an entry removed.
+     *
+     * @param <T> the type of the array
+     * @param array The array
+     * @param index The index of the entry to remove
+     * @return The new array
+     */
+    private static <T> T[] removeEntry(final T[] array, final int index) {
+        final T[] result = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Creates a copy of the given array with an entry replaced.
+     *
+     * @param <T> the type of the array
+     * @param array The array
+     * @param index The index of the entry to replace
+     * @param entry The new entry
+     * @return The new array
+     */
+    private static <T> T[] replaceEntry(final T[] array, final int index, final T entry) {
+        final T[] result = array.clone();
+        result[index] = entry;
+        return result;
+    }
+
+    /**
+     * Replaces an element in the sub tree starting at the given node.
+     *
+     * @param node The node
+     * @param index The index of the element relative to this node
+     * @param element The new element
+     * @return The resulting node
+     */
+    private static Node set(final Node node, final int index, final Object element) {
+        if (node instanceof Leaf) {
+            return new Leaf(replaceEntry(((Leaf) node).elements, index, element));
+        }
+        final Branch branch = (Branch) node;
+        final int childIndex = branch.childIndex(index);
+        return new Branch(replaceEntry(branch.children, childIndex, set(branch.children[childIndex], index - branch.offset(childIndex), element)));
+    }
+
+    /**
+     * Creates the nodes for the given entries. If there are too many entries for a single node, they are split into two
+     * nodes.
+     *
+     * @param <T> the type of the entries
+     * @param entries The entries
+     * @param factory The function for creating a node
+     * @return An array with the resulting nodes
+     */
+    private static <T> Node[] split(final T[] entries, final Function<T[], Node> factory) {
+        if (entries.length <= MAX_NODE_SIZE) {
+            return new Node[] {factory.apply(entries)};
+        }
+        final int half = entries.length / 2;
+        return new Node[] {factory.apply(Arrays.copyOfRange(entries, 0, half)), factory.apply(Arrays.copyOfRange(entries, half, entries.length))};
+    }
+
+    /** The root node of the tree. */
+    private final Node root;
+
+    /**
+     * Creates a new instance of {@code PersistentList} with the given root node.
+     *
+     * @param root The root node
+     */
+    private PersistentList(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Checks whether the given index is valid for accessing an element.
+     *
+     * @param index The index
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Returns the depth of the tree storing the elements of this list. All leaves of the tree have the same depth; a list
+     * whose elements fit into a single leaf has depth 1. This method is mainly used for testing purposes.
+     *
+     * @return The depth of the tree
+     */
+    int depth() {
+        int depth = 1;
+        for (Node node = root; node instanceof Branch; node = ((Branch) node).children[0]) {
+            depth++;
+        }
+        return depth;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        Objects.requireNonNull(action, "action");
+        for (final E element : this) {
+            action.accept(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(final int index) {
+        checkIndex(index);
+        Node node = root;
+        int localIndex = index;
+        while (node instanceof Branch) {
+            final Branch branch = (Branch) node;
+            final int childIndex = branch.childIndex(localIndex);
+            localIndex -= branch.offset(childIndex);
+            node = branch.children[childIndex];
+        }
+        return (E) ((Leaf) node).elements[localIndex];
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given element starting at a given index. Elements are compared by
+     * identity.
+     *
+     * @param element The element to search for
+     * @param fromIndex The index to start the search
+     * @return The index of this element or -1 if it cannot be found
+     */
+    int indexOfIdentical(final Object element, final int fromIndex) {
+        int index = fromIndex;
+        while (index < size()) {
+            final Object[] leaf = leafFor(index);
+            final Object[] elements = (Object[]) leaf[0];
+            final int offset = (Integer) leaf[1];
+            for (int i = index - offset; i < elements.length; i++) {
+                if (elements[i] == element) {
+                    return offset + i;
+                }
+            }
+            index = offset + elements.length;
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            /** The index of the next element. */
+            private int index;
+
+            /** The elements of the current leaf. */
+            private Object[] elements = Leaf.EMPTY.elements;
+
+            /** The position in the current leaf. */
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (position == elements.length) {
+                    elements = (Object[]) leafFor(index)[0];
+                    position = 0;
+                }
+                index++;
+                return (E) elements[position++];
+            }
+        };
+    }
+
+    /**
+     * Finds the leaf containing the element with the given index. Result is an array with the elements of the leaf and the
+     * index of its first element in the list.
+     *
+     * @param index The index of the element
+     * @return An array with the leaf elements and the offset of the leaf
+     */
+    private Object[] leafFor(final int index) {
+        Node node = root;
+        int offset = 0;
+        while (node instanceof Branch) {
+            final Branch branch = (Branch) node;
+            final int childIndex = branch.childIndex(index - offset);
+            offset += branch.offset(childIndex);
+            node = branch.children[childIndex];
+        }
+        return new Object[] {((Leaf) node).elements, offset};
+    }
+
+    /**
+     * Returns a new list with the element at the given index removed.
+     *
+     * @param index The index of the element to remove
+     * @return The new list
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    PersistentList<E> minus(final int index) {
+        checkIndex(index);
+        Node newRoot = remove(root, index);
+        if (newRoot == null) {
+            return empty();
+        }
+        while (newRoot instanceof Branch && newRoot.count() == 1) {
+            newRoot = ((Branch) newRoot).children[0];
+        }
+        return new PersistentList<>(newRoot);
+    }
+
+    /**
+     * Returns a new list with all occurrences of the given element removed. Elements are compared by identity. If the
+     * element is not contained, this list is returned.
+     *
+     * @param element The element to remove
+     * @return The new list
+     */
+    PersistentList<E> minusIdentical(final Object element) {
+        PersistentList<E> result = this;
+        int index = indexOfIdentical(element, 0);
+        while (index >= 0) {
+            result = result.minus(index);
+            index = result.indexOfIdentical(element, index);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new list with the given element appended.
+     *
+     * @param element The element to add
+     * @return The new list
+     */
+    PersistentList<E> plus(final E element) {
+        return plus(size(), element);
+    }
+
+    /**
+     * Returns a new list with the given element inserted at the given index.
+     *
+     * @param index The index of the new element
+     * @param element The element to add
+     * @return The new list
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    PersistentList<E> plus(final int index, final E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        final Node[] nodes = insert(root, index, element);
+        return new PersistentList<>(nodes.length == 1 ? nodes[0] : new Branch(nodes));
+    }
+
+    /**
+     * Returns a new list in which all occurrences of an element are replaced by another one. Elements are compared by
+     * identity. If the element is not contained, this list is returned.
+     *
+     * @param oldElement The element to replace
+     * @param newElement The replacing element
+     * @return The new list
+     */
+    PersistentList<E> replaceIdentical(final Object oldElement, final E newElement) {
+        PersistentList<E> result = this;
+        int index = indexOfIdentical(oldElement, 0);
+        while (index >= 0) {
+            result = result.with(index, newElement);
+            index = result.indexOfIdentical(oldElement, index + 1);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return root.size();
+    }
+
+    /**
+     * Returns a new list in which the element at the given index is replaced.
+     *
+     * @param index The index of the element to replace
+     * @param element The new element
+     * @return The new list
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    PersistentList<E> with(final int index, final E element) {
+        checkIndex(index);
+        return new PersistentList<>(set(root, index, element));
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable map which can be updated efficiently by creating modified copies.
+ * </p>
+ * <p>
+ * This class is used by {@link ImmutableNode} for larger maps that have to be updated frequently, for instance the
+ * attributes of a node with many attributes. It is implemented as a hash array mapped trie (HAMT): Each level of the
+ * trie consumes 5 bits of the hash code of a key; a node stores a bitmap with the occupied slots and a compact array
+ * with entries or sub nodes. Updates only copy the path from the root to the affected entry, so adding or removing a
+ * key requires logarithmic time and memory, while all other parts are shared with the original map.
+ * </p>
+ * <p>
+ * The methods of the {@code Map} interface which modify the map are not supported. Instead, there are methods like
+ * {@link #plus(Object, Object)} or {@link #minus(Object)} which return a new map with the modification applied. Keys
+ * and values may be <strong>null</strong>.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * A node of the trie. The array of a node stores pairs of keys and values. A <strong>null</strong> key indicates that
+     * the value is a sub node.
+     */
+    private static class Node {
+
+        /** An empty node. */
+        static final Node EMPTY = new Node(0, new Object[0]);
+
+        /** The bitmap with the occupied slots of this node. */
+        final int bitmap;
+
+        /** The array with keys and values. */
+        final Object[] array;
+
+        /**
+         * Creates a new instance of {@code Node}.
+         *
+         * @param bitmap The bitmap
+         * @param array The array with keys and values
+         */
+        Node(final int bitmap, final Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        /**
+         * Looks up the value of a key.
+         *
+         * @param hash The hash code of the key
+         * @param shift The number of bits consumed by the parent nodes
+         * @param key The key
+         * @return The value of the key or {@code NOT_FOUND}
+         */
+        Object find(final int hash, final int shift, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+            final int idx = index(bit);
+            final Object k = array[idx];
+            if (k == null) {
+                return ((Node) array[idx + 1]).find(hash, shift + BITS, key);
+            }
+            return k.equals(key) ? array[idx + 1] : NOT_FOUND;
+        }
+
+        /**
+         * Returns the position of the pair for the given bit in the array.
+         *
+         * @param bit The bit
+         * @return The index of the pair in the array
+         */
+        int index(final int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        /**
+         * Returns a node with the given key mapped to the given value.
+         *
+         * @param hash The hash code of the key
+         * @param shift The number of bits consumed by the parent nodes
+         * @param key The key
+         * @param value The value
+         * @param added a flag which is set if the key did not exist before
+         * @return The resulting node
+         */
+        Node put(final int hash, final int shift, final Object key, final Object value, final boolean[] added) {
+            final int bit = bit(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return new Node(bitmap | bit, insertPair(array, idx, key, value));
+            }
+
+            final Object k = array[idx];
+            final Object v = array[idx + 1];
+            if (k == null) {
+                final Node sub = ((Node) v).put(hash, shift + BITS, key, value, added);
+                return sub == v ? this : new Node(bitmap, replaceValue(array, idx, sub));
+            }
+            if (k.equals(key)) {
+                return v == value ? this : new Node(bitmap, replaceValue(array, idx, value));
+            }
+            added[0] = true;
+            final Object[] newArray = replaceValue(array, idx, createNode(shift + BITS, k, v, hash, key, value));
+            newArray[idx] = null;
+            return new Node(bitmap, newArray);
+        }
+
+        /**
+         * Returns a node with the given key removed. Result is <strong>null</strong> if the node becomes empty.
+         *
+         * @param hash The hash code of the key
+         * @param shift The number of bits consumed by the parent nodes
+         * @param key The key
+         * @return The resulting node
+         */
+        Node remove(final int hash, final int shift, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int idx = index(bit);
+            final Object k = array[idx];
+            if (k == null) {
+                final Node sub = ((Node) array[idx + 1]).remove(hash, shift + BITS, key);
+                if (sub == array[idx + 1]) {
+                    return this;
+                }
+                if (sub != null) {
+                    return new Node(bitmap, replaceValue(array, idx, sub));
+                }
+            } else if (!k.equals(key)) {
+                return this;
+            }
+            return bitmap == bit ? null : new Node(bitmap ^ bit, removePair(array, idx));
+        }
+    }
+
+    /**
+     * A node storing keys with the same hash code. This is needed if hash codes collide completely.
+     */
+    private static final class CollisionNode extends Node {
+
+        /** The common hash code of the keys. */
+        private final int hash;
+
+        /**
+         * Creates a new instance of {@code CollisionNode}.
+         *
+         * @param hash The hash code of the keys
+         * @param array The array with keys and values
+         */
+        CollisionNode(final int hash, final Object[] array) {
+            super(0, array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(final int hash, final int shift, final Object key) {
+            final int idx = indexOf(key);
+            return idx < 0 ? NOT_FOUND : array[idx + 1];
+        }
+
+        /**
+         * Returns the position of the given key in the array.
+         *
+         * @param key The key
+         * @return The position of this key or -1
+         */
+        private int indexOf(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Node put(final int hash, final int shift, final Object key, final Object value, final boolean[] added) {
+            if (hash != this.hash) {
+                return new Node(bit(this.hash, shift), new Object[] {null, this}).put(hash, shift, key, value, added);
+            }
+            final int idx = indexOf(key);
+            if (idx < 0) {
+                added[0] = true;
+                return new CollisionNode(hash, insertPair(array, array.length, key, value));
+            }
+            return array[idx + 1] == value ? this : new CollisionNode(hash, replaceValue(array, idx, value));
+        }
+
+        @Override
+        Node remove(final int hash, final int shift, final Object key) {
+            final int idx = hash == this.hash ? indexOf(key) : -1;
+            if (idx < 0) {
+                return this;
+            }
+            return array.length == 2 ? null : new CollisionNode(hash, removePair(array, idx));
+        }
+    }
+
+    /** The number of bits of the hash code consumed by each level. */
+    private static final int BITS = 5;
+
+    /** The maximum depth of the trie including a collision node. */
+    private static final int MAX_DEPTH = 32 / BITS + 2;
+
+    /** A marker object for a key that cannot be found. */
+    private static final Object NOT_FOUND = new Object();
+
+    /** A marker object representing the <strong>null</strong> key. */
+    private static final Object NULL_KEY = new Object();
+
+    /** The empty map. */
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(Node.EMPTY, 0);
+
+    /**
+     * Returns the bit for the slot of a hash code on a given level.
+     *
+     * @param hash The hash code
+     * @param shift The number of bits consumed by the parent nodes
+     * @return The bit for the slot
+     */
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & 0x1f);
+    }
+
+    /**
+     * Returns a map containing the entries of the given map.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @param map The map with the entries
+     * @return The map with these entries
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentMap) {
+            return (PersistentMap<K, V>) map;
+        }
+        return PersistentMap.<K, V>empty().plusAll(map);
+    }
+
+    /**
+     * Creates a node containing two entries whose keys have different hash codes on the previous levels.
+     *
+     * @param shift The number of bits consumed by the parent nodes
+     * @param key1 The first key
+     * @param value1 The first value
+     * @param hash2 The hash code of the second key
+     * @param key2 The second key
+     * @param value2 The second value
+     * @return The new node
+     */
+    private static Node createNode(final int shift, final Object key1, final Object value1, final int hash2, final Object key2, final Object value2) {
+        final int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        final boolean[] added = new boolean[1];
+        return Node.EMPTY.put(hash1, shift, key1, value1, added).put(hash2, shift, key2, value2, added);
+    }
+
+    /**
+     * Returns an empty map.
+     *
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return The empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Calculates the hash code of a (masked) key. The higher bits are spread to the lower ones, which are used by the
+     * first levels of the trie.
+     *
+     * @param key The key
+     * @return The hash code
+     */
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Creates a copy of the given array with a pair inserted.
+     *
+     * @param array The array
+     * @param idx The index of the new pair
+     * @param key The key
+     * @param value The value
+     * @return The new array
+     */
+    private static Object[] insertPair(final Object[] array, final int idx, final Object key, final Object value) {
+        final Object[] result = new Object[array.length + 2];
+        System.arraycopy(array, 0, result, 0, idx);
+        result[idx] = key;
+        result[idx + 1] = value;
+        System.arraycopy(array, idx, result, idx + 2, array.length - idx);
+        return result;
+    }
+
+    /**
+     * Replaces the <strong>null</strong> key by a marker object.
+     *
+     * @param key The key
+     * @return The masked key
+     */
+    private static Object maskNull(final Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Creates a copy of the given array with a pair removed.
+     *
+     * @param array The array
+     * @param idx The index of the pair to remove
+     * @return The new array
+     */
+    private static Object[] removePair(final Object[] array, final int idx) {
+        final Object[] result = new Object[array.length - 2];
+        System.arraycopy(array, 0, result, 0, idx);
+        System.arraycopy(array, idx + 2, result, idx, array.length - idx - 2);
+        return result;
+    }
+
+    /**
+     * Creates a copy of the given array with the value of a pair replaced.
+     *
+     * @param array The array
+     * @param idx The index of the pair
+     * @param value The new value
+     * @return The new array
+     */
+    private static Object[] replaceValue(final Object[] array, final int idx, final Object value) {
+        final Object[] result = array.clone();
+        result[idx + 1] = value;
+        return result;
+    }
+
+    /**
+     * Reverts the masking of the <strong>null</strong> key.
+     *
+     * @param key The masked key
+     * @return The original key
+     */
+    private static Object unmaskNull(final Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    /** The root node of the trie. */
+    private final Node root;
+
+    /** The number of entries. */
+    private final int size;
+
+    /** The entry set; created on demand. */
+    private Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Creates a new instance of {@code PersistentMap}.
+     *
+     * @param root The root node
+     * @param size The number of entries
+     */
+    private PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        final Object k = maskNull(key);
+        return root.find(hash(k), 0, k) != NOT_FOUND;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        final Object k = maskNull(key);
+        final Object value = root.find(hash(k), 0, k);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    /**
+     * Returns a new map with the given key removed. If the key is not contained, this map is returned.
+     *
+     * @param key The key to remove
+     * @return The new map
+     */
+    PersistentMap<K, V> minus(final Object key) {
+        final Object k = maskNull(key);
+        final Node newRoot = root.remove(hash(k), 0, k);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? empty() : new PersistentMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Returns a new map with the given key mapped to the given value.
+     *
+     * @param key The key
+     * @param value The value
+     * @return The new map
+     */
+    PersistentMap<K, V> plus(final K key, final V value) {
+        final Object k = maskNull(key);
+        final boolean[] added = new boolean[1];
+        final Node newRoot = root.put(hash(k), 0, k, value, added);
+        return newRoot == root ? this : new PersistentMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a new map with all entries of the given map added.
+     *
+     * @param map The map with the entries to add
+     * @return The new map
+     */
+    PersistentMap<K, V> plusAll(final Map<? extends K, ? extends V> map) {
+        Node newRoot = root;
+        int newSize = size;
+        final boolean[] added = new boolean[1];
+        for (final Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+            final Object k = maskNull(e.getKey());
+            added[0] = false;
+            newRoot = newRoot.put(hash(k), 0, k, e.getValue(), added);
+            if (added[0]) {
+                newSize++;
+            }
+        }
+        return newRoot == root ? this : new PersistentMap<>(newRoot, newSize);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * An iterator over the entries of this map. It traverses the trie using a stack of node arrays.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        /** The arrays of the nodes on the current path. */
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+
+        /** The positions in the arrays on the current path. */
+        private final int[] positions = new int[MAX_DEPTH];
+
+        /** The current depth. */
+        private int depth;
+
+        /** The next entry; <strong>null</strong> if the iteration is complete. */
+        private Map.Entry<K, V> next;
+
+        /**
+         * Creates a new instance of {@code EntryIterator}.
+         */
+        EntryIterator() {
+            arrays[0] = root.array;
+            advance();
+        }
+
+        /**
+         * Moves to the next entry.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int pos = positions[depth];
+                if (pos >= array.length) {
+                    depth--;
+                } else {
+                    positions[depth] = pos + 2;
+                    if (array[pos] == null) {
+                        depth++;
+                        arrays[depth] = ((Node) array[pos + 1]).array;
+                        positions[depth] = 0;
+                    } else {
+                        next = new SimpleImmutableEntry<>((K) unmaskNull(array[pos]), (V) array[pos + 1]);
+                        return;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable map for a small number of entries.
+ * </p>
+ * <p>
+ * Most configuration nodes have only a few attributes. Storing them in a hash map wrapped by an unmodifiable view
+ * requires several objects per node. This class stores the keys and values of its entries alternating in a single
+ * array; lookups are done by a linear search, which is fast for the small number of entries this class is intended
+ * for. The entries are iterated in the order of the map the instance was created from.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class SmallMap<K, V> extends AbstractMap<K, V> {
+
+    /** The array with the keys and values of the entries. */
+    private final Object[] keysAndValues;
+
+    /**
+     * Creates a new instance of {@code SmallMap} with the entries of the given map.
+     *
+     * @param map The map to be copied
+     */
+    SmallMap(final Map<? extends K, ? extends V> map) {
+        keysAndValues = new Object[map.size() * 2];
+        int idx = 0;
+        for (final Map.Entry<? extends K, ? extends V> e : map.entrySet()) {
+            keysAndValues[idx++] = e.getKey();
+            keysAndValues[idx++] = e.getValue();
+        }
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    /** The position of the next entry. */
+                    private int position;
+
+                    @Override
+                    public boolean hasNext() {
+                        return position < keysAndValues.length;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        final Map.Entry<K, V> entry = new SimpleImmutableEntry<>((K) keysAndValues[position], (V) keysAndValues[position + 1]);
+                        position += 2;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return SmallMap.this.size();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        final int idx = indexOf(key);
+        return idx >= 0 ? (V) keysAndValues[idx + 1] : null;
+    }
+
+    /**
+     * Returns the position of the given key in the array.
+     *
+     * @param key The key
+     * @return The position of this key or -1
+     */
+    private int indexOf(final Object key) {
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            if (Objects.equals(keysAndValues[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return keysAndValues.length / 2;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.configuration2.tree;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,11 +27,78 @@ import java.util.stream.Collectors;
  * An internally used helper class for storing information about the managed node structure. An instance of this class
  * represents the current tree. It stores the current root node and additional information which is not part of the
  * {@code ImmutableNode} class.
+ * <p>
+ * The mapping from nodes to their parents can be created lazily: When a new root node is installed, the whole
+ * structure would have to be traversed to fill this mapping; as many models are only read without ever querying parent
+ * nodes, this is deferred until the mapping is actually needed.
+ * </p>
  *
  * @since 2.0
  */
 final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNodeHandler {
 
+    /**
+     * A class holding the parent mapping of a tree. The mapping is either passed in directly or constructed on first
+     * access from the root node of the tree. Instances are shared between all {@code TreeData} objects derived from each
+     * other which refer to the same node structure.
+     */
+    private static final class ParentMapping {
+
+        /** The root node to construct the mapping from. */
+        private final ImmutableNode root;
+
+        /** The mapping; <strong>null</strong> if it has not yet been constructed. */
+        private volatile Map<ImmutableNode, ImmutableNode> mapping;
+
+        /**
+         * Creates a new instance of {@code ParentMapping} which constructs the mapping for the given root node on demand.
+         *
+         * @param root The root node of the tree
+         */
+        ParentMapping(final ImmutableNode root) {
+            this.root = root;
+        }
+
+        /**
+         * Creates a new instance of {@code ParentMapping} with the given mapping.
+         *
+         * @param mapping The parent mapping
+         */
+        ParentMapping(final Map<ImmutableNode, ImmutableNode> mapping) {
+            this.root = null;
+            this.mapping = mapping;
+        }
+
+        /**
+         * Gets the parent mapping. It is constructed if this has not been done yet.
+         *
+         * @return The parent mapping
+         */
+        Map<ImmutableNode, ImmutableNode> get() {
+            Map<ImmutableNode, ImmutableNode> result = mapping;
+            if (result == null) {
+                synchronized (this) {
+                    result = mapping;
+                    if (result == null) {
+                        result = new HashMap<>();
+                        InMemoryNodeModel.updateParentMapping(result, root);
+                        mapping = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns a flag whether the parent mapping has already been constructed.
+         *
+         * @return <strong>true</strong> if the mapping is available, <strong>false</strong> otherwise
+         */
+        boolean isInitialized() {
+            return mapping != null;
+        }
+    }
+
     /**
      * Checks whether the passed in node is subject of a replacement by another one. If so, the other node is returned. This
      * is done until a node is found which had not been replaced. Updating the parent mapping may be expensive for large
@@ -57,7 +125,7 @@ final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNo
     private final ImmutableNode root;
 
     /** A map that associates the parent node to each node. */
-    private final Map<ImmutableNode, ImmutableNode> parentMapping;
+    private final ParentMapping parentMapping;
 
     /**
      * Stores information about nodes which have been replaced by manipulations of the structure. This map is used to avoid
@@ -84,6 +152,32 @@ final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNo
      * @param refTracker The {@code ReferenceTracker}
      */
     public TreeData(final ImmutableNode root, final Map<ImmutableNode, ImmutableNode> parentMapping, final Map<ImmutableNode, ImmutableNode> replacements,
+        final NodeTracker tracker, final ReferenceTracker refTracker) {
+        this(root, new ParentMapping(parentMapping), replacements, tracker, refTracker);
+    }
+
+    /**
+     * Creates a new instance of {@code TreeData} for a new root node. The mapping to parent nodes is constructed when it
+     * is needed for the first time. There are no replaced nodes.
+     *
+     * @param root The root node of the current tree
+     * @param tracker The {@code NodeTracker}
+     * @param refTracker The {@code ReferenceTracker}
+     */
+    public TreeData(final ImmutableNode root, final NodeTracker tracker, final ReferenceTracker refTracker) {
+        this(root, new ParentMapping(root), Collections.<ImmutableNode, ImmutableNode>emptyMap(), tracker, refTracker);
+    }
+
+    /**
+     * Creates a new instance of {@code TreeData} with the given {@code ParentMapping}.
+     *
+     * @param root The root node of the current tree
+     * @param parentMapping The mapping to parent nodes
+     * @param replacements The map with the nodes that have been replaced
+     * @param tracker The {@code NodeTracker}
+     * @param refTracker The {@code ReferenceTracker}
+     */
+    private TreeData(final ImmutableNode root, final ParentMapping parentMapping, final Map<ImmutableNode, ImmutableNode> replacements,
         final NodeTracker tracker, final ReferenceTracker refTracker) {
         this.root = root;
         this.parentMapping = parentMapping;
@@ -99,7 +193,17 @@ final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNo
      * @return The copy of the parent mapping
      */
     public Map<ImmutableNode, ImmutableNode> copyParentMapping() {
-        return new HashMap<>(parentMapping);
+        return new HashMap<>(parentMapping.get());
+    }
+
+    /**
+     * Gets the mapping from nodes to their parents. The map is not copied; so it must only be modified if this object is
+     * not visible to other parties, for instance by a {@code ModelTransaction} which is part of a batch update.
+     *
+     * @return The parent mapping
+     */
+    Map<ImmutableNode, ImmutableNode> getParentMapping() {
+        return parentMapping.get();
     }
 
     /**
@@ -145,7 +249,7 @@ final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNo
         }
         final ImmutableNode org = handleReplacements(node, inverseReplacementMapping);
 
-        final ImmutableNode parent = parentMapping.get(org);
+        final ImmutableNode parent = parentMapping.get().get(org);
         if (parent == null) {
             throw new IllegalArgumentException("Cannot determine parent! " + node + " is not part of this model.");
         }
@@ -174,6 +278,16 @@ final class TreeData extends AbstractImmutableNodeHandler implements ReferenceNo
         return root;
     }
 
+    /**
+     * Returns a flag whether the mapping to parent nodes has already been constructed. If this is not the case, the first
+     * query for a parent node causes the whole node structure to be traversed.
+     *
+     * @return <strong>true</strong> if the parent mapping is available, <strong>false</strong> otherwise
+     */
+    boolean isParentMappingInitialized() {
+        return parentMapping.isInitialized();
+    }
+
     /**
      * {@inheritDoc} This implementation delegates to the reference tracker.
      */
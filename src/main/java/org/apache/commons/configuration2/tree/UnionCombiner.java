@@ -16,7 +16,6 @@
  */
 package org.apache.commons.configuration2.tree;
 
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -114,7 +113,7 @@ public class UnionCombiner extends NodeCombiner {
      */
     @Override
     public ImmutableNode combine(final ImmutableNode node1, final ImmutableNode node2) {
-        final ImmutableNode.Builder result = new ImmutableNode.Builder();
+        final ImmutableNode.Builder result = new ImmutableNode.Builder(node1.getChildren().size() + node2.getChildren().size());
         result.name(node1.getNodeName());
 
         // attributes of the first node take precedence
@@ -122,7 +121,7 @@ public class UnionCombiner extends NodeCombiner {
         result.addAttributes(node1.getAttributes());
 
         // Check if nodes can be combined
-        final List<ImmutableNode> children2 = new LinkedList<>(node2.getChildren());
+        final List<ImmutableNode> children2 = new ChildNodeList(node2.getChildren());
         node1.forEach(child1 -> {
             final ImmutableNode child2 = findCombineNode(node1, node2, child1);
             if (child2 != null) {
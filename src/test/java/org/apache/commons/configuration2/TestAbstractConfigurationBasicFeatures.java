@@ -18,6 +18,7 @@ package org.apache.commons.configuration2;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -37,12 +38,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration2.convert.ConversionHandler;
 import org.apache.commons.configuration2.convert.DefaultConversionHandler;
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
 import org.apache.commons.configuration2.convert.DisabledListDelimiterHandler;
 import org.apache.commons.configuration2.event.ConfigurationEvent;
+import org.apache.commons.configuration2.ex.ConversionException;
 import org.apache.commons.configuration2.event.EventListener;
 import org.apache.commons.configuration2.event.EventType;
 import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
@@ -147,6 +150,22 @@ public class TestAbstractConfigurationBasicFeatures {
         return expected;
     }
 
+    /**
+     * Creates a test configuration which counts the accesses to properties.
+     *
+     * @param counter The counter for property accesses
+     * @return The test configuration
+     */
+    private static AbstractConfiguration setUpCountingConfiguration(final AtomicInteger counter) {
+        return new TestConfigurationImpl(new PropertiesConfiguration()) {
+            @Override
+            protected Object getPropertyInternal(final String key) {
+                counter.incrementAndGet();
+                return super.getPropertyInternal(key);
+            }
+        };
+    }
+
     /**
      * Helper method for adding properties with multiple values.
      *
@@ -737,6 +756,62 @@ public class TestAbstractConfigurationBasicFeatures {
         assertEquals(defValue, config.getList(Integer.class, KEY_PREFIX, defValue));
     }
 
+    /**
+     * Tests whether the primitive getter methods produce the same results as the conversion handler for the different
+     * kinds of values supported by the direct conversion.
+     */
+    @Test
+    void testGetPrimitiveDirectConversion() {
+        final BaseConfiguration config = new BaseConfiguration();
+        config.addProperty("int", "42");
+        config.addProperty("hex", "0x10");
+        config.addProperty("bin", "0b101");
+        config.addProperty("var", "${int}");
+        config.addProperty("number", Long.valueOf(Integer.MAX_VALUE + 1L));
+        config.addProperty("double", "3.5");
+        config.addProperty("bool", "yes");
+        config.addProperty("boolVar", "${bool}");
+        assertEquals(42, config.getInt("int"));
+        assertEquals(16, config.getInt("hex"));
+        assertEquals(5L, config.getLong("bin"));
+        assertEquals(42, config.getInt("var", 0));
+        assertEquals(Integer.MIN_VALUE, config.getInt("number"));
+        assertEquals(Integer.MAX_VALUE + 1L, config.getLong("number", 0));
+        assertEquals(3.5, config.getDouble("double"));
+        assertEquals(42.0, config.getDouble("var", 0));
+        assertTrue(config.getBoolean("bool"));
+        assertTrue(config.getBoolean("boolVar", false));
+    }
+
+    /**
+     * Tests the exceptions thrown by the primitive getter methods for invalid values.
+     */
+    @Test
+    void testGetPrimitiveDirectConversionInvalid() {
+        final BaseConfiguration config = new BaseConfiguration();
+        config.addProperty("key", "noNumber");
+        final ConversionException cex = assertThrows(ConversionException.class, () -> config.getInt("key", 0));
+        assertTrue(cex.getMessage().contains("Key 'key'"));
+        assertThrows(ConversionException.class, () -> config.getLong("key"));
+        assertThrows(ConversionException.class, () -> config.getDouble("key"));
+        assertThrows(ConversionException.class, () -> config.getBoolean("key", true));
+    }
+
+    /**
+     * Tests the primitive getter methods for missing properties.
+     */
+    @Test
+    void testGetPrimitiveDirectConversionMissing() {
+        final BaseConfiguration config = new BaseConfiguration();
+        assertEquals(1, config.getInt(KEY_PREFIX, 1));
+        assertEquals(2L, config.getLong(KEY_PREFIX, 2L));
+        assertEquals(3.0, config.getDouble(KEY_PREFIX, 3.0));
+        assertTrue(config.getBoolean(KEY_PREFIX, true));
+        assertThrows(NoSuchElementException.class, () -> config.getInt(KEY_PREFIX));
+        config.setThrowExceptionOnMissing(true);
+        assertEquals(4L, config.getLong(KEY_PREFIX, 4L));
+    }
+
     /**
      * Tests getStringArray() for single son-string values.
      */
@@ -904,6 +979,88 @@ public class TestAbstractConfigurationBasicFeatures {
         assertEquals("result = some", config.getString(KEY_PREFIX));
     }
 
+    /**
+     * Tests that cached interpolation results are discarded when the configuration is changed.
+     */
+    @Test
+    void testInterpolationCacheChangedProperty() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        config.addProperty("animal", "quick brown fox");
+        config.addProperty("target", "lazy dog");
+        config.addProperty(KEY_PREFIX, SUBST_TXT);
+        config.setInterpolationCacheEnabled(true);
+        assertEquals("The quick brown fox jumps over the lazy dog.", config.getString(KEY_PREFIX));
+
+        config.setProperty("target", "sleepy cat");
+        assertEquals("The quick brown fox jumps over the sleepy cat.", config.getString(KEY_PREFIX));
+        config.clearProperty("animal");
+        assertEquals("The ${animal} jumps over the sleepy cat.", config.getString(KEY_PREFIX));
+    }
+
+    /**
+     * Tests whether the interpolation cache can be enabled and disabled.
+     */
+    @Test
+    void testInterpolationCacheEnableDisable() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        assertFalse(config.isInterpolationCacheEnabled());
+        config.setInterpolationCacheEnabled(true);
+        assertTrue(config.isInterpolationCacheEnabled());
+        assertTrue(config.getInterpolator().isInterpolationCacheEnabled());
+        config.setInterpolationCacheEnabled(false);
+        assertFalse(config.isInterpolationCacheEnabled());
+        assertFalse(config.getInterpolator().isInterpolationCacheEnabled());
+    }
+
+    /**
+     * Tests that the setting for the interpolation cache is taken over by a clone and that the clone's cache is
+     * independent.
+     */
+    @Test
+    void testInterpolationCacheEnabledOnClone() {
+        final BaseConfiguration config = new BaseConfiguration();
+        config.addProperty("target", "lazy dog");
+        config.addProperty(KEY_PREFIX, "the ${target}");
+        config.setInterpolationCacheEnabled(true);
+        assertEquals("the lazy dog", config.getString(KEY_PREFIX));
+
+        final BaseConfiguration copy = (BaseConfiguration) config.clone();
+        assertTrue(copy.isInterpolationCacheEnabled());
+        copy.setProperty("target", "sleepy cat");
+        assertEquals("the sleepy cat", copy.getString(KEY_PREFIX));
+        assertEquals("the lazy dog", config.getString(KEY_PREFIX));
+    }
+
+    /**
+     * Tests that the interpolation cache has no effect if the configuration does not have a
+     * {@code ConfigurationInterpolator}.
+     */
+    @Test
+    void testInterpolationCacheNoInterpolator() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        config.setInterpolator(null);
+        config.setInterpolationCacheEnabled(true);
+        assertFalse(config.isInterpolationCacheEnabled());
+    }
+
+    /**
+     * Tests that values of variables which are not resolved by the configuration itself are not cached.
+     */
+    @Test
+    void testInterpolationCacheNonCacheableLookup() {
+        final Map<String, Object> values = new HashMap<>();
+        values.put("var", "value1");
+        final Lookup lookup = values::get;
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        config.getInterpolator().registerLookup("test", lookup);
+        config.addProperty(KEY_PREFIX, "${test:var}");
+        config.setInterpolationCacheEnabled(true);
+        assertEquals("value1", config.getString(KEY_PREFIX));
+
+        values.put("var", "value2");
+        assertEquals("value2", config.getString(KEY_PREFIX));
+    }
+
     /**
      * Tests interpolate() if the configuration does not have a {@code ConfigurationInterpolator}.
      */
@@ -1068,4 +1225,86 @@ public class TestAbstractConfigurationBasicFeatures {
         }
         assertEquals(PROP_COUNT, config.size());
     }
+
+    /**
+     * Tests that the typed value cache is discarded when the configuration is changed.
+     */
+    @Test
+    void testTypedValueCacheChangedProperty() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        config.addProperty(KEY_PREFIX, "42");
+        config.setTypedValueCacheEnabled(true);
+        assertEquals(42, config.getInt(KEY_PREFIX));
+
+        config.setProperty(KEY_PREFIX, "43");
+        assertEquals(43, config.getInt(KEY_PREFIX));
+        config.clearProperty(KEY_PREFIX);
+        assertEquals(-1, config.getInt(KEY_PREFIX, -1));
+        assertNull(config.getInteger(KEY_PREFIX, null));
+    }
+
+    /**
+     * Tests whether the typed value cache can be enabled and disabled.
+     */
+    @Test
+    void testTypedValueCacheEnableDisable() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        assertFalse(config.isTypedValueCacheEnabled());
+        config.setTypedValueCacheEnabled(true);
+        assertTrue(config.isTypedValueCacheEnabled());
+        config.setTypedValueCacheEnabled(false);
+        assertFalse(config.isTypedValueCacheEnabled());
+    }
+
+    /**
+     * Tests that converted values are served from the typed value cache.
+     */
+    @Test
+    void testTypedValueCacheHit() {
+        final AtomicInteger counter = new AtomicInteger();
+        final AbstractConfiguration config = setUpCountingConfiguration(counter);
+        config.addProperty(KEY_PREFIX, "42");
+        config.setTypedValueCacheEnabled(true);
+        assertEquals(42, config.getInt(KEY_PREFIX));
+        assertEquals(42L, config.getLong(KEY_PREFIX));
+        final int accesses = counter.get();
+
+        assertEquals(42, config.getInt(KEY_PREFIX));
+        assertEquals(42, config.getInt(KEY_PREFIX, 0));
+        assertEquals(Long.valueOf(42), config.getLong(KEY_PREFIX, null));
+        assertEquals(accesses, counter.get());
+    }
+
+    /**
+     * Tests that values containing variables are not stored in the typed value cache.
+     */
+    @Test
+    void testTypedValueCacheInterpolatedValue() {
+        final AtomicInteger counter = new AtomicInteger();
+        final AbstractConfiguration config = setUpCountingConfiguration(counter);
+        config.addProperty("other", "42");
+        config.addProperty(KEY_PREFIX, "${other}");
+        config.setTypedValueCacheEnabled(true);
+        assertEquals(42, config.getInt(KEY_PREFIX));
+        final int accesses = counter.get();
+
+        assertEquals(42, config.getInt(KEY_PREFIX));
+        assertTrue(counter.get() > accesses);
+    }
+
+    /**
+     * Tests that the typed value cache is cleared if the conversion handler is replaced.
+     */
+    @Test
+    void testTypedValueCacheSetConversionHandler() {
+        final PropertiesConfiguration config = new PropertiesConfiguration();
+        config.addProperty(KEY_PREFIX, "42");
+        config.setTypedValueCacheEnabled(true);
+        assertEquals(42, config.getInt(KEY_PREFIX));
+
+        final ConversionHandler handler = mock(ConversionHandler.class);
+        when(handler.to("42", Integer.class, config.getInterpolator())).thenReturn(0);
+        config.setConversionHandler(handler);
+        assertEquals(0, config.getInt(KEY_PREFIX));
+    }
 }
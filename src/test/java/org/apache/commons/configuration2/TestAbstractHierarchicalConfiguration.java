@@ -30,12 +30,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
 import org.apache.commons.configuration2.event.ConfigurationEvent;
@@ -50,6 +54,8 @@ import org.apache.commons.configuration2.tree.InMemoryNodeModel;
 import org.apache.commons.configuration2.tree.NodeHandler;
 import org.apache.commons.configuration2.tree.NodeModel;
 import org.apache.commons.configuration2.tree.NodeStructureHelper;
+import org.apache.commons.configuration2.tree.NodeUpdateData;
+import org.apache.commons.configuration2.tree.QueryResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -236,6 +242,26 @@ public class TestAbstractHierarchicalConfiguration {
             .setIndexStart("[").setIndexEnd("]").create());
     }
 
+    /**
+     * Creates a configuration which records the keys passed to {@code fetchNodeList()}. The configuration contains a
+     * single property.
+     *
+     * @param fetchedKeys The list for storing the keys
+     * @return The configuration
+     */
+    private static BaseHierarchicalConfiguration createFetchRecordingConfiguration(final List<String> fetchedKeys) {
+        final BaseHierarchicalConfiguration conf = new BaseHierarchicalConfiguration() {
+            @Override
+            protected List<QueryResult<ImmutableNode>> fetchNodeList(final String key) {
+                fetchedKeys.add(key);
+                return super.fetchNodeList(key);
+            }
+        };
+        conf.addProperty("test.key", "value1");
+        fetchedKeys.clear();
+        return conf;
+    }
+
     /**
      * Convenience method for obtaining the root node of the test configuration.
      *
@@ -564,6 +590,78 @@ public class TestAbstractHierarchicalConfiguration {
         assertEquals("order.key3", it.next());
     }
 
+    /**
+     * Tests that the iteration over the keys is not affected by later changes of the configuration.
+     */
+    @Test
+    void testGetKeysSnapshot() {
+        final Iterator<String> it = config.getKeys();
+        config.clearTree("tables.table(0)");
+        config.addProperty("tables.table(0).size", "42");
+
+        final List<String> keys = new ArrayList<>();
+        it.forEachRemaining(keys::add);
+        assertEquals(Arrays.asList("tables.table.name", "tables.table.fields.field.name"), keys);
+    }
+
+    /**
+     * Tests whether a spliterator for the keys of the configuration can be obtained.
+     */
+    @Test
+    void testGetKeysSpliterator() {
+        final Spliterator<String> spliterator = config.getKeysSpliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        assertTrue(spliterator.hasCharacteristics(Spliterator.DISTINCT));
+        assertEquals(Arrays.asList("tables.table.name", "tables.table.fields.field.name"),
+            StreamSupport.stream(spliterator, false).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests whether the keys of the configuration can be processed by a parallel stream.
+     */
+    @Test
+    void testGetKeysSpliteratorParallel() {
+        for (int i = 0; i < 100; i++) {
+            config.addProperty("section" + i + ".key", i);
+            config.addProperty("section" + i + "[@attr]", i);
+            config.addProperty("section" + i + ".list.item(-1)", i);
+            config.addProperty("section" + i + ".list.item(-1)", i);
+        }
+        config.addProperty("section0.other", "test");
+        final List<String> keys = new ArrayList<>();
+        config.getKeys().forEachRemaining(keys::add);
+
+        assertEquals(keys, StreamSupport.stream(config.getKeysSpliterator(), true).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests whether a spliterator for the keys starting with a prefix can be obtained.
+     */
+    @Test
+    void testGetKeysSpliteratorPrefix() {
+        config.addProperty("tables.table(0)[@type]", "system");
+        assertEquals(Arrays.asList("tables.table(0).name", "tables.table(0).fields.field.name", "tables.table(0)[@type]"),
+            StreamSupport.stream(config.getKeysSpliterator("tables.table(0)"), false).collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests whether the spliterator for the keys can be split. The parts must not contain the same keys.
+     */
+    @Test
+    void testGetKeysSpliteratorSplit() {
+        config.addProperty("connections.connection.url", "url");
+        final Spliterator<String> spliterator = config.getKeysSpliterator();
+        final Spliterator<String> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+
+        final List<String> keys = new ArrayList<>();
+        prefix.forEachRemaining(keys::add);
+        assertEquals(Arrays.asList("tables.table.name", "tables.table.fields.field.name"), keys);
+        keys.clear();
+        spliterator.forEachRemaining(keys::add);
+        assertEquals(Arrays.asList("connections.connection.url"), keys);
+    }
+
     @Test
     void testGetKeysString() {
         // add some more properties to make it more interesting
@@ -903,6 +1001,45 @@ public class TestAbstractHierarchicalConfiguration {
     /**
      * Tests setting a custom expression engine, which uses a slightly different syntax.
      */
+    /**
+     * Tests resolveUpdateKey() for the current root node of the configuration. Here the query is done by
+     * {@code fetchNodeList()}.
+     */
+    @Test
+    void testResolveUpdateKeyCurrentRoot() {
+        final List<String> fetchedKeys = new ArrayList<>();
+        final BaseHierarchicalConfiguration conf = createFetchRecordingConfiguration(fetchedKeys);
+        final NodeHandler<ImmutableNode> handler = conf.getModel().getNodeHandler();
+
+        final NodeUpdateData<ImmutableNode> data = conf.resolveUpdateKey(handler.getRootNode(), "test.key", "value2", handler);
+        assertEquals(Collections.singletonList("test.key"), fetchedKeys);
+        assertEquals(1, data.getChangedValues().size());
+        assertEquals("value2", data.getChangedValues().values().iterator().next());
+        assertTrue(data.getNewValues().isEmpty());
+        assertTrue(data.getRemovedNodes().isEmpty());
+    }
+
+    /**
+     * Tests resolveUpdateKey() for a root node which is not the current root node of the configuration. The query has to
+     * be executed on the passed in structure rather than on the current one.
+     */
+    @Test
+    void testResolveUpdateKeyOtherRoot() {
+        final List<String> fetchedKeys = new ArrayList<>();
+        final BaseHierarchicalConfiguration conf = createFetchRecordingConfiguration(fetchedKeys);
+        final NodeHandler<ImmutableNode> handler = conf.getModel().getNodeHandler();
+        final ImmutableNode node = handler.getRootNode().getChildren().get(0).getChildren().get(0);
+        conf.addProperty("test.key", "value2");
+        fetchedKeys.clear();
+
+        final NodeUpdateData<ImmutableNode> data = conf.resolveUpdateKey(handler.getRootNode(), "test.key", "value3", handler);
+        assertTrue(fetchedKeys.isEmpty());
+        assertEquals(1, data.getChangedValues().size());
+        assertSame(node, data.getChangedValues().keySet().iterator().next().getNode());
+        assertTrue(data.getNewValues().isEmpty());
+        assertTrue(data.getRemovedNodes().isEmpty());
+    }
+
     @Test
     void testSetExpressionEngine() {
         config.setExpressionEngine(null);
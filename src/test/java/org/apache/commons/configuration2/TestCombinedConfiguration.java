@@ -30,12 +30,15 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration2.SynchronizerTestImpl.Methods;
@@ -666,6 +669,41 @@ public class TestCombinedConfiguration {
         assertEquals("3,1415", config.getString("test.pi"));
     }
 
+    /**
+     * Tests whether the combined node structure can be constructed using a fork-join pool.
+     */
+    @Test
+    void testForkJoinPool() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            config.setNodeCombiner(new OverrideCombiner());
+            config.setForkJoinPool(pool);
+            assertSame(pool, config.getForkJoinPool());
+            final List<BaseConfiguration> children = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                final BaseConfiguration child = new BaseConfiguration();
+                child.addProperty("key" + i, i);
+                child.addProperty("shared", i);
+                children.add(child);
+                config.addConfiguration(child);
+            }
+            assertEquals(0, config.getInt("shared"));
+            assertEquals(7, config.getInt("key7"));
+
+            children.get(4).setProperty("key4", "changed");
+            children.get(0).clearProperty("shared");
+            assertEquals("changed", config.getString("key4"));
+            assertEquals(1, config.getInt("shared"));
+
+            config.setForkJoinPool(null);
+            assertNull(config.getForkJoinPool());
+            config.invalidate();
+            assertEquals("changed", config.getString("key4"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Tests whether access to a configuration by index is correctly synchronized.
      */
@@ -919,6 +957,53 @@ public class TestCombinedConfiguration {
         assertEquals(config, cc.getSource(TEST_KEY));
     }
 
+    /**
+     * Tests that only the changed child configuration and the ones after it are combined again.
+     */
+    @Test
+    void testIncrementalRecombination() {
+        final AtomicInteger combineCount = new AtomicInteger();
+        config.setNodeCombiner(new OverrideCombiner() {
+            @Override
+            public ImmutableNode combine(final ImmutableNode node1, final ImmutableNode node2) {
+                combineCount.incrementAndGet();
+                return super.combine(node1, node2);
+            }
+        });
+        final BaseHierarchicalConfiguration[] children = new BaseHierarchicalConfiguration[3];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new BaseHierarchicalConfiguration();
+            children[i].addProperty("key" + i, i);
+            children[i].addProperty("shared", i);
+            config.addConfiguration(children[i]);
+        }
+        assertEquals(0, config.getInt("shared"));
+        assertEquals(2, combineCount.getAndSet(0));
+
+        children[2].setProperty("key2", "changed");
+        assertEquals("changed", config.getString("key2"));
+        assertEquals(1, combineCount.getAndSet(0));
+
+        children[0].clearProperty("shared");
+        assertEquals(1, config.getInt("shared"));
+        assertEquals(2, combineCount.getAndSet(0));
+
+        final BaseHierarchicalConfiguration child = new BaseHierarchicalConfiguration();
+        child.addProperty("key3", 3);
+        config.addConfiguration(child);
+        assertEquals(3, config.getInt("key3"));
+        assertEquals(1, combineCount.getAndSet(0));
+
+        config.removeConfigurationAt(1);
+        assertEquals(2, config.getInt("shared"));
+        assertFalse(config.containsKey("key1"));
+        assertEquals(2, combineCount.getAndSet(0));
+
+        config.invalidate();
+        assertEquals(0, config.getInt("key0"));
+        assertEquals(2, combineCount.getAndSet(0));
+    }
+
     /**
      * Tests accessing a newly created combined configuration.
      */
@@ -973,6 +1058,78 @@ public class TestCombinedConfiguration {
         sync.verify(Methods.BEGIN_WRITE, Methods.END_WRITE, Methods.BEGIN_READ, Methods.END_READ, Methods.BEGIN_WRITE, Methods.END_WRITE);
     }
 
+    /**
+     * Tests that the overlay mode has no effect if the node combiner is not an override combiner.
+     */
+    @Test
+    void testOverlayModeOtherCombiner() {
+        config.setOverlayEnabled(true);
+        config.addConfiguration(setUpTestConfiguration());
+        config.addProperty("new.key", "value");
+        assertEquals("value", config.getString("new.key"));
+        assertTrue(config.getBoolean(TEST_KEY));
+    }
+
+    /**
+     * Tests whether properties are queried on the overlay of the child configurations in overlay mode.
+     */
+    @Test
+    void testOverlayModeQueries() {
+        final BaseHierarchicalConfiguration c1 = new BaseHierarchicalConfiguration();
+        c1.addProperty("gui.background", "blue");
+        c1.addProperty("gui.position", "(10, 10)");
+        final PropertiesConfiguration c2 = new PropertiesConfiguration();
+        c2.addProperty("gui.background", "black");
+        c2.addProperty("gui.foreground", "white");
+        c2.addProperty("home.dir", "/data");
+        config.setNodeCombiner(new OverrideCombiner());
+        config.setOverlayEnabled(true);
+        assertTrue(config.isOverlayEnabled());
+        config.addConfiguration(c1);
+        config.addConfiguration(c2);
+
+        assertEquals("blue", config.getString("gui.background"));
+        assertEquals("white", config.getString("gui.foreground"));
+        assertEquals("/data", config.getString("home.dir"));
+        assertTrue(config.containsKey("gui.position"));
+        assertFalse(config.containsKey("gui.unknown"));
+        assertEquals(0, config.getMaxIndex("gui.background"));
+
+        c1.clearProperty("gui.background");
+        assertEquals("black", config.getString("gui.background"));
+        final Set<String> keys = new HashSet<>();
+        config.getKeys().forEachRemaining(keys::add);
+        assertEquals(new HashSet<>(Arrays.asList("gui.position", "gui.background", "gui.foreground", "home.dir")), keys);
+    }
+
+    /**
+     * Tests that the properties of the configuration cannot be updated in overlay mode.
+     */
+    @Test
+    void testOverlayModeReadOnly() {
+        config.setNodeCombiner(new OverrideCombiner());
+        config.setOverlayEnabled(true);
+        config.addConfiguration(setUpTestConfiguration());
+        assertThrows(UnsupportedOperationException.class, () -> config.addProperty("new.key", "value"));
+        assertThrows(UnsupportedOperationException.class, () -> config.setProperty(TEST_KEY, Boolean.FALSE));
+        assertThrows(UnsupportedOperationException.class, () -> config.clearProperty(TEST_KEY));
+        assertThrows(UnsupportedOperationException.class, () -> config.clearTree("test"));
+        assertThrows(UnsupportedOperationException.class, () -> config.update(batch -> batch.setProperty(TEST_KEY, Boolean.FALSE), false));
+        assertTrue(config.getBoolean(TEST_KEY));
+    }
+
+    /**
+     * Tests that querying a property in overlay mode does not construct the combined node structure.
+     */
+    @Test
+    void testOverlayModeSynchronized() {
+        config.setNodeCombiner(new OverrideCombiner());
+        config.setOverlayEnabled(true);
+        final SynchronizerTestImpl sync = setUpSynchronizerTest();
+        assertEquals(TEST_NAME, config.getProperty(TEST_KEY));
+        sync.verify(Methods.BEGIN_READ, Methods.END_READ);
+    }
+
     /**
      * Tests removing a configuration.
      */
@@ -28,7 +28,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.configuration2.SynchronizerTestImpl.Methods;
 import org.apache.commons.configuration2.builder.BuilderConfigurationWrapperFactory;
@@ -41,6 +43,7 @@ import org.apache.commons.configuration2.builder.combined.MultiFileConfiguration
 import org.apache.commons.configuration2.builder.combined.ReloadingCombinedConfigurationBuilder;
 import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
 import org.apache.commons.configuration2.interpol.Lookup;
@@ -204,6 +207,23 @@ public class TestDynamicCombinedConfiguration {
         output.setLastModified(System.currentTimeMillis());
     }
 
+    /**
+     * Creates a configuration whose key pattern evaluates to the value stored in the given array. It contains a single
+     * child configuration with one property.
+     *
+     * @param tenant the array holding the current key
+     * @param child the child configuration
+     * @return The configuration
+     */
+    private DynamicCombinedConfiguration createTenantConfiguration(final String[] tenant, final Configuration child) {
+        final DynamicCombinedConfiguration config = new DynamicCombinedConfiguration();
+        config.getInterpolator().registerLookup("tenant", key -> tenant[0]);
+        config.setKeyPattern("${tenant:id}");
+        child.addProperty("key", "value");
+        config.addConfiguration(child);
+        return config;
+    }
+
     /**
      * Prepares a test for calling the Synchronizer. This method creates a test Synchronizer, installs it at the
      * configuration and returns it.
@@ -231,6 +251,157 @@ public class TestDynamicCombinedConfiguration {
         sync.verify(Methods.BEGIN_WRITE, Methods.END_WRITE);
     }
 
+    /**
+     * Tests whether child configurations which have not been used within the idle timeout are evicted.
+     */
+    @Test
+    void testCacheIdleTimeout() throws InterruptedException {
+        final String[] tenant = {"a"};
+        final DynamicCombinedConfiguration config = createTenantConfiguration(tenant, new PropertiesConfiguration());
+        config.setCacheIdleTimeout(Duration.ofMillis(1));
+        assertEquals(Duration.ofMillis(1), config.getCacheIdleTimeout());
+
+        assertEquals("value", config.getString("key"));
+        Thread.sleep(10);
+        assertEquals("value", config.getString("key"));
+        assertEquals(0, config.getCacheHitCount());
+        // the first miss is caused by adding the child configuration
+        assertEquals(3, config.getCacheMissCount());
+        assertEquals(1, config.getCacheEvictionCount());
+        assertEquals(1, config.getCacheSize());
+    }
+
+    /**
+     * Tests that a child configuration evicted from the cache is not detached while it is still used by a thread.
+     */
+    @Test
+    void testCacheEvictionConfigurationInUse() {
+        final String[] tenant = {"a"};
+        final PropertiesConfiguration child = new PropertiesConfiguration();
+        final DynamicCombinedConfiguration config = createTenantConfiguration(tenant, child);
+        final int listenerCount = child.getEventListeners(ConfigurationEvent.ANY).size();
+        config.setMaxCacheSize(1);
+
+        config.callWithKey("a", () -> {
+            assertEquals("value", config.getString("key"));
+            assertEquals("value", config.callWithKey("b", () -> config.getString("key")));
+            assertEquals(1, config.getCacheSize());
+            assertEquals(1, config.getCacheEvictionCount());
+            assertEquals(listenerCount + 2, child.getEventListeners(ConfigurationEvent.ANY).size());
+            assertEquals("value", config.getString("key"));
+            return null;
+        });
+        assertEquals(listenerCount + 1, child.getEventListeners(ConfigurationEvent.ANY).size());
+    }
+
+    /**
+     * Tests that child configurations cached while the cache is not limited are handled correctly when a limit is set.
+     */
+    @Test
+    void testCacheLimitSetLater() {
+        final String[] tenant = {"a"};
+        final PropertiesConfiguration child = new PropertiesConfiguration();
+        final DynamicCombinedConfiguration config = createTenantConfiguration(tenant, child);
+        final int listenerCount = child.getEventListeners(ConfigurationEvent.ANY).size();
+        assertEquals("value", config.getString("key"));
+        assertEquals("value", config.getString("key"));
+        assertEquals(1, config.getCacheHitCount());
+
+        config.setCacheIdleTimeout(Duration.ofHours(1));
+        config.setMaxCacheSize(1);
+        assertEquals(1, config.getCacheSize());
+        assertEquals(0, config.getCacheEvictionCount());
+        tenant[0] = "b";
+        assertEquals("value", config.getString("key"));
+        assertEquals(1, config.getCacheSize());
+        assertEquals(1, config.getCacheEvictionCount());
+        assertEquals(listenerCount + 1, child.getEventListeners(ConfigurationEvent.ANY).size());
+    }
+
+    /**
+     * Tests whether the least recently used child configurations are evicted if the maximum cache size is exceeded.
+     */
+    @Test
+    void testCacheMaxSize() {
+        final String[] tenant = new String[1];
+        final PropertiesConfiguration child = new PropertiesConfiguration();
+        final DynamicCombinedConfiguration config = createTenantConfiguration(tenant, child);
+        final int listenerCount = child.getEventListeners(ConfigurationEvent.ANY).size();
+        config.setMaxCacheSize(2);
+        assertEquals(2, config.getMaxCacheSize());
+
+        for (final String t : new String[] {"a", "b", "a", "c", "a"}) {
+            tenant[0] = t;
+            assertEquals("value", config.getString("key"));
+        }
+        assertEquals(2, config.getCacheSize());
+        assertEquals(2, config.getCacheHitCount());
+        // the first miss is caused by adding the child configuration
+        assertEquals(4, config.getCacheMissCount());
+        assertEquals(1, config.getCacheEvictionCount());
+        assertEquals(listenerCount + 2, child.getEventListeners(ConfigurationEvent.ANY).size());
+
+        config.setMaxCacheSize(1);
+        assertEquals(1, config.getCacheSize());
+        assertEquals(2, config.getCacheEvictionCount());
+        assertEquals(listenerCount + 1, child.getEventListeners(ConfigurationEvent.ANY).size());
+    }
+
+    /**
+     * Tests whether the key pattern is evaluated only once for the operations executed by callWithCurrentKey().
+     */
+    @Test
+    void testCallWithCurrentKey() {
+        final AtomicInteger evaluations = new AtomicInteger();
+        final DynamicCombinedConfiguration config = new DynamicCombinedConfiguration();
+        config.getInterpolator().registerLookup("tenant", key -> "t" + evaluations.incrementAndGet());
+        config.setKeyPattern("${tenant:id}");
+        final PropertiesConfiguration child = new PropertiesConfiguration();
+        child.addProperty("key", "value");
+        config.addConfiguration(child);
+
+        final String result = config.callWithCurrentKey(() -> config.getString("key") + config.getString("key")
+            + config.callWithCurrentKey(() -> config.getString("key")));
+        assertEquals("valuevaluevalue", result);
+        assertEquals(1, evaluations.get());
+        assertEquals(1, config.getCacheSize());
+
+        config.getString("key");
+        assertEquals(2, evaluations.get());
+    }
+
+    /**
+     * Tests whether callWithKey() selects the child configuration for the given key without evaluating the key pattern.
+     */
+    @Test
+    void testCallWithKey() {
+        final String[] tenant = {"a"};
+        final DynamicCombinedConfiguration config = createTenantConfiguration(tenant, new PropertiesConfiguration());
+        config.callWithKey("b", () -> {
+            config.setProperty("key", "b-value");
+            return null;
+        });
+        assertEquals("value", config.getString("key"));
+        tenant[0] = "b";
+        assertEquals("b-value", config.getString("key"));
+        assertEquals("value", config.callWithKey("a", () -> config.getString("key")));
+    }
+
+    /**
+     * Tests a key pattern without variables.
+     */
+    @Test
+    void testConstantKeyPattern() {
+        final DynamicCombinedConfiguration config = new DynamicCombinedConfiguration();
+        config.setKeyPattern("fixed");
+        final PropertiesConfiguration child = new PropertiesConfiguration();
+        child.addProperty("key", "value");
+        config.addConfiguration(child);
+        assertEquals("value", config.getString("key"));
+        assertEquals("value", config.callWithKey("fixed", () -> config.getString("key")));
+        assertEquals(1, config.getCacheSize());
+    }
+
     @Test
     void testConcurrentGetAndReload() throws Exception {
         System.getProperties().remove("Id");
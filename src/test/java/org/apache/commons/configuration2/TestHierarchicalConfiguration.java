@@ -17,19 +17,23 @@
 package org.apache.commons.configuration2;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
 import org.apache.commons.configuration2.ex.ConfigurationRuntimeException;
 import org.apache.commons.configuration2.tree.DefaultConfigurationKey;
 import org.apache.commons.configuration2.tree.DefaultExpressionEngine;
+import org.apache.commons.configuration2.tree.DefaultExpressionEngineSymbols;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.commons.configuration2.tree.NodeStructureHelper;
 import org.junit.jupiter.api.BeforeEach;
@@ -462,6 +466,82 @@ public class TestHierarchicalConfiguration {
         assertEquals("value", sub2.getString("[@attr]"));
     }
 
+    /**
+     * Tests that the key index takes the current expression engine into account.
+     */
+    @Test
+    void testKeyIndexExpressionEngineChanged() {
+        config.setKeyIndexEnabled(true);
+        assertEquals(NodeStructureHelper.table(0), config.getString("tables.table(0).name"));
+        config.setExpressionEngine(new DefaultExpressionEngine(
+            new DefaultExpressionEngineSymbols.Builder(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS).setPropertyDelimiter("/").create()));
+        assertNull(config.getString("tables.table(0).name"));
+        assertEquals(NodeStructureHelper.table(0), config.getString("tables/table(0)/name"));
+    }
+
+    /**
+     * Tests that the key index still answers queries correctly if more keys are queried than it can hold.
+     */
+    @Test
+    void testKeyIndexManyKeys() {
+        config.setKeyIndexEnabled(true);
+        final String key = "tables.table(0).name";
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(NodeStructureHelper.table(0), config.getString(key));
+            assertFalse(config.containsKey("unknown.key" + i));
+        }
+        assertEquals(NodeStructureHelper.table(0), config.getString(key));
+    }
+
+    /**
+     * Tests whether sub configurations inherit the key index setting from their parent and see updates of the parent.
+     */
+    @Test
+    void testKeyIndexSubConfiguration() {
+        config.setKeyIndexEnabled(true);
+        final HierarchicalConfiguration<ImmutableNode> sub = config.configurationAt("tables.table(1)", true);
+        assertTrue(((BaseHierarchicalConfiguration) sub).isKeyIndexEnabled());
+        assertEquals(NodeStructureHelper.table(1), sub.getString("name"));
+        config.setProperty("tables.table(1).name", NEW_NAME);
+        assertEquals(NEW_NAME, sub.getString("name"));
+    }
+
+    /**
+     * Tests whether the key index reflects updates of the configuration.
+     */
+    @Test
+    void testKeyIndexUpdates() {
+        assertFalse(config.isKeyIndexEnabled());
+        config.setKeyIndexEnabled(true);
+        final String key = "tables.table(0).name";
+        assertEquals(NodeStructureHelper.table(0), config.getString(key));
+        assertEquals(NodeStructureHelper.table(0), config.getString(key));
+        config.setProperty(key, NEW_NAME);
+        assertEquals(NEW_NAME, config.getString(key));
+        config.addProperty("tables.table(0).name", "other");
+        assertEquals(1, config.getMaxIndex(key));
+        assertFalse(config.containsKey("new.key"));
+        config.addProperty("new.key", Boolean.TRUE);
+        assertTrue(config.getBoolean("new.key"));
+        config.clearTree("tables");
+        assertFalse(config.containsKey(key));
+        config.setKeyIndexEnabled(false);
+        assertTrue(config.containsKey("new.key"));
+    }
+
+    /**
+     * Tests for which configurations optimistic reads are supported.
+     */
+    @Test
+    void testOptimisticReadSupported() {
+        assertTrue(config.isOptimisticReadSupported());
+        assertFalse(new BaseConfiguration().isOptimisticReadSupported());
+        assertFalse(new CombinedConfiguration().isOptimisticReadSupported());
+        assertFalse(new DynamicCombinedConfiguration().isOptimisticReadSupported());
+        assertFalse(new PatternSubtreeConfigurationWrapper(config, "tables").isOptimisticReadSupported());
+        assertTrue(((BaseHierarchicalConfiguration) config.configurationAt("tables.table(0)", true)).isOptimisticReadSupported());
+    }
+
     @Test
     void testSubset() {
         // test the subset on the first table
@@ -536,4 +616,73 @@ public class TestHierarchicalConfiguration {
         assertEquals(NodeStructureHelper.field(0, 0), subset.getString("field(0).name"));
         assertEquals("My fields", subset.getString(""));
     }
+
+    /**
+     * Tests whether a batch of update operations can be executed.
+     */
+    @Test
+    void testUpdateBatch() {
+        config.setListDelimiterHandler(new DefaultListDelimiterHandler(','));
+        config.update(batch -> batch.addProperty("batch.list", "a,b").addProperty("batch.value", 1).setProperty("batch.value", 2)
+            .setProperty("tables.table(0).name", "changed").clearTree("tables.table(1)"));
+        assertEquals(Arrays.asList("a", "b"), config.getList("batch.list"));
+        assertEquals(Collections.singletonList("2"), config.getList(String.class, "batch.value"));
+        assertEquals("changed", config.getString("tables.table(0).name"));
+        assertEquals(0, config.getMaxIndex("tables.table"));
+    }
+
+    /**
+     * Tests that a batch update is applied directly to the node model if the configuration class does not opt out. Then
+     * the methods for single updates are not called.
+     */
+    @Test
+    void testUpdateBatchDirect() {
+        final List<String> keys = new ArrayList<>();
+        final BaseHierarchicalConfiguration custom = new BaseHierarchicalConfiguration() {
+            @Override
+            protected void addPropertyInternal(final String key, final Object obj) {
+                keys.add(key);
+                super.addPropertyInternal(key, obj);
+            }
+        };
+        custom.update(batch -> batch.addProperty("a", 1).addProperty("b", 2));
+        assertTrue(keys.isEmpty());
+        assertEquals(2, custom.getInt("b"));
+    }
+
+    /**
+     * Tests a batch update on a configuration class overriding the methods for single updates. If the class opts out of
+     * direct batch updates, these methods have to be called.
+     */
+    @Test
+    void testUpdateBatchOverriddenUpdateMethods() {
+        final List<String> keys = new ArrayList<>();
+        final BaseHierarchicalConfiguration custom = new BaseHierarchicalConfiguration() {
+            @Override
+            protected void addPropertyInternal(final String key, final Object obj) {
+                keys.add(key);
+                super.addPropertyInternal(key, obj);
+            }
+
+            @Override
+            protected boolean isDirectBatchUpdateSupported() {
+                return false;
+            }
+        };
+        custom.update(batch -> batch.addProperty("a", 1).addProperty("b", 2).clearProperty("a"));
+        assertEquals(Arrays.asList("a", "b"), keys);
+        assertFalse(custom.containsKey("a"));
+        assertEquals(2, custom.getInt("b"));
+    }
+
+    /**
+     * Tests a batch update on a sub configuration connected to its parent.
+     */
+    @Test
+    void testUpdateBatchSubConfiguration() {
+        final HierarchicalConfiguration<ImmutableNode> sub = config.configurationAt("tables.table(0)", true);
+        ((BaseHierarchicalConfiguration) sub).update(batch -> batch.setProperty("name", "subName").addProperty("newProp", "value"));
+        assertEquals("subName", config.getString("tables.table(0).name"));
+        assertEquals("value", config.getString("tables.table(0).newProp"));
+    }
 }
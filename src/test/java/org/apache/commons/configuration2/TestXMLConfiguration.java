@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -1018,6 +1019,20 @@ public class TestXMLConfiguration {
         assertEquals(Arrays.asList("a || (b && c) | !d"), expr);
     }
 
+    /**
+     * Tests that nodes and attributes with the same name share a single name instance after loading.
+     */
+    @Test
+    void testNodeNamesShared() throws ConfigurationException {
+        final String xml = "<config><item id='1'>a</item><item id='2'>b</item></config>";
+        conf = new XMLConfiguration();
+        new FileHandler(conf).load(new StringReader(xml));
+        final List<ImmutableNode> items = conf.getNodeModel().getNodeHandler().getRootNode().getChildren();
+        assertEquals(2, items.size());
+        assertSame(items.get(0).getNodeName(), items.get(1).getNodeName());
+        assertSame(items.get(0).getAttributes().keySet().iterator().next(), items.get(1).getAttributes().keySet().iterator().next());
+    }
+
     /**
      * Tests whether an attribute value can be overridden.
      */
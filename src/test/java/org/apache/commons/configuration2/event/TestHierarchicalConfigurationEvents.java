@@ -115,4 +115,33 @@ public class TestHierarchicalConfigurationEvents extends AbstractTestConfigurati
         sub.addProperty("newProp", "newValue");
         listener.done();
     }
+
+    /**
+     * Tests the events generated by a batch update if events are coalesced.
+     */
+    @Test
+    void testUpdateBatchCoalescedEvents() {
+        final BaseHierarchicalConfiguration hc = (BaseHierarchicalConfiguration) config;
+        hc.update(batch -> batch.addProperty(TEST_PROPNAME, "old").setProperty(TEST_PROPNAME, TEST_PROPVALUE).clearProperty("other"), true);
+        listener.checkEvent(ConfigurationEvent.SET_PROPERTY, TEST_PROPNAME, TEST_PROPVALUE, true);
+        listener.checkEvent(ConfigurationEvent.CLEAR_PROPERTY, "other", null, true);
+        listener.checkEvent(ConfigurationEvent.SET_PROPERTY, TEST_PROPNAME, TEST_PROPVALUE, false);
+        listener.checkEvent(ConfigurationEvent.CLEAR_PROPERTY, "other", null, false);
+        listener.done();
+    }
+
+    /**
+     * Tests the events generated by a batch update.
+     */
+    @Test
+    void testUpdateBatchEvents() {
+        final BaseHierarchicalConfiguration hc = (BaseHierarchicalConfiguration) config;
+        hc.update(batch -> batch.addProperty(TEST_PROPNAME, "old").setProperty(TEST_PROPNAME, TEST_PROPVALUE));
+        listener.checkEvent(ConfigurationEvent.ADD_PROPERTY, TEST_PROPNAME, "old", true);
+        listener.checkEvent(ConfigurationEvent.SET_PROPERTY, TEST_PROPNAME, TEST_PROPVALUE, true);
+        listener.checkEvent(ConfigurationEvent.ADD_PROPERTY, TEST_PROPNAME, "old", false);
+        listener.checkEvent(ConfigurationEvent.SET_PROPERTY, TEST_PROPNAME, TEST_PROPVALUE, false);
+        listener.done();
+        assertEquals(TEST_PROPVALUE, config.getString(TEST_PROPNAME));
+    }
 }
@@ -43,6 +43,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.apache.commons.text.lookup.StringLookupFactory;
@@ -98,6 +100,20 @@ public class TestConfigurationInterpolator {
         }
     }
 
+    /**
+     * Creates a lookup object which resolves variables from the given map and counts its invocations.
+     *
+     * @param data The map with the values of variables
+     * @param counter The counter for invocations
+     * @return The test lookup object
+     */
+    private static Lookup setUpCountingLookup(final Map<String, Object> data, final AtomicInteger counter) {
+        return var -> {
+            counter.incrementAndGet();
+            return data.get(var);
+        };
+    }
+
     /**
      * Creates a lookup object that can resolve the test variable (and nothing else).
      *
@@ -459,6 +475,131 @@ public class TestConfigurationInterpolator {
         assertEquals(value, interpolator.interpolate(value));
     }
 
+    /**
+     * Tests that the interpolation cache is cleared if the data of a cacheable lookup has changed.
+     */
+    @Test
+    void testInterpolationCacheClear() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(TEST_NAME, TEST_VALUE);
+        final Lookup lookup = setUpCountingLookup(data, new AtomicInteger());
+        interpolator.addDefaultLookup(lookup);
+        interpolator.enableInterpolationCache(Collections.singleton(lookup));
+        final String value = "${" + TEST_NAME + "}";
+        assertEquals(TEST_VALUE, interpolator.interpolate(value));
+
+        data.put(TEST_NAME, "newValue");
+        assertEquals(TEST_VALUE, interpolator.interpolate(value));
+        interpolator.clearInterpolationCache();
+        assertEquals("newValue", interpolator.interpolate(value));
+    }
+
+    /**
+     * Tests whether the interpolation cache can be enabled and disabled.
+     */
+    @Test
+    void testInterpolationCacheEnableDisable() {
+        assertFalse(interpolator.isInterpolationCacheEnabled());
+        interpolator.enableInterpolationCache(null);
+        assertTrue(interpolator.isInterpolationCacheEnabled());
+        interpolator.disableInterpolationCache();
+        assertFalse(interpolator.isInterpolationCacheEnabled());
+    }
+
+    /**
+     * Tests whether results resolved by cacheable lookups are cached.
+     */
+    @Test
+    void testInterpolationCacheHit() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(TEST_NAME, TEST_VALUE);
+        data.put("number", 42);
+        final AtomicInteger counter = new AtomicInteger();
+        final Lookup lookup = setUpCountingLookup(data, counter);
+        interpolator.addDefaultLookup(lookup);
+        interpolator.enableInterpolationCache(Collections.singleton(lookup));
+
+        final String value = "Value: ${" + TEST_NAME + "}";
+        assertEquals("Value: " + TEST_VALUE, interpolator.interpolate(value));
+        final int count = counter.get();
+        assertEquals("Value: " + TEST_VALUE, interpolator.interpolate(value));
+        assertEquals(Integer.valueOf(42), interpolator.interpolate("${number}"));
+        assertEquals(Integer.valueOf(42), interpolator.interpolate("${number}"));
+        assertEquals(count + 1, counter.get());
+    }
+
+    /**
+     * Tests that results are not cached if a default lookup is queried that is not cacheable.
+     */
+    @Test
+    void testInterpolationCacheNonCacheableDefaultLookup() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(TEST_NAME, TEST_VALUE);
+        final AtomicInteger counter = new AtomicInteger();
+        final Lookup lookup = setUpCountingLookup(data, counter);
+        interpolator.addDefaultLookup(setUpTestLookup("other", "otherValue"));
+        interpolator.addDefaultLookup(lookup);
+        interpolator.enableInterpolationCache(Collections.singleton(lookup));
+
+        final String value = "${" + TEST_NAME + "}";
+        interpolator.interpolate(value);
+        final int count = counter.get();
+        assertEquals(TEST_VALUE, interpolator.interpolate(value));
+        assertEquals(2 * count, counter.get());
+    }
+
+    /**
+     * Tests that results are not cached if a variable is resolved by the parent interpolator.
+     */
+    @Test
+    void testInterpolationCacheParentInterpolator() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(TEST_NAME, TEST_VALUE);
+        final AtomicInteger counter = new AtomicInteger();
+        final ConfigurationInterpolator parent = new ConfigurationInterpolator();
+        parent.addDefaultLookup(setUpCountingLookup(data, counter));
+        interpolator.setParentInterpolator(parent);
+        interpolator.enableInterpolationCache(null);
+
+        final String value = "${" + TEST_NAME + "}";
+        interpolator.interpolate(value);
+        final int count = counter.get();
+        data.put(TEST_NAME, "newValue");
+        assertEquals("newValue", interpolator.interpolate(value));
+        assertEquals(2 * count, counter.get());
+    }
+
+    /**
+     * Tests that results are not cached if a variable is passed to a lookup registered for a prefix.
+     */
+    @Test
+    void testInterpolationCachePrefixLookup() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put(TEST_NAME, TEST_VALUE);
+        final AtomicInteger counter = new AtomicInteger();
+        interpolator.registerLookup(TEST_PREFIX, setUpCountingLookup(data, counter));
+        interpolator.enableInterpolationCache(null);
+
+        final String value = "${" + TEST_PREFIX + ':' + TEST_NAME + "}";
+        interpolator.interpolate(value);
+        final int count = counter.get();
+        data.put(TEST_NAME, "newValue");
+        assertEquals("newValue", interpolator.interpolate(value));
+        assertEquals(2 * count, counter.get());
+    }
+
+    /**
+     * Tests that registering a lookup clears the interpolation cache.
+     */
+    @Test
+    void testInterpolationCacheRegisterLookup() {
+        interpolator.enableInterpolationCache(null);
+        final String value = "${" + TEST_PREFIX + ':' + TEST_NAME + "}";
+        assertEquals(value, interpolator.interpolate(value));
+        interpolator.registerLookup(TEST_PREFIX, setUpTestLookup());
+        assertEquals(TEST_VALUE, interpolator.interpolate(value));
+    }
+
     /**
      * Tests an interpolated string that begins and ends with variable lookups that have
      * the potential to fail. Part of CONFIGURATION-764.
@@ -608,6 +749,76 @@ public class TestConfigurationInterpolator {
         assertEquals(value, interpolator.interpolate("${" + TEST_NAME + "}"));
     }
 
+    /**
+     * Tests that strings are interpolated correctly if more strings are interpolated than templates can be cached.
+     */
+    @Test
+    void testInterpolationTemplateCacheOverflow() {
+        interpolator.addDefaultLookup(var -> TEST_NAME.equals(var) ? TEST_VALUE : null);
+        final String frequent = "frequent ${" + TEST_NAME + "}";
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i + " = " + TEST_VALUE, interpolator.interpolate(i + " = ${" + TEST_NAME + "}"));
+            assertEquals("frequent " + TEST_VALUE, interpolator.interpolate(frequent));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i + " = " + TEST_VALUE, interpolator.interpolate(i + " = ${" + TEST_NAME + "}"));
+        }
+    }
+
+    /**
+     * Tests that variables which are escaped are not resolved when mixed with other variables.
+     */
+    @Test
+    void testInterpolationTemplateEscapedVariable() {
+        interpolator.addDefaultLookup(setUpTestLookup(TEST_NAME, TEST_VALUE));
+        assertEquals("${" + TEST_NAME + "} = " + TEST_VALUE, interpolator.interpolate("$${" + TEST_NAME + "} = ${" + TEST_NAME + "}"));
+    }
+
+    /**
+     * Tests that variable values which contain variables themselves are resolved recursively.
+     */
+    @Test
+    void testInterpolationTemplateRecursiveValue() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put("url", "jdbc:${host}");
+        data.put("host", "localhost");
+        interpolator.addDefaultLookup(setUpCountingLookup(data, new AtomicInteger()));
+        assertEquals("jdbc:localhost", interpolator.interpolate("${url}"));
+        assertEquals("url = jdbc:localhost", interpolator.interpolate("url = ${url}"));
+    }
+
+    /**
+     * Tests that the values of variables are resolved again if the same string is interpolated multiple times.
+     */
+    @Test
+    void testInterpolationTemplateReevaluated() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put("host", "localhost");
+        data.put("port", 5432);
+        interpolator.addDefaultLookup(setUpCountingLookup(data, new AtomicInteger()));
+        final String value = "jdbc:${host}:${port}/${name}";
+        assertEquals("jdbc:localhost:5432/${name}", interpolator.interpolate(value));
+
+        data.put("host", "remote");
+        data.put("name", "test");
+        assertEquals("jdbc:remote:5432/test", interpolator.interpolate(value));
+    }
+
+    /**
+     * Tests that every variable of a string is resolved only once.
+     */
+    @Test
+    void testInterpolationTemplateResolvesVariablesOnce() {
+        final Map<String, Object> data = new HashMap<>();
+        data.put("a", "1");
+        data.put("b", 2);
+        final AtomicInteger counter = new AtomicInteger();
+        interpolator.addDefaultLookup(setUpCountingLookup(data, counter));
+        assertEquals("1", interpolator.interpolate("${a}"));
+        assertEquals("1 + 2", interpolator.interpolate("${a} + ${b}"));
+        assertEquals(3, counter.get());
+    }
+
     /**
      * Tests a variable declaration which lacks the trailing closing bracket.
      */
@@ -804,6 +1015,89 @@ public class TestConfigurationInterpolator {
         assertNull(interpolator.resolve(null));
     }
 
+    /**
+     * Tests that changes on the lookup objects of parent interpolators are taken into account when resolving variables.
+     */
+    @Test
+    void testResolveParentChainChanged() {
+        final ConfigurationInterpolator parent = new ConfigurationInterpolator();
+        final ConfigurationInterpolator grandParent = new ConfigurationInterpolator();
+        interpolator.setParentInterpolator(parent);
+        parent.setParentInterpolator(grandParent);
+        grandParent.addDefaultLookup(setUpTestLookup());
+        assertEquals(TEST_VALUE, interpolator.resolve(TEST_NAME));
+        assertNull(interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+
+        parent.registerLookup(TEST_PREFIX, setUpTestLookup(TEST_NAME, "parentValue"));
+        assertEquals("parentValue", interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+        grandParent.removeDefaultLookup(grandParent.getDefaultLookups().get(0));
+        assertNull(interpolator.resolve(TEST_NAME));
+        parent.setParentInterpolator(null);
+        parent.deregisterLookup(TEST_PREFIX);
+        assertNull(interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+    }
+
+    /**
+     * Tests that the lookup objects of the current instance take precedence over the ones of the parent interpolators,
+     * even if they are registered for a prefix only known by a parent.
+     */
+    @Test
+    void testResolveParentChainOrder() {
+        final ConfigurationInterpolator parent = new ConfigurationInterpolator();
+        parent.registerLookup(TEST_PREFIX, name -> "parentValue");
+        interpolator.setParentInterpolator(parent);
+        interpolator.addDefaultLookup(setUpTestLookup(TEST_PREFIX + ':' + TEST_NAME, "defaultValue"));
+        assertEquals("defaultValue", interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+        assertEquals("parentValue", interpolator.resolve(TEST_PREFIX + ':' + "other"));
+    }
+
+    /**
+     * Tests that a parent interpolator overriding the resolve() method is invoked directly.
+     */
+    @Test
+    void testResolveParentOverridingResolve() {
+        final ConfigurationInterpolator parent = new ConfigurationInterpolator() {
+            @Override
+            public Object resolve(final String var) {
+                return "parent:" + var;
+            }
+        };
+        interpolator.setParentInterpolator(new ConfigurationInterpolator());
+        interpolator.getParentInterpolator().setParentInterpolator(parent);
+        assertEquals("parent:" + TEST_NAME, interpolator.resolve(TEST_NAME));
+    }
+
+    /**
+     * Tests that a parent interpolator of a derived class is only flattened into the resolution plan if it opts in.
+     * Otherwise, its overridden methods have to be called.
+     */
+    @Test
+    void testResolveParentSupportingResolutionPlan() {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicBoolean planSupported = new AtomicBoolean();
+        final ConfigurationInterpolator parent = new ConfigurationInterpolator() {
+            @Override
+            protected Lookup fetchLookupForPrefix(final String prefix) {
+                calls.incrementAndGet();
+                return super.fetchLookupForPrefix(prefix);
+            }
+
+            @Override
+            protected boolean isResolutionPlanSupported() {
+                return planSupported.get();
+            }
+        };
+        parent.registerLookup(TEST_PREFIX, setUpTestLookup());
+        interpolator.setParentInterpolator(parent);
+        assertEquals(TEST_VALUE, interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+        assertEquals(1, calls.get());
+
+        planSupported.set(true);
+        interpolator.setParentInterpolator(parent);
+        assertEquals(TEST_VALUE, interpolator.resolve(TEST_PREFIX + ':' + TEST_NAME));
+        assertEquals(1, calls.get());
+    }
+
     /**
      * Tests handling of a parent {@code ConfigurationInterpolator} if the variable can already be resolved by the current
      * instance.
@@ -126,6 +126,24 @@ public class TestExprLookup {
         //logger.removeAppender(app);
     }
 
+    /**
+     * Tests whether the variables used for the evaluation of expressions are updated when new variables are set.
+     */
+    @Test
+    void testLookupAfterSetVariables() {
+        final ExprLookup.Variables vars = new ExprLookup.Variables();
+        vars.add(new ExprLookup.Variable("Util", new Utility("Hello")));
+        final ExprLookup lookup = new ExprLookup(vars);
+        lookup.setInterpolator(new ConfigurationInterpolator());
+        assertEquals("Hello", lookup.lookup("Util.message"));
+        assertEquals("Hello", lookup.lookup("Util.message"));
+
+        final ExprLookup.Variables vars2 = new ExprLookup.Variables();
+        vars2.add(new ExprLookup.Variable("Util", new Utility("Goodbye")));
+        lookup.setVariables(vars2);
+        assertEquals("Goodbye", lookup.lookup("Util.message"));
+    }
+
     @Test
     void testLookupLog4j1() throws Exception {
         final ConsoleAppender app = new ConsoleAppender(new SimpleLayout());
@@ -192,4 +210,30 @@ public class TestExprLookup {
         lookup.setInterpolator(config.getInterpolator());
         assertNull(lookup.lookup("System.getProperty('undefined.property')"));
     }
+
+    /**
+     * Tests that an expression can assign temporary variables which are only visible during this evaluation.
+     */
+    @Test
+    void testLookupTemporaryVariable() {
+        final ExprLookup.Variables vars = new ExprLookup.Variables();
+        vars.add(new ExprLookup.Variable("Util", new Utility("Hello")));
+        final ExprLookup lookup = new ExprLookup(vars);
+        lookup.setInterpolator(new ConfigurationInterpolator());
+        assertEquals("Hello Hello", lookup.lookup("(x = Util.message) + ' ' + x"));
+        assertNull(lookup.lookup("x"));
+    }
+
+    /**
+     * Tests that expressions cannot modify the variables shared by all evaluations of the lookup.
+     */
+    @Test
+    void testLookupVariablesReadOnly() {
+        final ExprLookup.Variables vars = new ExprLookup.Variables();
+        vars.add(new ExprLookup.Variable("Util", new Utility("Hello")));
+        final ExprLookup lookup = new ExprLookup(vars);
+        lookup.setInterpolator(new ConfigurationInterpolator());
+        lookup.lookup("Util = 'other'");
+        assertEquals("Hello", lookup.lookup("Util.message"));
+    }
 }
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.jmh;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+
+/**
+ * A helper class for creating the test configurations used by the benchmarks in this package.
+ * <p>
+ * The generated configurations contain the requested number of keys organized in three levels: keys have the form
+ * {@code g<i>.s<j>.k<k>} with 100 keys per section and 100 sections per group. So the same data can be stored in a
+ * flat or in a hierarchical configuration. The value of a key is its running number. If interpolation is enabled, the
+ * values are defined as {@code ${base}<n>} with the property {@code base} set to <em>1</em>; they can therefore still
+ * be converted to numbers.
+ * </p>
+ */
+final class BenchmarkData {
+
+    /** The number of keys stored in a section. */
+    static final int KEYS_PER_SECTION = 100;
+
+    /** The number of sections stored in a group. */
+    static final int SECTIONS_PER_GROUP = 100;
+
+    /** The number of keys in a sample to be queried by benchmarks. */
+    static final int SAMPLE_SIZE = 1024;
+
+    /** The key of the property referenced by interpolated values. */
+    static final String BASE_KEY = "base";
+
+    /** The seed for the random generator selecting sample keys. */
+    private static final long SEED = 20261016L;
+
+    /**
+     * Creates a flat configuration with the given number of keys.
+     *
+     * @param keyCount the number of keys
+     * @param interpolated flag whether the values should contain variables
+     * @return the configuration
+     */
+    static BaseConfiguration createFlat(final int keyCount, final boolean interpolated) {
+        final BaseConfiguration config = new BaseConfiguration();
+        initBase(config, interpolated);
+        for (int i = 0; i < keyCount; i++) {
+            config.addProperty(key(i), value(i, interpolated));
+        }
+        return config;
+    }
+
+    /**
+     * Creates a hierarchical configuration with the given number of keys. The node structure is constructed directly
+     * to avoid the costs of adding properties one by one.
+     *
+     * @param keyCount the number of keys
+     * @param interpolated flag whether the values should contain variables
+     * @return the configuration
+     */
+    static BaseHierarchicalConfiguration createHierarchical(final int keyCount, final boolean interpolated) {
+        final BaseHierarchicalConfiguration config = new BaseHierarchicalConfiguration();
+        config.getNodeModel().setRootNode(createRoot(keyCount, interpolated));
+        return config;
+    }
+
+    /**
+     * Creates the root node for a hierarchical configuration with the given number of keys.
+     *
+     * @param keyCount the number of keys
+     * @param interpolated flag whether the values should contain variables
+     * @return the root node
+     */
+    static ImmutableNode createRoot(final int keyCount, final boolean interpolated) {
+        final ImmutableNode.Builder root = new ImmutableNode.Builder();
+        if (interpolated) {
+            root.addChild(new ImmutableNode.Builder().name(BASE_KEY).value("1").create());
+        }
+        int index = 0;
+        for (int g = 0; index < keyCount; g++) {
+            final ImmutableNode.Builder group = new ImmutableNode.Builder(SECTIONS_PER_GROUP).name("g" + g);
+            for (int s = 0; s < SECTIONS_PER_GROUP && index < keyCount; s++) {
+                final ImmutableNode.Builder section = new ImmutableNode.Builder(KEYS_PER_SECTION).name("s" + s);
+                for (int k = 0; k < KEYS_PER_SECTION && index < keyCount; k++, index++) {
+                    section.addChild(new ImmutableNode.Builder().name("k" + k).value(value(index, interpolated)).create());
+                }
+                group.addChild(section.create());
+            }
+            root.addChild(group.create());
+        }
+        return root.create();
+    }
+
+    /**
+     * Creates an XML configuration with the given number of keys. The configuration is loaded from a generated XML
+     * document, so that it has the same structure as if it was read from a file.
+     *
+     * @param keyCount the number of keys
+     * @param interpolated flag whether the values should contain variables
+     * @return the configuration
+     * @throws ConfigurationException if the document cannot be loaded
+     */
+    static XMLConfiguration createXml(final int keyCount, final boolean interpolated) throws ConfigurationException {
+        final StringBuilder xml = new StringBuilder(keyCount * 24);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?><config>");
+        if (interpolated) {
+            xml.append('<').append(BASE_KEY).append(">1</").append(BASE_KEY).append('>');
+        }
+        int index = 0;
+        for (int g = 0; index < keyCount; g++) {
+            xml.append("<g").append(g).append('>');
+            for (int s = 0; s < SECTIONS_PER_GROUP && index < keyCount; s++) {
+                xml.append("<s").append(s).append('>');
+                for (int k = 0; k < KEYS_PER_SECTION && index < keyCount; k++, index++) {
+                    xml.append("<k").append(k).append('>').append(value(index, interpolated)).append("</k").append(k).append('>');
+                }
+                xml.append("</s").append(s).append('>');
+            }
+            xml.append("</g").append(g).append('>');
+        }
+        xml.append("</config>");
+
+        final XMLConfiguration config = new XMLConfiguration();
+        new FileHandler(config).load(new StringReader(xml.toString()));
+        return config;
+    }
+
+    /**
+     * Creates a configuration of the given type.
+     *
+     * @param type the type of the configuration (<em>flat</em>, <em>hierarchical</em>, <em>indexed</em> (hierarchical with
+     *        the key index enabled), or <em>xml</em>)
+     * @param keyCount the number of keys
+     * @param interpolated flag whether the values should contain variables
+     * @return the configuration
+     * @throws ConfigurationException if the configuration cannot be created
+     */
+    static AbstractConfiguration create(final String type, final int keyCount, final boolean interpolated) throws ConfigurationException {
+        switch (type) {
+        case "flat":
+            return createFlat(keyCount, interpolated);
+        case "hierarchical":
+            return createHierarchical(keyCount, interpolated);
+        case "indexed":
+            final BaseHierarchicalConfiguration indexed = createHierarchical(keyCount, interpolated);
+            indexed.setKeyIndexEnabled(true);
+            return indexed;
+        case "xml":
+            return createXml(keyCount, interpolated);
+        default:
+            throw new IllegalArgumentException("Unsupported configuration type: " + type);
+        }
+    }
+
+    /**
+     * Initializes the base property referenced by interpolated values.
+     *
+     * @param config the configuration
+     * @param interpolated flag whether the values should contain variables
+     */
+    private static void initBase(final AbstractConfiguration config, final boolean interpolated) {
+        if (interpolated) {
+            config.addProperty(BASE_KEY, "1");
+        }
+    }
+
+    /**
+     * Returns the key with the given running number.
+     *
+     * @param index the index of the key
+     * @return the key
+     */
+    static String key(final int index) {
+        final int group = index / (KEYS_PER_SECTION * SECTIONS_PER_GROUP);
+        final int section = index / KEYS_PER_SECTION % SECTIONS_PER_GROUP;
+        return "g" + group + ".s" + section + ".k" + index % KEYS_PER_SECTION;
+    }
+
+    /**
+     * Returns a sample of randomly selected existing keys. The size of the sample is {@link #SAMPLE_SIZE}, which is a
+     * power of two, so that benchmarks can cycle through the keys using a bit mask.
+     *
+     * @param keyCount the number of keys in the configuration
+     * @return the sample keys
+     */
+    static String[] sampleKeys(final int keyCount) {
+        final Random random = new Random(SEED);
+        final String[] keys = new String[SAMPLE_SIZE];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(random.nextInt(keyCount));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the value of the key with the given running number.
+     *
+     * @param index the index of the key
+     * @param interpolated flag whether the value should contain a variable
+     * @return the value
+     */
+    static String value(final int index, final boolean interpolated) {
+        return interpolated ? "${" + BASE_KEY + "}" + index : String.valueOf(index);
+    }
+
+    private BenchmarkData() {
+        // utility class
+    }
+}
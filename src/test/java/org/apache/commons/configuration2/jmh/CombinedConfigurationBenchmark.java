@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.commons.configuration2.CombinedConfiguration;
+import org.apache.commons.configuration2.tree.MergeCombiner;
+import org.apache.commons.configuration2.tree.NodeCombiner;
+import org.apache.commons.configuration2.tree.OverrideCombiner;
+import org.apache.commons.configuration2.tree.UnionCombiner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link CombinedConfiguration}.
+ * <p>
+ * The combined configuration consists of a number of hierarchical child configurations. Each child defines a set of
+ * private keys below a node named after the child and a set of keys in a section shared by all children. The
+ * benchmarks measure property reads on the combined node structure and the costs of reconstructing this structure
+ * after an invalidation or a change of a child configuration.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CombinedConfigurationBenchmark {
+
+    /** The number of keys defined by each child configuration. */
+    private static final int KEYS_PER_CHILD = 1000;
+
+    /** The number of child configurations. */
+    @Param({"2", "10", "50"})
+    private int children;
+
+    /** The node combiner to be used. */
+    @Param({"union", "override", "merge"})
+    private String combiner;
+
+    /** The configuration under test. */
+    private CombinedConfiguration config;
+
+    /** The child configuration modified by the update benchmark. */
+    private BaseHierarchicalConfiguration lastChild;
+
+    /** The keys to be queried. */
+    private String[] keys;
+
+    /** The index of the next key to be queried. */
+    private int index;
+
+    /**
+     * Creates the {@code NodeCombiner} selected by the parameter.
+     *
+     * @return the {@code NodeCombiner}
+     */
+    private NodeCombiner createCombiner() {
+        switch (combiner) {
+        case "union":
+            return new UnionCombiner();
+        case "override":
+            return new OverrideCombiner();
+        case "merge":
+            return new MergeCombiner();
+        default:
+            throw new IllegalArgumentException("Unsupported combiner: " + combiner);
+        }
+    }
+
+    /**
+     * Returns the next key to be queried.
+     *
+     * @return the key
+     */
+    private String nextKey() {
+        return keys[index++ & BenchmarkData.SAMPLE_SIZE - 1];
+    }
+
+    @Benchmark
+    public String getString() {
+        return config.getString(nextKey());
+    }
+
+    @Benchmark
+    public String rebuild() {
+        config.invalidate();
+        return config.getString(nextKey());
+    }
+
+    @Benchmark
+    public String updateChild() {
+        lastChild.setProperty("shared.updated", index++);
+        return config.getString(nextKey());
+    }
+
+    @Setup
+    public void setUp() {
+        config = new CombinedConfiguration(createCombiner());
+        for (int i = 0; i < children; i++) {
+            final BaseHierarchicalConfiguration child = new BaseHierarchicalConfiguration();
+            for (int k = 0; k < KEYS_PER_CHILD; k++) {
+                child.addProperty("c" + i + ".k" + k, i * KEYS_PER_CHILD + k);
+                child.addProperty("shared.k" + k, i);
+            }
+            config.addConfiguration(child, "child" + i);
+            lastChild = child;
+        }
+
+        keys = new String[BenchmarkData.SAMPLE_SIZE];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 2 == 0 ? "c" + i % children + ".k" + i % KEYS_PER_CHILD : "shared.k" + i % KEYS_PER_CHILD;
+        }
+        config.getString(nextKey());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the single-threaded read paths of flat and hierarchical configurations.
+ * <p>
+ * The benchmarks query randomly selected existing keys through {@code getProperty()}, {@code getString()},
+ * {@code getInt()}, and {@code getList()}. They are parameterized by the configuration type, the number of keys, and
+ * whether the values have to be interpolated.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigurationReadBenchmark {
+
+    /** The type of the configuration under test. */
+    @Param({"flat", "hierarchical", "indexed", "xml"})
+    private String type;
+
+    /** The number of keys stored in the configuration. */
+    @Param({"1000", "100000", "1000000"})
+    private int keyCount;
+
+    /** A flag whether the values contain variables to be interpolated. */
+    @Param({"false", "true"})
+    private boolean interpolated;
+
+    /** The configuration under test. */
+    private AbstractConfiguration config;
+
+    /** The keys to be queried. */
+    private String[] keys;
+
+    /** The index of the next key to be queried. */
+    private int index;
+
+    @Benchmark
+    public int getInt() {
+        return config.getInt(nextKey());
+    }
+
+    @Benchmark
+    public int getIntMissing() {
+        return config.getInt(nextKey() + ".missing", 0);
+    }
+
+    @Benchmark
+    public List<Object> getList() {
+        return config.getList(nextKey());
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return config.getProperty(nextKey());
+    }
+
+    @Benchmark
+    public String getString() {
+        return config.getString(nextKey());
+    }
+
+    @Benchmark
+    public String getStringMissing() {
+        return config.getString(nextKey() + ".missing", null);
+    }
+
+    /**
+     * Returns the next key to be queried.
+     *
+     * @return the key
+     */
+    private String nextKey() {
+        return keys[index++ & BenchmarkData.SAMPLE_SIZE - 1];
+    }
+
+    @Setup
+    public void setUp() throws ConfigurationException {
+        config = BenchmarkData.create(type, keyCount, interpolated);
+        keys = BenchmarkData.sampleKeys(keyCount);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.interpol.ConfigurationInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link ConfigurationInterpolator#interpolate(Object)}.
+ * <p>
+ * The interpolator used by the benchmarks is the one of a configuration; it is optionally nested in a chain of parent
+ * interpolators, which is the case for instance for configurations that are part of a combined configuration.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InterpolationBenchmark {
+
+    /** The number of parent interpolators. */
+    @Param({"0", "3"})
+    private int parents;
+
+    /** The interpolator under test. */
+    private ConfigurationInterpolator interpolator;
+
+    @Benchmark
+    public Object compound() {
+        return interpolator.interpolate("jdbc:${db.host}:${db.port}/${db.name}");
+    }
+
+    @Benchmark
+    public Object parentVariable() {
+        return interpolator.interpolate("${parent.value}");
+    }
+
+    @Benchmark
+    public Object plain() {
+        return interpolator.interpolate("jdbc:localhost:5432/test");
+    }
+
+    @Benchmark
+    public Object prefixed() {
+        return interpolator.interpolate("${sys:java.version}");
+    }
+
+    @Benchmark
+    public Object singleVariable() {
+        return interpolator.interpolate("${db.host}");
+    }
+
+    @Setup
+    public void setUp() {
+        final BaseConfiguration config = new BaseConfiguration();
+        config.addProperty("db.host", "localhost");
+        config.addProperty("db.port", 5432);
+        config.addProperty("db.name", "test");
+        interpolator = config.getInterpolator();
+
+        ConfigurationInterpolator current = interpolator;
+        for (int i = 0; i < parents; i++) {
+            final BaseConfiguration parentConfig = new BaseConfiguration();
+            parentConfig.addProperty("parent.level", i);
+            final ConfigurationInterpolator parent = parentConfig.getInterpolator();
+            current.setParentInterpolator(parent);
+            current = parent;
+        }
+        final BaseConfiguration root = new BaseConfiguration();
+        root.addProperty("parent.value", "found");
+        current.setParentInterpolator(root.getInterpolator());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.sync.NoOpSynchronizer;
+import org.apache.commons.configuration2.sync.ReadWriteSynchronizer;
+import org.apache.commons.configuration2.sync.SnapshotSynchronizer;
+import org.apache.commons.configuration2.sync.StampedLockSynchronizer;
+import org.apache.commons.configuration2.sync.Synchronizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for concurrent reads on a configuration shared by multiple threads.
+ * <p>
+ * A single configuration instance is queried by 1 to 64 reader threads. The benchmarks are parameterized by the type
+ * of the configuration and the {@link Synchronizer} in use, so that the overhead of locking can be compared with
+ * unsynchronized access. Results are reported as throughput over all threads.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms2G", "-Xmx2G"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SynchronizerBenchmark {
+
+    /**
+     * The state shared between all reader threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedConfiguration {
+
+        /** The type of the configuration under test. */
+        @Param({"flat", "hierarchical"})
+        private String type;
+
+        /**
+         * The synchronizer to be used. The snapshot synchronizer is only accepted by hierarchical configurations; for flat
+         * configurations, the no-op synchronizer is used instead, which behaves the same for read operations.
+         */
+        @Param({"noop", "readwrite", "snapshot", "stamped"})
+        private String synchronizer;
+
+        /** The number of keys stored in the configuration. */
+        @Param({"10000"})
+        private int keyCount;
+
+        /** The configuration under test. */
+        private AbstractConfiguration config;
+
+        /**
+         * Creates the {@code Synchronizer} selected by the parameter.
+         *
+         * @return the {@code Synchronizer}
+         */
+        private Synchronizer createSynchronizer() {
+            switch (synchronizer) {
+            case "noop":
+                return NoOpSynchronizer.INSTANCE;
+            case "readwrite":
+                return new ReadWriteSynchronizer();
+            case "snapshot":
+                return "flat".equals(type) ? NoOpSynchronizer.INSTANCE : new SnapshotSynchronizer();
+            case "stamped":
+                return new StampedLockSynchronizer();
+            default:
+                throw new IllegalArgumentException("Unsupported synchronizer: " + synchronizer);
+            }
+        }
+
+        @Setup
+        public void setUp() throws ConfigurationException {
+            config = BenchmarkData.create(type, keyCount, false);
+            config.setSynchronizer(createSynchronizer());
+        }
+    }
+
+    /**
+     * The state of a single reader thread.
+     */
+    @State(Scope.Thread)
+    public static class Reader {
+
+        /** The keys to be queried by this thread. */
+        private String[] keys;
+
+        /** The index of the next key to be queried. */
+        private int index;
+
+        /**
+         * Returns the next key to be queried.
+         *
+         * @return the key
+         */
+        String nextKey() {
+            return keys[index++ & BenchmarkData.SAMPLE_SIZE - 1];
+        }
+
+        @Setup
+        public void setUp(final SharedConfiguration shared) {
+            keys = BenchmarkData.sampleKeys(shared.keyCount);
+            index = System.identityHashCode(this);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String read01(final SharedConfiguration shared, final Reader reader) {
+        return shared.config.getString(reader.nextKey());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String read04(final SharedConfiguration shared, final Reader reader) {
+        return shared.config.getString(reader.nextKey());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String read16(final SharedConfiguration shared, final Reader reader) {
+        return shared.config.getString(reader.nextKey());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public String read64(final SharedConfiguration shared, final Reader reader) {
+        return shared.config.getString(reader.nextKey());
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code BoundedCache}.
+ */
+public class TestBoundedCache {
+
+    /**
+     * Tests that computeIfAbsent() invokes the mapping function only for keys which are not cached.
+     */
+    @Test
+    void testComputeIfAbsent() {
+        final BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        final AtomicInteger calls = new AtomicInteger();
+        assertEquals(3, cache.computeIfAbsent("key", k -> {
+            calls.incrementAndGet();
+            return k.length();
+        }));
+        assertEquals(3, cache.computeIfAbsent("key", k -> {
+            calls.incrementAndGet();
+            return 0;
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Tests that entries which are accessed frequently stay in the cache while other entries are evicted.
+     */
+    @Test
+    void testEviction() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<>(4);
+        cache.put(0, "hot");
+        for (int i = 1; i < 100; i++) {
+            assertEquals("hot", cache.get(0));
+            cache.put(i, String.valueOf(i));
+        }
+        assertEquals("hot", cache.get(0));
+        assertEquals("99", cache.get(99));
+        assertNull(cache.get(1));
+    }
+
+    /**
+     * Tests get() for a key which is not cached.
+     */
+    @Test
+    void testGetUnknownKey() {
+        assertNull(new BoundedCache<String, String>(10).get("unknown"));
+    }
+
+    /**
+     * Tests that an invalid maximum size is rejected.
+     */
+    @Test
+    void testInvalidMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<>(0));
+    }
+
+    /**
+     * Tests that a cache with a maximum size of 1 works.
+     */
+    @Test
+    void testMaxSizeOne() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(1);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        assertEquals("3", cache.get("c"));
+        assertNull(cache.get("a"));
+    }
+}
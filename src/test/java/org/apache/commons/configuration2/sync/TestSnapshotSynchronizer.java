@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.commons.configuration2.CombinedConfiguration;
+import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code SnapshotSynchronizer}.
+ */
+public class TestSnapshotSynchronizer {
+
+    /** Constant for the number of values stored in the list property. */
+    private static final int LIST_SIZE = 5;
+
+    /**
+     * Creates the values of the list property for the given update.
+     *
+     * @param update the number of the update
+     * @return the array with the values of the list
+     */
+    private static String[] listValues(final int update) {
+        final String[] values = new String[LIST_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.valueOf(update);
+        }
+        return values;
+    }
+
+    /**
+     * Tests whether a read operation can be started while another thread is writing.
+     */
+    @Test
+    void testReadDuringWrite() throws InterruptedException {
+        final Synchronizer sync = new SnapshotSynchronizer();
+        final CountDownLatch latch = new CountDownLatch(1);
+        sync.beginWrite();
+        final Thread reader = new Thread(() -> {
+            sync.beginRead();
+            sync.endRead();
+            latch.countDown();
+        });
+        reader.start();
+        final boolean readDone = latch.await(10, TimeUnit.SECONDS);
+        sync.endWrite();
+        reader.join();
+        assertTrue(readDone);
+    }
+
+    /**
+     * Tests whether reads on a hierarchical configuration always see a consistent state while the configuration is
+     * updated concurrently.
+     */
+    @Test
+    void testReadsOnHierarchicalConfiguration() throws InterruptedException {
+        final int numberOfUpdates = 2000;
+        final int readThreadCount = 3;
+        final BaseHierarchicalConfiguration config = new BaseHierarchicalConfiguration();
+        config.setSynchronizer(new SnapshotSynchronizer());
+        config.setProperty("list", listValues(0));
+
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread[] readers = new Thread[readThreadCount];
+        final Thread writer = new Thread(() -> {
+            for (int i = 1; i <= numberOfUpdates; i++) {
+                config.setProperty("list", listValues(i));
+            }
+        });
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (writer.isAlive()) {
+                    final List<Object> values = config.getList("list");
+                    if (values.size() != LIST_SIZE || !values.stream().allMatch(values.get(0)::equals)) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        writer.start();
+        for (final Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(String.valueOf(numberOfUpdates), config.getString("list"));
+    }
+
+    /**
+     * Tests that the synchronizer is rejected by configurations which are not based on immutable snapshots.
+     */
+    @Test
+    void testRejectedByConfigurationWithoutSnapshots() {
+        final Synchronizer sync = new SnapshotSynchronizer();
+        assertThrows(IllegalArgumentException.class, () -> new BaseConfiguration().setSynchronizer(sync));
+        assertThrows(IllegalArgumentException.class, () -> new CombinedConfiguration().setSynchronizer(sync));
+    }
+
+    /**
+     * Tests whether the synchronizer is reentrant. This is important for some combined operations on a configuration.
+     */
+    @Test
+    void testReentrance() {
+        final Synchronizer sync = new SnapshotSynchronizer();
+        sync.beginWrite();
+        sync.beginRead();
+        sync.beginRead();
+        sync.endRead();
+        sync.endRead();
+        sync.beginWrite();
+        sync.endWrite();
+        sync.endWrite();
+    }
+
+    /**
+     * Tests that sub configurations connected to their parent can use the synchronizer.
+     */
+    @Test
+    void testSubConfiguration() {
+        final Synchronizer sync = new SnapshotSynchronizer();
+        final BaseHierarchicalConfiguration config = new BaseHierarchicalConfiguration();
+        config.setSynchronizer(sync);
+        config.addProperty("sub.key", "value");
+        final HierarchicalConfiguration<ImmutableNode> sub = config.configurationAt("sub", true);
+        assertSame(sync, sub.getSynchronizer());
+        sub.setProperty("key", "newValue");
+        assertEquals("newValue", config.getString("sub.key"));
+    }
+
+    /**
+     * Tests whether write operations are serialized.
+     */
+    @Test
+    void testWritesAreSerialized() throws InterruptedException {
+        final int numberOfUpdates = 10000;
+        final int updateThreadCount = 4;
+        final Synchronizer sync = new SnapshotSynchronizer();
+        final int[] counter = new int[1];
+        final AtomicInteger concurrentWriters = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+
+        final Thread[] updateThreads = new Thread[updateThreadCount];
+        for (int i = 0; i < updateThreads.length; i++) {
+            updateThreads[i] = new Thread(() -> {
+                for (int j = 0; j < numberOfUpdates; j++) {
+                    sync.beginWrite();
+                    if (concurrentWriters.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    counter[0]++;
+                    concurrentWriters.decrementAndGet();
+                    sync.endWrite();
+                }
+            });
+            updateThreads[i].start();
+        }
+        for (final Thread t : updateThreads) {
+            t.join();
+        }
+
+        assertEquals(0, overlaps.get());
+        assertEquals(numberOfUpdates * updateThreadCount, counter[0]);
+    }
+}
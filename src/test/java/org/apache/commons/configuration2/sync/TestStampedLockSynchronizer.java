@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.BaseConfiguration;
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code StampedLockSynchronizer}.
+ */
+public class TestStampedLockSynchronizer {
+
+    /**
+     * Helper method for testing whether read operations on a configuration see consistent data while the configuration is
+     * updated concurrently.
+     *
+     * @param config The configuration to be tested
+     * @throws InterruptedException if waiting for the threads is interrupted
+     */
+    private static void checkConcurrentReads(final AbstractConfiguration config) throws InterruptedException {
+        final int numberOfUpdates = 5000;
+        final int readThreadCount = 3;
+        config.setSynchronizer(new StampedLockSynchronizer());
+        config.addProperty("value", 0);
+
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread writer = new Thread(() -> {
+            for (int i = 1; i <= numberOfUpdates; i++) {
+                config.setProperty("value", i);
+                config.addProperty("other" + i, i);
+            }
+        });
+        final Thread[] readers = new Thread[readThreadCount];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                int last = 0;
+                while (writer.isAlive()) {
+                    final int value = config.getInt("value");
+                    if (value < last || !config.containsKey("value")) {
+                        errors.incrementAndGet();
+                    }
+                    last = value;
+                }
+            });
+        }
+        writer.start();
+        for (final Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(numberOfUpdates, config.getInt("value"));
+    }
+
+    /**
+     * Tests whether nested read operations started during a write operation keep a read lock after the write operation
+     * has ended.
+     */
+    @Test
+    void testDowngradeWriteLock() {
+        final StampedLock lock = new StampedLock();
+        final Synchronizer sync = new StampedLockSynchronizer(lock);
+        sync.beginWrite();
+        sync.beginRead();
+        sync.endWrite();
+        assertFalse(lock.isWriteLocked());
+        assertTrue(lock.isReadLocked());
+        sync.endRead();
+        assertFalse(lock.isReadLocked());
+    }
+
+    /**
+     * Tests that an unbalanced call of endRead() causes an exception.
+     */
+    @Test
+    void testEndReadWithoutBeginRead() {
+        final Synchronizer sync = new StampedLockSynchronizer();
+        assertThrows(IllegalMonitorStateException.class, sync::endRead);
+    }
+
+    /**
+     * Tests that an unbalanced call of endWrite() causes an exception.
+     */
+    @Test
+    void testEndWriteWithoutBeginWrite() {
+        final Synchronizer sync = new StampedLockSynchronizer();
+        assertThrows(IllegalMonitorStateException.class, sync::endWrite);
+    }
+
+    /**
+     * Tests whether the methods for locking are mapped to the lock passed to the constructor.
+     */
+    @Test
+    void testInitLock() {
+        final StampedLock lock = new StampedLock();
+        final Synchronizer sync = new StampedLockSynchronizer(lock);
+        sync.beginRead();
+        assertTrue(lock.isReadLocked());
+        sync.endRead();
+        assertFalse(lock.isReadLocked());
+        sync.beginWrite();
+        assertTrue(lock.isWriteLocked());
+        sync.endWrite();
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * Tests the handling of stamps for optimistic read operations.
+     */
+    @Test
+    void testOptimisticReadStamps() {
+        final StampedLockSynchronizer sync = new StampedLockSynchronizer();
+        final long stamp = sync.tryOptimisticRead();
+        assertNotEquals(0, stamp);
+        assertTrue(sync.validate(stamp));
+        sync.beginWrite();
+        assertEquals(0, sync.tryOptimisticRead());
+        sync.endWrite();
+        assertFalse(sync.validate(stamp));
+    }
+
+    /**
+     * Tests whether optimistic reads on a hierarchical configuration see consistent data while the configuration is
+     * updated concurrently.
+     */
+    @Test
+    void testOptimisticReadsOnConfiguration() throws InterruptedException {
+        checkConcurrentReads(new BaseHierarchicalConfiguration());
+    }
+
+    /**
+     * Tests whether reads on a configuration which does not support optimistic reads see consistent data while the
+     * configuration is updated concurrently. Here the read lock has to be used.
+     */
+    @Test
+    void testReadsOnConfigurationWithoutOptimisticReads() throws InterruptedException {
+        checkConcurrentReads(new BaseConfiguration());
+    }
+
+    /**
+     * Tests whether the synchronizer is reentrant. This is important for some combined operations on a configuration.
+     */
+    @Test
+    void testReentrance() {
+        final StampedLock lock = new StampedLock();
+        final Synchronizer sync = new StampedLockSynchronizer(lock);
+        sync.beginWrite();
+        sync.beginRead();
+        sync.beginRead();
+        sync.endRead();
+        sync.endRead();
+        sync.beginWrite();
+        sync.endWrite();
+        sync.endWrite();
+        sync.beginRead();
+        sync.beginRead();
+        sync.endRead();
+        sync.endRead();
+        assertFalse(lock.isReadLocked());
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * Tests that the lock is used by a configuration if it is locked explicitly.
+     */
+    @Test
+    void testSynchronizerSupportLock() {
+        final StampedLock lock = new StampedLock();
+        final BaseConfiguration config = new BaseConfiguration();
+        config.setSynchronizer(new StampedLockSynchronizer(lock));
+        config.lock(LockMode.READ);
+        assertTrue(lock.isReadLocked());
+        config.unlock(LockMode.READ);
+        config.lock(LockMode.WRITE);
+        assertTrue(lock.isWriteLocked());
+        config.addProperty("key", "value");
+        assertEquals("value", config.getString("key"));
+        config.unlock(LockMode.WRITE);
+        assertFalse(lock.isWriteLocked());
+    }
+}
@@ -23,7 +23,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeAll;
@@ -586,6 +588,75 @@ public class TestDefaultExpressionEngine {
         checkKeyValue("connection..settings.usr..pwd", "usr.pwd", "tiger");
     }
 
+    /**
+     * Tests that an instance cannot be created with a negative key cache size.
+     */
+    @Test
+    void testInitNegativeKeyCacheSize() {
+        final DefaultExpressionEngineSymbols symbols = DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS;
+        assertThrows(IllegalArgumentException.class, () -> new DefaultExpressionEngine(symbols, null, -1));
+    }
+
+    /**
+     * Tests whether queries work if the cache for parsed keys is disabled.
+     */
+    @Test
+    void testQueryKeyCacheDisabled() {
+        engine = new DefaultExpressionEngine(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS, null, 0);
+        testQueryKeys();
+        testQueryNodes();
+    }
+
+    /**
+     * Tests whether queries still work correctly if more keys are queried than fit into the key cache.
+     */
+    @Test
+    void testQueryKeyCacheOverflow() {
+        engine = new DefaultExpressionEngine(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS, null, 2);
+        for (int i = 0; i < 3; i++) {
+            testQueryKeys();
+            testQueryNonExistingKeys();
+        }
+    }
+
+    /**
+     * Tests that a derived class can enable the cache for parsed keys. Then queries do not call findNodesForKey().
+     */
+    @Test
+    void testQueryKeyCacheSupportedByDerivedClass() {
+        final AtomicInteger calls = new AtomicInteger();
+        engine = new DefaultExpressionEngine(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS) {
+            @Override
+            protected <T> void findNodesForKey(final DefaultConfigurationKey.KeyIterator keyPart, final T node, final Collection<QueryResult<T>> results,
+                final NodeHandler<T> handler) {
+                calls.incrementAndGet();
+                super.findNodesForKey(keyPart, node, results, handler);
+            }
+
+            @Override
+            protected boolean isKeyCacheSupported() {
+                return true;
+            }
+        };
+        testQueryKeys();
+        testQueryNonExistingKeys();
+        assertEquals(0, calls.get());
+    }
+
+    /**
+     * Tests whether repeated queries of a key which is served from the key cache yield the same results.
+     */
+    @Test
+    void testQueryKeyRepeated() {
+        final List<QueryResult<ImmutableNode>> results = query("tables.table(1).fields.field[@type]", 0);
+        assertTrue(results.isEmpty());
+        for (int i = 0; i < 3; i++) {
+            checkKey("tables.table.fields.field(1).name", "name", 2);
+            checkAttributeValue("tables.table(0)[@type]", "type", TAB_TYPES[0]);
+            checkKeyValue("tables.table(1).fields.field(2).name", "name", FIELDS[1][2]);
+        }
+    }
+
     /**
      * Tests some simple queries.
      */
@@ -638,6 +709,25 @@ public class TestDefaultExpressionEngine {
         checkKey("tables.table(0)[@type].additional", null, 0);
     }
 
+    /**
+     * Tests that queries are evaluated by an overridden findNodesForKey() method.
+     */
+    @Test
+    void testQueryOverriddenFindNodesForKey() {
+        final AtomicInteger calls = new AtomicInteger();
+        engine = new DefaultExpressionEngine(DefaultExpressionEngineSymbols.DEFAULT_SYMBOLS) {
+            @Override
+            protected <T> void findNodesForKey(final DefaultConfigurationKey.KeyIterator keyPart, final T node, final Collection<QueryResult<T>> results,
+                final NodeHandler<T> handler) {
+                calls.incrementAndGet();
+                super.findNodesForKey(keyPart, node, results, handler);
+            }
+        };
+        testQueryKeys();
+        testQueryNonExistingKeys();
+        assertTrue(calls.get() > 0);
+    }
+
     /**
      * Tests whether an attribute of the root node can be queried.
      */
@@ -18,6 +18,7 @@ package org.apache.commons.configuration2.tree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -102,6 +103,38 @@ public class TestImmutableNode {
         assertEquals(VALUE, updated.getValue());
     }
 
+    /**
+     * Checks whether the children with the given names are correctly obtained from the given node.
+     *
+     * @param node The node to be checked
+     * @param names The names of the children to be queried
+     */
+    private static void checkChildrenByName(final ImmutableNode node, final String... names) {
+        for (final String name : names) {
+            final List<ImmutableNode> expected = new ArrayList<>();
+            node.getChildren().forEach(c -> {
+                if (name.equals(c.getNodeName())) {
+                    expected.add(c);
+                }
+            });
+            assertEquals(expected, node.getChildren(name), "Wrong children for " + name);
+        }
+    }
+
+    /**
+     * Creates a node with enough children to have an index of child names. The children are named {@code c0} to
+     * {@code c3}; each name is used multiple times.
+     *
+     * @return The node
+     */
+    private static ImmutableNode createIndexedNode() {
+        final ImmutableNode.Builder builder = setUpBuilder();
+        for (int i = 0; i < 16; i++) {
+            builder.addChild(new ImmutableNode.Builder().name("c" + i % 4).value(i).create());
+        }
+        return builder.create();
+    }
+
     /**
      * Sets up a builder with default settings.
      *
@@ -258,6 +291,46 @@ public class TestImmutableNode {
         assertEquals(child2, node2.getChildren("child2").get(0));
     }
 
+    /**
+     * Tests getting named children from a node with many children for which an index is created.
+     */
+    @Test
+    void testGetChildrenByNameIndexed() {
+        final ImmutableNode node = createIndexedNode();
+        final List<ImmutableNode> children = node.getChildren("c1");
+        checkChildrenByName(node, "c0", "c1", "c2", "c3", "NotFound");
+        assertSame(children, node.getChildren("c1"));
+        assertThrows(UnsupportedOperationException.class, () -> children.add(node));
+        assertTrue(node.getChildren(null).isEmpty());
+    }
+
+    /**
+     * Tests whether the index of child names is correctly maintained by the update methods of a node.
+     */
+    @Test
+    void testGetChildrenByNameIndexedAfterUpdates() {
+        final ImmutableNode node = createIndexedNode();
+        checkChildrenByName(node, "c0");
+        final ImmutableNode child = node.getChildren().get(5);
+        final ImmutableNode replacement = new ImmutableNode.Builder().name(child.getNodeName()).value("replaced").create();
+        final ImmutableNode renamed = new ImmutableNode.Builder().name("c0").value("renamed").create();
+        final ImmutableNode added = new ImmutableNode.Builder().name("c1").value("added").create();
+        final ImmutableNode newName = new ImmutableNode.Builder().name("newName").create();
+
+        final String[] names = {"c0", "c1", "c2", "c3", "newName"};
+        checkChildrenByName(node.addChild(added), names);
+        checkChildrenByName(node.addChild(newName), names);
+        checkChildrenByName(node.addChild(new ImmutableNode.Builder().create()), names);
+        checkChildrenByName(node.removeChild(child), names);
+        checkChildrenByName(node.replaceChild(child, replacement), names);
+        checkChildrenByName(node.replaceChild(child, renamed), names);
+        checkChildrenByName(node.replaceChildren(Arrays.asList(added, renamed)), names);
+        checkChildrenByName(node.setValue("newValue").setName("newName").setAttribute(ATTR, ATTR_VALUE).removeAttribute(ATTR), names);
+        final ImmutableNode updated = node.removeChild(child).addChild(added).replaceChild(added, replacement);
+        checkChildrenByName(updated, names);
+        assertEquals(Arrays.asList(node.getChildren().get(1), node.getChildren().get(9), node.getChildren().get(13), replacement), updated.getChildren("c1"));
+    }
+
     /**
      * Tests getting named children.
      */
@@ -270,6 +343,76 @@ public class TestImmutableNode {
         assertTrue(node2.getChildren(null).isEmpty());
     }
 
+    /**
+     * Tests the update methods for attributes on a node with many attributes.
+     */
+    @Test
+    void testManyAttributes() {
+        final Map<String, Object> expected = new HashMap<>();
+        ImmutableNode node = new ImmutableNode.Builder().name(NAME).create();
+        for (int i = 0; i < 100; i++) {
+            node = node.setAttribute(ATTR + i, i);
+            expected.put(ATTR + i, i);
+        }
+        final ImmutableNode original = node;
+        for (int i = 0; i < 100; i += 3) {
+            node = node.removeAttribute(ATTR + i);
+            expected.remove(ATTR + i);
+        }
+        node = node.setAttribute(ATTR + 1, ATTR_VALUE).setAttributes(Collections.singletonMap(ATTR, VALUE));
+        expected.put(ATTR + 1, ATTR_VALUE);
+        expected.put(ATTR, VALUE);
+
+        checkAttributes(node, expected);
+        assertEquals(100, original.getAttributes().size());
+        assertEquals(1, original.getAttributes().get(ATTR + 1));
+        assertSame(node, node.removeAttribute("nonExisting"));
+        final Map<String, Object> attributes = node.getAttributes();
+        assertThrows(UnsupportedOperationException.class, () -> attributes.put("test", VALUE));
+    }
+
+    /**
+     * Tests the update methods for children on a node with many children.
+     */
+    @Test
+    void testManyChildren() {
+        final List<ImmutableNode> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(new ImmutableNode.Builder().name("c" + i % 10).value(i).create());
+        }
+        final ImmutableNode original = new ImmutableNode.Builder().name(NAME).addChildren(expected).create();
+        ImmutableNode node = original;
+        assertEquals(100, original.getChildren("c0").size());
+        for (int i = 0; i < 500; i++) {
+            final ImmutableNode newChild = new ImmutableNode.Builder().name("c" + i % 10).value("new" + i).create();
+            node = node.addChild(newChild);
+            expected.add(newChild);
+        }
+        for (int i = 0; i < expected.size(); i += 7) {
+            final ImmutableNode replacement = new ImmutableNode.Builder().name(expected.get(i).getNodeName()).value("replaced").create();
+            node = node.replaceChild(expected.get(i), replacement);
+            expected.set(i, replacement);
+        }
+        for (int i = expected.size() - 1; i >= 0; i -= 3) {
+            node = node.removeChild(expected.remove(i));
+        }
+
+        assertEquals(expected, node.getChildren());
+        assertEquals(expected, new ArrayList<>(node.getChildren()));
+        assertEquals(1000, original.getChildren().size());
+        assertEquals(999, original.getChildren().get(999).getValue());
+        for (int i = 0; i < 10; i++) {
+            final String name = "c" + i;
+            final List<ImmutableNode> expectedNamed = new ArrayList<>();
+            expected.forEach(c -> {
+                if (name.equals(c.getNodeName())) {
+                    expectedNamed.add(c);
+                }
+            });
+            assertEquals(expectedNamed, node.getChildren(name));
+        }
+    }
+
     /**
      * Tests whether multiple child nodes can be added to a builder.
      */
@@ -572,6 +715,22 @@ public class TestImmutableNode {
         assertSame(node.getAttributes(), node2.getAttributes());
     }
 
+    /**
+     * Tests that nodes without children or attributes share the same empty structures.
+     */
+    @Test
+    void testSharedEmptyStructures() {
+        final ImmutableNode node1 = new ImmutableNode.Builder().name(NAME).create();
+        final ImmutableNode node2 = new ImmutableNode.Builder(2).name(NAME).addChildren(Collections.emptyList()).addAttributes(Collections.emptyMap())
+            .create();
+        final ImmutableNode node3 = node1.setAttribute(ATTR, ATTR_VALUE).removeAttribute(ATTR);
+        assertSame(node1.getChildren(), node2.getChildren());
+        assertSame(node1.getAttributes(), node2.getAttributes());
+        assertSame(node1.getAttributes(), node3.getAttributes());
+        final ImmutableNode child = createChild();
+        assertSame(node1.getChildren(), node1.addChild(child).removeChild(child).getChildren());
+    }
+
     /**
      * Tests whether a node with basic properties can be created.
      */
@@ -583,6 +742,28 @@ public class TestImmutableNode {
         assertTrue(node.getAttributes().isEmpty());
     }
 
+    /**
+     * Tests the map with attributes of a node with a small number of attributes.
+     */
+    @Test
+    void testSmallAttributes() {
+        final Map<String, Object> attrs = new HashMap<>();
+        attrs.put(ATTR, ATTR_VALUE);
+        attrs.put("attr2", VALUE);
+        attrs.put("attr3", null);
+        final ImmutableNode node = new ImmutableNode.Builder().name(NAME).addAttributes(attrs).create();
+        checkAttributes(node, attrs);
+        assertEquals(new ArrayList<>(attrs.keySet()), new ArrayList<>(node.getAttributes().keySet()));
+        assertTrue(node.getAttributes().containsKey("attr3"));
+        assertNull(node.getAttributes().get("unknown"));
+        final Map<String, Object> attributes = node.getAttributes();
+        assertThrows(UnsupportedOperationException.class, () -> attributes.put("test", VALUE));
+
+        attrs.put("attr4", 4);
+        attrs.put("attr5", 5);
+        checkAttributes(node.setAttribute("attr4", 4).setAttribute("attr5", 5), attrs);
+    }
+
     /**
      * Tests streaming children.
      */
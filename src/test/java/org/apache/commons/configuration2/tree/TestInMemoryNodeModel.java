@@ -44,9 +44,11 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -114,6 +116,54 @@ public class TestInMemoryNodeModel {
         assertThrows(IllegalArgumentException.class, () -> nodeHandler.getParent(nodeToCheck));
     }
 
+    /**
+     * Helper method for testing concurrent updates of a model. A number of authors is added in parallel. Then it is checked
+     * whether all authors have been added correctly.
+     *
+     * @param model The model to be tested
+     * @throws InterruptedException if waiting for the threads is interrupted
+     */
+    private void checkConcurrentUpdate(final InMemoryNodeModel model) throws InterruptedException {
+        final NodeKeyResolver<ImmutableNode> resolver = createResolver();
+        when(resolver.resolveAddKey(any(), eq(KEY), any())).thenAnswer(invocation -> {
+            final ImmutableNode addParent = invocation.getArgument(0, ImmutableNode.class);
+            return new NodeAddData<>(addParent, "name", false, Collections.singleton("author"));
+        });
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final String authorPrefix = "newAuthor";
+        final int threadCount = 32;
+        final Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final String authorName = authorPrefix + i;
+            threads[i] = new Thread(() -> {
+                try {
+                    latch.await();
+                    model.addProperty(KEY, Collections.singleton(authorName), resolver);
+                } catch (final InterruptedException iex) {
+                    // ignore
+                }
+            });
+            threads[i].start();
+        }
+        latch.countDown();
+        for (final Thread t : threads) {
+            t.join();
+        }
+
+        final Pattern patternAuthorName = Pattern.compile(Pattern.quote(authorPrefix) + "(\\d+)");
+        final Set<Integer> indices = new HashSet<>();
+        for (int i = 0; i < threadCount; i++) {
+            final ImmutableNode node = nodeForKey(model, "author(" + i + ")/name");
+            final Matcher m = patternAuthorName.matcher(String.valueOf(node.getValue()));
+            assertTrue(m.matches(), "Wrong value: " + node.getValue());
+            final int idx = Integer.parseInt(m.group(1));
+            assertTrue(idx >= 0 && idx < threadCount, "Invalid index: " + idx);
+            indices.add(idx);
+        }
+        assertEquals(threadCount, indices.size());
+    }
+
     /**
      * Tests an add nodes operation if an empty collection is passed in.
      */
@@ -270,6 +320,25 @@ public class TestInMemoryNodeModel {
         assertNotNull(nodeForKey(model, "Homer/Ilias/Hektor"));
     }
 
+    /**
+     * Tests whether a property can be added to the root node if the parent mapping has not yet been constructed.
+     */
+    @Test
+    void testAddPropertyToRootWithoutParentMapping() {
+        final NodeKeyResolver<ImmutableNode> resolver = createResolver();
+        final NodeAddData<ImmutableNode> addData = new NodeAddData<>(ROOT_AUTHORS_TREE, "work", false, null);
+        final InMemoryNodeModel model = new InMemoryNodeModel(ROOT_AUTHORS_TREE);
+
+        when(resolver.resolveAddKey(ROOT_AUTHORS_TREE, KEY, model.getNodeHandler())).thenReturn(addData);
+
+        model.addProperty(KEY, Collections.singleton("Odyssee"), resolver);
+        assertFalse(model.getTreeData().isParentMappingInitialized());
+        final NodeHandler<ImmutableNode> handler = model.getNodeHandler();
+        final ImmutableNode node = nodeForKey(model, "work");
+        assertSame(model.getRootNode(), handler.getParent(node));
+        checkPathToRoot(model, nodeForKey(model, "Homer/Ilias/Hektor"), "Homer", "Ilias");
+    }
+
     /**
      * Tests an addProperty() operation if no values are provided.
      */
@@ -589,46 +658,17 @@ public class TestInMemoryNodeModel {
      */
     @Test
     void testConcurrentUpdate() throws InterruptedException {
-        final NodeKeyResolver<ImmutableNode> resolver = createResolver();
-        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE);
-
-        when(resolver.resolveAddKey(any(), eq(KEY), any())).thenAnswer(invocation -> {
-            final ImmutableNode addParent = invocation.getArgument(0, ImmutableNode.class);
-            return new NodeAddData<>(addParent, "name", false, Collections.singleton("author"));
-        });
-
-        final CountDownLatch latch = new CountDownLatch(1);
-        final String authorPrefix = "newAuthor";
-        final int threadCount = 32;
-        final Thread[] threads = new Thread[threadCount];
-        for (int i = 0; i < threadCount; i++) {
-            final String authorName = authorPrefix + i;
-            threads[i] = new Thread(() -> {
-                try {
-                    latch.await();
-                    model.addProperty(KEY, Collections.singleton(authorName), resolver);
-                } catch (final InterruptedException iex) {
-                    // ignore
-                }
-            });
-            threads[i].start();
-        }
-        latch.countDown();
-        for (final Thread t : threads) {
-            t.join();
-        }
+        checkConcurrentUpdate(new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE));
+    }
 
-        final Pattern patternAuthorName = Pattern.compile(Pattern.quote(authorPrefix) + "(\\d+)");
-        final Set<Integer> indices = new HashSet<>();
-        for (int i = 0; i < threadCount; i++) {
-            final ImmutableNode node = nodeForKey(model, "author(" + i + ")/name");
-            final Matcher m = patternAuthorName.matcher(String.valueOf(node.getValue()));
-            assertTrue(m.matches(), "Wrong value: " + node.getValue());
-            final int idx = Integer.parseInt(m.group(1));
-            assertTrue(idx >= 0 && idx < threadCount, "Invalid index: " + idx);
-            indices.add(idx);
-        }
-        assertEquals(threadCount, indices.size());
+    /**
+     * Tests concurrent updates of the model if write combining is enabled.
+     */
+    @Test
+    void testConcurrentUpdateWriteCombining() throws InterruptedException {
+        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE);
+        model.setWriteCombining(true);
+        checkConcurrentUpdate(model);
     }
 
     /**
@@ -758,6 +798,21 @@ public class TestInMemoryNodeModel {
         assertEquals(nodeForKey(model, "Homer"), model.getNodeHandler().getParent(node));
     }
 
+    /**
+     * Tests whether the parent mapping is constructed lazily when a new root node is set.
+     */
+    @Test
+    void testSetRootParentMappingLazy() {
+        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_PERSONAE_TREE);
+        model.setRootNode(NodeStructureHelper.ROOT_AUTHORS_TREE);
+        final TreeData treeData = model.getTreeData();
+        assertFalse(treeData.isParentMappingInitialized());
+
+        final ImmutableNode node = nodeForKey(model, "Homer/Ilias");
+        assertEquals(nodeForKey(model, "Homer"), treeData.getParent(node));
+        assertTrue(treeData.isParentMappingInitialized());
+    }
+
     /**
      * Tests whether the root node can be set to null.
      */
@@ -768,4 +823,97 @@ public class TestInMemoryNodeModel {
         final ImmutableNode rootNode = model.getRootNode();
         assertTrue(rootNode.getChildren().isEmpty());
     }
+
+    /**
+     * Tests that an error thrown by an update operation is propagated to the caller if write combining is enabled and that
+     * the model can be updated afterwards.
+     */
+    @Test
+    void testWriteCombiningError() {
+        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE);
+        model.setWriteCombining(true);
+        final BaseHierarchicalConfiguration resolver = new BaseHierarchicalConfiguration() {
+            @Override
+            public NodeUpdateData<ImmutableNode> resolveUpdateKey(final ImmutableNode root, final String key, final Object newValue,
+                final NodeHandler<ImmutableNode> handler) {
+                throw new AssertionError("Test error");
+            }
+        };
+
+        final AssertionError error = assertThrows(AssertionError.class, () -> model.setProperty(KEY, "value", resolver));
+        assertEquals("Test error", error.getMessage());
+        assertSame(NodeStructureHelper.ROOT_AUTHORS_TREE, model.getRootNode());
+        model.addProperty(KEY, Collections.singleton("value"), new BaseHierarchicalConfiguration());
+        assertEquals("value", nodeForKey(model, KEY).getValue());
+    }
+
+    /**
+     * Tests that an exception thrown by an update operation is propagated to the caller if write combining is enabled.
+     */
+    @Test
+    void testWriteCombiningException() {
+        final NodeKeyResolver<ImmutableNode> resolver = createResolver();
+        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE);
+        model.setWriteCombining(true);
+        assertTrue(model.isWriteCombining());
+        when(resolver.resolveKey(NodeStructureHelper.ROOT_AUTHORS_TREE, KEY, model.getNodeHandler()))
+                .thenReturn(Collections.singletonList(QueryResult.createAttributeResult(nodeForKey(model, NodeStructureHelper.author(1)), "test")));
+
+        final Set<ImmutableNode> nodes = Collections.singleton(new ImmutableNode.Builder().name("newNode").create());
+        assertThrows(IllegalArgumentException.class, () -> model.addNodes(KEY, nodes, resolver));
+        assertSame(NodeStructureHelper.ROOT_AUTHORS_TREE, model.getRootNode());
+    }
+
+    /**
+     * Tests that multiple set property operations for a new key combined in a single round add only a single value. Each
+     * operation has to see the effects of the operations executed before it.
+     */
+    @Test
+    void testWriteCombiningSetPropertyNewKey() throws InterruptedException {
+        final InMemoryNodeModel model = new InMemoryNodeModel(NodeStructureHelper.ROOT_AUTHORS_TREE);
+        model.setWriteCombining(true);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean first = new AtomicBoolean(true);
+        final BaseHierarchicalConfiguration resolver = new BaseHierarchicalConfiguration() {
+            @Override
+            public NodeUpdateData<ImmutableNode> resolveUpdateKey(final ImmutableNode root, final String key, final Object newValue,
+                final NodeHandler<ImmutableNode> handler) {
+                if (first.compareAndSet(true, false)) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.resolveUpdateKey(root, key, newValue, handler);
+            }
+        };
+
+        // The first update blocks the combiner, so that the following updates are queued and executed in a single round.
+        final Thread blocker = new Thread(() -> model.setProperty("blocker", "value", resolver));
+        blocker.start();
+        blocked.await();
+        final Thread[] threads = new Thread[2];
+        for (int i = 0; i < threads.length; i++) {
+            final String value = "value" + i;
+            threads[i] = new Thread(() -> model.setProperty(KEY, value, resolver));
+            threads[i].start();
+        }
+        for (final Thread t : threads) {
+            while (t.getState() != Thread.State.WAITING) {
+                Thread.sleep(5);
+            }
+        }
+        release.countDown();
+        blocker.join();
+        for (final Thread t : threads) {
+            t.join();
+        }
+
+        final List<ImmutableNode> nodes = model.getNodeHandler().getChildren(model.getRootNode(), KEY);
+        assertEquals(1, nodes.size());
+        assertTrue(nodes.get(0).getValue().toString().startsWith("value"));
+    }
 }
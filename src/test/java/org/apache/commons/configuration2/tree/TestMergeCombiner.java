@@ -104,6 +104,31 @@ public class TestMergeCombiner extends AbstractCombinerTest {
         assertEquals("http://testsvr.com", config.getString("net.server.url(2)"));
     }
 
+    /**
+     * Tests whether many child nodes with the same name are matched correctly based on their attributes.
+     */
+    @Test
+    void testManySiblings() {
+        final int count = 100;
+        final ImmutableNode.Builder builder1 = new ImmutableNode.Builder();
+        final ImmutableNode.Builder builder2 = new ImmutableNode.Builder();
+        for (int i = 0; i < count; i++) {
+            builder1.addChild(new ImmutableNode.Builder().name("item").addAttribute("id", i).value("v" + i).create());
+            builder2.addChild(new ImmutableNode.Builder().name("item").addAttribute("id", count - i).addAttribute("type", "t" + (count - i)).create());
+        }
+        final ImmutableNode result = combiner.combine(builder1.name("root").create(), builder2.name("root").create());
+
+        final List<ImmutableNode> items = result.getChildren();
+        assertEquals(count + 1, items.size());
+        for (int i = 0; i < count; i++) {
+            final ImmutableNode item = items.get(i);
+            assertEquals(i, item.getAttributes().get("id"));
+            assertEquals("v" + i, item.getValue());
+            assertEquals(i > 0 ? "t" + i : null, item.getAttributes().get("type"));
+        }
+        assertEquals(count, items.get(count).getAttributes().get("id"));
+    }
+
     @Test
     void testMerge() throws ConfigurationException {
         // combiner.setDebugStream(System.out);
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code NodeNameTable}.
+ */
+public class TestNodeNameTable {
+
+    /**
+     * Tests that equal names are mapped to the first instance passed to the table.
+     */
+    @Test
+    void testIntern() {
+        final NodeNameTable table = new NodeNameTable();
+        final String name1 = new String("testNode");
+        final String name2 = new String("testNode");
+        assertSame(name1, table.intern(name1));
+        assertSame(name1, table.intern(name2));
+    }
+
+    /**
+     * Tests that names are not shared between different tables.
+     */
+    @Test
+    void testInternIndependentTables() {
+        final String name1 = new String("testNode");
+        final String name2 = new String("testNode");
+        assertSame(name1, new NodeNameTable().intern(name1));
+        assertSame(name2, new NodeNameTable().intern(name2));
+    }
+
+    /**
+     * Tests that a null name is handled.
+     */
+    @Test
+    void testInternNull() {
+        assertNull(new NodeNameTable().intern(null));
+    }
+}
@@ -18,10 +18,16 @@ package org.apache.commons.configuration2.tree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -85,6 +91,20 @@ public class TestNodeTreeWalker {
         }
     }
 
+    /**
+     * Creates a hierarchy consisting of a chain of nodes.
+     *
+     * @param depth The number of nodes in the chain
+     * @return The root node of the hierarchy
+     */
+    private static ImmutableNode createDeepHierarchy(final int depth) {
+        ImmutableNode node = new ImmutableNode.Builder().name("level" + (depth - 1)).create();
+        for (int i = depth - 2; i >= 0; i--) {
+            node = new ImmutableNode.Builder().name("level" + i).addChild(node).create();
+        }
+        return node;
+    }
+
     /**
      * Creates a dummy node handler.
      *
@@ -148,6 +168,16 @@ public class TestNodeTreeWalker {
         return expected;
     }
 
+    /**
+     * Prepares a list with the names of nodes encountered during a DFS walk if only the visitBeforeChildren() method is
+     * called. This is the order produced by combined visitors in a parallel walk.
+     *
+     * @return The expected node names in DFS mode for nodes visited before their children
+     */
+    private List<String> expectDFSBefore() {
+        return expectDFS().stream().filter(name -> !name.startsWith(visitAfterName(""))).collect(Collectors.toList());
+    }
+
     /**
      * Prepares a list with the names of nodes encountered during a DFS walk.
      *
@@ -217,6 +247,21 @@ public class TestNodeTreeWalker {
         assertEquals(expected, visitor.getVisitedNodes());
     }
 
+    /**
+     * Tests whether a DFS traversal can handle a hierarchy with many levels.
+     */
+    @Test
+    void testWalkDFSDeepHierarchy() {
+        final int depth = 100_000;
+        final TestVisitor visitor = new TestVisitor();
+        NodeTreeWalker.INSTANCE.walkDFS(createDeepHierarchy(depth), visitor, createHandler());
+        final List<String> visitedNodes = visitor.getVisitedNodes();
+        assertEquals(2 * depth, visitedNodes.size());
+        assertEquals("level" + (depth - 1), visitedNodes.get(depth - 1));
+        assertEquals(visitAfterName("level" + (depth - 1)), visitedNodes.get(depth));
+        assertEquals(visitAfterName("level0"), visitedNodes.get(2 * depth - 1));
+    }
+
     /**
      * Tests whether walkDFS() can handle a null node.
      */
@@ -256,4 +301,102 @@ public class TestNodeTreeWalker {
         final NodeHandler<ImmutableNode> handler = createHandler();
         assertThrows(IllegalArgumentException.class, () -> NodeTreeWalker.INSTANCE.walkDFS(NodeStructureHelper.ROOT_AUTHORS_TREE, null, handler));
     }
+
+    /**
+     * Tests a parallel traversal with a thread-safe visitor.
+     */
+    @Test
+    void testWalkParallel() {
+        final Collection<String> visitedNodes = new ConcurrentLinkedQueue<>();
+        NodeTreeWalker.INSTANCE.walkParallel(NodeStructureHelper.ROOT_AUTHORS_TREE, new ConfigurationNodeVisitorAdapter<ImmutableNode>() {
+            @Override
+            public void visitBeforeChildren(final ImmutableNode node, final NodeHandler<ImmutableNode> handler) {
+                visitedNodes.add(handler.nodeName(node));
+            }
+        }, createHandler());
+
+        final List<String> expected = expectBFS();
+        expected.sort(null);
+        assertEquals(expected, visitedNodes.stream().sorted().collect(Collectors.toList()));
+    }
+
+    /**
+     * Tests a parallel traversal with visitors that are combined.
+     */
+    @Test
+    void testWalkParallelCombined() {
+        final TestVisitor visitor = NodeTreeWalker.INSTANCE.walkParallel(NodeStructureHelper.ROOT_AUTHORS_TREE, TestVisitor::new, (v1, v2) -> {
+            v1.getVisitedNodes().addAll(v2.getVisitedNodes());
+            return v1;
+        }, createHandler());
+        assertEquals(expectDFSBefore(), visitor.getVisitedNodes());
+    }
+
+    /**
+     * Tests a parallel traversal with combined visitors of a larger hierarchy, so that the work is actually split.
+     */
+    @Test
+    void testWalkParallelCombinedLargeHierarchy() {
+        final ImmutableNode.Builder rootBuilder = new ImmutableNode.Builder().name("root");
+        for (int i = 0; i < 100; i++) {
+            final ImmutableNode.Builder childBuilder = new ImmutableNode.Builder().name("child" + i);
+            for (int j = 0; j < 100; j++) {
+                childBuilder.addChild(new ImmutableNode.Builder().name("leaf" + i + "_" + j).create());
+            }
+            rootBuilder.addChild(childBuilder.create());
+        }
+        final ImmutableNode root = rootBuilder.addChild(createDeepHierarchy(10_000)).create();
+        final List<String> expected = new ArrayList<>();
+        NodeTreeWalker.INSTANCE.walkDFS(root, new ConfigurationNodeVisitorAdapter<ImmutableNode>() {
+            @Override
+            public void visitBeforeChildren(final ImmutableNode node, final NodeHandler<ImmutableNode> handler) {
+                expected.add(handler.nodeName(node));
+            }
+        }, createHandler());
+
+        final TestVisitor visitor = NodeTreeWalker.INSTANCE.walkParallel(root, TestVisitor::new, (v1, v2) -> {
+            v1.getVisitedNodes().addAll(v2.getVisitedNodes());
+            return v1;
+        }, createHandler());
+        assertEquals(expected, visitor.getVisitedNodes());
+    }
+
+    /**
+     * Tries a parallel walk operation without a combiner.
+     */
+    @Test
+    void testWalkParallelNoCombiner() {
+        final NodeHandler<ImmutableNode> handler = createHandler();
+        assertThrows(IllegalArgumentException.class,
+            () -> NodeTreeWalker.INSTANCE.walkParallel(NodeStructureHelper.ROOT_AUTHORS_TREE, TestVisitor::new, null, handler));
+    }
+
+    /**
+     * Tests a parallel walk with combined visitors if no node is passed in.
+     */
+    @Test
+    void testWalkParallelNoNode() {
+        final TestVisitor visitor = NodeTreeWalker.INSTANCE.walkParallel(null, TestVisitor::new, (v1, v2) -> v1, createHandler());
+        assertTrue(visitor.getVisitedNodes().isEmpty());
+    }
+
+    /**
+     * Tests whether the terminate flag is evaluated in a parallel walk.
+     */
+    @Test
+    void testWalkParallelTerminate() {
+        final Collection<String> visitedNodes = new ConcurrentLinkedQueue<>();
+        NodeTreeWalker.INSTANCE.walkParallel(NodeStructureHelper.ROOT_AUTHORS_TREE, new ConfigurationNodeVisitorAdapter<ImmutableNode>() {
+            @Override
+            public boolean terminate() {
+                return !visitedNodes.isEmpty();
+            }
+
+            @Override
+            public void visitBeforeChildren(final ImmutableNode node, final NodeHandler<ImmutableNode> handler) {
+                visitedNodes.add(handler.nodeName(node));
+            }
+        }, createHandler());
+        assertEquals(Arrays.asList(NodeStructureHelper.ROOT_AUTHORS_TREE.getNodeName()), new ArrayList<>(visitedNodes));
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.configuration2.ConfigurationAssert;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.apache.commons.configuration2.io.FileHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code OverlayNodeHandler}.
+ */
+public class TestOverlayNodeHandler {
+
+    /** Constant for the first test configuration. */
+    private static final File CONF1 = ConfigurationAssert.getTestFile("testcombine1.xml");
+
+    /** Constant for the second test configuration. */
+    private static final File CONF2 = ConfigurationAssert.getTestFile("testcombine2.xml");
+
+    /**
+     * Checks whether the given overlay node has the same structure as the given immutable node.
+     *
+     * @param expected The expected node structure
+     * @param node The overlay node to check
+     * @param handler The handler for the overlay node
+     */
+    private static void checkStructure(final ImmutableNode expected, final OverlayNode node, final OverlayNodeHandler handler) {
+        assertEquals(expected.getNodeName(), handler.nodeName(node));
+        assertEquals(expected.getValue(), handler.getValue(node));
+        assertEquals(expected.getAttributes(), node.getAttributes());
+        final List<OverlayNode> children = handler.getChildren(node);
+        assertEquals(expected.getChildren().size(), children.size(), "Wrong number of children of " + expected.getNodeName());
+        for (int i = 0; i < children.size(); i++) {
+            assertSame(node, handler.getParent(children.get(i)));
+            checkStructure(expected.getChildren().get(i), children.get(i), handler);
+        }
+    }
+
+    /**
+     * Loads a test configuration and returns its root node.
+     *
+     * @param file The file to be loaded
+     * @return The root node of the configuration
+     * @throws ConfigurationException if an error occurs
+     */
+    private static ImmutableNode loadRoot(final File file) throws ConfigurationException {
+        final XMLConfiguration config = new XMLConfiguration();
+        new FileHandler(config).load(file);
+        return config.getNodeModel().getNodeHandler().getRootNode();
+    }
+
+    /** The root node of the first test configuration. */
+    private ImmutableNode root1;
+
+    /** The root node of the second test configuration. */
+    private ImmutableNode root2;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        root1 = loadRoot(CONF1);
+        root2 = loadRoot(CONF2);
+    }
+
+    /**
+     * Tests that the child nodes of a node are created only once.
+     */
+    @Test
+    void testChildrenCreatedOnce() {
+        final OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(root1, root2));
+        final OverlayNode root = handler.getRootNode();
+        final List<OverlayNode> children = handler.getChildren(root);
+        assertSame(children, handler.getChildren(root));
+        assertSame(children.get(0), handler.getChild(root, 0));
+        assertEquals(0, handler.indexOfChild(root, children.get(0)));
+    }
+
+    /**
+     * Tests whether the virtual structure corresponds to the structure produced by an override combiner.
+     */
+    @Test
+    void testCombinedStructure() {
+        final OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(root1, root2));
+        checkStructure(new OverrideCombiner().combine(root1, root2), handler.getRootNode(), handler);
+    }
+
+    /**
+     * Tests the combined structure if list nodes are defined.
+     */
+    @Test
+    void testCombinedStructureWithListNodes() {
+        final OverrideCombiner combiner = new OverrideCombiner();
+        combiner.addListNode("table");
+        final OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(root1, root2), combiner.getListNodes());
+        checkStructure(combiner.combine(root1, root2), handler.getRootNode(), handler);
+    }
+
+    /**
+     * Tests that an empty collection of root nodes is rejected.
+     */
+    @Test
+    void testInitEmptyRoots() {
+        final List<ImmutableNode> roots = Collections.emptyList();
+        assertThrows(IllegalArgumentException.class, () -> new OverlayNodeHandler(roots));
+    }
+
+    /**
+     * Tests that a collection of root nodes containing null is rejected.
+     */
+    @Test
+    void testInitNullElement() {
+        final List<ImmutableNode> roots = Arrays.asList(root1, null);
+        assertThrows(IllegalArgumentException.class, () -> new OverlayNodeHandler(roots));
+    }
+
+    /**
+     * Tests that a null collection of root nodes is rejected.
+     */
+    @Test
+    void testInitNullRoots() {
+        assertThrows(IllegalArgumentException.class, () -> new OverlayNodeHandler(null));
+    }
+
+    /**
+     * Tests isDefined() and the attribute methods.
+     */
+    @Test
+    void testIsDefined() {
+        final ImmutableNode empty = new ImmutableNode.Builder().name("test").create();
+        final ImmutableNode withAttr = new ImmutableNode.Builder().name("test").addAttribute("attr", "value").create();
+        final OverlayNodeHandler handlerEmpty = new OverlayNodeHandler(Arrays.asList(empty, empty));
+        assertFalse(handlerEmpty.isDefined(handlerEmpty.getRootNode()));
+        assertFalse(handlerEmpty.hasAttributes(handlerEmpty.getRootNode()));
+        final OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(empty, withAttr));
+        assertTrue(handler.isDefined(handler.getRootNode()));
+        assertTrue(handler.hasAttributes(handler.getRootNode()));
+        assertEquals("value", handler.getAttributeValue(handler.getRootNode(), "attr"));
+        assertNull(handler.getParent(handler.getRootNode()));
+    }
+
+    /**
+     * Tests whether the virtual structure can be queried by an expression engine.
+     */
+    @Test
+    void testQuery() {
+        final OverlayNodeHandler handler = new OverlayNodeHandler(Arrays.asList(root1, root2));
+        final ExpressionEngine engine = DefaultExpressionEngine.INSTANCE;
+        List<QueryResult<OverlayNode>> results = engine.query(handler.getRootNode(), "gui.level[@min]", handler);
+        assertEquals(1, results.size());
+        assertEquals("1", results.get(0).getAttributeValue(handler));
+        results = engine.query(handler.getRootNode(), "gui.level[@default]", handler);
+        assertEquals("2", results.get(0).getAttributeValue(handler));
+        results = engine.query(handler.getRootNode(), "database.tables.table(0).fields.field(1).name", handler);
+        assertEquals(1, results.size());
+        assertEquals("docname", handler.getValue(results.get(0).getNode()));
+        assertTrue(engine.query(handler.getRootNode(), "non.existing.key", handler).isEmpty());
+    }
+}
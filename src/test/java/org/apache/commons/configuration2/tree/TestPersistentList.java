@@ -0,0 +1,385 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code PersistentList}. The results of the operations are compared with an {@code ArrayList}.
+ */
+public class TestPersistentList {
+
+    /** The maximum number of entries in a node of the tree. */
+    private static final int NODE_SIZE = 32;
+
+    /**
+     * Appends the given number of elements to a list one by one.
+     *
+     * @param list The list
+     * @param expected The list with the expected elements to be updated accordingly
+     * @param count The number of elements to append
+     * @return The resulting list
+     */
+    private static PersistentList<Integer> appendElements(PersistentList<Integer> list, final List<Integer> expected, final int count) {
+        for (int i = 0; i < count; i++) {
+            final Integer element = expected.size();
+            list = list.plus(element);
+            expected.add(element);
+        }
+        return list;
+    }
+
+    /**
+     * Checks whether a persistent list contains the expected elements. All read operations are tested.
+     *
+     * @param expected The list with the expected elements
+     * @param list The list to be checked
+     */
+    private static void checkList(final List<Integer> expected, final PersistentList<Integer> list) {
+        assertEquals(expected.size(), list.size());
+        assertEquals(expected.isEmpty(), list.isEmpty());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i), "Wrong element at " + i);
+        }
+        final List<Integer> iterated = new ArrayList<>();
+        list.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+        final List<Integer> consumed = new ArrayList<>();
+        list.forEach(consumed::add);
+        assertEquals(expected, consumed);
+        assertEquals(expected, list);
+        assertEquals(list, expected);
+        assertEquals(expected.hashCode(), list.hashCode());
+    }
+
+    /**
+     * Creates a list with the given number of ascending integers.
+     *
+     * @param count The number of elements
+     * @return The list with these elements
+     */
+    private static List<Integer> createElements(final int count) {
+        final List<Integer> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            elements.add(i);
+        }
+        return elements;
+    }
+
+    /**
+     * Tests whether lists of different sizes can be created from collections.
+     */
+    @Test
+    void testCopyOf() {
+        for (final int size : new int[] {1, NODE_SIZE - 1, NODE_SIZE, NODE_SIZE + 1, NODE_SIZE * NODE_SIZE, NODE_SIZE * NODE_SIZE + 1, 5000}) {
+            final List<Integer> elements = createElements(size);
+            checkList(elements, PersistentList.copyOf(elements));
+        }
+    }
+
+    /**
+     * Tests that copyOf() returns the same instance if it is passed a persistent list.
+     */
+    @Test
+    void testCopyOfPersistentList() {
+        final PersistentList<Integer> list = PersistentList.copyOf(createElements(10));
+        assertSame(list, PersistentList.copyOf(list));
+        assertSame(PersistentList.empty(), PersistentList.copyOf(Collections.<Integer>emptyList()));
+    }
+
+    /**
+     * Tests the properties of an empty list.
+     */
+    @Test
+    void testEmpty() {
+        final PersistentList<Integer> list = PersistentList.empty();
+        checkList(Collections.emptyList(), list);
+        assertEquals(1, list.depth());
+        assertFalse(list.iterator().hasNext());
+    }
+
+    /**
+     * Tests that get() checks the index.
+     */
+    @Test
+    void testGetInvalidIndex() {
+        final PersistentList<Integer> list = PersistentList.copyOf(createElements(NODE_SIZE + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(NODE_SIZE + 1));
+    }
+
+    /**
+     * Tests the identity based operations.
+     */
+    @Test
+    void testIdentityOperations() {
+        final String element = "element";
+        final String equalElement = new String(element);
+        final List<String> elements = new ArrayList<>();
+        for (int i = 0; i < 3 * NODE_SIZE; i++) {
+            elements.add(i % NODE_SIZE == 5 ? element : i % NODE_SIZE == 7 ? equalElement : String.valueOf(i));
+        }
+        final PersistentList<String> list = PersistentList.copyOf(elements);
+        assertEquals(5, list.indexOfIdentical(element, 0));
+        assertEquals(NODE_SIZE + 5, list.indexOfIdentical(element, 6));
+        assertEquals(-1, list.indexOfIdentical(element, 2 * NODE_SIZE + 6));
+        assertEquals(-1, list.indexOfIdentical(new String(element), 0));
+
+        final PersistentList<String> removed = list.minusIdentical(element);
+        final List<String> expectedRemoved = new ArrayList<>(elements);
+        expectedRemoved.removeIf(e -> e == element);
+        assertEquals(expectedRemoved, removed);
+        assertEquals(3, elements.size() - removed.size());
+        assertSame(list, list.minusIdentical("unknown"));
+
+        final PersistentList<String> replaced = list.replaceIdentical(element, "other");
+        final List<String> expectedReplaced = new ArrayList<>(elements);
+        expectedReplaced.replaceAll(e -> e == element ? "other" : e);
+        assertEquals(expectedReplaced, replaced);
+        assertSame(list, list.replaceIdentical("unknown", "other"));
+        assertEquals(elements, list);
+    }
+
+    /**
+     * Tests that the iterator throws an exception if there are no more elements.
+     */
+    @Test
+    void testIteratorNoMoreElements() {
+        final Iterator<Integer> it = PersistentList.copyOf(createElements(2)).iterator();
+        it.next();
+        it.next();
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    /**
+     * Tests that the root node is collapsed if it has only a single child after a removal.
+     */
+    @Test
+    void testMinusCollapsesRoot() {
+        final List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = appendElements(PersistentList.empty(), expected, NODE_SIZE + 1);
+        assertEquals(2, list.depth());
+        list = list.minus(NODE_SIZE);
+        expected.remove(NODE_SIZE);
+        checkList(expected, list);
+        assertEquals(1, list.depth());
+
+        final List<Integer> expectedLarge = new ArrayList<>();
+        PersistentList<Integer> largeList = appendElements(PersistentList.empty(), expectedLarge, NODE_SIZE * NODE_SIZE + 1);
+        assertEquals(3, largeList.depth());
+        largeList = largeList.minus(0);
+        expectedLarge.remove(0);
+        checkList(expectedLarge, largeList);
+        assertEquals(3, largeList.depth());
+        largeList = largeList.minus(largeList.size() - 1);
+        expectedLarge.remove(expectedLarge.size() - 1);
+        checkList(expectedLarge, largeList);
+        assertEquals(2, largeList.depth());
+    }
+
+    /**
+     * Tests that minus() checks the index.
+     */
+    @Test
+    void testMinusInvalidIndex() {
+        final PersistentList<Integer> list = PersistentList.copyOf(createElements(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.minus(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.minus(3));
+    }
+
+    /**
+     * Tests that small leaves are merged with their siblings when elements are removed.
+     */
+    @Test
+    void testMinusMergesSiblings() {
+        final List<Integer> expected = createElements(NODE_SIZE);
+        // inserting into a full leaf splits it into two leaves with 16 and 17 elements
+        PersistentList<Integer> list = PersistentList.copyOf(expected).plus(0, -1);
+        expected.add(0, -1);
+        assertEquals(2, list.depth());
+
+        // the second leaf falls below the minimum size after 10 removals and is merged with the first one
+        for (int i = 0; i < 9; i++) {
+            list = list.minus(list.size() - 1);
+            expected.remove(expected.size() - 1);
+            checkList(expected, list);
+            assertEquals(2, list.depth());
+        }
+        list = list.minus(list.size() - 1);
+        expected.remove(expected.size() - 1);
+        checkList(expected, list);
+        assertEquals(1, list.depth());
+    }
+
+    /**
+     * Tests removing all elements of a larger list at random positions.
+     */
+    @Test
+    void testMinusUntilEmpty() {
+        final Random random = new Random(42);
+        final List<Integer> expected = createElements(3 * NODE_SIZE * NODE_SIZE);
+        PersistentList<Integer> list = PersistentList.copyOf(expected);
+        while (!expected.isEmpty()) {
+            final int index = random.nextInt(expected.size());
+            list = list.minus(index);
+            expected.remove(index);
+            if (expected.size() % 97 == 0) {
+                checkList(expected, list);
+            }
+        }
+        assertSame(PersistentList.empty(), list);
+    }
+
+    /**
+     * Tests that appending elements to a list leaves full leaves and branches untouched, so that sequentially appended
+     * elements are stored as densely as possible.
+     */
+    @Test
+    void testPlusAppendFullNodes() {
+        final List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = appendElements(PersistentList.empty(), expected, NODE_SIZE);
+        assertEquals(1, list.depth());
+        list = appendElements(list, expected, 1);
+        assertEquals(2, list.depth());
+        list = appendElements(list, expected, NODE_SIZE * NODE_SIZE - NODE_SIZE - 1);
+        assertEquals(2, list.depth());
+        final PersistentList<Integer> fullList = list;
+        list = appendElements(list, expected, 1);
+        assertEquals(3, list.depth());
+        checkList(expected, list);
+        list = appendElements(list, expected, NODE_SIZE * NODE_SIZE * NODE_SIZE - expected.size());
+        assertEquals(3, list.depth());
+        list = appendElements(list, expected, 1);
+        assertEquals(4, list.depth());
+        checkList(expected, list);
+        checkList(expected.subList(0, NODE_SIZE * NODE_SIZE), fullList);
+    }
+
+    /**
+     * Tests that plus() checks the index.
+     */
+    @Test
+    void testPlusInvalidIndex() {
+        final PersistentList<Integer> list = PersistentList.copyOf(createElements(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.plus(-1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.plus(4, 1));
+    }
+
+    /**
+     * Tests inserting elements in the middle of a list. Full nodes have to be split.
+     */
+    @Test
+    void testPlusMiddle() {
+        final List<Integer> elements = createElements(NODE_SIZE * NODE_SIZE);
+        final PersistentList<Integer> list = PersistentList.copyOf(elements);
+        assertEquals(2, list.depth());
+        for (final int index : new int[] {0, 1, NODE_SIZE - 1, NODE_SIZE, NODE_SIZE + 1, 500, elements.size() - 1, elements.size()}) {
+            final List<Integer> expected = new ArrayList<>(elements);
+            expected.add(index, -1);
+            checkList(expected, list.plus(index, -1));
+        }
+        checkList(elements, list);
+
+        PersistentList<Integer> growing = list;
+        final List<Integer> expected = new ArrayList<>(elements);
+        for (int i = 0; i < 2 * NODE_SIZE * NODE_SIZE; i++) {
+            final int index = expected.size() / 2;
+            growing = growing.plus(index, -i);
+            expected.add(index, -i);
+        }
+        checkList(expected, growing);
+        assertEquals(3, growing.depth());
+    }
+
+    /**
+     * Tests a random sequence of operations.
+     */
+    @Test
+    void testRandomOperations() {
+        final Random random = new Random(20240101);
+        final List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> list = PersistentList.empty();
+        for (int i = 0; i < 20000; i++) {
+            final int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                final int index = random.nextInt(expected.size() + 1);
+                list = list.plus(index, i);
+                expected.add(index, i);
+            } else if (op < 8) {
+                final int index = random.nextInt(expected.size());
+                list = list.minus(index);
+                expected.remove(index);
+            } else {
+                final int index = random.nextInt(expected.size());
+                list = list.with(index, i);
+                expected.set(index, i);
+            }
+            if (i % 1000 == 0) {
+                checkList(expected, list);
+            }
+        }
+        checkList(expected, list);
+    }
+
+    /**
+     * Tests that the modification methods return new lists and do not change the original one.
+     */
+    @Test
+    void testUpdatesDoNotChangeOriginal() {
+        final List<Integer> elements = createElements(2 * NODE_SIZE + 3);
+        final PersistentList<Integer> list = PersistentList.copyOf(elements);
+        list.plus(-1);
+        list.plus(NODE_SIZE, -1);
+        list.minus(NODE_SIZE);
+        list.with(2 * NODE_SIZE, -1);
+        checkList(elements, list);
+        assertThrows(UnsupportedOperationException.class, () -> list.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1));
+        assertTrue(list.containsAll(Arrays.asList(0, NODE_SIZE, 2 * NODE_SIZE + 2)));
+    }
+
+    /**
+     * Tests replacing elements.
+     */
+    @Test
+    void testWith() {
+        final List<Integer> expected = createElements(NODE_SIZE * NODE_SIZE + 5);
+        PersistentList<Integer> list = PersistentList.copyOf(expected);
+        for (final int index : new int[] {0, NODE_SIZE - 1, NODE_SIZE, 777, expected.size() - 1}) {
+            list = list.with(index, -index);
+            expected.set(index, -index);
+        }
+        checkList(expected, list);
+        final PersistentList<Integer> result = list;
+        assertThrows(IndexOutOfBoundsException.class, () -> result.with(expected.size(), 0));
+    }
+}
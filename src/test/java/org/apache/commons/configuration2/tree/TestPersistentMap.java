@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.configuration2.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@code PersistentMap}. The results of the operations are compared with a {@code HashMap}.
+ */
+public class TestPersistentMap {
+
+    /**
+     * A key class whose hash code can be defined. This is used to produce collisions of hash codes.
+     */
+    private static final class TestKey {
+
+        /** The name of this key. */
+        private final String name;
+
+        /** The hash code of this key. */
+        private final int hash;
+
+        /**
+         * Creates a new instance of {@code TestKey}.
+         *
+         * @param name The name
+         * @param hash The hash code
+         */
+        TestKey(final String name, final int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TestKey)) {
+                return false;
+            }
+            final TestKey other = (TestKey) obj;
+            return hash == other.hash && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return name + "#" + hash;
+        }
+    }
+
+    /**
+     * The hash codes used for the keys of the random tests. Some of them are identical in the lower bits, so that they
+     * collide on the first levels of the trie.
+     */
+    private static final int[] HASHES = {0, 1, 33, 1057, 1 << 10 | 1, 1 << 20 | 1, 1 << 30 | 1, -1, Integer.MIN_VALUE, 0x12345678};
+
+    /**
+     * Checks whether a persistent map contains the expected entries. All read operations are tested.
+     *
+     * @param expected The map with the expected entries
+     * @param map The map to be checked
+     */
+    private static void checkMap(final Map<Object, Object> expected, final PersistentMap<Object, Object> map) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.isEmpty(), map.isEmpty());
+        expected.forEach((k, v) -> {
+            assertTrue(map.containsKey(k), "Key not found: " + k);
+            assertEquals(v, map.get(k), "Wrong value for " + k);
+        });
+        final Map<Object, Object> iterated = new HashMap<>();
+        int count = 0;
+        for (final Map.Entry<Object, Object> e : map.entrySet()) {
+            iterated.put(e.getKey(), e.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertEquals(expected, iterated);
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    /**
+     * Creates a number of keys with the same hash code.
+     *
+     * @param hash The hash code
+     * @param count The number of keys
+     * @return A list with the keys
+     */
+    private static List<TestKey> collidingKeys(final int hash, final int count) {
+        final List<TestKey> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(new TestKey("key" + i, hash));
+        }
+        return keys;
+    }
+
+    /**
+     * Tests a collision node which is reached by a key with a different hash code. The collision node has to be moved
+     * down in the trie until the hash codes can be distinguished.
+     */
+    @Test
+    void testCollisionNodeDifferentHash() {
+        final Map<Object, Object> expected = new HashMap<>();
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        for (final TestKey key : collidingKeys(1, 3)) {
+            map = map.plus(key, key.name);
+            expected.put(key, key.name);
+        }
+        // these hash codes agree with the collision node on the first levels
+        for (final int hash : new int[] {33, 1 << 10 | 1, 1 << 25 | 1, Integer.MIN_VALUE | 1}) {
+            final TestKey key = new TestKey("other", hash);
+            map = map.plus(key, hash);
+            expected.put(key, hash);
+            checkMap(expected, map);
+        }
+        assertFalse(map.containsKey(new TestKey("key3", 1)));
+        assertFalse(map.containsKey(new TestKey("key0", 1 << 15 | 1)));
+
+        for (final Object key : new ArrayList<>(expected.keySet())) {
+            map = map.minus(key);
+            expected.remove(key);
+            checkMap(expected, map);
+        }
+        assertSame(PersistentMap.empty(), map);
+    }
+
+    /**
+     * Tests removing the entries of a collision node until only a single entry is left. Afterwards, the node can be
+     * filled again.
+     */
+    @Test
+    void testCollisionNodeRemoveToSingleEntry() {
+        final List<TestKey> keys = collidingKeys(42, 3);
+        final Map<Object, Object> expected = new HashMap<>();
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        for (final TestKey key : keys) {
+            map = map.plus(key, key.name);
+            expected.put(key, key.name);
+        }
+        map = map.plus("other", "value");
+        expected.put("other", "value");
+
+        map = map.minus(keys.get(0));
+        expected.remove(keys.get(0));
+        checkMap(expected, map);
+        map = map.minus(keys.get(2));
+        expected.remove(keys.get(2));
+        checkMap(expected, map);
+        assertSame(map, map.minus(keys.get(0)));
+
+        map = map.plus(keys.get(0), "new");
+        expected.put(keys.get(0), "new");
+        checkMap(expected, map);
+        map = map.plus(new TestKey("different", 42 | 1 << 20), "different");
+        expected.put(new TestKey("different", 42 | 1 << 20), "different");
+        checkMap(expected, map);
+
+        map = map.minus(keys.get(0)).minus(keys.get(1));
+        expected.remove(keys.get(0));
+        expected.remove(keys.get(1));
+        checkMap(expected, map);
+    }
+
+    /**
+     * Tests that maps can be created from other maps.
+     */
+    @Test
+    void testCopyOf() {
+        final Map<Object, Object> source = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put("key" + i, i);
+        }
+        final PersistentMap<Object, Object> map = PersistentMap.copyOf(source);
+        checkMap(source, map);
+        assertSame(map, PersistentMap.copyOf(map));
+        assertSame(PersistentMap.empty(), PersistentMap.copyOf(Collections.emptyMap()));
+    }
+
+    /**
+     * Tests the properties of an empty map.
+     */
+    @Test
+    void testEmpty() {
+        final PersistentMap<Object, Object> map = PersistentMap.empty();
+        checkMap(Collections.emptyMap(), map);
+        assertNull(map.get("key"));
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    /**
+     * Tests that the entry iterator throws an exception if there are no more entries.
+     */
+    @Test
+    void testEntryIteratorNoMoreElements() {
+        final Iterator<Map.Entry<Object, Object>> it = PersistentMap.empty().plus("key", "value").entrySet().iterator();
+        it.next();
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    /**
+     * Tests a map with keys whose hash codes collide completely.
+     */
+    @Test
+    void testFullHashCollisions() {
+        final List<TestKey> keys = collidingKeys(7, 20);
+        final Map<Object, Object> expected = new HashMap<>();
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        for (final TestKey key : keys) {
+            map = map.plus(key, key.name);
+            expected.put(key, key.name);
+            checkMap(expected, map);
+        }
+        assertFalse(map.containsKey(new TestKey("unknown", 7)));
+        assertNull(map.get(new TestKey("unknown", 7)));
+        assertSame(map, map.minus(new TestKey("unknown", 7)));
+        assertSame(map, map.plus(keys.get(3), keys.get(3).name));
+
+        map = map.plus(keys.get(3), "replaced");
+        expected.put(keys.get(3), "replaced");
+        checkMap(expected, map);
+
+        for (final TestKey key : keys) {
+            map = map.minus(key);
+            expected.remove(key);
+            checkMap(expected, map);
+        }
+        assertSame(PersistentMap.empty(), map);
+    }
+
+    /**
+     * Tests that null keys and values are supported.
+     */
+    @Test
+    void testNullKeysAndValues() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put(null, "nullKey");
+        expected.put("nullValue", null);
+        PersistentMap<Object, Object> map = PersistentMap.empty().plus(null, "nullKey").plus("nullValue", null);
+        checkMap(expected, map);
+        assertTrue(map.containsKey("nullValue"));
+        assertFalse(map.containsKey("unknown"));
+
+        map = map.minus(null);
+        expected.remove(null);
+        checkMap(expected, map);
+    }
+
+    /**
+     * Tests that plusAll() adds all entries and counts only new keys.
+     */
+    @Test
+    void testPlusAll() {
+        final Map<Object, Object> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 2);
+        final PersistentMap<Object, Object> map = PersistentMap.copyOf(expected);
+        final Map<Object, Object> other = new HashMap<>();
+        other.put("b", 3);
+        other.put("c", 4);
+        other.put(new TestKey("collision", "c".hashCode()), 5);
+
+        final PersistentMap<Object, Object> result = map.plusAll(other);
+        final Map<Object, Object> expectedResult = new HashMap<>(expected);
+        expectedResult.putAll(other);
+        checkMap(expectedResult, result);
+        checkMap(expected, map);
+        assertSame(result, result.plusAll(Collections.emptyMap()));
+    }
+
+    /**
+     * Tests a random sequence of operations with keys whose hash codes collide partly or completely.
+     */
+    @Test
+    void testRandomOperations() {
+        final Random random = new Random(20240101);
+        final Map<Object, Object> expected = new HashMap<>();
+        PersistentMap<Object, Object> map = PersistentMap.empty();
+        for (int i = 0; i < 20000; i++) {
+            final Object key = random.nextInt(4) == 0 ? "key" + random.nextInt(200)
+                : new TestKey("key" + random.nextInt(10), HASHES[random.nextInt(HASHES.length)]);
+            if (random.nextInt(3) == 0) {
+                final PersistentMap<Object, Object> newMap = map.minus(key);
+                assertEquals(expected.remove(key) != null, newMap != map);
+                map = newMap;
+            } else {
+                map = map.plus(key, i);
+                expected.put(key, i);
+            }
+            if (i % 1000 == 0) {
+                checkMap(expected, map);
+            }
+        }
+        checkMap(expected, map);
+    }
+
+    /**
+     * Tests that the modification methods return new maps and do not change the original one.
+     */
+    @Test
+    void testUpdatesDoNotChangeOriginal() {
+        final Map<Object, Object> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            expected.put("key" + i, i);
+        }
+        final PersistentMap<Object, Object> map = PersistentMap.copyOf(expected);
+        map.plus("key1", "other");
+        map.plus("newKey", 1);
+        map.minus("key2");
+        checkMap(expected, map);
+        assertSame(map, map.plus("key1", expected.get("key1")));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("key", 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().remove());
+    }
+}